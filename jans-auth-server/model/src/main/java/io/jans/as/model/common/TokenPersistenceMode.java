@@ -0,0 +1,47 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.model.common;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Durability mode of token persistence.
+ *
+ * SYNC - token is written to persistence before response is returned;
+ * ASYNC_ACK_AFTER_CACHE - token is put in node local cache and written to persistence in background by batches.
+ */
+public enum TokenPersistenceMode {
+    SYNC("sync"),
+    ASYNC_ACK_AFTER_CACHE("async-ack-after-cache");
+
+    public static final TokenPersistenceMode DEFAULT = SYNC;
+
+    private final String value;
+
+    TokenPersistenceMode(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static TokenPersistenceMode fromString(String param) {
+        if (StringUtils.isBlank(param)) {
+            return null;
+        }
+
+        for (TokenPersistenceMode v : TokenPersistenceMode.values()) {
+            if (param.equals(v.value)) {
+                return v;
+            }
+        }
+        return null;
+    }
+}
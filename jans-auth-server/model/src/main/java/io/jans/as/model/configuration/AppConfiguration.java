@@ -252,6 +252,9 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "Specifies how many status list indexes AS can reserve at once within pool (when status_list feature flag is enabled). Defaults to 100.")
     private int statusListIndexAllocationBlockSize = DEFAULT_STATUS_LIST_INDEX_ALLOCATION_BLOCK_SIZE;
 
+    @DocProperty(description = "Boolean value specifying whether token revocation waits until status list update is written to DB. Defaults to false (status list is updated in background).", defaultValue = "false")
+    private Boolean statusListSynchronousRevocation = false;
+
     @DocProperty(description = "Specifies which attribute is used for the subject identifier claim")
     private String openidSubAttribute;
 
@@ -426,6 +429,15 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "Boolean value specifying whether to save access_token, id_token and refresh_token in cache and skip persistence in DB at the same time (with cacheKey=sha256Hex(token_code))")
     private Boolean saveTokensInCacheAndDontSaveInPersistence;
 
+    @DocProperty(description = "Durability mode of token persistence: 'sync' writes token before response is returned, 'async-ack-after-cache' puts token in node local cache and writes it in background by batches", defaultValue = "sync")
+    private String tokenPersistenceMode = TokenPersistenceMode.DEFAULT.getValue();
+
+    @DocProperty(description = "Maximum number of tokens waiting to be written in 'async-ack-after-cache' token persistence mode. If queue is full tokens are written by request thread", defaultValue = "10000")
+    private Integer tokenWriteQueueSize = 10000;
+
+    @DocProperty(description = "Maximum number of tokens written in one batch in 'async-ack-after-cache' token persistence mode", defaultValue = "100")
+    private Integer tokenWriteBatchSize = 100;
+
     @DocProperty(description = "The lifetime of the short lived Access Token")
     private int accessTokenLifetime;
 
@@ -561,6 +573,12 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "Boolean value specifying whether to persist session_id in cache", defaultValue = "false")
     private Boolean sessionIdPersistInCache = false;
 
+    @DocProperty(description = "Percent of sessionIdUnusedLifetime by which session lastUsedAt has to move before it is persisted synchronously if nothing else in session is changed. 0 means lastUsedAt is persisted synchronously if it moved by more than 500ms", defaultValue = "0")
+    private Integer sessionIdLastUsedAtPersistThreshold = 0;
+
+    @DocProperty(description = "Interval in seconds during which lastUsedAt updates which are not persisted synchronously are collected and then written in batch. 0 means such updates are not persisted", defaultValue = "0")
+    private Integer sessionIdLastUsedAtFlushInterval = 0;
+
     @DocProperty(description = "Defines list of user claims that has to be put in session attributes")
     private List<String> sessionIdUserClaimsInAttributes = new ArrayList<>();
 
@@ -655,6 +673,21 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "List of algorithm allowed to be used for key generation")
     private List<String> keyAlgsAllowedForGeneration = new ArrayList<>();
 
+    @DocProperty(description = "Lifetime in seconds of node local cache of public keys parsed from client JWKS (used for signature verification). 0 disables cache", defaultValue = "600")
+    private Integer jwksPublicKeyCacheLifetimeInSeconds = 600;
+
+    @DocProperty(description = "Maximum number of public keys in node local cache of public keys parsed from client JWKS", defaultValue = "1000")
+    private Integer jwksPublicKeyCacheSize = 1000;
+
+    @DocProperty(description = "Lifetime in seconds of node local cache of JWKS loaded from client jwks_uri, used if jwks_uri response doesn't have Cache-Control max-age. 0 disables cache", defaultValue = "300")
+    private Integer jwksUriCacheLifetimeInSeconds = 300;
+
+    @DocProperty(description = "Maximum lifetime in seconds of JWKS loaded from client jwks_uri in node local cache (caps Cache-Control max-age)", defaultValue = "3600")
+    private Integer jwksUriCacheMaxLifetimeInSeconds = 3600;
+
+    @DocProperty(description = "Minimal interval in seconds between re-fetches of client jwks_uri caused by unknown kid or failed fetch", defaultValue = "10")
+    private Integer jwksUriMinRefetchIntervalInSeconds = 10;
+
     @DocProperty(description = "Specifies if signing to be done with same key but apply different algorithms")
     private Boolean keySignWithSameKeyButDiffAlg; // https://github.com/JanssenProject/jans-auth-server/issues/95
 
@@ -676,6 +709,12 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "If True, allow client request only own tokens. Otherwise allow to introspect all tokens.", defaultValue = "false")
     private Boolean introspectionRestrictBasicAuthnToOwnTokens = false;
 
+    @DocProperty(description = "Lifetime in seconds of node local cache of grants of introspected tokens. Cached grant is removed on token revocation on the same node, other nodes see revocation after lifetime. 0 disables cache", defaultValue = "0")
+    private Integer introspectionGrantCacheLifetimeInSeconds = 0;
+
+    @DocProperty(description = "Maximum number of grants in node local cache of introspected tokens", defaultValue = "10000")
+    private Integer introspectionGrantCacheSize = 10000;
+
     @DocProperty(description = "Choose whether to accept access tokens to call end_session endpoint")
     private Boolean endSessionWithAccessToken;
 
@@ -1311,6 +1350,51 @@ public class AppConfiguration implements Configuration {
         this.keyAlgsAllowedForGeneration = keyAlgsAllowedForGeneration;
     }
 
+    public Integer getJwksPublicKeyCacheLifetimeInSeconds() {
+        if (jwksPublicKeyCacheLifetimeInSeconds == null) jwksPublicKeyCacheLifetimeInSeconds = 600;
+        return jwksPublicKeyCacheLifetimeInSeconds;
+    }
+
+    public void setJwksPublicKeyCacheLifetimeInSeconds(Integer jwksPublicKeyCacheLifetimeInSeconds) {
+        this.jwksPublicKeyCacheLifetimeInSeconds = jwksPublicKeyCacheLifetimeInSeconds;
+    }
+
+    public Integer getJwksPublicKeyCacheSize() {
+        if (jwksPublicKeyCacheSize == null) jwksPublicKeyCacheSize = 1000;
+        return jwksPublicKeyCacheSize;
+    }
+
+    public void setJwksPublicKeyCacheSize(Integer jwksPublicKeyCacheSize) {
+        this.jwksPublicKeyCacheSize = jwksPublicKeyCacheSize;
+    }
+
+    public Integer getJwksUriCacheLifetimeInSeconds() {
+        if (jwksUriCacheLifetimeInSeconds == null) jwksUriCacheLifetimeInSeconds = 300;
+        return jwksUriCacheLifetimeInSeconds;
+    }
+
+    public void setJwksUriCacheLifetimeInSeconds(Integer jwksUriCacheLifetimeInSeconds) {
+        this.jwksUriCacheLifetimeInSeconds = jwksUriCacheLifetimeInSeconds;
+    }
+
+    public Integer getJwksUriCacheMaxLifetimeInSeconds() {
+        if (jwksUriCacheMaxLifetimeInSeconds == null) jwksUriCacheMaxLifetimeInSeconds = 3600;
+        return jwksUriCacheMaxLifetimeInSeconds;
+    }
+
+    public void setJwksUriCacheMaxLifetimeInSeconds(Integer jwksUriCacheMaxLifetimeInSeconds) {
+        this.jwksUriCacheMaxLifetimeInSeconds = jwksUriCacheMaxLifetimeInSeconds;
+    }
+
+    public Integer getJwksUriMinRefetchIntervalInSeconds() {
+        if (jwksUriMinRefetchIntervalInSeconds == null) jwksUriMinRefetchIntervalInSeconds = 10;
+        return jwksUriMinRefetchIntervalInSeconds;
+    }
+
+    public void setJwksUriMinRefetchIntervalInSeconds(Integer jwksUriMinRefetchIntervalInSeconds) {
+        this.jwksUriMinRefetchIntervalInSeconds = jwksUriMinRefetchIntervalInSeconds;
+    }
+
     public int getDiscoveryCacheLifetimeInMinutes() {
         return discoveryCacheLifetimeInMinutes;
     }
@@ -1510,6 +1594,24 @@ public class AppConfiguration implements Configuration {
         this.sessionIdPersistInCache = sessionIdPersistInCache;
     }
 
+    public Integer getSessionIdLastUsedAtPersistThreshold() {
+        if (sessionIdLastUsedAtPersistThreshold == null) sessionIdLastUsedAtPersistThreshold = 0;
+        return sessionIdLastUsedAtPersistThreshold;
+    }
+
+    public void setSessionIdLastUsedAtPersistThreshold(Integer sessionIdLastUsedAtPersistThreshold) {
+        this.sessionIdLastUsedAtPersistThreshold = sessionIdLastUsedAtPersistThreshold;
+    }
+
+    public Integer getSessionIdLastUsedAtFlushInterval() {
+        if (sessionIdLastUsedAtFlushInterval == null) sessionIdLastUsedAtFlushInterval = 0;
+        return sessionIdLastUsedAtFlushInterval;
+    }
+
+    public void setSessionIdLastUsedAtFlushInterval(Integer sessionIdLastUsedAtFlushInterval) {
+        this.sessionIdLastUsedAtFlushInterval = sessionIdLastUsedAtFlushInterval;
+    }
+
     public List<String> getSessionIdUserClaimsInAttributes() {
         return sessionIdUserClaimsInAttributes;
     }
@@ -1738,6 +1840,24 @@ public class AppConfiguration implements Configuration {
         this.introspectionRestrictBasicAuthnToOwnTokens = introspectionRestrictBasicAuthnToOwnTokens;
     }
 
+    public Integer getIntrospectionGrantCacheLifetimeInSeconds() {
+        if (introspectionGrantCacheLifetimeInSeconds == null) introspectionGrantCacheLifetimeInSeconds = 0;
+        return introspectionGrantCacheLifetimeInSeconds;
+    }
+
+    public void setIntrospectionGrantCacheLifetimeInSeconds(Integer introspectionGrantCacheLifetimeInSeconds) {
+        this.introspectionGrantCacheLifetimeInSeconds = introspectionGrantCacheLifetimeInSeconds;
+    }
+
+    public Integer getIntrospectionGrantCacheSize() {
+        if (introspectionGrantCacheSize == null) introspectionGrantCacheSize = 10000;
+        return introspectionGrantCacheSize;
+    }
+
+    public void setIntrospectionGrantCacheSize(Integer introspectionGrantCacheSize) {
+        this.introspectionGrantCacheSize = introspectionGrantCacheSize;
+    }
+
     public Boolean getUmaRptAsJwt() {
         return umaRptAsJwt;
     }
@@ -2632,6 +2752,33 @@ public class AppConfiguration implements Configuration {
         this.saveTokensInCacheAndDontSaveInPersistence = saveTokensInCacheAndDontSaveInPersistence;
     }
 
+    public String getTokenPersistenceMode() {
+        if (tokenPersistenceMode == null) tokenPersistenceMode = TokenPersistenceMode.DEFAULT.getValue();
+        return tokenPersistenceMode;
+    }
+
+    public void setTokenPersistenceMode(String tokenPersistenceMode) {
+        this.tokenPersistenceMode = tokenPersistenceMode;
+    }
+
+    public Integer getTokenWriteQueueSize() {
+        if (tokenWriteQueueSize == null) tokenWriteQueueSize = 10000;
+        return tokenWriteQueueSize;
+    }
+
+    public void setTokenWriteQueueSize(Integer tokenWriteQueueSize) {
+        this.tokenWriteQueueSize = tokenWriteQueueSize;
+    }
+
+    public Integer getTokenWriteBatchSize() {
+        if (tokenWriteBatchSize == null) tokenWriteBatchSize = 100;
+        return tokenWriteBatchSize;
+    }
+
+    public void setTokenWriteBatchSize(Integer tokenWriteBatchSize) {
+        this.tokenWriteBatchSize = tokenWriteBatchSize;
+    }
+
     public int getUmaRptLifetime() {
         return umaRptLifetime;
     }
@@ -2713,6 +2860,15 @@ public class AppConfiguration implements Configuration {
         this.statusListIndexAllocationBlockSize = statusListIndexAllocationBlockSize;
     }
 
+    public Boolean getStatusListSynchronousRevocation() {
+        if (statusListSynchronousRevocation == null) statusListSynchronousRevocation = false;
+        return statusListSynchronousRevocation;
+    }
+
+    public void setStatusListSynchronousRevocation(Boolean statusListSynchronousRevocation) {
+        this.statusListSynchronousRevocation = statusListSynchronousRevocation;
+    }
+
     public Boolean getKeyRegenerationEnabled() {
         return keyRegenerationEnabled;
     }
@@ -16,6 +16,8 @@ public class RateLimitConfig {
 
     private List<RateLimitRule> rateLimitRules = new ArrayList<>();
     private boolean rateLoggingEnabled = false;
+    private boolean distributedEnabled = false;
+    private Integer distributedLeaseSize;
 
     public RateLimitConfig() {
     }
@@ -35,6 +37,26 @@ public class RateLimitConfig {
         this.rateLoggingEnabled = rateLoggingEnabled;
     }
 
+    @JsonProperty("distributedEnabled")
+    public boolean isDistributedEnabled() {
+        return distributedEnabled;
+    }
+
+    @JsonProperty("distributedEnabled")
+    public void setDistributedEnabled(boolean distributedEnabled) {
+        this.distributedEnabled = distributedEnabled;
+    }
+
+    @JsonProperty("distributedLeaseSize")
+    public Integer getDistributedLeaseSize() {
+        return distributedLeaseSize;
+    }
+
+    @JsonProperty("distributedLeaseSize")
+    public void setDistributedLeaseSize(Integer distributedLeaseSize) {
+        this.distributedLeaseSize = distributedLeaseSize;
+    }
+
     @JsonProperty("rateLimitRules")
     public List<RateLimitRule> getRateLimitRules() {
         return rateLimitRules == null ? Collections.emptyList() : Collections.unmodifiableList(rateLimitRules);
@@ -50,12 +72,13 @@ public class RateLimitConfig {
         if (this == o) return true;
         if (!(o instanceof RateLimitConfig)) return false;
         RateLimitConfig that = (RateLimitConfig) o;
-        return Objects.equals(getRateLimitRules(), that.getRateLimitRules()) && rateLoggingEnabled == that.rateLoggingEnabled;
+        return Objects.equals(getRateLimitRules(), that.getRateLimitRules()) && rateLoggingEnabled == that.rateLoggingEnabled
+                && distributedEnabled == that.distributedEnabled && Objects.equals(distributedLeaseSize, that.distributedLeaseSize);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getRateLimitRules(), rateLoggingEnabled);
+        return Objects.hash(getRateLimitRules(), rateLoggingEnabled, distributedEnabled, distributedLeaseSize);
     }
 
     @Override
@@ -63,6 +86,8 @@ public class RateLimitConfig {
         return "RateLimitConfig{" +
                 "rateLimitRules=" + getRateLimitRules() +
                 ", rateLoggingEnabled=" + rateLoggingEnabled +
+                ", distributedEnabled=" + distributedEnabled +
+                ", distributedLeaseSize=" + distributedLeaseSize +
                 '}';
     }
 }
@@ -43,6 +43,8 @@ public abstract class AbstractCryptoProvider {
 
     private int keyRegenerationIntervalInDays = -1;
 
+    private final PublicKeyCache publicKeyCache = new PublicKeyCache();
+
     public abstract JSONObject generateKey(Algorithm algorithm, Long expirationTime) throws CryptoProviderException;
 
     public abstract JSONObject generateKey(Algorithm algorithm, Long expirationTime, int keyLength) throws CryptoProviderException;
@@ -116,6 +118,19 @@ public abstract class AbstractCryptoProvider {
     }
 
     public PublicKey getPublicKey(String alias, JSONObject jwks, Algorithm requestedAlgorithm) throws CryptoProviderException {
+        if (!publicKeyCache.isEnabled()) {
+            return loadPublicKey(alias, jwks, requestedAlgorithm);
+        }
+
+        PublicKey publicKey = publicKeyCache.get(jwks, alias, requestedAlgorithm);
+        if (publicKey == null) {
+            publicKey = loadPublicKey(alias, jwks, requestedAlgorithm);
+            publicKeyCache.put(jwks, alias, requestedAlgorithm, publicKey);
+        }
+        return publicKey;
+    }
+
+    private PublicKey loadPublicKey(String alias, JSONObject jwks, Algorithm requestedAlgorithm) throws CryptoProviderException {
         JSONArray webKeys = jwks.getJSONArray(JWKParameter.JSON_WEB_KEY_SET);
 
         try {
@@ -243,4 +258,8 @@ public abstract class AbstractCryptoProvider {
     public void setKeyRegenerationIntervalInDays(int keyRegenerationIntervalInDays) {
         this.keyRegenerationIntervalInDays = keyRegenerationIntervalInDays;
     }
+
+    public PublicKeyCache getPublicKeyCache() {
+        return publicKeyCache;
+    }
 }
@@ -74,8 +74,12 @@ import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -88,6 +92,17 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
 
     protected static final Logger LOG = Logger.getLogger(AuthCryptoProvider.class);
 
+    // Incremented when keys are loaded, generated or deleted. Per thread instances initialized before are dropped
+    private static final AtomicLong KEY_GENERATION = new AtomicLong();
+
+    // Signature and Mac are not thread safe, so initialized instances are reused per thread (algorithm -> instance)
+    private static final ThreadLocal<ThreadCache<CachedSignature>> SIGNERS = ThreadLocal.withInitial(ThreadCache::new);
+    private static final ThreadLocal<ThreadCache<CachedSignature>> VERIFIERS = ThreadLocal.withInitial(ThreadCache::new);
+    private static final ThreadLocal<ThreadCache<Mac>> MACS = ThreadLocal.withInitial(ThreadCache::new);
+
+    // alias -> key. PKCS12 and BCFKS keystores decrypt key on each getKey call
+    private final Map<String, Key> keyCache = new ConcurrentHashMap<>();
+
     private KeyStore keyStore;
     private String keyStoreFile;
     private String keyStoreSecret;
@@ -156,6 +171,8 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
     public void load() throws IOException, NoSuchAlgorithmException, CertificateException {
         try (InputStream is = new FileInputStream(keyStoreFile)) {
             keyStore.load(is, keyStoreSecret.toCharArray());
+            keyCache.clear();
+            KEY_GENERATION.incrementAndGet();
             LOG.debug("Loaded keys from JKS.");
             LOG.trace("Loaded keys:" + getKeys());
         }
@@ -228,7 +245,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
                 return false;
             }
 
-            return keyStore.getKey(keyId, keyStoreSecret.toCharArray()) != null;
+            return getKey(keyId) != null;
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
             return false;
@@ -242,9 +259,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
                 return "";
             } else if (AlgorithmFamily.HMAC.equals(signatureAlgorithm.getFamily())) {
                 SecretKey secretKey = new SecretKeySpec(sharedSecret.getBytes(StandardCharsets.UTF_8), signatureAlgorithm.getAlgorithm());
-                Mac mac = Mac.getInstance(signatureAlgorithm.getAlgorithm());
-                mac.init(secretKey);
-                byte[] sig = mac.doFinal(signingInput.getBytes());
+                byte[] sig = mac(signatureAlgorithm, secretKey, signingInput.getBytes());
                 return Base64Util.base64urlencode(sig);
             } else { // EC, ED or RSA
                 PrivateKey privateKey = getPrivateKey(alias);
@@ -256,11 +271,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
                     throw new IllegalStateException(error);
                 }
 
-                Signature signer = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
-                signer.initSign(privateKey);
-                signer.update(signingInput.getBytes());
-
-                byte[] signature = signer.sign();
+                byte[] signature = sign(signatureAlgorithm, privateKey, signingInput.getBytes());
                 if (AlgorithmFamily.EC.equals(signatureAlgorithm.getFamily())) {
                     int signatureLenght = ECDSA.getSignatureByteArrayLength(signatureAlgorithm.getJwsAlgorithm());
                     signature = ECDSA.transcodeSignatureToConcat(signature, signatureLenght);
@@ -290,10 +301,66 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
         }
     }
 
+    private static byte[] sign(SignatureAlgorithm signatureAlgorithm, PrivateKey privateKey, byte[] signingInput) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        final Map<String, CachedSignature> signers = SIGNERS.get().instances();
+        CachedSignature signer = signers.get(signatureAlgorithm.getAlgorithm());
+        if (signer == null) {
+            signer = new CachedSignature(Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider()));
+            signers.put(signatureAlgorithm.getAlgorithm(), signer);
+        }
+
+        try {
+            // sign() resets signature to the state after initSign, so it's enough to init it when key is changed
+            if (signer.key != privateKey) {
+                signer.signature.initSign(privateKey);
+                signer.key = privateKey;
+            }
+            signer.signature.update(signingInput);
+            return signer.signature.sign();
+        } catch (InvalidKeyException | SignatureException | RuntimeException e) {
+            signers.remove(signatureAlgorithm.getAlgorithm());
+            throw e;
+        }
+    }
+
+    private static byte[] mac(SignatureAlgorithm signatureAlgorithm, SecretKey secretKey, byte[] signingInput) throws NoSuchAlgorithmException, InvalidKeyException {
+        final Map<String, Mac> macs = MACS.get().instances();
+        Mac mac = macs.get(signatureAlgorithm.getAlgorithm());
+        if (mac == null) {
+            mac = Mac.getInstance(signatureAlgorithm.getAlgorithm());
+            macs.put(signatureAlgorithm.getAlgorithm(), mac);
+        }
+
+        try {
+            mac.init(secretKey);
+            return mac.doFinal(signingInput);
+        } catch (InvalidKeyException | RuntimeException e) {
+            macs.remove(signatureAlgorithm.getAlgorithm());
+            throw e;
+        }
+    }
+
+    private Key getKey(String alias) throws UnrecoverableKeyException, KeyStoreException, NoSuchAlgorithmException {
+        Key key = keyCache.get(alias);
+        if (key == null) {
+            key = keyStore.getKey(alias, keyStoreSecret.toCharArray());
+            if (key != null) {
+                keyCache.put(alias, key);
+            }
+        }
+        return key;
+    }
+
+    private void removeCachedKey(String alias) {
+        keyCache.remove(alias);
+        KEY_GENERATION.incrementAndGet();
+    }
+
     @Override
     public boolean deleteKey(String alias) throws CryptoProviderException {
         try {
             keyStore.deleteEntry(alias);
+            removeCachedKey(alias);
         } catch (KeyStoreException e) {
             throw new CryptoProviderException(e);
         }
@@ -339,8 +406,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
                 boolean keyOpsCondition = keyOpsType == null || (key.getKeyOpsType() == null || key.getKeyOpsType().isEmpty() || key.getKeyOpsType().contains(keyOpsType));
                 if (algorithm == key.getAlg() && (use == null || use == key.getUse()) && keyOpsCondition) {
                     kid = key.getKid();
-                    Key keyFromStore;
-                    keyFromStore = keyStore.getKey(kid, keyStoreSecret.toCharArray());
+                    Key keyFromStore = getKey(kid);
                     if (keyFromStore != null) {
                         keysByAlgAndUse.add(key);
                     }
@@ -369,7 +435,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
             return null;
         }
         try {
-            Key key = keyStore.getKey(alias, keyStoreSecret.toCharArray());
+            Key key = getKey(alias);
             if (key == null) {
                 return null;
             }
@@ -538,10 +604,12 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
 
         String alias = getKid(algorithm, keyOpsType);
         keyStore.setKeyEntry(alias, pk, keyStoreSecret.toCharArray(), chain);
+        removeCachedKey(alias);
 
         final String oldAliasByAlgorithm = getAliasByAlgorithmForDeletion(algorithm, alias, keyOpsType);
         if (StringUtils.isNotBlank(oldAliasByAlgorithm)) {
             keyStore.deleteEntry(oldAliasByAlgorithm);
+            removeCachedKey(oldAliasByAlgorithm);
             LOG.trace("New key: " + alias + ", deleted key: " + oldAliasByAlgorithm);
         }
 
@@ -617,13 +685,29 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
         if (AlgorithmFamily.EC.equals(signatureAlgorithm.getFamily())) {
             signatureDer = ECDSA.transcodeSignatureToDER(signatureDer);
         }
-        Signature verifier = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
-        verifier.initVerify(publicKey);
-        verifier.update(signingInput.getBytes());
+        final Map<String, CachedSignature> verifiers = VERIFIERS.get().instances();
+        CachedSignature verifier = verifiers.get(signatureAlgorithm.getAlgorithm());
+        if (verifier == null) {
+            verifier = new CachedSignature(Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider()));
+            verifiers.put(signatureAlgorithm.getAlgorithm(), verifier);
+        }
+
+        // public key from JWKS is cached, so verifier is initialized only when key is changed
+        if (verifier.key != publicKey) {
+            verifier.key = null;
+            verifier.signature.initVerify(publicKey);
+            verifier.key = publicKey;
+        }
+        verifier.signature.update(signingInput.getBytes());
         try {
-            return verifier.verify(signatureDer);
+            return verifier.signature.verify(signatureDer);
         } catch (SignatureException e) {
-            return verifier.verify(signature);
+            // state of signature is not defined after failure, initialize it again on next use
+            verifier.key = null;
+            return verifier.signature.verify(signature);
+        } catch (RuntimeException e) {
+            verifiers.remove(signatureAlgorithm.getAlgorithm());
+            throw e;
         }
     }
 
@@ -659,4 +743,30 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
         }
         return keyStorageType;
     }
+
+    private static class ThreadCache<T> {
+
+        private final Map<String, T> instances = new HashMap<>();
+        private long keyGeneration = KEY_GENERATION.get();
+
+        Map<String, T> instances() {
+            final long currentKeyGeneration = KEY_GENERATION.get();
+            if (keyGeneration != currentKeyGeneration) {
+                // Instances may keep deleted or rotated keys
+                instances.clear();
+                keyGeneration = currentKeyGeneration;
+            }
+            return instances;
+        }
+    }
+
+    private static class CachedSignature {
+
+        private final Signature signature;
+        private Key key;
+
+        CachedSignature(Signature signature) {
+            this.signature = signature;
+        }
+    }
 }
@@ -39,6 +39,9 @@ public class CryptoProviderFactory {
         if (cryptoProvider != null && configuration.getKeyRegenerationEnabled()) { // set interval only if re-generation is enabled
             cryptoProvider.setKeyRegenerationIntervalInDays(configuration.getKeyRegenerationInterval() / 24);
         }
+        if (cryptoProvider != null) {
+            cryptoProvider.getPublicKeyCache().configure(configuration.getJwksPublicKeyCacheLifetimeInSeconds(), configuration.getJwksPublicKeyCacheSize());
+        }
         return cryptoProvider;
     }
 
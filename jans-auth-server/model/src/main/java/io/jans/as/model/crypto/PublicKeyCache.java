@@ -0,0 +1,124 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.model.crypto;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jans.as.model.jwk.Algorithm;
+import org.json.JSONObject;
+
+import java.security.PublicKey;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of public keys built from JWKS, so verification of signatures with the same JWKS doesn't
+ * decode key specs again. Key of the cache is JWKS content, kid and requested algorithm. When client
+ * changes jwks (or keys published by jwks_uri are changed) key is looked up under new JWKS content,
+ * so cached key can't be stale. Entries of old JWKS are evicted by size or lifetime.
+ */
+public class PublicKeyCache {
+
+    public static final int DEFAULT_LIFETIME = 600; // seconds
+    public static final int DEFAULT_SIZE = 1000;
+
+    private volatile Cache<CacheKey, PublicKey> cache;
+    private int lifetime;
+    private int size;
+
+    public PublicKeyCache() {
+        configure(DEFAULT_LIFETIME, DEFAULT_SIZE);
+    }
+
+    /**
+     * Re-creates cache if parameters are changed. Cache is disabled if lifetime or size is not positive.
+     */
+    public synchronized void configure(int lifetimeInSeconds, int maximumSize) {
+        if (cache != null && lifetime == lifetimeInSeconds && size == maximumSize) {
+            return;
+        }
+
+        lifetime = lifetimeInSeconds;
+        size = maximumSize;
+        if (lifetimeInSeconds <= 0 || maximumSize <= 0) {
+            cache = null;
+            return;
+        }
+
+        cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(lifetimeInSeconds, TimeUnit.SECONDS)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public PublicKey get(JSONObject jwks, String alias, Algorithm algorithm) {
+        final Cache<CacheKey, PublicKey> currentCache = cache;
+        return currentCache != null ? currentCache.getIfPresent(new CacheKey(jwks, alias, algorithm)) : null;
+    }
+
+    public void put(JSONObject jwks, String alias, Algorithm algorithm, PublicKey publicKey) {
+        final Cache<CacheKey, PublicKey> currentCache = cache;
+        if (currentCache != null && publicKey != null) {
+            currentCache.put(new CacheKey(jwks, alias, algorithm), publicKey);
+        }
+    }
+
+    /**
+     * Removes all keys of given JWKS
+     */
+    public void invalidate(JSONObject jwks) {
+        final Cache<CacheKey, PublicKey> currentCache = cache;
+        if (currentCache != null && jwks != null) {
+            final String content = jwks.toString();
+            currentCache.asMap().keySet().removeIf(key -> key.jwks.equals(content));
+        }
+    }
+
+    public void invalidateAll() {
+        final Cache<CacheKey, PublicKey> currentCache = cache;
+        if (currentCache != null) {
+            currentCache.invalidateAll();
+        }
+    }
+
+    public long size() {
+        final Cache<CacheKey, PublicKey> currentCache = cache;
+        return currentCache != null ? currentCache.size() : 0;
+    }
+
+    private static class CacheKey {
+
+        private final String jwks;
+        private final String alias;
+        private final Algorithm algorithm;
+        private final int hash;
+
+        CacheKey(JSONObject jwks, String alias, Algorithm algorithm) {
+            this.jwks = jwks.toString();
+            this.alias = alias;
+            this.algorithm = algorithm;
+            this.hash = Objects.hash(this.jwks, alias, algorithm);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey that = (CacheKey) o;
+            return hash == that.hash && algorithm == that.algorithm && Objects.equals(alias, that.alias) && jwks.equals(that.jwks);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.jans.as.model.crypto;
+
+import io.jans.as.model.BaseTest;
+import io.jans.as.model.crypto.signature.SignatureAlgorithm;
+import io.jans.as.model.jwk.Algorithm;
+import io.jans.as.model.jwk.JWKParameter;
+import io.jans.util.security.SecurityProviderUtility;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Compares signing throughput of AuthCryptoProvider with cached key and Signature to
+ * signing which loads key from keystore and creates Signature on each call.
+ *
+ * Run with -Dbenchmark
+ */
+public class AuthCryptoProviderBenchmarkTest extends BaseTest {
+
+    private static final String SIGNING_INPUT = "eyJhbGciOiJSUzI1NiIsImtpZCI6InRlc3QifQ.eyJzdWIiOiJ0ZXN0IiwiYXVkIjoidGVzdCJ9";
+    private static final long WARMUP_DURATION = TimeUnit.SECONDS.toNanos(2);
+    private static final long MEASURE_DURATION = TimeUnit.SECONDS.toNanos(5);
+
+    private File keyStoreFile;
+    private AuthCryptoProvider cryptoProvider;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        SecurityProviderUtility.installBCProvider(true);
+
+        keyStoreFile = File.createTempFile("jans-auth-benchmark-keys", ".p12");
+        assertTrue(keyStoreFile.delete());
+
+        cryptoProvider = new AuthCryptoProvider(keyStoreFile.getAbsolutePath(), "secret", "CN=Jans Auth CA Certificates");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        if (keyStoreFile != null) {
+            keyStoreFile.delete();
+        }
+    }
+
+    @Test
+    public void benchmarkSign() throws Exception {
+        showTitle("benchmarkSign");
+
+        for (SignatureAlgorithm signatureAlgorithm : new SignatureAlgorithm[]{SignatureAlgorithm.RS256, SignatureAlgorithm.PS256, SignatureAlgorithm.ES256, SignatureAlgorithm.EDDSA}) {
+            final long expirationTime = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1);
+            final String kid = cryptoProvider.generateKey(Algorithm.fromString(signatureAlgorithm.getName()), expirationTime).getString(JWKParameter.KEY_ID);
+
+            final SignTask uncached = () -> signUncached(kid, signatureAlgorithm);
+            final SignTask cached = () -> cryptoProvider.sign(SIGNING_INPUT, kid, null, signatureAlgorithm);
+
+            final double uncachedOps = measure(uncached);
+            final double cachedOps = measure(cached);
+
+            System.out.printf("%s: uncached key and signature %.0f ops/s, cached %.0f ops/s (x%.2f)%n",
+                    signatureAlgorithm.getName(), uncachedOps, cachedOps, cachedOps / uncachedOps);
+        }
+    }
+
+    // Signing as it was done before key and Signature caching
+    private void signUncached(String kid, SignatureAlgorithm signatureAlgorithm) throws Exception {
+        PrivateKey privateKey = (PrivateKey) cryptoProvider.getKeyStore().getKey(kid, cryptoProvider.getKeyStoreSecret().toCharArray());
+        Signature signer = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
+        signer.initSign(privateKey);
+        signer.update(SIGNING_INPUT.getBytes());
+        signer.sign();
+    }
+
+    private static double measure(SignTask task) throws Exception {
+        run(task, WARMUP_DURATION);
+        final long start = System.nanoTime();
+        final long count = run(task, MEASURE_DURATION);
+        return count * (double) TimeUnit.SECONDS.toNanos(1) / (System.nanoTime() - start);
+    }
+
+    private static long run(SignTask task, long duration) throws Exception {
+        final long end = System.nanoTime() + duration;
+        long count = 0;
+        while (System.nanoTime() < end) {
+            task.sign();
+            count++;
+        }
+        return count;
+    }
+
+    private interface SignTask {
+        void sign() throws Exception;
+    }
+}
@@ -0,0 +1,204 @@
+package io.jans.as.model.crypto;
+
+import io.jans.as.model.BaseTest;
+import io.jans.as.model.crypto.signature.SignatureAlgorithm;
+import io.jans.as.model.jwk.Algorithm;
+import io.jans.as.model.jwk.JWKParameter;
+import io.jans.util.security.SecurityProviderUtility;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class AuthCryptoProviderTest extends BaseTest {
+
+    private static final String SIGNING_INPUT = "eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJ0ZXN0In0";
+
+    private File keyStoreFile;
+    private AuthCryptoProvider cryptoProvider;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        SecurityProviderUtility.installBCProvider(true);
+
+        keyStoreFile = File.createTempFile("jans-auth-keys", ".p12");
+        // provider creates keystore if file doesn't exist
+        assertTrue(keyStoreFile.delete());
+
+        cryptoProvider = new AuthCryptoProvider(keyStoreFile.getAbsolutePath(), "secret", "CN=Jans Auth CA Certificates");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        if (keyStoreFile != null) {
+            keyStoreFile.delete();
+        }
+    }
+
+    private String generateKey(Algorithm algorithm) throws Exception {
+        return generateJwk(algorithm).getString(JWKParameter.KEY_ID);
+    }
+
+    private JSONObject generateJwk(Algorithm algorithm) throws Exception {
+        final long expirationTime = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1);
+        return cryptoProvider.generateKey(algorithm, expirationTime);
+    }
+
+    @Test
+    public void sign_whenCalledRepeatedly_shouldProduceVerifiableSignatures() throws Exception {
+        showTitle("sign_whenCalledRepeatedly_shouldProduceVerifiableSignatures");
+
+        for (SignatureAlgorithm signatureAlgorithm : new SignatureAlgorithm[]{SignatureAlgorithm.RS256, SignatureAlgorithm.PS256, SignatureAlgorithm.ES256, SignatureAlgorithm.EDDSA}) {
+            final String kid = generateKey(Algorithm.fromString(signatureAlgorithm.getName()));
+
+            for (int i = 0; i < 3; i++) {
+                final String input = SIGNING_INPUT + i;
+                final String signature = cryptoProvider.sign(input, kid, null, signatureAlgorithm);
+                assertTrue(cryptoProvider.verifySignature(input, signature, kid, null, null, signatureAlgorithm), "Invalid signature, algorithm: " + signatureAlgorithm);
+            }
+        }
+    }
+
+    @Test
+    public void sign_whenCalledConcurrently_shouldProduceVerifiableSignatures() throws Exception {
+        showTitle("sign_whenCalledConcurrently_shouldProduceVerifiableSignatures");
+
+        final String kid = generateKey(Algorithm.ES256);
+        final AtomicInteger invalid = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 50; i++) {
+                        final String input = SIGNING_INPUT + Thread.currentThread().getName() + i;
+                        final String signature = cryptoProvider.sign(input, kid, null, SignatureAlgorithm.ES256);
+                        if (!cryptoProvider.verifySignature(input, signature, kid, null, null, SignatureAlgorithm.ES256)) {
+                            invalid.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    invalid.incrementAndGet();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(invalid.get(), 0);
+    }
+
+    @Test
+    public void getPrivateKey_whenKeyIsDeleted_shouldNotReturnCachedKey() throws Exception {
+        showTitle("getPrivateKey_whenKeyIsDeleted_shouldNotReturnCachedKey");
+
+        final String kid = generateKey(Algorithm.RS256);
+
+        final PrivateKey privateKey = cryptoProvider.getPrivateKey(kid);
+        assertNotNull(privateKey);
+        assertSame(cryptoProvider.getPrivateKey(kid), privateKey);
+
+        cryptoProvider.deleteKey(kid);
+
+        assertNull(cryptoProvider.getPrivateKey(kid));
+        assertFalse(cryptoProvider.containsKey(kid));
+    }
+
+    @Test
+    public void deleteKey_afterSign_shouldDropSignersCachedByThread() throws Exception {
+        showTitle("deleteKey_afterSign_shouldDropSignersCachedByThread");
+
+        final String kid = generateKey(Algorithm.RS256);
+        cryptoProvider.sign(SIGNING_INPUT, kid, null, SignatureAlgorithm.RS256);
+        assertFalse(cachedSigners().isEmpty());
+
+        cryptoProvider.deleteKey(kid);
+
+        // signer initialized with deleted private key must not be kept
+        assertTrue(cachedSigners().isEmpty());
+    }
+
+    private static Map<?, ?> cachedSigners() throws Exception {
+        final Field signersField = AuthCryptoProvider.class.getDeclaredField("SIGNERS");
+        signersField.setAccessible(true);
+        final Object threadCache = ((ThreadLocal<?>) signersField.get(null)).get();
+
+        final Method instances = threadCache.getClass().getDeclaredMethod("instances");
+        instances.setAccessible(true);
+        return (Map<?, ?>) instances.invoke(threadCache);
+    }
+
+    @Test
+    public void sign_withHmac_shouldUseGivenSharedSecret() throws Exception {
+        showTitle("sign_withHmac_shouldUseGivenSharedSecret");
+
+        final String signature1 = cryptoProvider.sign(SIGNING_INPUT, null, "secret1", SignatureAlgorithm.HS256);
+        final String signature2 = cryptoProvider.sign(SIGNING_INPUT, null, "secret2", SignatureAlgorithm.HS256);
+
+        assertNotEquals(signature1, signature2);
+        assertEquals(cryptoProvider.sign(SIGNING_INPUT, null, "secret1", SignatureAlgorithm.HS256), signature1);
+    }
+
+    @Test
+    public void getPublicKey_withSameJwks_shouldReturnCachedKey() throws Exception {
+        showTitle("getPublicKey_withSameJwks_shouldReturnCachedKey");
+
+        final JSONObject jwk = generateJwk(Algorithm.ES256);
+        final String kid = jwk.getString(JWKParameter.KEY_ID);
+        final JSONObject jwks = new JSONObject().put(JWKParameter.JSON_WEB_KEY_SET, new JSONArray().put(jwk));
+
+        final PublicKey publicKey = cryptoProvider.getPublicKey(kid, jwks, Algorithm.ES256);
+        assertNotNull(publicKey);
+        assertSame(cryptoProvider.getPublicKey(kid, new JSONObject(jwks.toString()), Algorithm.ES256), publicKey);
+
+        for (int i = 0; i < 3; i++) {
+            final String signature = cryptoProvider.sign(SIGNING_INPUT, kid, null, SignatureAlgorithm.ES256);
+            assertTrue(cryptoProvider.verifySignature(SIGNING_INPUT, signature, kid, jwks, null, SignatureAlgorithm.ES256));
+            assertFalse(cryptoProvider.verifySignature(SIGNING_INPUT + i, signature, kid, jwks, null, SignatureAlgorithm.ES256));
+        }
+
+        cryptoProvider.getPublicKeyCache().invalidate(jwks);
+        assertNotSame(cryptoProvider.getPublicKey(kid, jwks, Algorithm.ES256), publicKey);
+    }
+
+    @Test
+    public void getPublicKey_whenJwksIsChanged_shouldNotReturnKeyOfOldJwks() throws Exception {
+        showTitle("getPublicKey_whenJwksIsChanged_shouldNotReturnKeyOfOldJwks");
+
+        final JSONObject jwk = generateJwk(Algorithm.RS256);
+        final String kid = jwk.getString(JWKParameter.KEY_ID);
+        final JSONObject jwks = new JSONObject().put(JWKParameter.JSON_WEB_KEY_SET, new JSONArray().put(jwk));
+        assertNotNull(cryptoProvider.getPublicKey(kid, jwks, Algorithm.RS256));
+
+        // client rotated key but kept kid
+        final JSONObject rotatedJwk = generateJwk(Algorithm.RS256);
+        rotatedJwk.put(JWKParameter.KEY_ID, kid);
+        final JSONObject rotatedJwks = new JSONObject().put(JWKParameter.JSON_WEB_KEY_SET, new JSONArray().put(rotatedJwk));
+
+        assertNotEquals(cryptoProvider.getPublicKey(kid, rotatedJwks, Algorithm.RS256), cryptoProvider.getPublicKey(kid, jwks, Algorithm.RS256));
+    }
+}
@@ -9,7 +9,6 @@ package io.jans.as.server.auth;
 import io.jans.as.common.model.registration.Client;
 import io.jans.as.common.model.session.SessionId;
 import io.jans.as.common.model.session.SessionIdState;
-import io.jans.as.common.util.CommonUtils;
 import io.jans.as.model.authorize.AuthorizeRequestParam;
 import io.jans.as.model.common.AuthenticationMethod;
 import io.jans.as.model.common.Prompt;
@@ -24,6 +23,7 @@ import io.jans.as.model.util.HashUtil;
 import io.jans.as.server.service.SessionIdService;
 import io.jans.as.server.service.external.ExternalDynamicClientRegistrationService;
 import io.jans.as.server.service.external.context.DynamicClientRegistrationContext;
+import io.jans.as.server.service.net.RemoteJwksCache;
 import io.jans.util.CoreCertUtil;
 import jakarta.ejb.DependsOn;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -72,6 +72,9 @@ public class MTLSService {
     @Inject
     private ExternalDynamicClientRegistrationService externalDynamicClientRegistrationService;
 
+    @Inject
+    private RemoteJwksCache remoteJwksCache;
+
     public boolean processMTLS(HttpServletRequest httpRequest, HttpServletResponse httpResponse, FilterChain filterChain, Client client) throws Exception {
         log.debug("Trying to authenticate client {} via {} ...", client.getClientId(),
                 client.getAllAuthenticationMethods());
@@ -130,7 +133,7 @@ public class MTLSService {
             final PublicKey publicKey = cert.getPublicKey();
             final byte[] encodedKey = publicKey.getEncoded();
 
-            JSONObject jsonWebKeys = CommonUtils.getJwks(client);
+            JSONObject jsonWebKeys = remoteJwksCache.getJwks(client);
 
             if (jsonWebKeys == null) {
                 log.debug("Unable to load json web keys for client: {}, jwks_uri: {}, jks: {}", client.getClientId(),
@@ -7,7 +7,6 @@ import com.google.common.collect.Sets;
 import io.jans.as.common.model.common.User;
 import io.jans.as.common.model.registration.Client;
 import io.jans.as.common.model.session.SessionId;
-import io.jans.as.common.util.CommonUtils;
 import io.jans.as.common.util.RedirectUri;
 import io.jans.as.model.authorize.AuthorizeErrorResponseType;
 import io.jans.as.model.authorize.AuthorizeResponseParam;
@@ -46,6 +45,7 @@ import io.jans.as.server.model.token.HandleTokenFactory;
 import io.jans.as.server.par.ws.rs.ParService;
 import io.jans.as.server.service.*;
 import io.jans.as.server.service.external.ExternalAuthenticationService;
+import io.jans.as.server.service.net.RemoteJwksCache;
 import io.jans.as.server.util.ServerUtil;
 import jakarta.ejb.Stateless;
 import jakarta.inject.Inject;
@@ -121,6 +121,9 @@ public class AuthzRequestService {
     @Inject
     private AcrService acrService;
 
+    @Inject
+    private RemoteJwksCache remoteJwksCache;
+
     private final Cache<String, Map<String, Integer>> acrToLevelCache = CacheBuilder.newBuilder()
             .expireAfterWrite(ACR_TO_LEVEL_CACHE_LIFETIME_IN_MINUTES, TimeUnit.MINUTES).build();
 
@@ -457,7 +460,7 @@ public class AuthzRequestService {
                     String nestedKeyId = new ServerCryptoProvider(cryptoProvider).getKeyId(webKeysConfiguration,
                             Algorithm.fromString(signatureAlgorithm.getName()), Use.SIGNATURE, KeyOpsType.CONNECT);
 
-                    JSONObject jsonWebKeys = CommonUtils.getJwks(client);
+                    JSONObject jsonWebKeys = remoteJwksCache.getJwks(client);
                     redirectUriResponse.getRedirectUri().setNestedJsonWebKeys(jsonWebKeys);
 
                     String clientSecret = clientService.decryptSecret(client.getClientSecret());
@@ -466,7 +469,7 @@ public class AuthzRequestService {
                 }
 
                 // Encrypted response
-                JSONObject jsonWebKeys = CommonUtils.getJwks(client);
+                JSONObject jsonWebKeys = remoteJwksCache.getJwks(client);
                 if (jsonWebKeys != null) {
                     keyId = new ServerCryptoProvider(cryptoProvider).getKeyId(JSONWebKeySet.fromJSONObject(jsonWebKeys),
                             Algorithm.fromString(client.getAttributes().getAuthorizationEncryptedResponseAlg()),
@@ -487,7 +490,7 @@ public class AuthzRequestService {
                 keyId = new ServerCryptoProvider(cryptoProvider).getKeyId(webKeysConfiguration,
                         Algorithm.fromString(signatureAlgorithm.getName()), Use.SIGNATURE, KeyOpsType.CONNECT);
 
-                JSONObject jsonWebKeys = CommonUtils.getJwks(client);
+                JSONObject jsonWebKeys = remoteJwksCache.getJwks(client);
                 redirectUriResponse.getRedirectUri().setJsonWebKeys(jsonWebKeys);
 
                 String clientSecret = clientService.decryptSecret(client.getClientSecret());
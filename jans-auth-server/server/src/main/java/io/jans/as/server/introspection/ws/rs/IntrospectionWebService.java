@@ -181,7 +181,7 @@ public class IntrospectionWebService {
 
             final IntrospectionResponse response = new IntrospectionResponse(false);
 
-            final AuthorizationGrant grantOfIntrospectionToken = authorizationGrantList.getAuthorizationGrantByAccessToken(token);
+            final AuthorizationGrant grantOfIntrospectionToken = authorizationGrantList.getIntrospectionGrantByAccessToken(token);
 
             fillResponse(token, response, grantOfIntrospectionToken);
             JSONObject responseAsJsonObject = createResponseAsJsonObject(response, grantOfIntrospectionToken);
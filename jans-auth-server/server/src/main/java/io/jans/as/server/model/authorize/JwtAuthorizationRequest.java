@@ -8,7 +8,6 @@ package io.jans.as.server.model.authorize;
 
 import com.google.common.collect.Lists;
 import io.jans.as.common.model.registration.Client;
-import io.jans.as.common.util.CommonUtils;
 import io.jans.as.model.authorize.AuthorizeErrorResponseType;
 import io.jans.as.model.common.Display;
 import io.jans.as.model.common.Prompt;
@@ -34,6 +33,7 @@ import io.jans.as.model.util.Util;
 import io.jans.as.server.service.ClientService;
 import io.jans.as.server.service.RedirectUriResponse;
 import io.jans.as.server.service.RedirectionUriService;
+import io.jans.as.server.service.net.RemoteJwksCache;
 import io.jans.service.cdi.util.CdiUtil;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.client.ClientBuilder;
@@ -336,7 +336,7 @@ public class JwtAuthorizationRequest {
     private boolean validateSignature(@NotNull AbstractCryptoProvider cryptoProvider, SignatureAlgorithm signatureAlgorithm, Client client, String signingInput, String signature) throws Exception {
         ClientService clientService = CdiUtil.bean(ClientService.class);
         String sharedSecret = clientService.decryptSecret(client.getClientSecret());
-        JSONObject jwks = CommonUtils.getJwks(client);
+        JSONObject jwks = CdiUtil.bean(RemoteJwksCache.class).getJwks(client, keyId);
         return cryptoProvider.verifySignature(signingInput, signature, keyId, jwks, sharedSecret, signatureAlgorithm);
     }
 
@@ -28,6 +28,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
 
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 
@@ -81,6 +82,11 @@ public abstract class AbstractAuthorizationGrant implements IAuthorizationGrant
     private String sessionDn;
     private boolean isAuthorizationChallenge;
 
+    // Loaders of lazily hydrated fields, they are reset after field is loaded
+    private volatile Supplier<User> userLoader;
+    private volatile Supplier<AuthzDetails> authzDetailsLoader;
+    private volatile Supplier<JwtAuthorizationRequest> jwtAuthorizationRequestLoader;
+
     protected final ConcurrentMap<String, TxToken> txTokens = new ConcurrentHashMap<>();
     protected final ConcurrentMap<String, AccessToken> accessTokens = new ConcurrentHashMap<>();
     protected final ConcurrentMap<String, RefreshToken> refreshTokens = new ConcurrentHashMap<>();
@@ -309,9 +315,26 @@ public abstract class AbstractAuthorizationGrant implements IAuthorizationGrant
      */
     @Override
     public User getUser() {
+        if (userLoader != null) {
+            loadUser();
+        }
         return user;
     }
 
+    /**
+     * Sets loader which is called on first access to user
+     */
+    public void setUserLoader(Supplier<User> userLoader) {
+        this.userLoader = userLoader;
+    }
+
+    private synchronized void loadUser() {
+        if (userLoader != null) {
+            user = userLoader.get();
+            userLoader = null;
+        }
+    }
+
     public String getAcrValues() {
         return acrValues;
     }
@@ -427,20 +450,22 @@ public abstract class AbstractAuthorizationGrant implements IAuthorizationGrant
 
     @Override
     public String getUserId() {
-        if (user == null) {
+        final User currentUser = getUser();
+        if (currentUser == null) {
             return null;
         }
 
-        return user.getUserId();
+        return currentUser.getUserId();
     }
 
     @Override
     public String getUserDn() {
-        if (user == null) {
+        final User currentUser = getUser();
+        if (currentUser == null) {
             return null;
         }
 
-        return user.getDn();
+        return currentUser.getDn();
     }
 
     /**
@@ -503,25 +528,62 @@ public abstract class AbstractAuthorizationGrant implements IAuthorizationGrant
     }
 
     public String getAuthzDetailsAsString() {
-        return authzDetails != null ? authzDetails.asJsonArray().toString() : null;
+        final AuthzDetails currentAuthzDetails = getAuthzDetails();
+        return currentAuthzDetails != null ? currentAuthzDetails.asJsonArray().toString() : null;
     }
 
     public AuthzDetails getAuthzDetails() {
+        if (authzDetailsLoader != null) {
+            loadAuthzDetails();
+        }
         return authzDetails;
     }
 
-    public void setAuthzDetails(AuthzDetails authzDetails) {
+    public synchronized void setAuthzDetails(AuthzDetails authzDetails) {
         this.authzDetails = authzDetails;
+        this.authzDetailsLoader = null;
+    }
+
+    /**
+     * Sets loader which is called on first access to authorization details
+     */
+    public void setAuthzDetailsLoader(Supplier<AuthzDetails> authzDetailsLoader) {
+        this.authzDetailsLoader = authzDetailsLoader;
+    }
+
+    private synchronized void loadAuthzDetails() {
+        if (authzDetailsLoader != null) {
+            authzDetails = authzDetailsLoader.get();
+            authzDetailsLoader = null;
+        }
     }
 
     @Override
     public JwtAuthorizationRequest getJwtAuthorizationRequest() {
+        if (jwtAuthorizationRequestLoader != null) {
+            loadJwtAuthorizationRequest();
+        }
         return jwtAuthorizationRequest;
     }
 
     @Override
-    public void setJwtAuthorizationRequest(JwtAuthorizationRequest jwtAuthorizationRequest) {
+    public synchronized void setJwtAuthorizationRequest(JwtAuthorizationRequest jwtAuthorizationRequest) {
         this.jwtAuthorizationRequest = jwtAuthorizationRequest;
+        this.jwtAuthorizationRequestLoader = null;
+    }
+
+    /**
+     * Sets loader which is called on first access to JWT authorization request
+     */
+    public void setJwtAuthorizationRequestLoader(Supplier<JwtAuthorizationRequest> jwtAuthorizationRequestLoader) {
+        this.jwtAuthorizationRequestLoader = jwtAuthorizationRequestLoader;
+    }
+
+    private synchronized void loadJwtAuthorizationRequest() {
+        if (jwtAuthorizationRequestLoader != null) {
+            jwtAuthorizationRequest = jwtAuthorizationRequestLoader.get();
+            jwtAuthorizationRequestLoader = null;
+        }
     }
 
     @Override
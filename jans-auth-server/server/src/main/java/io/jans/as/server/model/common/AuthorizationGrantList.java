@@ -16,6 +16,7 @@ import io.jans.as.model.util.Util;
 import io.jans.as.server.model.authorize.JwtAuthorizationRequest;
 import io.jans.as.server.service.ClientService;
 import io.jans.as.server.service.GrantService;
+import io.jans.as.server.service.IntrospectionGrantCache;
 import io.jans.as.server.service.MetricService;
 import io.jans.as.server.util.TokenHashUtil;
 import io.jans.model.metric.MetricType;
@@ -73,6 +74,9 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
     @Inject
     private MetricService metricService;
 
+    @Inject
+    private IntrospectionGrantCache introspectionGrantCache;
+
     @Override
     public void removeAuthorizationGrants(List<AuthorizationGrant> authorizationGrants) {
         if (authorizationGrants != null && !authorizationGrants.isEmpty()) {
@@ -262,6 +266,30 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
         return null;
     }
 
+    /**
+     * Returns grant of access token for introspection. Grant is taken from node local cache if it's enabled.
+     * Cached grant is shared between requests, so it must not be modified.
+     */
+    public AuthorizationGrant getIntrospectionGrantByAccessToken(String accessToken) {
+        if (StringUtils.isBlank(accessToken) || !introspectionGrantCache.isEnabled()) {
+            return getAuthorizationGrantByAccessToken(accessToken);
+        }
+
+        final String hashedCode = TokenHashUtil.hash(accessToken);
+        AuthorizationGrant grant = introspectionGrantCache.get(hashedCode);
+        if (grant != null) {
+            final AbstractToken token = grant.getAccessToken(accessToken);
+            if (token != null) {
+                token.checkExpired();
+            }
+            return grant;
+        }
+
+        grant = getAuthorizationGrantByAccessToken(accessToken);
+        introspectionGrantCache.put(hashedCode, grant);
+        return grant;
+    }
+
     @Override
     public AuthorizationGrant getAuthorizationGrantByJti(String jti) {
         final TokenEntity tokenEntity = grantService.getGrantsByJti(jti);
@@ -299,11 +327,8 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
         if (tokenEntity != null) {
             final AuthorizationGrantType grantType = AuthorizationGrantType.fromString(tokenEntity.getGrantType());
             if (grantType != null) {
-            	String userId = tokenEntity.getUserId();
-            	User user = null;
-            	if (StringHelper.isNotEmpty(userId)) {
-                    user = userService.getUser(userId);
-            	}
+                // user is loaded lazily on first access, see setUserLoader below
+                final User user = null;
                 final Client client = clientService.getClient(tokenEntity.getClientId());
                 final Date authenticationTime = tokenEntity.getAuthenticationTime();
                 final String nonce = tokenEntity.getNonce();
@@ -363,6 +388,11 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
                         return null;
                 }
 
+                final String userId = tokenEntity.getUserId();
+                if (StringHelper.isNotEmpty(userId)) {
+                    result.setUserLoader(() -> userService.getUser(userId));
+                }
+
                 final String grantId = tokenEntity.getGrantId();
                 final String jwtRequest = tokenEntity.getJwtRequest();
                 final String authMode = tokenEntity.getAuthMode();
@@ -381,17 +411,22 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
                     result.setGrantId(grantId);
                 }
                 result.setScopes(Util.splittedStringAsList(tokenEntity.getScope(), " "));
-                result.setAuthzDetails(AuthzDetails.ofSilently(tokenEntity.getAttributes().getAuthorizationDetails()));
+                final String authorizationDetails = tokenEntity.getAttributes().getAuthorizationDetails();
+                result.setAuthzDetailsLoader(() -> AuthzDetails.ofSilently(authorizationDetails));
 
                 result.setCodeChallenge(tokenEntity.getCodeChallenge());
                 result.setCodeChallengeMethod(tokenEntity.getCodeChallengeMethod());
 
                 if (StringUtils.isNotBlank(jwtRequest)) {
-                    try {
-                        result.setJwtAuthorizationRequest(new JwtAuthorizationRequest(appConfiguration, cryptoProvider, jwtRequest, client));
-                    } catch (Exception e) {
-                        log.trace(e.getMessage(), e);
-                    }
+                    // parsing and signature verification is done only if request is needed
+                    result.setJwtAuthorizationRequestLoader(() -> {
+                        try {
+                            return new JwtAuthorizationRequest(appConfiguration, cryptoProvider, jwtRequest, client);
+                        } catch (Exception e) {
+                            log.trace(e.getMessage(), e);
+                            return null;
+                        }
+                    });
                 }
 
                 result.setAcrValues(authMode);
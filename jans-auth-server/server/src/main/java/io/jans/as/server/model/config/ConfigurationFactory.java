@@ -30,6 +30,8 @@ import io.jans.orm.service.PersistanceFactoryService;
 import io.jans.service.ApplicationConfigurationFactory;
 import io.jans.service.cdi.async.Asynchronous;
 import io.jans.service.cdi.event.BaseConfigurationReload;
+import io.jans.service.cdi.event.ChangeNotificationEvent;
+import io.jans.service.cdi.event.ChangeNotificationPublisher;
 import io.jans.service.cdi.event.ConfigurationEvent;
 import io.jans.service.cdi.event.ConfigurationUpdate;
 import io.jans.service.cdi.event.LdapConfigurationReload;
@@ -54,6 +56,7 @@ import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletRegistration;
 import java.io.File;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -100,6 +103,9 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
     @Inject
     private Instance<AbstractCryptoProvider> abstractCryptoProviderInstance;
 
+    @Inject
+    private Instance<ChangeNotificationPublisher> changeNotificationPublisherInstance;
+
     public static final String PERSISTENCE_CONFIGURATION_RELOAD_EVENT_TYPE = "persistenceConfigurationReloadEvent";
     public static final String BASE_CONFIGURATION_RELOAD_EVENT_TYPE = "baseConfigurationReloadEvent";
 
@@ -155,6 +161,7 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
     private long baseConfigurationFileLastModifiedTime;
 
     private long loadedRevision = -1;
+    private volatile long lastRevisionCheckTime;
     private boolean loadedFromLdap = true;
 
     @PostConstruct
@@ -222,7 +229,7 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
         }
 
         try {
-            reloadConfiguration();
+            reloadConfiguration(false);
         } catch (Exception ex) {
             log.error("Exception happened while reloading application configuration", ex);
         } finally {
@@ -230,7 +237,44 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
         }
     }
 
-    private void reloadConfiguration() {
+    @Asynchronous
+    public void onChangeNotification(@Observes ChangeNotificationEvent changeNotificationEvent) {
+        if (!ChangeNotificationEvent.CONFIGURATION_TYPE.equals(changeNotificationEvent.getType()) ||
+                !StringHelper.equalsIgnoreCase(changeNotificationEvent.getId(), this.baseConfiguration.getString(SERVER_KEY_OF_CONFIGURATION_ENTRY))) {
+            return;
+        }
+
+        log.debug("Get configuration change notification, revision: {}", changeNotificationEvent.getRevision());
+        if (changeNotificationEvent.getRevision() <= this.loadedRevision) {
+            return;
+        }
+
+        // If reload is in progress, revision will be checked on next timer event
+        this.lastRevisionCheckTime = 0;
+        if (!this.isActive.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            reloadConfiguration(true);
+        } catch (Exception ex) {
+            log.error("Exception happened while reloading application configuration", ex);
+        } finally {
+            this.isActive.set(false);
+        }
+    }
+
+    private boolean isPollingIntervalNotPassed(long now) {
+        if (!changeNotificationPublisherInstance.isResolvable()) {
+            return false;
+        }
+
+        final ChangeNotificationPublisher changeNotificationPublisher = changeNotificationPublisherInstance.get();
+        return changeNotificationPublisher.isActive()
+                && (now - this.lastRevisionCheckTime < TimeUnit.SECONDS.toMillis(changeNotificationPublisher.getPollingInterval()));
+    }
+
+    private void reloadConfiguration(boolean notified) {
         // Reload LDAP configuration if needed
         PersistenceConfiguration newPersistenceConfiguration = persistanceFactoryService.loadPersistenceConfiguration(APP_PROPERTIES_FILE);
 
@@ -257,6 +301,13 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
             return;
         }
 
+        final long now = System.currentTimeMillis();
+        if (!notified && isPollingIntervalNotPassed(now)) {
+            // Changes are applied by change notifications, revision check is only safety net
+            return;
+        }
+        this.lastRevisionCheckTime = now;
+
         if (!isRevisionIncreased()) {
             return;
         }
@@ -7,7 +7,6 @@
 package io.jans.as.server.model.token;
 
 import io.jans.as.common.model.registration.Client;
-import io.jans.as.common.util.CommonUtils;
 import io.jans.as.model.common.AuthenticationMethod;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.model.crypto.AbstractCryptoProvider;
@@ -21,6 +20,7 @@ import io.jans.as.model.jwt.JwtHeaderName;
 import io.jans.as.model.jwt.JwtType;
 import io.jans.as.model.token.ClientAssertionType;
 import io.jans.as.server.service.ClientService;
+import io.jans.as.server.service.net.RemoteJwksCache;
 import io.jans.service.cdi.util.CdiUtil;
 import io.jans.util.Pair;
 import io.jans.util.security.StringEncrypter;
@@ -193,7 +193,7 @@ public class ClientAssertion {
 
         // Validate the crypto segment
         String keyId = jwt.getHeader().getKeyId();
-        JSONObject jwks = CommonUtils.getJwks(client);
+        JSONObject jwks = CdiUtil.bean(RemoteJwksCache.class).getJwks(client, keyId);
         boolean validSignature = cryptoProvider.verifySignature(jwt.getSigningInput(), jwt.getEncodedSignature(),
                 keyId, jwks, clientSecret, signatureAlgorithm);
 
@@ -7,7 +7,6 @@
 package io.jans.as.server.model.token;
 
 import io.jans.as.common.model.registration.Client;
-import io.jans.as.common.util.CommonUtils;
 import io.jans.as.model.config.WebKeysConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.model.crypto.AbstractCryptoProvider;
@@ -28,6 +27,7 @@ import io.jans.as.server.model.common.IAuthorizationGrant;
 import io.jans.as.server.service.ClientService;
 import io.jans.as.server.service.SectorIdentifierService;
 import io.jans.as.server.service.ServerCryptoProvider;
+import io.jans.as.server.service.net.RemoteJwksCache;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.json.JSONObject;
@@ -68,6 +68,9 @@ public class JwrService {
     @Inject
     private SectorIdentifierService sectorIdentifierService;
 
+    @Inject
+    private RemoteJwksCache remoteJwksCache;
+
     /**
      * Encode means encrypt for Jwe and sign for Jwt, means it's implementaiton specific but we want to abstract it.
      *
@@ -104,7 +107,7 @@ public class JwrService {
         final BlockEncryptionAlgorithm encryptionMethod = jwe.getHeader().getEncryptionMethod();
 
         if (keyEncryptionAlgorithm == KeyEncryptionAlgorithm.RSA_OAEP || keyEncryptionAlgorithm == KeyEncryptionAlgorithm.RSA1_5) {
-            JSONObject jsonWebKeys = CommonUtils.getJwks(client);
+            JSONObject jsonWebKeys = remoteJwksCache.getJwks(client);
             String keyId = new ServerCryptoProvider(cryptoProvider).getKeyId(JSONWebKeySet.fromJSONObject(jsonWebKeys),
                     Algorithm.fromString(keyEncryptionAlgorithm.getName()),
                     Use.ENCRYPTION, KeyOpsType.CONNECT);
@@ -0,0 +1,117 @@
+package io.jans.as.server.rate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jans.service.BaseCacheService;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cluster-wide rate limiter. Each rate limit key has shared counter per period window in cache.
+ * Node leases small batch of tokens from it and consumes them locally, so most requests
+ * don't make a round-trip to cache.
+ *
+ * Note: tokens which are leased but not consumed by node before window ends are lost.
+ */
+public class DistributedRateLimiter {
+
+    public static final int DEFAULT_LEASE_SIZE = 5;
+    private static final String COUNTER_KEY_PREFIX = "rate_limit_";
+
+    private final BaseCacheService cacheService;
+    private final int leaseSize;
+
+    private final Cache<String, TokenLease> leases = CacheBuilder.newBuilder()
+            .expireAfterAccess(2, TimeUnit.MINUTES)
+            .build();
+
+    public DistributedRateLimiter(BaseCacheService cacheService, Integer leaseSize) {
+        this.cacheService = cacheService;
+        this.leaseSize = leaseSize != null && leaseSize > 0 ? leaseSize : DEFAULT_LEASE_SIZE;
+    }
+
+    /**
+     * @return true if request is allowed
+     * @throws RuntimeException if it's not possible to lease tokens from cache
+     */
+    public boolean tryConsume(String key, int requestLimit, int periodInSeconds, RateLimitMetrics metrics) throws ExecutionException {
+        final long window = System.currentTimeMillis() / (periodInSeconds * 1000L);
+
+        final TokenLease lease = leases.get(key, TokenLease::new);
+        if (lease.tryConsume(window)) {
+            metrics.localHit();
+            return true;
+        }
+
+        synchronized (lease) {
+            // Another thread might lease tokens already
+            if (lease.tryConsume(window)) {
+                metrics.localHit();
+                return true;
+            }
+
+            if (lease.isExhausted(window)) {
+                metrics.rejection();
+                return false;
+            }
+
+            int size = Math.min(leaseSize, requestLimit);
+            long counter = cacheService.incrementBy(periodInSeconds + 1, COUNTER_KEY_PREFIX + key + "_" + window, size);
+            long granted = Math.max(0, Math.min(size, requestLimit - (counter - size)));
+            metrics.remoteLease();
+
+            if (granted == 0) {
+                lease.exhaust(window);
+                metrics.rejection();
+                return false;
+            }
+
+            // First token is consumed by current request
+            lease.reset(window, (int) granted - 1);
+            return true;
+        }
+    }
+
+    public long getLeasesCount() {
+        return leases.size();
+    }
+
+    private static class TokenLease {
+
+        private final AtomicInteger remaining = new AtomicInteger();
+        private volatile long window = -1;
+        private volatile long exhaustedWindow = -1;
+
+        boolean tryConsume(long currentWindow) {
+            if (window != currentWindow) {
+                return false;
+            }
+
+            int value;
+            do {
+                value = remaining.get();
+                if (value <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(value, value - 1));
+
+            return true;
+        }
+
+        boolean isExhausted(long currentWindow) {
+            return exhaustedWindow == currentWindow;
+        }
+
+        void exhaust(long currentWindow) {
+            remaining.set(0);
+            exhaustedWindow = currentWindow;
+        }
+
+        void reset(long currentWindow, int tokens) {
+            remaining.set(tokens);
+            window = currentWindow;
+        }
+    }
+}
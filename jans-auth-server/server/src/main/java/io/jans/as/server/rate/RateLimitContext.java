@@ -1,6 +1,7 @@
 package io.jans.as.server.rate;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.json.JSONObject;
 
 import java.io.IOException;
 
@@ -9,6 +10,8 @@ public class RateLimitContext {
     private final HttpServletRequest request;
     private final boolean rateLoggingEnabled;
     private CachedBodyHttpServletRequest cachedRequest;
+    private JSONObject jsonBody;
+    private boolean jsonBodyParsed;
 
     public RateLimitContext(HttpServletRequest request, boolean rateLoggingEnabled) {
         this.request = request;
@@ -37,4 +40,17 @@ public class RateLimitContext {
     public void setCachedRequest(CachedBodyHttpServletRequest cachedRequest) {
         this.cachedRequest = cachedRequest;
     }
+
+    public boolean isJsonBodyParsed() {
+        return jsonBodyParsed;
+    }
+
+    public JSONObject getJsonBody() {
+        return jsonBody;
+    }
+
+    public void setJsonBody(JSONObject jsonBody) {
+        this.jsonBody = jsonBody;
+        this.jsonBodyParsed = true;
+    }
 }
@@ -0,0 +1,46 @@
+package io.jans.as.server.rate;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per rule rate limit counters
+ */
+public class RateLimitMetrics {
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteLeases = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public void localHit() {
+        localHits.increment();
+    }
+
+    public void remoteLease() {
+        remoteLeases.increment();
+    }
+
+    public void rejection() {
+        rejections.increment();
+    }
+
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    public long getRemoteLeases() {
+        return remoteLeases.sum();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitMetrics{" +
+                "localHits=" + getLocalHits() +
+                ", remoteLeases=" + getRemoteLeases() +
+                ", rejections=" + getRejections() +
+                '}';
+    }
+}
@@ -0,0 +1,207 @@
+package io.jans.as.server.rate;
+
+import io.jans.as.model.configuration.rate.KeyExtractor;
+import io.jans.as.model.configuration.rate.RateLimitRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index of rate limit rules compiled from configuration. It's a trie by path segments
+ * with rules by method in nodes.
+ *
+ * Rule path segment can be template:
+ * - '*' or '{name}' matches any single segment;
+ * - '**' as last segment matches rest of path (zero or more segments).
+ */
+public class RateLimitRuleIndex {
+
+    public static final RateLimitRuleIndex EMPTY = new RateLimitRuleIndex(Collections.emptyList());
+
+    private static final String PATH_SEPARATOR = "/";
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_PATH = "**";
+
+    private static final Comparator<CompiledRule> RULE_ORDER = Comparator.comparingInt(CompiledRule::getOrder);
+
+    private final Node root = new Node();
+    private final int size;
+
+    public RateLimitRuleIndex(List<CompiledRule> rules) {
+        for (CompiledRule rule : rules) {
+            add(rule);
+        }
+        this.size = rules.size();
+    }
+
+    public static boolean isValidPath(String path) {
+        if (path == null || !path.startsWith(PATH_SEPARATOR)) {
+            return false;
+        }
+
+        String[] segments = splitPath(path);
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (ANY_PATH.equals(segments[i])) {
+                // '**' is allowed only as last segment
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns rules which match request path and method in configuration order
+     */
+    public List<CompiledRule> match(String path, String method) {
+        if (size == 0 || path == null || method == null) {
+            return Collections.emptyList();
+        }
+
+        List<CompiledRule> result = collect(root, splitPath(path), 0, method, null);
+        if (result == null) {
+            return Collections.emptyList();
+        }
+
+        if (result.size() > 1) {
+            result.sort(RULE_ORDER);
+        }
+        return result;
+    }
+
+    private List<CompiledRule> collect(Node node, String[] segments, int position, String method, List<CompiledRule> result) {
+        result = addAll(result, node.getAnyPathRules(method));
+
+        if (position == segments.length) {
+            return addAll(result, node.getRules(method));
+        }
+
+        Node child = node.children.get(segments[position]);
+        if (child != null) {
+            result = collect(child, segments, position + 1, method, result);
+        }
+        if (node.anySegmentChild != null) {
+            result = collect(node.anySegmentChild, segments, position + 1, method, result);
+        }
+        return result;
+    }
+
+    private static List<CompiledRule> addAll(List<CompiledRule> result, List<CompiledRule> rules) {
+        if (rules == null) {
+            return result;
+        }
+        if (result == null) {
+            result = new ArrayList<>(rules.size());
+        }
+        result.addAll(rules);
+        return result;
+    }
+
+    private void add(CompiledRule rule) {
+        Node node = root;
+        boolean anyPath = false;
+        for (String segment : splitPath(rule.getRule().getPath())) {
+            if (ANY_PATH.equals(segment)) {
+                anyPath = true;
+                break;
+            }
+
+            if (isAnySegment(segment)) {
+                if (node.anySegmentChild == null) {
+                    node.anySegmentChild = new Node();
+                }
+                node = node.anySegmentChild;
+            } else {
+                node = node.children.computeIfAbsent(segment, k -> new Node());
+            }
+        }
+
+        Map<String, List<CompiledRule>> rulesByMethod = anyPath ? node.anyPathRules : node.rules;
+        for (String method : new LinkedHashSet<>(rule.getRule().getMethods())) {
+            rulesByMethod.computeIfAbsent(method, k -> new ArrayList<>(1)).add(rule);
+        }
+    }
+
+    private static boolean isAnySegment(String segment) {
+        return ANY_SEGMENT.equals(segment) || (segment.length() > 1 && segment.startsWith("{") && segment.endsWith("}"));
+    }
+
+    private static String[] splitPath(String path) {
+        // keep trailing empty segment, "/a/" should not match "/a"
+        return path.split(PATH_SEPARATOR, -1);
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private final Map<String, List<CompiledRule>> rules = new HashMap<>();
+        private final Map<String, List<CompiledRule>> anyPathRules = new HashMap<>();
+        private Node anySegmentChild;
+
+        List<CompiledRule> getRules(String method) {
+            return rules.isEmpty() ? null : rules.get(method);
+        }
+
+        List<CompiledRule> getAnyPathRules(String method) {
+            return anyPathRules.isEmpty() ? null : anyPathRules.get(method);
+        }
+    }
+
+    /**
+     * Well formed rule with precomputed limits and key extraction plan
+     */
+    public static class CompiledRule {
+
+        private final RateLimitRule rule;
+        private final int order;
+        private final int requestLimit;
+        private final int periodLimit;
+        private final List<KeyExtractor> keyExtractors;
+        private final RateLimitMetrics metrics;
+
+        public CompiledRule(RateLimitRule rule, int order, int requestLimit, int periodLimit, RateLimitMetrics metrics) {
+            this.rule = rule;
+            this.order = order;
+            this.requestLimit = requestLimit;
+            this.periodLimit = periodLimit;
+            this.keyExtractors = Collections.unmodifiableList(new ArrayList<>(rule.getKeyExtractors()));
+            this.metrics = metrics;
+        }
+
+        public RateLimitRule getRule() {
+            return rule;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+
+        public int getRequestLimit() {
+            return requestLimit;
+        }
+
+        public int getPeriodLimit() {
+            return periodLimit;
+        }
+
+        public List<KeyExtractor> getKeyExtractors() {
+            return keyExtractors;
+        }
+
+        public RateLimitMetrics getMetrics() {
+            return metrics;
+        }
+    }
+}
@@ -14,6 +14,8 @@ import io.jans.as.model.error.ErrorResponseFactory;
 import io.jans.as.model.exception.InvalidJwtException;
 import io.jans.as.model.jwt.Jwt;
 import io.jans.as.model.util.Pair;
+import io.jans.as.server.rate.RateLimitRuleIndex.CompiledRule;
+import io.jans.service.CacheService;
 import io.jans.service.cdi.event.ConfigurationUpdate;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -29,7 +31,11 @@ import org.slf4j.Logger;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
@@ -54,11 +60,19 @@ public class RateLimitService {
     @Inject
     private ErrorResponseFactory errorResponseFactory;
 
+    @Inject
+    private CacheService cacheService;
+
     private final Cache<String, Bucket> buckets = CacheBuilder.newBuilder()
             .expireAfterWrite(2, TimeUnit.MINUTES)
             //.weakKeys()
             .build();
     private RateLimitConfig rateLimitConfiguration;
+    private volatile RateLimitRuleIndex ruleIndex = RateLimitRuleIndex.EMPTY;
+    private volatile DistributedRateLimiter distributedRateLimiter;
+    private Integer distributedLeaseSize;
+    private boolean distributedNotSupportedLogged;
+    private volatile Map<String, RateLimitMetrics> ruleMetrics = Collections.emptyMap();
 
     public HttpServletRequest validateRateLimit(HttpServletRequest httpRequest) throws RateLimitedException, IOException {
         // if rate_limit flag is disabled immediately return
@@ -67,35 +81,36 @@ public class RateLimitService {
         }
 
         // no rate limit configuration -> return
-        if (rateLimitConfiguration == null || isEmpty(rateLimitConfiguration.getRateLimitRules())) {
+        final RateLimitRuleIndex index = ruleIndex;
+        if (index.isEmpty()) {
             return httpRequest;
         }
 
         String requestPath = httpRequest.getRequestURI();
         String method = httpRequest.getMethod();
 
-        final List<RateLimitRule> matchedRules = matchRulesByPathAndMethod(requestPath, method);
+        final List<CompiledRule> matchedRules = index.match(requestPath, method);
 
         // no matching rules
         if (matchedRules.isEmpty()) {
             return httpRequest;
         }
 
-        RateLimitContext rateLimitContext = new RateLimitContext(httpRequest, rateLimitConfiguration.isRateLoggingEnabled());
-        final List<Pair<String, RateLimitRule>> keyWithRules = buildKeyPerRule(rateLimitContext, matchedRules);
+        final RateLimitConfig config = rateLimitConfiguration;
+        RateLimitContext rateLimitContext = new RateLimitContext(httpRequest, config != null && config.isRateLoggingEnabled());
+        final List<Pair<String, CompiledRule>> keyWithRules = buildKeyPerRule(rateLimitContext, matchedRules);
 
-        for (Pair<String, RateLimitRule> keyWithRule : keyWithRules) {
+        for (Pair<String, CompiledRule> keyWithRule : keyWithRules) {
             String key = keyWithRule.getFirst();
-            RateLimitRule rule = keyWithRule.getSecond();
+            CompiledRule rule = keyWithRule.getSecond();
 
-            int requestLimit = getRequestLimit(rule.getRequestCount());
-            int periodLimit = getPeriodLimit(rule.getPeriodInSeconds());
+            int requestLimit = rule.getRequestLimit();
+            int periodLimit = rule.getPeriodLimit();
 
             // if key is too long -> hash it to reduce amount of space it takes in memory
             key = saveSpaceIfNeeded(key);
             try {
-                Bucket bucket = buckets.get(key, () -> newBucket(requestLimit, periodLimit));
-                if (!bucket.tryConsume(1)) {
+                if (!tryConsume(key, requestLimit, periodLimit, rule.getMetrics())) {
                     String msg = String.format("Rate limited '%s'. Exceeds limit %s requests per %s seconds. Key: %s", requestPath, requestLimit, periodLimit, key);
                     log.debug(msg);
                     throw new RateLimitedException(msg);
@@ -112,6 +127,46 @@ public class RateLimitService {
         return httpRequest;
     }
 
+    private boolean tryConsume(String key, int requestLimit, int periodLimit, RateLimitMetrics metrics) throws ExecutionException {
+        final DistributedRateLimiter limiter = distributedRateLimiter;
+        if (limiter != null) {
+            try {
+                return limiter.tryConsume(key, requestLimit, periodLimit, metrics);
+            } catch (RuntimeException e) {
+                log.warn("Failed to lease rate limit tokens from cache, falling back to local bucket. Key: {}, error: {}", key, e.getMessage());
+            }
+        }
+
+        Bucket bucket = buckets.get(key, () -> newBucket(requestLimit, periodLimit));
+        if (bucket.tryConsume(1)) {
+            metrics.localHit();
+            return true;
+        }
+
+        metrics.rejection();
+        return false;
+    }
+
+    /**
+     * Metrics key identifies rule by its whole definition, so rules with the same path and methods but
+     * different limits or key extractors get own metrics. Identical rules are numbered in configuration order.
+     */
+    private static String getRuleMetricsKey(RateLimitRule rule, Map<String, RateLimitMetrics> metrics) {
+        final String ruleKey = rule.toString();
+        String key = ruleKey;
+        for (int i = 2; metrics.containsKey(key); i++) {
+            key = ruleKey + " #" + i;
+        }
+        return key;
+    }
+
+    /**
+     * @return metrics of currently configured rules, key is rule definition
+     */
+    public Map<String, RateLimitMetrics> getRuleMetrics() {
+        return ruleMetrics;
+    }
+
     public static @NotNull String saveSpaceIfNeeded(String key) {
         if (key.length() > KEY_LENGTH_LIMIT_FOR_DIGEST) {
             key = DigestUtils.sha256Hex(key);
@@ -119,11 +174,11 @@ public class RateLimitService {
         return key;
     }
 
-    private List<Pair<String, RateLimitRule>> buildKeyPerRule(RateLimitContext rateLimitContext, List<RateLimitRule> matchedRules) {
-        List<Pair<String, RateLimitRule>> keyWithRules = new ArrayList<>();
-        for (RateLimitRule rule : matchedRules) {
+    private List<Pair<String, CompiledRule>> buildKeyPerRule(RateLimitContext rateLimitContext, List<CompiledRule> matchedRules) {
+        List<Pair<String, CompiledRule>> keyWithRules = new ArrayList<>(matchedRules.size());
+        for (CompiledRule rule : matchedRules) {
             try {
-                keyWithRules.add(new Pair<>(buildKey(rateLimitContext, rule), rule));
+                keyWithRules.add(new Pair<>(buildKey(rateLimitContext, rule.getKeyExtractors()), rule));
             } catch (IOException e) {
                 log.error(e.getMessage(), e);
             }
@@ -132,11 +187,16 @@ public class RateLimitService {
     }
 
     public String buildKey(RateLimitContext rateLimitContext, RateLimitRule rule) throws IOException {
+        return buildKey(rateLimitContext, rule.getKeyExtractors());
+    }
+
+    private String buildKey(RateLimitContext rateLimitContext, List<KeyExtractor> keyExtractors) throws IOException {
         String requestPath = rateLimitContext.getRequest().getRequestURI();
-        StringBuilder key = new StringBuilder(requestPath + "_");
+        StringBuilder key = new StringBuilder(requestPath.length() + 64).append(requestPath).append('_');
 
-        for (KeyExtractor keyExtractor : rule.getKeyExtractors()) {
-            key.append(extractKey(keyExtractor, rateLimitContext)).append("_");
+        for (KeyExtractor keyExtractor : keyExtractors) {
+            appendKey(key, keyExtractor, rateLimitContext);
+            key.append('_');
         }
 
         String keyString = key.toString();
@@ -148,68 +208,99 @@ public class RateLimitService {
 
     protected String extractKey(KeyExtractor keyExtractor, RateLimitContext rateLimitContext) throws IOException {
         StringBuilder key = new StringBuilder();
+        appendKey(key, keyExtractor, rateLimitContext);
+        return key.toString();
+    }
+
+    private void appendKey(StringBuilder key, KeyExtractor keyExtractor, RateLimitContext rateLimitContext) throws IOException {
+        final HttpServletRequest request = rateLimitContext.getRequest();
         switch (keyExtractor.getSource()) {
             case HEADER:
                 for (String header : keyExtractor.getParameterNames()) {
-                    String value = rateLimitContext.getRequest().getHeader(header);
-                    if (StringUtils.isNotBlank(value)) {
-                        key.append(value).append("_");
-                    }
+                    appendValue(key, request.getHeader(header));
                 }
-                return key.toString();
+                return;
             case BODY:
-                String contentType = rateLimitContext.getRequest().getContentType();
+                String contentType = request.getContentType();
 
                 // Note: Use .contains() rather than .equals() because the header often includes character encoding (e.g., application/json; charset=UTF-8).
                 if (contentType != null && contentType.contains("application/json")) {
-                    String bodyAsString = rateLimitContext.getCachedRequest().getCachedBodyAsString();
-                    JSONObject jsonObject = parseBody(bodyAsString);
+                    // Body is buffered and parsed only once per request
+                    JSONObject jsonObject = getJsonBody(rateLimitContext);
                     if (jsonObject != null) {
                         for (String name : keyExtractor.getParameterNames()) {
                             List<String> values = ClientUtil.extractListByKey(jsonObject, name);
                             if (!values.isEmpty()) {
-                                key.append(values).append("_");
+                                key.append(values).append('_');
                             }
                         }
                     }
                 } else {
+                    // Form parameters are read by container, there is no need to buffer body
                     for (String name : keyExtractor.getParameterNames()) {
-                        String value = rateLimitContext.getRequest().getParameter(name);
-                        if (StringUtils.isNotBlank(value)) {
-                            key.append(value).append("_");
-                        }
+                        appendValue(key, request.getParameter(name));
                     }
                 }
-
-                return key.toString();
+                return;
             case QUERY:
                 for (String name : keyExtractor.getParameterNames()) {
-                    String value = rateLimitContext.getRequest().getParameter(name);
-                    if (StringUtils.isNotBlank(value)) {
-                        key.append(value).append("_");
-                    }
+                    appendValue(key, request.getParameter(name));
                 }
-                return key.toString();
+                return;
         }
 
         log.error("Invalid key extractor source: {}", keyExtractor.getSource());
-        return "null";
+        key.append("null");
+    }
+
+    private static void appendValue(StringBuilder key, String value) {
+        if (StringUtils.isNotBlank(value)) {
+            key.append(value).append('_');
+        }
+    }
+
+    private JSONObject getJsonBody(RateLimitContext rateLimitContext) throws IOException {
+        if (!rateLimitContext.isJsonBodyParsed()) {
+            rateLimitContext.setJsonBody(parseBody(rateLimitContext.getCachedRequest().getCachedBodyAsString()));
+        }
+        return rateLimitContext.getJsonBody();
     }
 
     public List<RateLimitRule> matchRulesByPathAndMethod(String requestPath, String method) {
         List<RateLimitRule> result = new ArrayList<>();
+        for (CompiledRule rule : ruleIndex.match(requestPath, method)) {
+            result.add(rule.getRule());
+        }
+        return result;
+    }
+
+    private RateLimitRuleIndex compileRules(RateLimitConfig rateLimitConfig) {
+        if (rateLimitConfig == null || isEmpty(rateLimitConfig.getRateLimitRules())) {
+            ruleMetrics = Collections.emptyMap();
+            return RateLimitRuleIndex.EMPTY;
+        }
 
-        for (RateLimitRule rule : rateLimitConfiguration.getRateLimitRules()) {
-            if (!rule.isWellFormed()) {
+        // Metrics of rules which are still configured are kept, metrics of removed rules are dropped
+        final Map<String, RateLimitMetrics> previousMetrics = ruleMetrics;
+        final Map<String, RateLimitMetrics> metrics = new LinkedHashMap<>();
+
+        List<CompiledRule> rules = new ArrayList<>();
+        for (RateLimitRule rule : rateLimitConfig.getRateLimitRules()) {
+            if (!rule.isWellFormed() || !RateLimitRuleIndex.isValidPath(rule.getPath())) {
                 log.error("Invalid rate limit rule: {}", rule);
                 continue;
             }
 
-            if (rule.getPath().equals(requestPath) && rule.getMethods().contains(method)) {
-                result.add(rule);
-            }
+            final String metricsKey = getRuleMetricsKey(rule, metrics);
+            final RateLimitMetrics ruleMetric = previousMetrics.getOrDefault(metricsKey, new RateLimitMetrics());
+            metrics.put(metricsKey, ruleMetric);
+
+            rules.add(new CompiledRule(rule, rules.size(), getRequestLimit(rule.getRequestCount()),
+                    getPeriodLimit(rule.getPeriodInSeconds()), ruleMetric));
         }
-        return result;
+
+        ruleMetrics = Collections.unmodifiableMap(metrics);
+        return new RateLimitRuleIndex(rules);
     }
 
     private int getRequestLimit(Integer requestLimit) {
@@ -235,6 +326,33 @@ public class RateLimitService {
                 .build();
     }
 
+    private void updateDistributedRateLimiter() {
+        if (rateLimitConfiguration == null || !rateLimitConfiguration.isDistributedEnabled()) {
+            distributedRateLimiter = null;
+            distributedNotSupportedLogged = false;
+            return;
+        }
+
+        if (!cacheService.isCounterSupported()) {
+            distributedRateLimiter = null;
+            if (!distributedNotSupportedLogged) {
+                distributedNotSupportedLogged = true;
+                log.warn("Distributed rate limiting is disabled because cache provider doesn't support atomic counters. Local buckets are used instead.");
+            }
+            return;
+        }
+        distributedNotSupportedLogged = false;
+
+        // Keep leases if configuration is not changed
+        if (distributedRateLimiter != null && Objects.equals(distributedLeaseSize, rateLimitConfiguration.getDistributedLeaseSize())) {
+            return;
+        }
+
+        distributedLeaseSize = rateLimitConfiguration.getDistributedLeaseSize();
+        distributedRateLimiter = new DistributedRateLimiter(cacheService, distributedLeaseSize);
+        log.info("Distributed rate limiting is enabled, lease size: {}", distributedLeaseSize);
+    }
+
     public JSONObject parseBody(String body) {
         try {
             return new JSONObject(body);
@@ -255,10 +373,13 @@ public class RateLimitService {
     public void updateConfiguration(@Observes @ConfigurationUpdate AppConfiguration appConfiguration) {
         try {
             rateLimitConfiguration = appConfiguration.getRateLimitConfiguration();
+            ruleIndex = compileRules(rateLimitConfiguration);
 
             if (rateLimitConfiguration == null) {
                 log.info("Rate limiting is not configured.");
             }
+
+            updateDistributedRateLimiter();
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
@@ -14,6 +14,7 @@ import java.util.Set;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.json.JSONArray;
+import org.json.JSONObject;
 import org.slf4j.Logger;
 
 import com.google.common.base.Preconditions;
@@ -23,8 +24,10 @@ import io.jans.as.common.model.registration.Client;
 import io.jans.as.model.common.AuthenticationMethod;
 import io.jans.as.model.config.StaticConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.model.crypto.AbstractCryptoProvider;
 import io.jans.as.persistence.model.Scope;
 import io.jans.as.server.model.token.HandleTokenFactory;
+import io.jans.as.server.service.net.RemoteJwksCache;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.orm.model.base.CustomObjectAttribute;
 import io.jans.service.BaseCacheService;
@@ -47,6 +50,9 @@ import jakarta.inject.Inject;
 @ApplicationScoped
 public class ClientService {
 
+    private static final int CLIENT_CACHE_EXPIRATION_IN_SECONDS = 60;
+    private static final int CLIENT_CACHE_REFRESH_AHEAD_IN_SECONDS = 10;
+
     @Inject
     private Logger log;
 
@@ -74,6 +80,12 @@ public class ClientService {
     @Inject
     private ClientLastUpdateAtTimer clientLastUpdateAtTimer;
 
+    @Inject
+    private AbstractCryptoProvider cryptoProvider;
+
+    @Inject
+    private RemoteJwksCache remoteJwksCache;
+
     public void persist(Client client) {
     	ignoreCustomObjectClassesForNonLDAP(client);
         persistenceEntryManager.persist(client);
@@ -219,7 +231,8 @@ public class ClientService {
     public Client getClientByDn(String dn) {
         BaseCacheService usedCacheService = getCacheService();
         try {
-            return usedCacheService.getWithPut(dn, () -> persistenceEntryManager.find(Client.class, dn), 60);
+            return usedCacheService.getWithPut(dn, () -> persistenceEntryManager.find(Client.class, dn),
+                    CLIENT_CACHE_EXPIRATION_IN_SECONDS, CLIENT_CACHE_REFRESH_AHEAD_IN_SECONDS);
         } catch (Exception e) {
             log.trace(e.getMessage(), e);
             return null;
@@ -278,12 +291,31 @@ public class ClientService {
     public void removeFromCache(Client client) {
         BaseCacheService usedCacheService = getCacheService();
         try {
+            // evict public keys of previous version of client
+            final Object cachedClient = usedCacheService.get(client.getDn());
+            if (cachedClient instanceof Client) {
+                removePublicKeysFromCache((Client) cachedClient);
+                remoteJwksCache.invalidate(((Client) cachedClient).getJwksUri());
+            }
+
             usedCacheService.remove(client.getDn());
         } catch (Exception e) {
             log.error("Failed to remove client from cache." + client.getDn(), e);
         }
     }
 
+    private void removePublicKeysFromCache(Client client) {
+        if (StringHelper.isEmpty(client.getJwks())) {
+            return;
+        }
+
+        try {
+            cryptoProvider.getPublicKeyCache().invalidate(new JSONObject(client.getJwks()));
+        } catch (Exception e) {
+            log.trace("Failed to remove public keys of client {} from cache", client.getClientId(), e);
+        }
+    }
+
     public void updateAccessTime(Client client, boolean isUpdateLogonTime) {
         clientLastUpdateAtTimer.addLastUpdateAtTime(client, isUpdateLogonTime);
     }
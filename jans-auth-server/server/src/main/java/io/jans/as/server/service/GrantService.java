@@ -13,6 +13,7 @@ import io.jans.as.model.configuration.LockMessageConfig;
 import io.jans.as.server.model.common.AuthorizationGrant;
 import io.jans.as.server.model.common.CacheGrant;
 import io.jans.as.server.service.token.StatusListIndexService;
+import io.jans.as.server.service.token.TokenWriteBehindService;
 import io.jans.as.server.util.TokenHashUtil;
 import io.jans.model.token.TokenEntity;
 import io.jans.model.token.TokenType;
@@ -29,10 +30,10 @@ import org.slf4j.Logger;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 
@@ -44,13 +45,6 @@ import static org.apache.commons.lang3.BooleanUtils.isTrue;
 @ApplicationScoped
 public class GrantService {
 
-    private static final ExecutorService statusListPool = Executors.newFixedThreadPool(5, runnable -> {
-        Thread thread = new Thread(runnable);
-        thread.setName("grant_service_status_list_pool");
-        thread.setDaemon(true);
-        return thread;
-    });
-
     @Inject
     private Logger log;
 
@@ -75,6 +69,12 @@ public class GrantService {
     @Inject
     private StatusListIndexService statusListIndexService;
 
+    @Inject
+    private TokenWriteBehindService tokenWriteBehindService;
+
+    @Inject
+    private IntrospectionGrantCache introspectionGrantCache;
+
     public static String generateGrantId() {
         return UUID.randomUUID().toString();
     }
@@ -88,12 +88,16 @@ public class GrantService {
     }
 
     public void merge(TokenEntity token) {
+        tokenWriteBehindService.flushIfPending(token.getDn());
         persistenceEntryManager.merge(token);
+        introspectionGrantCache.invalidate(token.getTokenCode());
     }
 
     public void mergeSilently(TokenEntity token) {
         try {
+            tokenWriteBehindService.flushIfPending(token.getDn());
             persistenceEntryManager.merge(token);
+            introspectionGrantCache.invalidate(token.getTokenCode());
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
@@ -113,7 +117,11 @@ public class GrantService {
     public void persist(TokenEntity token) {
         // always save access_token into persistence because we need to fetch it by session, see getGrantsBySessionDn
         if (token.isAccessToken() || token.isLogoutStatusJwt() || shouldPersist()) {
-            persistenceEntryManager.persist(token);
+            if (tokenWriteBehindService.isEnabled()) {
+                tokenWriteBehindService.write(token);
+            } else {
+                persistenceEntryManager.persist(token);
+            }
         }
 
         if (shouldSaveInCache()) {
@@ -132,7 +140,9 @@ public class GrantService {
     }
 
     public void remove(TokenEntity token) {
+        tokenWriteBehindService.flushIfPending(token.getDn());
         persistenceEntryManager.remove(token);
+        introspectionGrantCache.invalidate(token.getTokenCode());
         log.trace("Removed token from DB, code: {}", token.getTokenCode());
 
         if (TokenType.ACCESS_TOKEN == token.getTokenTypeEnum()) {
@@ -163,12 +173,11 @@ public class GrantService {
                 cacheService.remove(token.getTokenCode());
             }
 
-            statusListPool.execute(() -> {
-                final Integer index = token.getAttributes().getStatusListIndex();
-                if (index != null && index > 0) {
-                    statusListIndexService.updateStatusAtIndexes(Lists.newArrayList(index), TokenStatus.INVALID);
-                }
-            });
+            // status list update is queued and written in background unless synchronous revocation is configured
+            final Integer index = token.getAttributes().getStatusListIndex();
+            if (index != null && index > 0) {
+                updateStatusListSilently(Lists.newArrayList(index));
+            }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
@@ -209,9 +218,14 @@ public class GrantService {
                 }
             }
 
-            statusListPool.execute(() -> {
-                statusListIndexService.updateStatusAtIndexes(indexes, TokenStatus.INVALID);
-            });
+            updateStatusListSilently(indexes);
+        }
+    }
+
+    private void updateStatusListSilently(List<Integer> indexes) {
+        final boolean waitForDurability = appConfiguration.getStatusListSynchronousRevocation();
+        if (!statusListIndexService.updateStatusAtIndexes(indexes, TokenStatus.INVALID, waitForDurability)) {
+            log.warn("Status list update at indexes {} is not written yet, it will be retried in background", indexes);
         }
     }
 
@@ -236,17 +250,24 @@ public class GrantService {
     }
 
     public TokenEntity getGrantByCode(String code) {
-        Object grant = cacheService.get(TokenHashUtil.hash(code));
+        final String hashedCode = TokenHashUtil.hash(code);
+        final TokenEntity pending = tokenWriteBehindService.getPending(buildDn(hashedCode));
+        if (pending != null) {
+            return pending;
+        }
+
+        Object grant = cacheService.get(hashedCode);
         if (grant instanceof TokenEntity) {
             return (TokenEntity) grant;
         } else {
-            return load(buildDn(TokenHashUtil.hash(code)));
+            return load(buildDn(hashedCode));
         }
     }
 
     public TokenEntity getGrantByReferenceId(String referenceId) {
         try {
-            final List<TokenEntity> grants = persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("jansId", referenceId));
+            final List<TokenEntity> pending = tokenWriteBehindService.findPending(t -> referenceId.equals(t.getReferenceId()));
+            final List<TokenEntity> grants = withPending(persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("jansId", referenceId)), pending);
             if (grants.size() > 1) {
                 log.error("Found more then one tokens by referenceId {}", referenceId);
                 return null;
@@ -260,6 +281,27 @@ public class GrantService {
         return null;
     }
 
+    /*
+     * Adds tokens which are queued by write-behind persistence and are not persisted yet. Pending tokens
+     * have to be collected before search, otherwise token persisted in between is missed.
+     */
+    private List<TokenEntity> withPending(List<TokenEntity> found, List<TokenEntity> pending) {
+        if (pending.isEmpty()) {
+            return found;
+        }
+
+        final Map<String, TokenEntity> result = new LinkedHashMap<>();
+        if (found != null) {
+            for (TokenEntity token : found) {
+                result.put(token.getDn(), token);
+            }
+        }
+        for (TokenEntity token : pending) {
+            result.putIfAbsent(token.getDn(), token);
+        }
+        return new ArrayList<>(result.values());
+    }
+
     private void logException(Exception e) {
         if (isTrue(appConfiguration.getLogNotFoundEntityAsError())) {
             log.error(e.getMessage(), e);
@@ -279,7 +321,8 @@ public class GrantService {
 
     public TokenEntity getGrantsByJti(String jti) {
         try {
-            List<TokenEntity> grants =  persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("jti", jti));
+            final List<TokenEntity> pending = tokenWriteBehindService.findPending(t -> jti.equals(t.getJti()));
+            List<TokenEntity> grants = withPending(persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("jti", jti)), pending);
             if (grants.size() > 1) {
                 log.error("Found more then one tokens by jti {}", jti);
                 return null;
@@ -295,7 +338,8 @@ public class GrantService {
 
     public List<TokenEntity> getGrantsByGrantId(String grantId) {
         try {
-            return persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("grtId", grantId));
+            final List<TokenEntity> pending = tokenWriteBehindService.findPending(t -> grantId.equals(t.getGrantId()));
+            return withPending(persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("grtId", grantId)), pending);
         } catch (Exception e) {
             logException(e);
         }
@@ -304,7 +348,9 @@ public class GrantService {
 
     public List<TokenEntity> getGrantsByAuthorizationCode(String authorizationCode) {
         try {
-            return persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("authzCode", TokenHashUtil.hash(authorizationCode)));
+            final String hashedCode = TokenHashUtil.hash(authorizationCode);
+            final List<TokenEntity> pending = tokenWriteBehindService.findPending(t -> hashedCode.equals(t.getAuthorizationCode()));
+            return withPending(persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("authzCode", hashedCode)), pending);
         } catch (Exception e) {
             logException(e);
         }
@@ -314,7 +360,8 @@ public class GrantService {
     public List<TokenEntity> getGrantsBySessionDn(String sessionDn) {
         List<TokenEntity> grants = new ArrayList<>();
         try {
-            List<TokenEntity> ldapGrants = persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("ssnId", sessionDn));
+            final List<TokenEntity> pending = tokenWriteBehindService.findPending(t -> sessionDn.equals(t.getSessionDn()));
+            List<TokenEntity> ldapGrants = withPending(persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("ssnId", sessionDn)), pending);
             if (ldapGrants != null) {
                 grants.addAll(ldapGrants);
             }
@@ -327,7 +374,8 @@ public class GrantService {
     public List<TokenEntity> getGrantsByUserDn(String userDn) {
         List<TokenEntity> grants = new ArrayList<>();
         try {
-            List<TokenEntity> tokenEntities = persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("jansUsrDN", userDn));
+            final List<TokenEntity> pending = tokenWriteBehindService.findPending(t -> userDn.equals(t.getUserDn()));
+            List<TokenEntity> tokenEntities = withPending(persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, Filter.createEqualityFilter("jansUsrDN", userDn)), pending);
             if (tokenEntities != null) {
                 grants.addAll(tokenEntities);
             }
@@ -0,0 +1,86 @@
+package io.jans.as.server.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.model.common.AuthorizationGrant;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node local, short living cache of hydrated grants of introspected tokens (key is hashed token code).
+ * It allows to introspect the same token repeatedly without access to persistence.
+ *
+ * Entry is invalidated when token is removed or updated via GrantService on this node.
+ * Other nodes see revocation after introspectionGrantCacheLifetimeInSeconds.
+ */
+@ApplicationScoped
+public class IntrospectionGrantCache {
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    private volatile Cache<String, AuthorizationGrant> cache;
+    private volatile int currentLifetime;
+    private volatile int currentSize;
+
+    public boolean isEnabled() {
+        return appConfiguration.getIntrospectionGrantCacheLifetimeInSeconds() > 0;
+    }
+
+    public AuthorizationGrant get(String hashedCode) {
+        final Cache<String, AuthorizationGrant> currentCache = getCache();
+        return currentCache != null ? currentCache.getIfPresent(hashedCode) : null;
+    }
+
+    public void put(String hashedCode, AuthorizationGrant grant) {
+        final Cache<String, AuthorizationGrant> currentCache = getCache();
+        if (currentCache != null && grant != null) {
+            currentCache.put(hashedCode, grant);
+        }
+    }
+
+    public void invalidate(String hashedCode) {
+        final Cache<String, AuthorizationGrant> currentCache = cache;
+        if (currentCache != null && hashedCode != null) {
+            currentCache.invalidate(hashedCode);
+        }
+    }
+
+    public CacheStats getStats() {
+        final Cache<String, AuthorizationGrant> currentCache = cache;
+        return currentCache != null ? currentCache.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    private Cache<String, AuthorizationGrant> getCache() {
+        final int lifetime = appConfiguration.getIntrospectionGrantCacheLifetimeInSeconds();
+        if (lifetime <= 0) {
+            cache = null;
+            return null;
+        }
+
+        final int size = appConfiguration.getIntrospectionGrantCacheSize();
+        final Cache<String, AuthorizationGrant> currentCache = cache;
+        if (currentCache != null && lifetime == currentLifetime && size == currentSize) {
+            return currentCache;
+        }
+
+        return rebuild(lifetime, size);
+    }
+
+    private synchronized Cache<String, AuthorizationGrant> rebuild(int lifetime, int size) {
+        if (cache == null || lifetime != currentLifetime || size != currentSize) {
+            cache = CacheBuilder.newBuilder()
+                    .expireAfterWrite(lifetime, TimeUnit.SECONDS)
+                    .maximumSize(size)
+                    .recordStats()
+                    .build();
+            currentLifetime = lifetime;
+            currentSize = size;
+        }
+        return cache;
+    }
+}
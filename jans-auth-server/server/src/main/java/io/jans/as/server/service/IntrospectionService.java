@@ -2,7 +2,6 @@ package io.jans.as.server.service;
 
 import io.jans.as.common.claims.Audience;
 import io.jans.as.common.model.registration.Client;
-import io.jans.as.common.util.CommonUtils;
 import io.jans.as.model.authorize.AuthorizeErrorResponseType;
 import io.jans.as.model.common.ScopeConstants;
 import io.jans.as.model.config.Constants;
@@ -27,6 +26,7 @@ import io.jans.as.model.jwt.JwtType;
 import io.jans.as.model.token.JsonWebResponse;
 import io.jans.as.server.model.common.AuthorizationGrant;
 import io.jans.as.server.model.token.JwtSigner;
+import io.jans.as.server.service.net.RemoteJwksCache;
 import io.jans.util.security.StringEncrypter;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -66,6 +66,9 @@ public class IntrospectionService {
     @Inject
     private AbstractCryptoProvider cryptoProvider;
 
+    @Inject
+    private RemoteJwksCache remoteJwksCache;
+
     public void validateIntrospectionScopePresence(AuthorizationGrant authorizationGrant) {
         if (isTrue(appConfiguration.getIntrospectionAccessTokenMustHaveIntrospectionScope()) &&
                 !authorizationGrant.getScopesAsString().contains(ScopeConstants.INTROSPECTION)) {
@@ -106,7 +109,7 @@ public class IntrospectionService {
             jwe.setSignedJWTPayload(signJwt(jwt, client));
 
             if (keyAlgorithm == KeyEncryptionAlgorithm.RSA_OAEP || keyAlgorithm == KeyEncryptionAlgorithm.RSA1_5) {
-                JSONObject jsonWebKeys = CommonUtils.getJwks(client);
+                JSONObject jsonWebKeys = remoteJwksCache.getJwks(client);
                 String keyId = new ServerCryptoProvider(cryptoProvider).getKeyId(JSONWebKeySet.fromJSONObject(jsonWebKeys),
                         Algorithm.fromString(keyAlgorithm.getName()),
                         Use.ENCRYPTION, KeyOpsType.CONNECT);
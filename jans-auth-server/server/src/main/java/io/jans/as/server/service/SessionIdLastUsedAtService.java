@@ -0,0 +1,260 @@
+package io.jans.as.server.service;
+
+import io.jans.as.common.model.session.SessionId;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.util.ServerUtil;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.model.base.CustomAttribute;
+import io.jans.orm.model.base.CustomEntry;
+import io.jans.service.CacheService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apache.commons.lang3.BooleanUtils.isTrue;
+
+/**
+ * Write policy for session lastUsedAt updates which are not accompanied by other session changes.
+ *
+ * If lastUsedAt moved by less than sessionIdLastUsedAtPersistThreshold percent of sessionIdUnusedLifetime
+ * write is not done synchronously. Instead, if sessionIdLastUsedAtFlushInterval is set, session is queued
+ * and latest lastUsedAt of all touched sessions is written by this node in batch. Otherwise write is skipped.
+ *
+ * Note: persisted lastUsedAt can lag behind real one, so session can be considered unused a bit earlier
+ * than sessionIdUnusedLifetime. Batched writes don't fire UPDATED session event.
+ */
+@ApplicationScoped
+public class SessionIdLastUsedAtService {
+
+    public static final int MAX_PENDING_SESSIONS = 10000;
+
+    private static final String LAST_USED_AT_ATTRIBUTE = "jansLastAccessTime";
+    private static final String[] LAST_USED_AT_ATTRIBUTES = new String[]{LAST_USED_AT_ATTRIBUTE};
+    private static final String[] SESSION_OBJECT_CLASSES = new String[]{"jansSessId"};
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private PersistenceEntryManager persistenceEntryManager;
+
+    @Inject
+    private CacheService cacheService;
+
+    private final Object pendingLock = new Object();
+
+    // session dn -> latest lastUsedAt
+    private Map<String, Date> pendingWrites = new HashMap<>();
+    private boolean flushScheduled;
+
+    private ScheduledExecutorService flushExecutor;
+
+    private final LongAdder suppressedWrites = new LongAdder();
+    private final LongAdder queuedWrites = new LongAdder();
+    private final LongAdder flushedWrites = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        flushExecutor = ServerUtil.createExecutor();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flushExecutor.shutdown();
+        flushSilently();
+    }
+
+    /**
+     * @param diff            milliseconds by which lastUsedAt moved since it was persisted
+     * @param unusedLifetime  session unused lifetime in seconds
+     * @return true if lastUsedAt has to be persisted synchronously
+     */
+    public boolean isWriteRequired(long diff, int unusedLifetime) {
+        final int threshold = appConfiguration.getSessionIdLastUsedAtPersistThreshold();
+        if (threshold <= 0) {
+            return !isBatchEnabled();
+        }
+
+        return diff >= TimeUnit.SECONDS.toMillis(unusedLifetime) * threshold / 100;
+    }
+
+    public boolean isBatchEnabled() {
+        return appConfiguration.getSessionIdLastUsedAtFlushInterval() > 0;
+    }
+
+    /**
+     * Queues session lastUsedAt write if batch writes are enabled, otherwise skips it
+     */
+    public void deferWrite(SessionId sessionId) {
+        if (!isBatchEnabled() || sessionId.getDn() == null || sessionId.getLastUsedAt() == null) {
+            suppressedWrites.increment();
+            return;
+        }
+
+        boolean flushNow;
+        synchronized (pendingLock) {
+            pendingWrites.merge(sessionId.getDn(), sessionId.getLastUsedAt(), (current, value) -> value.after(current) ? value : current);
+
+            flushNow = pendingWrites.size() >= MAX_PENDING_SESSIONS;
+            if (!flushNow && !flushScheduled) {
+                flushScheduled = scheduleFlush();
+                flushNow = !flushScheduled;
+            }
+        }
+        queuedWrites.increment();
+
+        if (flushNow) {
+            log.debug("Session lastUsedAt backlog is full, flushing on caller thread");
+            flush();
+        }
+    }
+
+    /**
+     * Writes lastUsedAt of all queued sessions if persisted value is older.
+     * In DB only lastUsedAt attribute is updated. In cache whole session is written back,
+     * but only if it wasn't removed meanwhile. Other concurrent changes of cached session
+     * which happen between read and write can be overridden.
+     */
+    public void flush() {
+        final Map<String, Date> writes;
+        synchronized (pendingLock) {
+            if (pendingWrites.isEmpty()) {
+                return;
+            }
+
+            writes = pendingWrites;
+            pendingWrites = new HashMap<>();
+            flushScheduled = false;
+        }
+
+        final long startTime = System.nanoTime();
+        int written = 0;
+        for (Map.Entry<String, Date> entry : writes.entrySet()) {
+            try {
+                if (writeLastUsedAt(entry.getKey(), entry.getValue())) {
+                    written++;
+                    flushedWrites.increment();
+                }
+            } catch (Exception e) {
+                failedWrites.increment();
+                log.error("Failed to persist lastUsedAt of session " + entry.getKey(), e);
+            }
+        }
+
+        log.debug("Persisted lastUsedAt of {} sessions from {} queued, duration: {} ms", written, writes.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
+
+    private boolean writeLastUsedAt(String dn, Date lastUsedAt) {
+        if (isTrue(appConfiguration.getSessionIdPersistInCache())) {
+            final Object cached = cacheService.get(dn);
+            if (!(cached instanceof SessionId)) {
+                return false; // removed or expired
+            }
+
+            final SessionId sessionId = (SessionId) cached;
+            if (!isNewer(sessionId, lastUsedAt)) {
+                return false;
+            }
+
+            // Don't put back session which was removed (e.g. on logout) after get
+            sessionId.setLastUsedAt(lastUsedAt);
+            return cacheService.replace(remainingTtl(sessionId), dn, sessionId);
+        }
+
+        final SessionId sessionId;
+        try {
+            sessionId = persistenceEntryManager.find(dn, SessionId.class, LAST_USED_AT_ATTRIBUTES);
+        } catch (EntryPersistenceException e) {
+            log.trace("Session {} is removed already", dn);
+            return false;
+        }
+
+        if (sessionId == null || !isNewer(sessionId, lastUsedAt)) {
+            return false;
+        }
+
+        // Entry contains only lastUsedAt attribute, so other session attributes are not overridden
+        final CustomEntry customEntry = new CustomEntry();
+        customEntry.setDn(dn);
+        customEntry.setCustomObjectClasses(SESSION_OBJECT_CLASSES);
+        customEntry.getCustomAttributes().add(new CustomAttribute(LAST_USED_AT_ATTRIBUTE, persistenceEntryManager.encodeTime(dn, lastUsedAt)));
+
+        try {
+            persistenceEntryManager.merge(customEntry);
+        } catch (EntryPersistenceException e) {
+            log.trace("Session {} is removed already", dn);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isNewer(SessionId sessionId, Date lastUsedAt) {
+        return sessionId.getLastUsedAt() == null || lastUsedAt.after(sessionId.getLastUsedAt());
+    }
+
+    private static int remainingTtl(SessionId sessionId) {
+        if (sessionId.getExpirationDate() == null) {
+            return sessionId.getTtl();
+        }
+
+        final long remaining = TimeUnit.MILLISECONDS.toSeconds(sessionId.getExpirationDate().getTime() - System.currentTimeMillis());
+        return (int) Math.max(1, remaining);
+    }
+
+    private boolean scheduleFlush() {
+        try {
+            flushExecutor.schedule(this::flushSilently, appConfiguration.getSessionIdLastUsedAtFlushInterval(), TimeUnit.SECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Executor is stopped on shutdown, write in caller thread
+            log.trace("Failed to schedule session lastUsedAt flush", e);
+            return false;
+        }
+    }
+
+    private void flushSilently() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush session lastUsedAt updates", e);
+        }
+    }
+
+    public int getQueueDepth() {
+        synchronized (pendingLock) {
+            return pendingWrites.size();
+        }
+    }
+
+    public long getSuppressedWrites() {
+        return suppressedWrites.sum();
+    }
+
+    public long getQueuedWrites() {
+        return queuedWrites.sum();
+    }
+
+    public long getFlushedWrites() {
+        return flushedWrites.sum();
+    }
+
+    public long getFailedWrites() {
+        return failedWrites.sum();
+    }
+}
@@ -131,6 +131,9 @@ public class SessionIdService {
     @Inject
     private AttributeService attributeService;
 
+    @Inject
+    private SessionIdLastUsedAtService sessionIdLastUsedAtService;
+
     private String buildDn(String sessionId) {
         return String.format("jansId=%s,%s", sessionId, staticConfiguration.getBaseDn().getSessions());
     }
@@ -622,6 +625,8 @@ public class SessionIdService {
             final int unusedLifetime = appConfiguration.getSessionIdUnusedLifetime();
             if ((unusedLifetime > 0 && isPersisted(prompts)) || forceUpdate) {
                 boolean update = modified;
+                boolean lastUsedAtUpdated = false;
+                long lastUsedAtDiff = 0;
 
                 if (updateLastUsedAt) {
                     Date lastUsedAt = new Date();
@@ -635,7 +640,8 @@ public class SessionIdService {
                         }
 
                         if (diff > 500) { // update only if diff is more than 500ms
-                            update = true;
+                            lastUsedAtUpdated = true;
+                            lastUsedAtDiff = diff;
                             sessionId.setLastUsedAt(lastUsedAt);
                         }
                     } else {
@@ -653,10 +659,18 @@ public class SessionIdService {
                     log.debug("Session id expired: {} by lifetime property, remove it.", sessionId.getId());
                     remove(sessionId); // expired
                     update = false;
+                    lastUsedAtUpdated = false;
                 }
 
                 if (update) {
                     mergeWithRetry(sessionId);
+                } else if (lastUsedAtUpdated) {
+                    // only lastUsedAt is changed, write it according to write-behind policy
+                    if (forceUpdate || sessionIdLastUsedAtService.isWriteRequired(lastUsedAtDiff, unusedLifetime)) {
+                        mergeWithRetry(sessionId);
+                    } else {
+                        sessionIdLastUsedAtService.deferWrite(sessionId);
+                    }
                 }
             }
         } catch (Exception e) {
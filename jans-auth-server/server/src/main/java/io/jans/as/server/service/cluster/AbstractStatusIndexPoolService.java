@@ -26,7 +26,9 @@ import static io.jans.as.server.service.cluster.ClusterNodeService.LOCK_KEY;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Yuriy Movchan
@@ -98,6 +100,16 @@ public abstract class AbstractStatusIndexPoolService<T extends AbstractIndexPool
         return setIndexes(entryManager.findEntries(baseDn(), getEntityClass(), Filter.createPresenceFilter("jansNum")));
     }
 
+    /**
+     * Returns a list of all pools with specified attributes only
+     *
+     * @param returnAttributes attributes to load
+     * @return list of pools
+     */
+    public List<T> getAllPools(String[] returnAttributes) {
+        return setIndexes(entryManager.findEntries(baseDn(), getEntityClass(), Filter.createPresenceFilter("jansNum"), returnAttributes));
+    }
+
     /**
      * Returns last (max) pool or null if none
      *
@@ -168,6 +180,22 @@ public abstract class AbstractStatusIndexPoolService<T extends AbstractIndexPool
     }
 
     public T updateWithLock(String poolDn, List<Integer> indexes, TokenStatus status) throws IOException {
+        Map<Integer, TokenStatus> statuses = new LinkedHashMap<>();
+        for (Integer index : indexes) {
+            statuses.put(index, status);
+        }
+
+        return updateWithLock(poolDn, statuses);
+    }
+
+    /**
+     * Applies all index statuses to pool in one locked read-modify-write
+     *
+     * @param poolDn pool dn
+     * @param statuses statuses by status list index
+     * @return updated pool or null if it's not possible to get lock
+     */
+    public T updateWithLock(String poolDn, Map<Integer, TokenStatus> statuses) throws IOException {
         final String logPrefix = logPrefix();
         log.debug("{} Attempt to update pool {} with lock {}...", logPrefix, poolDn, LOCK_KEY);
 
@@ -177,8 +205,8 @@ public abstract class AbstractStatusIndexPoolService<T extends AbstractIndexPool
 
             int bitSize = getStatusListBitSize();
             StatusList statusList = StringUtils.isNotBlank(loadedPool.getData()) ? StatusList.fromEncoded(loadedPool.getData(), bitSize) : new StatusList(bitSize);
-            for (Integer index : indexes) {
-                statusList.set(index, status.getValue());
+            for (Map.Entry<Integer, TokenStatus> entry : statuses.entrySet()) {
+                statusList.set(entry.getKey(), entry.getValue().getValue());
             }
 
             loadedPool.setLockKey(LOCK_KEY);
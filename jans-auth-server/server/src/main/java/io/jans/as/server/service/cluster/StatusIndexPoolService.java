@@ -42,9 +42,9 @@ public class StatusIndexPoolService extends AbstractStatusIndexPoolService<Statu
 
     @Override
     public void markAllIndexesAsValid(List<Integer> enumerateAllIndexes) {
-        // mark all indexes which we are re-using as VALID
+        // mark all indexes which we are re-using as VALID. Pool should not be used before it's written
         StatusListIndexService indexService = CdiUtil.bean(StatusListIndexService.class);
-        indexService.updateStatusAtIndexes(enumerateAllIndexes, TokenStatus.VALID);
+        indexService.updateStatusAtIndexes(enumerateAllIndexes, TokenStatus.VALID, true);
     }
 
     @Override
@@ -0,0 +1,390 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.service.net;
+
+import io.jans.as.common.model.registration.Client;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.model.jwk.JWKParameter;
+import io.jans.as.model.util.JwtUtil;
+import io.jans.as.server.util.ServerUtil;
+import io.jans.model.net.HttpServiceResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node local cache of JWKS loaded from jwks_uri (key is uri).
+ *
+ * Lifetime of entry is taken from Cache-Control max-age (capped by jwksUriCacheMaxLifetimeInSeconds),
+ * otherwise jwksUriCacheLifetimeInSeconds is used. Expired entry is revalidated with If-None-Match if
+ * server returned ETag. Entry which is used in last REFRESH_AHEAD_PERCENT of its lifetime is refreshed
+ * in background. Concurrent loads of the same uri are coalesced into one request.
+ *
+ * If requested kid is not in cached JWKS (key rotation), JWKS is re-fetched, but not more often than
+ * once per jwksUriMinRefetchIntervalInSeconds per uri. If fetch fails, stale JWKS is returned.
+ *
+ * Returned JSON objects are shared, callers must not modify them.
+ */
+@ApplicationScoped
+public class RemoteJwksCache {
+
+    public static final int MAX_ENTRIES = 1000;
+    public static final int REFRESH_AHEAD_PERCENT = 20;
+    public static final int FETCH_TIMEOUT = 10_000; // milliseconds
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private HttpService2 httpService;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Entry>> inFlightLoads = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService refreshExecutor;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder notModifiedCount = new LongAdder();
+    private final LongAdder kidMissRefetchCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder staleCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        refreshExecutor = ServerUtil.createExecutor();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return appConfiguration.getJwksUriCacheLifetimeInSeconds() > 0;
+    }
+
+    /**
+     * @return client jwks if it's set, otherwise JWKS loaded from client jwks_uri
+     */
+    public JSONObject getJwks(Client client) {
+        return getJwks(client, null);
+    }
+
+    /**
+     * @param kid key id which has to be in JWKS, if it's not there JWKS is re-fetched (rate limited)
+     * @return client jwks if it's set, otherwise JWKS loaded from client jwks_uri
+     */
+    public JSONObject getJwks(Client client, String kid) {
+        if (StringUtils.isNotBlank(client.getJwks())) {
+            return new JSONObject(client.getJwks());
+        }
+        return getJwks(client.getJwksUri(), kid);
+    }
+
+    public JSONObject getJwks(String jwksUri) {
+        return getJwks(jwksUri, null);
+    }
+
+    public JSONObject getJwks(String jwksUri, String kid) {
+        if (StringUtils.isBlank(jwksUri)) {
+            return null;
+        }
+
+        if (!isEnabled()) {
+            return JwtUtil.getJSONWebKeys(jwksUri);
+        }
+
+        Entry entry = entries.get(jwksUri);
+        if (entry == null) {
+            missCount.increment();
+            entry = load(jwksUri, null);
+            return entry != null ? entry.jwks : null;
+        }
+
+        final long now = System.currentTimeMillis();
+        if (now >= entry.expiresAt) {
+            missCount.increment();
+            entry = load(jwksUri, entry);
+        } else if (StringUtils.isNotBlank(kid) && !containsKid(entry.jwks, kid) && now - entry.lastAttemptAt >= getMinRefetchInterval()) {
+            log.debug("kid {} is not found in cached JWKS, re-fetching {}", kid, jwksUri);
+            kidMissRefetchCount.increment();
+            entry = load(jwksUri, entry);
+        } else {
+            hitCount.increment();
+            if (now >= entry.refreshAfter) {
+                refreshAhead(jwksUri, entry);
+            }
+        }
+
+        return entry != null ? entry.jwks : null;
+    }
+
+    public void invalidate(String jwksUri) {
+        if (StringUtils.isNotBlank(jwksUri)) {
+            entries.remove(jwksUri);
+        }
+    }
+
+    private static boolean containsKid(JSONObject jwks, String kid) {
+        final JSONArray keys = jwks.optJSONArray(JWKParameter.JSON_WEB_KEY_SET);
+        if (keys == null) {
+            return false;
+        }
+
+        for (int i = 0; i < keys.length(); i++) {
+            final JSONObject key = keys.optJSONObject(i);
+            if (key != null && kid.equals(key.optString(JWKParameter.KEY_ID))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Entry load(String jwksUri, Entry current) {
+        final CompletableFuture<Entry> loadFuture = new CompletableFuture<>();
+        final CompletableFuture<Entry> inFlightLoadFuture = inFlightLoads.putIfAbsent(jwksUri, loadFuture);
+        if (inFlightLoadFuture != null) {
+            coalescedCount.increment();
+            return inFlightLoadFuture.join();
+        }
+
+        Entry loaded = current;
+        try {
+            loaded = fetch(jwksUri, current);
+        } finally {
+            loadFuture.complete(loaded);
+            inFlightLoads.remove(jwksUri, loadFuture);
+        }
+        return loaded;
+    }
+
+    private void refreshAhead(String jwksUri, Entry entry) {
+        if (!entry.refreshScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                if (entries.get(jwksUri) == entry) {
+                    log.trace("Refreshing ahead JWKS {}", jwksUri);
+                    load(jwksUri, entry);
+                    refreshCount.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.trace("Failed to schedule refresh of JWKS " + jwksUri, e);
+        }
+    }
+
+    /**
+     * Fetches JWKS. It never throws, on failure current (stale) entry is returned.
+     */
+    private Entry fetch(String jwksUri, Entry current) {
+        final long now = System.currentTimeMillis();
+
+        HttpServiceResponse response = null;
+        try {
+            Map<String, String> headers = new HashMap<>();
+            headers.put("Accept", "application/json");
+            if (current != null && current.etag != null) {
+                headers.put("If-None-Match", current.etag);
+            }
+
+            final RequestConfig requestConfig = RequestConfig.custom()
+                    .setConnectTimeout(FETCH_TIMEOUT)
+                    .setSocketTimeout(FETCH_TIMEOUT)
+                    .build();
+            response = httpService.executeGet(httpService.getHttpsClient(requestConfig), jwksUri, headers);
+            if (response == null) {
+                return failed(jwksUri, current, now);
+            }
+
+            final HttpResponse httpResponse = response.getHttpResponse();
+            final int status = httpResponse.getStatusLine().getStatusCode();
+            final long lifetime = getLifetime(httpResponse);
+
+            if (status == HttpStatus.SC_NOT_MODIFIED && current != null) {
+                notModifiedCount.increment();
+                return put(jwksUri, new Entry(current.jwks, current.etag, now, lifetime));
+            }
+
+            if (status != HttpStatus.SC_OK) {
+                log.debug("Failed to load JWKS {}, status: {}", jwksUri, status);
+                return failed(jwksUri, current, now);
+            }
+
+            final String body = httpService.convertEntityToString(httpService.getResponseContent(httpResponse), StandardCharsets.UTF_8);
+            final JSONObject jwks = JwtUtil.fromJson(body);
+            final Header etag = httpResponse.getFirstHeader("ETag");
+
+            log.trace("Loaded JWKS {}, lifetime: {} ms", jwksUri, lifetime);
+            return put(jwksUri, new Entry(jwks, etag != null ? etag.getValue() : null, now, lifetime));
+        } catch (Exception e) {
+            log.error("Failed to load JWKS " + jwksUri, e);
+            return failed(jwksUri, current, now);
+        } finally {
+            if (response != null) {
+                response.closeConnection();
+            }
+        }
+    }
+
+    private Entry failed(String jwksUri, Entry current, long now) {
+        failedCount.increment();
+        if (current == null) {
+            return null;
+        }
+
+        // serve stale JWKS and don't retry till min re-fetch interval passes
+        staleCount.increment();
+        final long retryAt = now + getMinRefetchInterval();
+        final Entry stale = new Entry(current.jwks, current.etag, current.fetchedAt, now, retryAt, retryAt);
+        entries.replace(jwksUri, current, stale);
+        return stale;
+    }
+
+    private Entry put(String jwksUri, Entry entry) {
+        if (entries.size() >= MAX_ENTRIES && !entries.containsKey(jwksUri)) {
+            evictOldest();
+        }
+        entries.put(jwksUri, entry);
+        return entry;
+    }
+
+    private void evictOldest() {
+        String oldestUri = null;
+        long oldest = Long.MAX_VALUE;
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (e.getValue().fetchedAt < oldest) {
+                oldest = e.getValue().fetchedAt;
+                oldestUri = e.getKey();
+            }
+        }
+        if (oldestUri != null) {
+            entries.remove(oldestUri);
+        }
+    }
+
+    private long getMinRefetchInterval() {
+        return TimeUnit.SECONDS.toMillis(appConfiguration.getJwksUriMinRefetchIntervalInSeconds());
+    }
+
+    /**
+     * @return lifetime in milliseconds based on Cache-Control header and configuration
+     */
+    long getLifetime(HttpResponse httpResponse) {
+        final long maxLifetime = TimeUnit.SECONDS.toMillis(appConfiguration.getJwksUriCacheMaxLifetimeInSeconds());
+        final long defaultLifetime = TimeUnit.SECONDS.toMillis(appConfiguration.getJwksUriCacheLifetimeInSeconds());
+
+        final Header cacheControl = httpResponse.getFirstHeader("Cache-Control");
+        if (cacheControl == null || StringUtils.isBlank(cacheControl.getValue())) {
+            return Math.min(defaultLifetime, maxLifetime);
+        }
+
+        for (String directive : cacheControl.getValue().split(",")) {
+            directive = directive.trim().toLowerCase();
+            if (directive.equals("no-cache") || directive.equals("no-store")) {
+                return 0; // revalidate on each use
+            }
+            if (directive.startsWith("max-age=")) {
+                try {
+                    final long maxAge = Long.parseLong(directive.substring("max-age=".length()).trim());
+                    return Math.min(TimeUnit.SECONDS.toMillis(Math.max(0, maxAge)), maxLifetime);
+                } catch (NumberFormatException e) {
+                    log.trace("Failed to parse Cache-Control: {}", cacheControl.getValue());
+                }
+            }
+        }
+        return Math.min(defaultLifetime, maxLifetime);
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.sum();
+    }
+
+    public long getNotModifiedCount() {
+        return notModifiedCount.sum();
+    }
+
+    public long getKidMissRefetchCount() {
+        return kidMissRefetchCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getStaleCount() {
+        return staleCount.sum();
+    }
+
+    private static class Entry {
+
+        private final JSONObject jwks;
+        private final String etag;
+        private final long fetchedAt;
+        private final long lastAttemptAt;
+        private final long expiresAt;
+        private final long refreshAfter;
+        private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+        Entry(JSONObject jwks, String etag, long fetchedAt, long lifetime) {
+            this(jwks, etag, fetchedAt, fetchedAt, fetchedAt + lifetime, fetchedAt + lifetime * (100 - REFRESH_AHEAD_PERCENT) / 100);
+        }
+
+        Entry(JSONObject jwks, String etag, long fetchedAt, long lastAttemptAt, long expiresAt, long refreshAfter) {
+            this.jwks = jwks;
+            this.etag = etag;
+            this.fetchedAt = fetchedAt;
+            this.lastAttemptAt = lastAttemptAt;
+            this.expiresAt = expiresAt;
+            this.refreshAfter = refreshAfter;
+        }
+    }
+}
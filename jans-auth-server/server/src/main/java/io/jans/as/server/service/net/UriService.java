@@ -1,7 +1,6 @@
 package io.jans.as.server.service.net;
 
 import io.jans.as.model.configuration.AppConfiguration;
-import io.jans.as.model.util.JwtUtil;
 import io.jans.as.model.util.URLPatternList;
 import jakarta.ejb.Stateless;
 import jakarta.inject.Inject;
@@ -25,6 +24,9 @@ public class UriService {
     @Inject
     private AppConfiguration appConfiguration;
 
+    @Inject
+    private RemoteJwksCache remoteJwksCache;
+
     public boolean canCall(String uri) {
         if (StringUtils.isBlank(uri)) {
             return false;
@@ -43,6 +45,6 @@ public class UriService {
             log.debug("Unable to call external uri: {}, externalUriWhiteList: {}", uri, appConfiguration.getExternalUriWhiteList());
             return null;
         }
-        return JwtUtil.getJSONWebKeys(uri);
+        return remoteJwksCache.getJwks(uri);
     }
 }
@@ -19,10 +19,16 @@ import net.agkn.hll.HLL;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
-import java.text.SimpleDateFormat;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * @author Yuriy Zabrovarnyy
@@ -33,9 +39,13 @@ import java.util.concurrent.ConcurrentMap;
 public class StatService {
 
     // January - 202001, December - 202012
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
     private static final int REGWIDTH = 5;
     private static final int LOG_2_M = 15;
 
+    // Reported users are queued and added to HLL on stat update or by reporting thread once queue reaches this size
+    private static final int PENDING_USERS_DRAIN_SIZE = 10_000;
+
     public static final String ACCESS_TOKEN_KEY = "access_token";
     public static final String ID_TOKEN_KEY = "id_token";
     public static final String REFRESH_TOKEN_KEY = "refresh_token";
@@ -55,12 +65,10 @@ public class StatService {
     private AppConfiguration appConfiguration;
 
     private String nodeId;
-    private StatEntry currentEntry;
-    private HLL hll;
-    private ConcurrentMap<String, Map<String, Long>> tokenCounters;
-    private final SimpleDateFormat periodDateFormat = new SimpleDateFormat("yyyyMM");
+    private volatile StatPeriod period;
+    private StatPeriod closedPeriod;
 
-    private boolean initialized = false;
+    private volatile boolean initialized = false;
 
     @PostConstruct
     public void create() {
@@ -76,7 +84,7 @@ public class StatService {
             }
             log.info("Initializing Stat Service");
 
-            initNodeId();
+            initNodeId(currentMonth());
             if (StringUtils.isBlank(nodeId)) {
                 log.error("Failed to initialize stat service. statNodeId is not set in configuration.");
                 return false;
@@ -87,7 +95,7 @@ public class StatService {
             }
 
             prepareMonthlyBranch();
-            setupCurrentEntry();
+            period = loadPeriod(YearMonth.now());
             initialized = true;
             log.info("Initialized Stat Service");
             return true;
@@ -97,7 +105,7 @@ public class StatService {
         }
     }
 
-    public void updateStat() {
+    public synchronized void updateStat() {
         log.trace("updateStat ...  (initialized: {})", initialized);
 
         if (!initialized) {
@@ -106,87 +114,122 @@ public class StatService {
 
         log.trace("Started updateStat ...");
 
-        prepareMonthlyBranch();
-        initNodeId();
-        setupCurrentEntry();
-
-        final Stat stat = currentEntry.getStat();
-        stat.setTokenCountPerGrantType(tokenCounters);
-        stat.setLastUpdatedAt(System.currentTimeMillis());
-
-        synchronized (hll) {
-            currentEntry.setUserHllData(Base64.getEncoder().encodeToString(hll.toBytes()));
+        // Reports which raced month rollover could reach previous period after it was written
+        final StatPeriod closed = closedPeriod;
+        if (closed != null) {
+            closedPeriod = null;
+            writePeriod(closed);
         }
 
-        log.trace("Updating entry dn {}", currentEntry.getDn());
-        entryManager.merge(currentEntry);
+        writePeriod(currentPeriod());
 
         log.trace("Finished updateStat.");
     }
 
     public String currentMonth() {
-        return periodDateFormat.format(new Date());
+        return YearMonth.now().format(PERIOD_FORMAT);
     }
 
     public String currentMonthDn() {
-        final String baseDn = getBaseDn();
-        final String month = currentMonth();
-        return String.format("ou=%s,%s", month, baseDn);
+        return monthDn(currentMonth());
     }
 
-    private void setupCurrentEntry() {
-        String currentMonth = currentMonth();
-        String dn = String.format("jansId=%s,%s", nodeId, currentMonthDn()); // jansId=<id>,ou=yyyyMM,ou=stat,o=gluu
-        log.trace("Stat entry dn: {}", dn);
+    private String monthDn(String month) {
+        return String.format("ou=%s,%s", month, getBaseDn());
+    }
 
-        final boolean sameMonth = currentEntry != null && currentMonth.equals(currentEntry.getStat().getMonth());
-        if (sameMonth) {
-            log.trace("Same month {}", currentMonth);
-            return;
-        } else {
-            log.trace("Different month {}", currentMonth);
-            currentEntry = null; // set current entry to null to force re-fetch it from DB or create new one
+    /*
+     * Hot path, it's only epoch comparison if month is not changed
+     */
+    private StatPeriod currentPeriod() {
+        final StatPeriod current = period;
+        if (current != null && System.currentTimeMillis() < current.endTime) {
+            return current;
         }
 
+        return rollOver();
+    }
+
+    private synchronized StatPeriod rollOver() {
+        StatPeriod current = period;
+        if (current != null && System.currentTimeMillis() < current.endTime) {
+            return current; // already rolled over by another thread
+        }
+
+        if (current != null) {
+            log.trace("Different month, saving stat for month {}", current.month);
+            try {
+                writePeriod(current);
+            } catch (Exception e) {
+                log.error("Failed to save stat for month " + current.month, e);
+            }
+            closedPeriod = current;
+        }
+
+        prepareMonthlyBranch();
+        period = loadPeriod(YearMonth.now());
+        return period;
+    }
+
+    private void writePeriod(StatPeriod current) {
+        final StatEntry entry = current.entry;
+        final Stat stat = entry.getStat();
+        stat.setTokenCountPerGrantType(current.mergeTokenCounters());
+        stat.setLastUpdatedAt(System.currentTimeMillis());
+
+        final HLL hll = newHll();
+        current.mergeHll(hll);
+        entry.setUserHllData(Base64.getEncoder().encodeToString(hll.toBytes()));
+
+        log.trace("Updating entry dn {}", entry.getDn());
+        entryManager.merge(entry);
+    }
+
+    private StatPeriod loadPeriod(YearMonth yearMonth) {
+        final String month = yearMonth.format(PERIOD_FORMAT);
+        final long endTime = yearMonth.plusMonths(1).atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        initNodeId(month);
+        String dn = String.format("jansId=%s,%s", nodeId, monthDn(month)); // jansId=<id>,ou=yyyyMM,ou=stat,o=gluu
+        log.trace("Stat entry dn: {}", dn);
+
         try {
             StatEntry entryFromPersistence = entryManager.find(StatEntry.class, dn);
-            if (entryFromPersistence != null && currentMonth.equals(entryFromPersistence.getStat().getMonth())) {
-                hll = HLL.fromBytes(Base64.getDecoder().decode(entryFromPersistence.getUserHllData()));
-                tokenCounters = new ConcurrentHashMap<>(entryFromPersistence.getStat().getTokenCountPerGrantType());
-                currentEntry = entryFromPersistence;
+            if (entryFromPersistence != null && month.equals(entryFromPersistence.getStat().getMonth())) {
                 log.trace("Stat entry {} loaded.", dn);
-                if (StringUtils.isBlank(currentEntry.getMonth()) && currentEntry.getStat() != null) {
-                    currentEntry.setMonth(currentEntry.getStat().getMonth());
+                if (StringUtils.isBlank(entryFromPersistence.getMonth()) && entryFromPersistence.getStat() != null) {
+                    entryFromPersistence.setMonth(entryFromPersistence.getStat().getMonth());
                 }
-                return;
+                return new StatPeriod(month, endTime, entryFromPersistence, HLL.fromBytes(Base64.getDecoder().decode(entryFromPersistence.getUserHllData())),
+                        entryFromPersistence.getStat().getTokenCountPerGrantType());
             } else {
-                log.trace("Month does not match. Current month {}, entry month {}, entry dn: {}", currentMonth, entryFromPersistence != null ? entryFromPersistence.getStat().getMonth() : "", dn);
+                log.trace("Month does not match. Current month {}, entry month {}, entry dn: {}", month, entryFromPersistence != null ? entryFromPersistence.getStat().getMonth() : "", dn);
             }
         } catch (EntryPersistenceException e) {
             log.trace("Stat entry is not found in persistence. dn: " + dn, e);
         }
 
         log.trace("Creating stat entry ...");
-        hll = newHll();
-        tokenCounters = new ConcurrentHashMap<>();
+        HLL hll = newHll();
 
-        currentEntry = new StatEntry();
-        currentEntry.setId(nodeId);
-        currentEntry.setDn(dn);
-        currentEntry.setUserHllData(Base64.getEncoder().encodeToString(hll.toBytes()));
+        StatEntry entry = new StatEntry();
+        entry.setId(nodeId);
+        entry.setDn(dn);
+        entry.setUserHllData(Base64.getEncoder().encodeToString(hll.toBytes()));
 
-        currentEntry.getStat().setMonth(currentMonth);
-        currentEntry.setMonth(currentMonth);
-        entryManager.persist(currentEntry);
+        entry.getStat().setMonth(month);
+        entry.setMonth(month);
+        entryManager.persist(entry);
         log.trace("Created stat entry.");
+
+        return new StatPeriod(month, endTime, entry, hll, Collections.emptyMap());
     }
 
     public HLL newHll() {
         return new HLL(LOG_2_M, REGWIDTH);
     }
 
-    private void initNodeId() {
-        final String currentMonth = currentMonth();
+    private void initNodeId(String currentMonth) {
         if (StringUtils.isNotBlank(nodeId) && nodeId.endsWith(currentMonth)) {
             log.trace("NodeId is not blank: {}", nodeId);
             return;
@@ -262,10 +305,7 @@ public class StatService {
 
         final int hashCode = id.hashCode();
         try {
-            setupCurrentEntry();
-            synchronized (hll) {
-                hll.addRaw(hashCode);
-            }
+            currentPeriod().addUser(hashCode);
         } catch (Exception e) {
             log.error("Failed to report active user, id: " + id + ", hash: " + hashCode, e);
         }
@@ -300,22 +340,96 @@ public class StatService {
         if (grantType == null || tokenKey == null) {
             return;
         }
-        if (tokenCounters == null) {
-            log.error("Stat service is not initialized.");
-            return;
+
+        try {
+            currentPeriod().addToken(grantType.getValue(), tokenKey);
+        } catch (Exception e) {
+            log.error("Failed to report token, grant type: " + grantType + ", token: " + tokenKey, e);
         }
+    }
 
-        Map<String, Long> tokenMap = tokenCounters.computeIfAbsent(grantType.getValue(), k -> new ConcurrentHashMap<>());
+    /**
+     * Stat of current month. Token counts loaded from DB are kept separately from counts reported by this node
+     * since period start, they are merged on stat update. Reported users are queued without locking and added
+     * to HLL by a single thread at a time
+     */
+    private static class StatPeriod {
+
+        private final String month;
+        private final long endTime;
+        private final StatEntry entry;
+        private final HLL hll;
+        private final Map<String, Map<String, Long>> baseTokenCounters;
+        private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> tokenCounters = new ConcurrentHashMap<>();
+        private final Queue<Integer> pendingUsers = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingUsersCount = new AtomicInteger();
+        private final ReentrantLock hllLock = new ReentrantLock();
+
+        StatPeriod(String month, long endTime, StatEntry entry, HLL hll, Map<String, Map<String, Long>> baseTokenCounters) {
+            this.month = month;
+            this.endTime = endTime;
+            this.entry = entry;
+            this.hll = hll;
+            this.baseTokenCounters = baseTokenCounters;
+        }
 
-        Long counter = tokenMap.get(tokenKey);
+        void addUser(int hashCode) {
+            pendingUsers.add(hashCode);
 
-        if (counter == null) {
-            counter = 1L;
-        } else {
-            counter++;
+            // Reporting thread never waits, HLL is updated by the thread which got the lock
+            if (pendingUsersCount.incrementAndGet() >= PENDING_USERS_DRAIN_SIZE && hllLock.tryLock()) {
+                try {
+                    drainPendingUsers();
+                } finally {
+                    hllLock.unlock();
+                }
+            }
         }
 
-        tokenMap.put(tokenKey, counter);
+        private void drainPendingUsers() {
+            Integer hashCode;
+            while ((hashCode = pendingUsers.poll()) != null) {
+                pendingUsersCount.decrementAndGet();
+                hll.addRaw(hashCode);
+            }
+        }
 
+        void addToken(String grantType, String tokenKey) {
+            ConcurrentMap<String, LongAdder> grantCounters = tokenCounters.get(grantType);
+            if (grantCounters == null) {
+                grantCounters = tokenCounters.computeIfAbsent(grantType, k -> new ConcurrentHashMap<>());
+            }
+
+            LongAdder counter = grantCounters.get(tokenKey);
+            if (counter == null) {
+                counter = grantCounters.computeIfAbsent(tokenKey, k -> new LongAdder());
+            }
+            counter.increment();
+        }
+
+        void mergeHll(HLL target) {
+            hllLock.lock();
+            try {
+                drainPendingUsers();
+                target.union(hll);
+            } finally {
+                hllLock.unlock();
+            }
+        }
+
+        Map<String, Map<String, Long>> mergeTokenCounters() {
+            Map<String, Map<String, Long>> result = new HashMap<>();
+            for (Map.Entry<String, Map<String, Long>> grantEntry : baseTokenCounters.entrySet()) {
+                result.put(grantEntry.getKey(), new HashMap<>(grantEntry.getValue()));
+            }
+
+            for (Map.Entry<String, ConcurrentMap<String, LongAdder>> grantEntry : tokenCounters.entrySet()) {
+                Map<String, Long> grantCounters = result.computeIfAbsent(grantEntry.getKey(), k -> new HashMap<>());
+                for (Map.Entry<String, LongAdder> tokenEntry : grantEntry.getValue().entrySet()) {
+                    grantCounters.merge(tokenEntry.getKey(), tokenEntry.getValue().sum(), Long::sum);
+                }
+            }
+            return result;
+        }
     }
 }
\ No newline at end of file
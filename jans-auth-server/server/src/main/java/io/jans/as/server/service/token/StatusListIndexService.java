@@ -3,18 +3,25 @@ package io.jans.as.server.service.token;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.server.service.cluster.ClusterNodeManager;
 import io.jans.as.server.service.cluster.StatusIndexPoolService;
+import io.jans.as.server.util.ServerUtil;
 import io.jans.model.token.StatusIndexPool;
 import io.jans.model.tokenstatus.TokenStatus;
 import io.jans.util.Pair;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -26,6 +33,10 @@ import java.util.concurrent.locks.ReentrantLock;
 @ApplicationScoped
 public class StatusListIndexService {
 
+    public static final long FLUSH_DELAY = 100; // milliseconds
+    public static final int MAX_PENDING_UPDATES = 10000;
+    public static final int MAX_FLUSH_RETRIES = 3;
+
     @Inject
     private Logger log;
 
@@ -38,52 +49,242 @@ public class StatusListIndexService {
 	@Inject
 	private ClusterNodeManager clusterManager;
 
+    @Inject
+    private StatusListService statusListService;
+
     private final ReentrantLock allocatedLock = new ReentrantLock();
+
+    private final Object pendingLock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // pool id -> index -> status. Last queued status wins
+    private Map<Integer, Map<Integer, TokenStatus>> pendingUpdates = new HashMap<>();
+    private int pendingCount;
+    private boolean flushScheduled;
+    private CompletableFuture<Boolean> pendingFlush = new CompletableFuture<>();
+    // pool id -> count of failed writes in a row
+    private final Map<Integer, Integer> failedFlushes = new HashMap<>();
+
+    private ScheduledExecutorService flushExecutor;
+
+    private final AtomicLong flushCount = new AtomicLong();
+    private volatile long lastFlushDuration;
+    private volatile long maxFlushDuration;
+    private final AtomicLong droppedUpdateCount = new AtomicLong();
 	
     private StatusIndexPool tokenPool = null;
 
-    public synchronized void updateStatusAtIndexes(List<Integer> indexes, TokenStatus status) {
+    /**
+     * Queues status update. Updates are coalesced per pool and written in background
+     */
+    public void updateStatusAtIndexes(List<Integer> indexes, TokenStatus status) {
+        updateStatusAtIndexes(indexes, status, false);
+    }
+
+    /**
+     * Queues status update. If waitForDurability is true method returns after update was written to DB.
+     * Failed pool updates are retried in background up to MAX_FLUSH_RETRIES times
+     *
+     * @return false if some of pools were not updated by first attempt (it's known only if waitForDurability is true)
+     */
+    public boolean updateStatusAtIndexes(List<Integer> indexes, TokenStatus status, boolean waitForDurability) {
+        if (indexes == null || indexes.isEmpty()) {
+            return true; // invalid
+        }
+
+        log.debug("Queueing status list update at indexes {} with status {} ...", indexes, status);
+
+        final CompletableFuture<Boolean> flushed;
+        final boolean backlogFull;
+        boolean flushNow;
+        synchronized (pendingLock) {
+            int blockSize = appConfiguration.getStatusListIndexAllocationBlockSize();
+            boolean queued = false;
+            for (Integer index : indexes) {
+                if (index == null || index < 0) {
+                    continue;
+                }
+
+                Map<Integer, TokenStatus> poolUpdates = pendingUpdates.computeIfAbsent(index / blockSize, k -> new HashMap<>());
+                if (poolUpdates.put(index, status) == null) {
+                    pendingCount++;
+                }
+                queued = true;
+            }
+
+            if (!queued) {
+                return true;
+            }
+
+            flushed = pendingFlush;
+            backlogFull = pendingCount >= MAX_PENDING_UPDATES;
+            flushNow = backlogFull || waitForDurability;
+            if (!flushNow && !flushScheduled) {
+                flushScheduled = scheduleFlush();
+                flushNow = !flushScheduled;
+            }
+        }
+
+        if (flushNow) {
+            // Apply on caller thread. It slows down callers if background writer can't keep up
+            if (backlogFull) {
+                log.debug("Status list update backlog is full, flushing on caller thread");
+            }
+            flush();
+        }
+
+        if (waitForDurability) {
+            return flushed.join();
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes all queued updates. Each pool is updated with one locked read-modify-write
+     */
+    public void flush() {
+        flushLock.lock();
         try {
-            log.debug("Updating status list at indexes {} with status {} ...", indexes, status);
+            final Map<Integer, Map<Integer, TokenStatus>> updates;
+            final CompletableFuture<Boolean> flushed;
+            final int count;
+            synchronized (pendingLock) {
+                if (pendingUpdates.isEmpty()) {
+                    return;
+                }
+
+                updates = pendingUpdates;
+                count = pendingCount;
+                flushed = pendingFlush;
 
-            if (indexes == null || indexes.isEmpty()) {
-                return; // invalid
+                pendingUpdates = new HashMap<>();
+                pendingCount = 0;
+                pendingFlush = new CompletableFuture<>();
+                flushScheduled = false;
             }
 
-            // first load pools for indexes
-            Collection<StatusIndexPool> pools = findPoolsByIndexes(indexes);
-            for (StatusIndexPool pool : pools) {
-                updateWithLockSilently(pool, indexes, status);
+            final long startTime = System.nanoTime();
+            boolean result = true;
+            for (Map.Entry<Integer, Map<Integer, TokenStatus>> entry : updates.entrySet()) {
+                boolean updated = updateWithLockSilently(entry.getKey(), entry.getValue());
+                onPoolFlushed(entry.getKey(), entry.getValue(), updated);
+                result &= updated;
             }
 
-            log.debug("Updated status list at index {} with status {} successfully.", indexes, status);
+            final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            lastFlushDuration = duration;
+            if (duration > maxFlushDuration) {
+                maxFlushDuration = duration;
+            }
+            flushCount.incrementAndGet();
 
-        } catch (Exception e) {
-            log.error("Failed to update token list status at index " + indexes + " with status " + status, e);
+            log.debug("Updated status list at {} indexes in {} pools, duration: {} ms", count, updates.size(), duration);
+
+            flushed.complete(result);
+        } finally {
+            flushLock.unlock();
         }
     }
 
-    private Collection<StatusIndexPool> findPoolsByIndexes(List<Integer> indexes) {
-        Map<Integer, StatusIndexPool> pools = new HashMap<>();
-        for (Integer index : indexes) {
-            int poolId = index / appConfiguration.getStatusListIndexAllocationBlockSize();
+    /*
+     * Failed pool update is queued again to be written with next flush. Statuses which were queued
+     * after failed flush are newer and win. Pool is dropped after MAX_FLUSH_RETRIES failed writes in a row
+     */
+    private void onPoolFlushed(int poolId, Map<Integer, TokenStatus> statuses, boolean updated) {
+        synchronized (pendingLock) {
+            if (updated) {
+                failedFlushes.remove(poolId);
+                return;
+            }
 
-            StatusIndexPool indexHolder = pools.get(poolId);
-            if (indexHolder == null) {
-                indexHolder = statusTokenPoolService.getPoolByIndex(index);
-                log.debug("Found pool {} by index {}", indexHolder.getDn(), index);
-                pools.put(indexHolder.getId(), indexHolder);
+            int failures = failedFlushes.merge(poolId, 1, Integer::sum);
+            if (failures > MAX_FLUSH_RETRIES) {
+                failedFlushes.remove(poolId);
+                droppedUpdateCount.addAndGet(statuses.size());
+                log.error("Dropped status list update of pool {} after {} failed attempts, statuses: {}", poolId, failures, statuses);
+                return;
+            }
+
+            Map<Integer, TokenStatus> poolUpdates = pendingUpdates.computeIfAbsent(poolId, k -> new HashMap<>());
+            for (Map.Entry<Integer, TokenStatus> entry : statuses.entrySet()) {
+                if (poolUpdates.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                    pendingCount++;
+                }
+            }
+
+            log.debug("Queued status list update of pool {} for retry, attempt: {}", poolId, failures);
+            if (!flushScheduled) {
+                // If executor is stopped update is written by next caller
+                flushScheduled = scheduleFlush();
             }
         }
-        return pools.values();
     }
 
-    private void updateWithLockSilently(StatusIndexPool pool, List<Integer> indexes, TokenStatus status) {
+    private boolean scheduleFlush() {
         try {
-            statusTokenPoolService.updateWithLock(pool.getDn(), indexes, status);
+            flushExecutor.schedule(this::flushSilently, FLUSH_DELAY, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Executor is stopped on shutdown, write in caller thread
+            log.trace("Failed to schedule status list flush", e);
+            return false;
+        }
+    }
+
+    private void flushSilently() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush status list updates", e);
+        }
+    }
+
+    private boolean updateWithLockSilently(int poolId, Map<Integer, TokenStatus> statuses) {
+        try {
+            StatusIndexPool updatedPool = statusTokenPoolService.updateWithLock(statusTokenPoolService.createDn(poolId), statuses);
+            if (updatedPool != null) {
+                statusListService.onPoolUpdated(updatedPool);
+                return true;
+            }
         } catch (Exception e) {
-            log.error("Failed to persist status index pool " + pool.getId(), e);
+            log.error("Failed to persist status index pool " + poolId + " with statuses " + statuses, e);
         }
+
+        return false;
+    }
+
+    @PostConstruct
+    public void init() {
+        flushExecutor = ServerUtil.createExecutor();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flushExecutor.shutdown();
+        flushSilently();
+    }
+
+    public int getQueueDepth() {
+        synchronized (pendingLock) {
+            return pendingCount;
+        }
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getLastFlushDuration() {
+        return lastFlushDuration;
+    }
+
+    public long getMaxFlushDuration() {
+        return maxFlushDuration;
+    }
+
+    public long getDroppedUpdateCount() {
+        return droppedUpdateCount.get();
     }
 
     public Integer next() {
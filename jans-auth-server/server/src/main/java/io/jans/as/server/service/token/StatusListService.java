@@ -21,15 +21,27 @@ import io.jans.model.tokenstatus.TokenStatus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static io.jans.as.model.config.Constants.CONTENT_TYPE_STATUSLIST_JSON;
 import static io.jans.as.model.config.Constants.CONTENT_TYPE_STATUSLIST_JWT;
@@ -44,6 +56,11 @@ import static io.jans.as.model.config.Constants.CONTENT_TYPE_STATUSLIST_JWT;
 @ApplicationScoped
 public class StatusListService {
 
+    // Interval to check if pools were changed by other nodes
+    public static final long POOLS_REVISION_CHECK_INTERVAL = 5 * 1000L; // 5 seconds
+
+    private static final String[] POOL_REVISION_ATTRIBUTES = new String[] {AbstractIndexPool.JANS_NUM_ATTRIBUTE_NAME, "jansLastUpd"};
+
     @Inject
     private Logger log;
 
@@ -62,22 +79,58 @@ public class StatusListService {
     @Inject
     private WebKeysConfiguration webKeysConfiguration;
 
+    // Node local materialized status list. Pools states are guarded by refreshLock
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Map<Integer, PoolState> poolStates = new TreeMap<>();
+    private volatile boolean poolStatesChanged = false;
+    private volatile StatusListSnapshot snapshot;
+
+    private final ReentrantLock signLock = new ReentrantLock();
+    private volatile SignedStatusList signedStatusList;
+
     public Response requestStatusList(String acceptHeader, String time) {
-        log.debug("Attempting to request status_list, acceptHeader: {}, time: {} ...", acceptHeader, time);
+        return requestStatusList(acceptHeader, time, null);
+    }
+
+    public Response requestStatusList(String acceptHeader, String time, String ifNoneMatch) {
+        log.debug("Attempting to request status_list, acceptHeader: {}, time: {}, ifNoneMatch: {} ...", acceptHeader, time, ifNoneMatch);
 
         errorResponseFactory.validateFeatureEnabled(FeatureFlagType.STATUS_LIST);
 
         try {
             validateTime(time);
 
-            final List<StatusIndexPool> pools = statusTokenPoolService.getAllPools();
-            final StatusList statusList = join(pools, appConfiguration.getStatusListBitSize(), log);
+            final StatusListSnapshot currentSnapshot = getStatusListSnapshot();
 
             final boolean isJsonRequested = CONTENT_TYPE_STATUSLIST_JSON.equalsIgnoreCase(acceptHeader);
 
-            final String entity = createEntity(isJsonRequested, statusList);
+            final String entity;
+            final String etag;
+            final int maxAge;
+            if (isJsonRequested) {
+                entity = currentSnapshot.getJson();
+                etag = currentSnapshot.getEtag();
+                // Unsigned list reflects other nodes changes only after pools revision check, cache it for this interval
+                maxAge = (int) TimeUnit.MILLISECONDS.toSeconds(POOLS_REVISION_CHECK_INTERVAL);
+            } else {
+                final SignedStatusList currentSignedStatusList = getSignedStatusList(currentSnapshot);
+                entity = currentSignedStatusList.getJwt();
+                etag = currentSignedStatusList.getEtag();
+                maxAge = currentSignedStatusList.getRemainingLifetime();
+            }
             final String responseType = isJsonRequested ? CONTENT_TYPE_STATUSLIST_JSON : CONTENT_TYPE_STATUSLIST_JWT;
 
+            final EntityTag entityTag = new EntityTag(etag);
+            final CacheControl cacheControl = cacheControl(maxAge);
+            if (isEtagMatched(ifNoneMatch, etag)) {
+                log.trace("Status list is not modified, etag {}", etag);
+
+                return Response.notModified(entityTag)
+                        .cacheControl(cacheControl)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                        .build();
+            }
+
             if (log.isTraceEnabled()) {
                 log.trace("Response entity {}, responseType {}", entity, responseType);
             }
@@ -85,6 +138,9 @@ public class StatusListService {
             return Response.status(Response.Status.OK)
                     .entity(entity)
                     .type(responseType)
+                    .tag(entityTag)
+                    .cacheControl(cacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
                     .build();
         } catch (WebApplicationException e) {
             if (log.isTraceEnabled()) {
@@ -105,14 +161,211 @@ public class StatusListService {
         }
     }
 
-    private String createEntity(boolean isJsonRequested, StatusList statusList) throws Exception {
-        JSONObject jsonObject = new JSONObject(statusList.encodeAsJSON());
+    /**
+     * Returns materialized status list. Pools are reloaded only if they were changed.
+     * Other nodes changes are checked not often than POOLS_REVISION_CHECK_INTERVAL
+     *
+     * @return status list snapshot
+     */
+    public StatusListSnapshot getStatusListSnapshot() throws Exception {
+        StatusListSnapshot currentSnapshot = snapshot;
+        if (isSnapshotActual(currentSnapshot)) {
+            return currentSnapshot;
+        }
+
+        if (currentSnapshot == null) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            // Another thread is refreshing it already
+            return currentSnapshot;
+        }
+
+        try {
+            currentSnapshot = snapshot;
+            if (isSnapshotActual(currentSnapshot)) {
+                return currentSnapshot;
+            }
+
+            snapshot = refreshSnapshot(currentSnapshot);
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean isSnapshotActual(StatusListSnapshot currentSnapshot) {
+        return currentSnapshot != null && !poolStatesChanged && currentSnapshot.getBitSize() == appConfiguration.getStatusListBitSize()
+                && System.currentTimeMillis() < currentSnapshot.getNextRevisionCheck();
+    }
+
+    private StatusListSnapshot refreshSnapshot(StatusListSnapshot currentSnapshot) throws Exception {
+        final int bitSize = appConfiguration.getStatusListBitSize();
+        final long now = System.currentTimeMillis();
+
+        boolean changed = poolStatesChanged;
+        poolStatesChanged = false;
+
+        boolean reload = currentSnapshot == null || now >= currentSnapshot.getNextRevisionCheck();
+        if (currentSnapshot == null || currentSnapshot.getBitSize() != bitSize) {
+            poolStates.clear();
+            changed = true;
+            reload = true;
+        }
+
+        // Reload pools which were changed since last check. Local changes are applied already in onPoolUpdated
+        if (reload) {
+            changed |= reloadChangedPools(bitSize);
+        }
+
+        final long nextRevisionCheck = reload ? now + POOLS_REVISION_CHECK_INTERVAL : currentSnapshot.getNextRevisionCheck();
+        if (!changed) {
+            return currentSnapshot.withNextRevisionCheck(nextRevisionCheck);
+        }
+
+        final StatusList statusList = joinStatusLists(poolStates, bitSize);
+        final String json = new JSONObject(statusList.encodeAsJSON()).toString();
+        if (currentSnapshot != null && currentSnapshot.getBitSize() == bitSize && json.equals(currentSnapshot.getJson())) {
+            return currentSnapshot.withNextRevisionCheck(nextRevisionCheck);
+        }
+
+        log.debug("Rebuilt status list from {} pools", poolStates.size());
+
+        return new StatusListSnapshot(bitSize, json, DigestUtils.sha256Hex(json), nextRevisionCheck);
+    }
+
+    private boolean reloadChangedPools(int bitSize) {
+        boolean changed = false;
+
+        final List<StatusIndexPool> pools = statusTokenPoolService.getAllPools(POOL_REVISION_ATTRIBUTES);
+        final Set<Integer> poolIds = new HashSet<>();
+        for (StatusIndexPool pool : pools) {
+            poolIds.add(pool.getId());
+
+            final PoolState poolState = poolStates.get(pool.getId());
+            if (poolState != null && Objects.equals(poolState.getLastUpdate(), pool.getLastUpdate())) {
+                continue;
+            }
+
+            final StatusIndexPool loadedPool = statusTokenPoolService.getPoolByDn(pool.getDn());
+            poolStates.put(loadedPool.getId(), new PoolState(loadedPool, bitSize, log));
+            changed = true;
+        }
+
+        changed |= poolStates.keySet().retainAll(poolIds);
+
+        return changed;
+    }
+
+    /**
+     * Updates materialized status list with pool data which current node persisted
+     *
+     * @param pool updated pool
+     */
+    public void onPoolUpdated(AbstractIndexPool pool) {
+        if (pool == null || pool.getId() == null) {
+            return;
+        }
+
+        final int bitSize = appConfiguration.getStatusListBitSize();
+
+        refreshLock.lock();
+        try {
+            final PoolState poolState = poolStates.get(pool.getId());
+            if (poolState != null && poolState.getLastUpdate() != null && pool.getLastUpdate() != null
+                    && poolState.getLastUpdate().after(pool.getLastUpdate())) {
+                // Newer pool data is loaded already
+                return;
+            }
+
+            poolStates.put(pool.getId(), new PoolState(pool, bitSize, log));
+            poolStatesChanged = true;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private SignedStatusList getSignedStatusList(StatusListSnapshot currentSnapshot) throws Exception {
+        SignedStatusList currentSignedStatusList = signedStatusList;
+        if (isSignedStatusListActual(currentSignedStatusList, currentSnapshot)) {
+            return currentSignedStatusList;
+        }
+
+        signLock.lock();
+        try {
+            currentSignedStatusList = signedStatusList;
+            if (isSignedStatusListActual(currentSignedStatusList, currentSnapshot)) {
+                return currentSignedStatusList;
+            }
+
+            final int lifetime = appConfiguration.getStatusListResponseJwtLifetime();
+            final long signedAt = System.currentTimeMillis();
+            final String jwt = createResponseJwt(new JSONObject(currentSnapshot.getJson()));
+
+            signedStatusList = new SignedStatusList(currentSnapshot.getEtag(), jwt, DigestUtils.sha256Hex(jwt),
+                    signedAt + lifetime * 1000L, signedAt + lifetime * 500L);
+            return signedStatusList;
+        } finally {
+            signLock.unlock();
+        }
+    }
+
+    private boolean isSignedStatusListActual(SignedStatusList currentSignedStatusList, StatusListSnapshot currentSnapshot) {
+        // Re-sign if content was changed or half of JWT lifetime passed
+        return currentSignedStatusList != null && currentSignedStatusList.getSnapshotEtag().equals(currentSnapshot.getEtag())
+                && System.currentTimeMillis() < currentSignedStatusList.getRefreshAt();
+    }
 
-        if (isJsonRequested) {
-            return jsonObject.toString();
+    private static CacheControl cacheControl(int maxAge) {
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setMaxAge(Math.max(0, maxAge));
+        return cacheControl;
+    }
+
+    public static boolean isEtagMatched(String ifNoneMatch, String etag) {
+        if (StringUtils.isBlank(ifNoneMatch) || StringUtils.isBlank(etag)) {
+            return false;
         }
 
-        return createResponseJwt(jsonObject);
+        for (String value : ifNoneMatch.split(",")) {
+            String tag = value.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+
+            tag = StringUtils.removeStart(tag, "W/");
+            tag = StringUtils.removeStart(tag, "\"");
+            tag = StringUtils.removeEnd(tag, "\"");
+            if (etag.equals(tag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static StatusList joinStatusLists(Map<Integer, PoolState> poolStates, int bitSize) {
+        List<StatusList> statusLists = new ArrayList<>(poolStates.size());
+        for (PoolState poolState : poolStates.values()) {
+            if (poolState.getStatusList() != null) {
+                statusLists.add(poolState.getStatusList());
+            }
+        }
+
+        StatusList result = new StatusList(bitSize);
+        for (StatusList poolStatusList : statusLists) {
+            merge(result, poolStatusList);
+        }
+        return result;
+    }
+
+    private static void merge(StatusList result, StatusList poolStatusList) {
+        for (int i = 0; i < poolStatusList.getBitSetLength(); i++) {
+            int value = poolStatusList.get(i);
+            boolean isNotDefault = value != TokenStatus.VALID.getValue();
+            if (isNotDefault) {
+                result.set(i, value);
+            }
+        }
     }
 
     public static StatusList join(List<? extends AbstractIndexPool> pools, int bitSize, Logger log) {
@@ -124,14 +377,7 @@ public class StatusListService {
                     continue;
                 }
 
-                StatusList poolStatusList = StatusList.fromEncoded(data, bitSize);
-                for (int i = 0; i < poolStatusList.getBitSetLength(); i++) {
-                    int value = poolStatusList.get(i);
-                    boolean isNotDefault = value != TokenStatus.VALID.getValue();
-                    if (isNotDefault) {
-                        result.set(i, value);
-                    }
-                }
+                merge(result, StatusList.fromEncoded(data, bitSize));
             } catch (Exception e) {
                 String msg = String.format("Failed to process status list from pool: %s, nodeId: %s", pool.getId(), pool.getNodeId());
                 log.error(msg, e);
@@ -220,4 +466,105 @@ public class StatusListService {
             log.trace("Response before signing: {}", jwr.getClaims().toJsonString());
         }
     }
+
+    private static class PoolState {
+
+        private final Date lastUpdate;
+        private final StatusList statusList;
+
+        PoolState(AbstractIndexPool pool, int bitSize, Logger log) {
+            this.lastUpdate = pool.getLastUpdate();
+
+            StatusList poolStatusList = null;
+            if (StringUtils.isNotBlank(pool.getData())) {
+                try {
+                    poolStatusList = StatusList.fromEncoded(pool.getData(), bitSize);
+                } catch (Exception e) {
+                    String msg = String.format("Failed to process status list from pool: %s, nodeId: %s", pool.getId(), pool.getNodeId());
+                    log.error(msg, e);
+                }
+            }
+            this.statusList = poolStatusList;
+        }
+
+        public Date getLastUpdate() {
+            return lastUpdate;
+        }
+
+        public StatusList getStatusList() {
+            return statusList;
+        }
+    }
+
+    public static class StatusListSnapshot {
+
+        private final int bitSize;
+        private final String json;
+        private final String etag;
+        private final long nextRevisionCheck;
+
+        public StatusListSnapshot(int bitSize, String json, String etag, long nextRevisionCheck) {
+            this.bitSize = bitSize;
+            this.json = json;
+            this.etag = etag;
+            this.nextRevisionCheck = nextRevisionCheck;
+        }
+
+        public StatusListSnapshot withNextRevisionCheck(long nextRevisionCheck) {
+            return new StatusListSnapshot(bitSize, json, etag, nextRevisionCheck);
+        }
+
+        public int getBitSize() {
+            return bitSize;
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getNextRevisionCheck() {
+            return nextRevisionCheck;
+        }
+    }
+
+    private static class SignedStatusList {
+
+        private final String snapshotEtag;
+        private final String jwt;
+        private final String etag;
+        private final long expiresAt;
+        private final long refreshAt;
+
+        SignedStatusList(String snapshotEtag, String jwt, String etag, long expiresAt, long refreshAt) {
+            this.snapshotEtag = snapshotEtag;
+            this.jwt = jwt;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+
+        public String getSnapshotEtag() {
+            return snapshotEtag;
+        }
+
+        public String getJwt() {
+            return jwt;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getRefreshAt() {
+            return refreshAt;
+        }
+
+        public int getRemainingLifetime() {
+            return (int) ((expiresAt - System.currentTimeMillis()) / 1000);
+        }
+    }
 }
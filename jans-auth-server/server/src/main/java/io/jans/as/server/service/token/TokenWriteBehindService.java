@@ -0,0 +1,315 @@
+package io.jans.as.server.service.token;
+
+import io.jans.as.model.common.TokenPersistenceMode;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.util.ServerUtil;
+import io.jans.model.token.TokenEntity;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.BulkOperationResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind token persistence used in 'async-ack-after-cache' token persistence mode.
+ *
+ * Token is put in node local cache and queue, and request is acknowledged. Background writer
+ * persists queued tokens in batches with persistAll. SQL backend writes batch with multi-row INSERT statements
+ * (up to 100 rows each), LDAP backend pipelines add requests over one connection, other backends add entries one by one.
+ * Token stays in node local cache until it's persisted, so lookups by token code on this node see it.
+ * Searches by other attributes have to add matching pending tokens, see {@link #findPending(Predicate)}.
+ *
+ * If queue is full token is written by request thread together with queued tokens (back-pressure).
+ * Token which can't be written is queued again and retried up to {@link #MAX_WRITE_ATTEMPTS} times.
+ *
+ * Note: until token is persisted other nodes don't see it.
+ */
+@ApplicationScoped
+public class TokenWriteBehindService {
+
+    public static final long FLUSH_DELAY = 50; // milliseconds
+    public static final long RETRY_DELAY = 1000; // milliseconds
+    public static final int MAX_WRITE_ATTEMPTS = 5;
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private PersistenceEntryManager persistenceEntryManager;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    // token dn -> token which is not persisted yet
+    private final Map<String, PendingToken> pendingTokens = new ConcurrentHashMap<>();
+
+    private final Object queueLock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final ArrayDeque<PendingToken> queue = new ArrayDeque<>();
+    private boolean flushScheduled;
+
+    private ScheduledExecutorService flushExecutor;
+
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder persistedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+    private volatile long lastLag;
+    private volatile long maxLag;
+
+    @PostConstruct
+    public void init() {
+        flushExecutor = ServerUtil.createExecutor();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flushExecutor.shutdown();
+        for (int i = 0; i < MAX_WRITE_ATTEMPTS && getQueueDepth() > 0; i++) {
+            flushSilently();
+        }
+    }
+
+    public boolean isEnabled() {
+        return TokenPersistenceMode.fromString(appConfiguration.getTokenPersistenceMode()) == TokenPersistenceMode.ASYNC_ACK_AFTER_CACHE;
+    }
+
+    /**
+     * Puts token in node local cache and queues it for persistence
+     */
+    public void write(TokenEntity token) {
+        final PendingToken pending = new PendingToken(token);
+
+        boolean flushNow;
+        synchronized (queueLock) {
+            pendingTokens.put(token.getDn(), pending);
+            queue.add(pending);
+
+            flushNow = queue.size() >= appConfiguration.getTokenWriteQueueSize();
+            if (!flushNow && !flushScheduled) {
+                flushScheduled = scheduleFlush(FLUSH_DELAY);
+                flushNow = !flushScheduled;
+            }
+        }
+
+        if (flushNow) {
+            // Write on caller thread. It slows down callers if background writer can't keep up
+            log.debug("Token write queue is full, flushing on caller thread");
+            flush();
+        }
+    }
+
+    /**
+     * @return token which is queued but not persisted yet or null
+     */
+    public TokenEntity getPending(String dn) {
+        if (pendingTokens.isEmpty() || dn == null) {
+            return null;
+        }
+
+        final PendingToken pending = pendingTokens.get(dn);
+        return pending != null ? pending.token : null;
+    }
+
+    /**
+     * Writes queued tokens if token with given dn is not persisted yet. It has to be called before
+     * token update or removal.
+     */
+    public void flushIfPending(String dn) {
+        if (dn != null && pendingTokens.containsKey(dn)) {
+            flush();
+        }
+    }
+
+    /**
+     * @return queued tokens which are not persisted yet and match given filter. Searches in persistence don't see them.
+     */
+    public List<TokenEntity> findPending(Predicate<TokenEntity> filter) {
+        if (pendingTokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<TokenEntity> result = new ArrayList<>();
+        for (PendingToken pending : pendingTokens.values()) {
+            if (filter.test(pending.token)) {
+                result.add(pending.token);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes all queued tokens. Method returns when tokens are persisted or queued again for retry.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            final int batchSize = Math.max(1, appConfiguration.getTokenWriteBatchSize());
+            final List<PendingToken> retries = new ArrayList<>();
+            while (true) {
+                final List<PendingToken> batch = new ArrayList<>(batchSize);
+                synchronized (queueLock) {
+                    while (batch.size() < batchSize && !queue.isEmpty()) {
+                        batch.add(queue.poll());
+                    }
+
+                    if (batch.isEmpty()) {
+                        // Failed tokens are retried later, retrying them immediately would most likely fail again
+                        queue.addAll(retries);
+                        flushScheduled = !retries.isEmpty() && scheduleFlush(RETRY_DELAY);
+                        return;
+                    }
+                }
+
+                persist(batch, retries);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void persist(List<PendingToken> batch, List<PendingToken> retries) {
+        final List<TokenEntity> tokens = new ArrayList<>(batch.size());
+        for (PendingToken pending : batch) {
+            tokens.add(pending.token);
+        }
+
+        final boolean[] failed = new boolean[batch.size()];
+        try {
+            final BulkOperationResult result = persistenceEntryManager.persistAll(tokens);
+            for (int i = 0; i < failed.length; i++) {
+                final BulkOperationResult.EntryResult entryResult = result.getResult(i);
+                failed[i] = entryResult == null || !entryResult.isSuccess();
+            }
+        } catch (Exception e) {
+            log.error("Failed to persist batch of " + batch.size() + " tokens, persisting them one by one", e);
+            Arrays.fill(failed, true);
+        }
+
+        final long now = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            final PendingToken pending = batch.get(i);
+            if (failed[i] && !persistSilently(pending.token)) {
+                pending.attempts++;
+                if (pending.attempts < MAX_WRITE_ATTEMPTS) {
+                    retries.add(pending);
+                    continue;
+                }
+
+                log.error("Failed to persist token {} after {} attempts, token is dropped", pending.token.getDn(), pending.attempts);
+                failedCount.increment();
+            } else {
+                persistedCount.increment();
+            }
+
+            pendingTokens.remove(pending.token.getDn(), pending);
+
+            final long lag = TimeUnit.NANOSECONDS.toMillis(now - pending.queuedAt);
+            lastLag = lag;
+            if (lag > maxLag) {
+                maxLag = lag;
+            }
+        }
+
+        batchCount.increment();
+        lastBatchSize = batch.size();
+        if (batch.size() > maxBatchSize) {
+            maxBatchSize = batch.size();
+        }
+
+        log.debug("Persisted batch of {} tokens, lag: {} ms", batch.size(), lastLag);
+    }
+
+    private boolean persistSilently(TokenEntity token) {
+        try {
+            persistenceEntryManager.persist(token);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to persist token " + token.getDn(), e);
+            return false;
+        }
+    }
+
+    private boolean scheduleFlush(long delay) {
+        try {
+            flushExecutor.schedule(this::flushSilently, delay, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Executor is stopped on shutdown, write in caller thread
+            log.trace("Failed to schedule token write", e);
+            return false;
+        }
+    }
+
+    private void flushSilently() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush queued tokens", e);
+        }
+    }
+
+    public int getQueueDepth() {
+        synchronized (queueLock) {
+            return queue.size();
+        }
+    }
+
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    public long getPersistedCount() {
+        return persistedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getLastLag() {
+        return lastLag;
+    }
+
+    public long getMaxLag() {
+        return maxLag;
+    }
+
+    private static class PendingToken {
+
+        private final TokenEntity token;
+        private final long queuedAt;
+        private int attempts;
+
+        PendingToken(TokenEntity token) {
+            this.token = token;
+            this.queuedAt = System.nanoTime();
+        }
+    }
+}
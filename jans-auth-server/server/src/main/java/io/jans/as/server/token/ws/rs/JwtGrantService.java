@@ -3,7 +3,6 @@ package io.jans.as.server.token.ws.rs;
 import io.jans.as.common.model.common.User;
 import io.jans.as.common.model.registration.Client;
 import io.jans.as.common.service.AttributeService;
-import io.jans.as.common.util.CommonUtils;
 import io.jans.as.model.authzdetails.AuthzDetails;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.model.configuration.TrustedIssuerConfig;
@@ -24,6 +23,7 @@ import io.jans.as.server.service.ClientService;
 import io.jans.as.server.service.UserService;
 import io.jans.as.server.service.external.ExternalUpdateTokenService;
 import io.jans.as.server.service.external.context.ExternalUpdateTokenContext;
+import io.jans.as.server.service.net.RemoteJwksCache;
 import io.jans.as.server.util.ServerUtil;
 import io.jans.util.security.StringEncrypter;
 import jakarta.ejb.Stateless;
@@ -95,6 +95,9 @@ public class JwtGrantService {
     @Inject
     private IdJagValidatorService idJagValidatorService;
 
+    @Inject
+    private RemoteJwksCache remoteJwksCache;
+
     public JSONObject processJwtBearer(String assertion, String scope, HttpServletRequest httpRequest, Client client, Function<JsonWebResponse, Void> idTokenPreProcessing, ExecutionContext executionContext) throws StringEncrypter.EncryptionException, CryptoProviderException {
 
         log.debug("processJwtBearer - started with client_id: {}, assertion: {}", client.getClientId(), assertion);
@@ -201,7 +204,7 @@ public class JwtGrantService {
         String clientSecret = clientService.decryptSecret(client.getClientSecret());
 
         String keyId = jwt.getHeader().getKeyId();
-        JSONObject jwks = CommonUtils.getJwks(client);
+        JSONObject jwks = remoteJwksCache.getJwks(client, keyId);
         boolean validSignature = cryptoProvider.verifySignature(jwt.getSigningInput(), jwt.getEncodedSignature(),
                 keyId, jwks, clientSecret, signatureAlgorithm);
 
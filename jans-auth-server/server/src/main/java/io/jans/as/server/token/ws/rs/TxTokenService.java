@@ -3,7 +3,6 @@ package io.jans.as.server.token.ws.rs;
 import io.jans.as.common.claims.Audience;
 import io.jans.as.common.model.common.User;
 import io.jans.as.common.model.registration.Client;
-import io.jans.as.common.util.CommonUtils;
 import io.jans.as.model.common.ExchangeTokenType;
 import io.jans.as.model.common.SubjectTokenType;
 import io.jans.as.model.common.TokenType;
@@ -36,6 +35,7 @@ import io.jans.as.server.service.ClientService;
 import io.jans.as.server.service.ServerCryptoProvider;
 import io.jans.as.server.service.external.ExternalTxTokenService;
 import io.jans.as.server.service.external.context.ExternalScriptContext;
+import io.jans.as.server.service.net.RemoteJwksCache;
 import io.jans.as.server.util.ServerUtil;
 import io.jans.model.token.TokenEntity;
 import io.jans.util.security.StringEncrypter;
@@ -94,6 +94,9 @@ public class TxTokenService {
     @Inject
     private ExternalTxTokenService externalTxTokenService;
 
+    @Inject
+    private RemoteJwksCache remoteJwksCache;
+
     public Response processTxToken(ExecutionContext executionContext) throws Exception {
         final JSONObject responseJson = process(executionContext);
         final String entity = responseJson.toString();
@@ -300,7 +303,7 @@ public class TxTokenService {
             jwe.setSignedJWTPayload(signJwt(jwt, client));
 
             if (keyAlgorithm == KeyEncryptionAlgorithm.RSA_OAEP || keyAlgorithm == KeyEncryptionAlgorithm.RSA1_5) {
-                JSONObject jsonWebKeys = CommonUtils.getJwks(client);
+                JSONObject jsonWebKeys = remoteJwksCache.getJwks(client);
                 String keyId = new ServerCryptoProvider(cryptoProvider).getKeyId(JSONWebKeySet.fromJSONObject(jsonWebKeys),
                         Algorithm.fromString(keyAlgorithm.getName()),
                         Use.ENCRYPTION, KeyOpsType.CONNECT);
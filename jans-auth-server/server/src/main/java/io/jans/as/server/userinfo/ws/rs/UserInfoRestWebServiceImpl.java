@@ -10,7 +10,6 @@ import io.jans.as.common.claims.Audience;
 import io.jans.as.common.model.common.User;
 import io.jans.as.common.model.registration.Client;
 import io.jans.as.common.service.AttributeService;
-import io.jans.as.common.util.CommonUtils;
 import io.jans.as.model.common.FeatureFlagType;
 import io.jans.as.model.common.ScopeType;
 import io.jans.as.model.config.Constants;
@@ -50,6 +49,7 @@ import io.jans.as.server.service.UserService;
 import io.jans.as.server.service.date.DateFormatterService;
 import io.jans.as.server.service.external.ExternalDynamicScopeService;
 import io.jans.as.server.service.external.context.DynamicScopeExternalContext;
+import io.jans.as.server.service.net.RemoteJwksCache;
 import io.jans.as.server.service.token.StatusListIndexService;
 import io.jans.as.server.service.token.StatusListService;
 import io.jans.as.server.service.token.TokenService;
@@ -130,6 +130,9 @@ public class UserInfoRestWebServiceImpl implements UserInfoRestWebService {
     @Inject
     private StatusListIndexService statusListIndexService;
 
+    @Inject
+    private RemoteJwksCache remoteJwksCache;
+
     @Override
     public Response requestUserInfoGet(String accessToken, String authorization, HttpServletRequest request, SecurityContext securityContext) {
         return requestUserInfo(accessToken, authorization, request, securityContext);
@@ -305,7 +308,7 @@ public class UserInfoRestWebServiceImpl implements UserInfoRestWebService {
         // Encryption
         if (keyEncryptionAlgorithm == KeyEncryptionAlgorithm.RSA_OAEP
                 || keyEncryptionAlgorithm == KeyEncryptionAlgorithm.RSA1_5) {
-            JSONObject jsonWebKeys = CommonUtils.getJwks(authorizationGrant.getClient());
+            JSONObject jsonWebKeys = remoteJwksCache.getJwks(authorizationGrant.getClient());
             String keyId = new ServerCryptoProvider(cryptoProvider).getKeyId(JSONWebKeySet.fromJSONObject(jsonWebKeys),
                     Algorithm.fromString(keyEncryptionAlgorithm.getName()),
                     Use.ENCRYPTION, KeyOpsType.CONNECT);
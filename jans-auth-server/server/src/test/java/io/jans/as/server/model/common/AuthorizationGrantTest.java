@@ -26,9 +26,11 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
 
 /**
  * @author Yuriy Z
@@ -112,4 +114,39 @@ public class AuthorizationGrantTest {
 
         assertNull(claims.getClaim("code"));
     }
+
+    @Test
+    public void getUser_whenUserLoaderIsSet_shouldLoadUserOnceOnFirstAccess() {
+        final AtomicInteger loads = new AtomicInteger();
+        final User user = new User();
+        user.setUserId("userId");
+
+        authorizationGrant.init(null, AuthorizationGrantType.AUTHORIZATION_CODE, new Client(), new Date());
+        authorizationGrant.setUserLoader(() -> {
+            loads.incrementAndGet();
+            return user;
+        });
+        assertEquals(0, loads.get());
+
+        assertEquals("userId", authorizationGrant.getUserId());
+        assertSame(user, authorizationGrant.getUser());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void getJwtAuthorizationRequest_whenLoaderIsSet_shouldNotLoadItUntilAccessed() {
+        final AtomicInteger loads = new AtomicInteger();
+
+        authorizationGrant.init(new User(), AuthorizationGrantType.AUTHORIZATION_CODE, new Client(), new Date());
+        authorizationGrant.setJwtAuthorizationRequestLoader(() -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        authorizationGrant.getUserId();
+        assertEquals(0, loads.get());
+
+        assertNull(authorizationGrant.getJwtAuthorizationRequest());
+        assertNull(authorizationGrant.getJwtAuthorizationRequest());
+        assertEquals(1, loads.get());
+    }
 }
@@ -0,0 +1,89 @@
+package io.jans.as.server.rate;
+
+import io.jans.service.BaseCacheService;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class DistributedRateLimiterTest {
+
+    private static final int PERIOD = 3600;
+
+    private BaseCacheService cacheService;
+
+    @BeforeMethod
+    public void setUp() {
+        // In-memory stand-in for shared cache counters
+        final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+        cacheService = mock(BaseCacheService.class);
+        when(cacheService.incrementBy(anyInt(), anyString(), anyLong())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(1);
+            long delta = invocation.getArgument(2);
+            return counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        });
+    }
+
+    @Test
+    public void tryConsume_whenTokensAreLeased_shouldConsumeThemLocally() throws ExecutionException {
+        DistributedRateLimiter limiter = new DistributedRateLimiter(cacheService, 5);
+        RateLimitMetrics metrics = new RateLimitMetrics();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryConsume("key", 100, PERIOD, metrics));
+        }
+
+        assertEquals(metrics.getRemoteLeases(), 1);
+        assertEquals(metrics.getLocalHits(), 4);
+        assertEquals(metrics.getRejections(), 0);
+        verify(cacheService, times(1)).incrementBy(anyInt(), anyString(), anyLong());
+    }
+
+    @Test
+    public void tryConsume_forSeveralNodes_shouldNotExceedSharedLimit() throws ExecutionException {
+        DistributedRateLimiter node1 = new DistributedRateLimiter(cacheService, 3);
+        DistributedRateLimiter node2 = new DistributedRateLimiter(cacheService, 3);
+        RateLimitMetrics metrics = new RateLimitMetrics();
+
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            DistributedRateLimiter node = i % 2 == 0 ? node1 : node2;
+            if (node.tryConsume("key", 10, PERIOD, metrics)) {
+                allowed++;
+            }
+        }
+
+        assertEquals(allowed, 10);
+        assertEquals(metrics.getRejections(), 10);
+    }
+
+    @Test
+    public void tryConsume_whenLimitIsExhausted_shouldRejectWithoutRemoteCall() throws ExecutionException {
+        DistributedRateLimiter limiter = new DistributedRateLimiter(cacheService, 5);
+        RateLimitMetrics metrics = new RateLimitMetrics();
+
+        assertTrue(limiter.tryConsume("key", 2, PERIOD, metrics));
+        assertTrue(limiter.tryConsume("key", 2, PERIOD, metrics));
+        assertFalse(limiter.tryConsume("key", 2, PERIOD, metrics));
+        assertFalse(limiter.tryConsume("key", 2, PERIOD, metrics));
+
+        // first lease gets 2 tokens, second one gets nothing and marks window as exhausted
+        verify(cacheService, times(2)).incrementBy(anyInt(), anyString(), anyLong());
+        assertEquals(metrics.getRejections(), 2);
+    }
+}
@@ -0,0 +1,54 @@
+package io.jans.as.server.rate;
+
+import io.jans.as.model.configuration.rate.KeyExtractor;
+import io.jans.as.model.configuration.rate.KeySource;
+import io.jans.as.model.configuration.rate.RateLimitRule;
+import io.jans.as.server.rate.RateLimitRuleIndex.CompiledRule;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Measures rule lookup time of RateLimitRuleIndex with many configured rules.
+ *
+ * Run with -Dbenchmark
+ */
+public class RateLimitRuleIndexBenchmarkTest {
+
+    private static final int RULE_COUNT = 150;
+    private static final int WARMUP_ITERATIONS = 100_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    public void benchmarkMatch() {
+        List<CompiledRule> rules = new ArrayList<>();
+        for (int i = 0; i < RULE_COUNT; i++) {
+            RateLimitRule rule = new RateLimitRule();
+            rule.setPath("/jans-auth/restv1/endpoint" + i + "/{id}");
+            rule.setMethods(List.of("POST"));
+            rule.setKeyExtractors(List.of(new KeyExtractor(KeySource.HEADER, List.of("X-Real-IP"))));
+            rules.add(new CompiledRule(rule, i, 10, 60, new RateLimitMetrics()));
+        }
+        RateLimitRuleIndex index = new RateLimitRuleIndex(rules);
+
+        match(index, WARMUP_ITERATIONS);
+
+        long startTime = System.nanoTime();
+        int matched = match(index, ITERATIONS);
+        long duration = System.nanoTime() - startTime;
+
+        System.out.printf("Rate limit rule match with %d rules: %d ns per request%n", RULE_COUNT, duration / ITERATIONS);
+        assertEquals(matched, ITERATIONS);
+    }
+
+    private static int match(RateLimitRuleIndex index, int iterations) {
+        int matched = 0;
+        for (int i = 0; i < iterations; i++) {
+            matched += index.match("/jans-auth/restv1/endpoint" + (i % RULE_COUNT) + "/abc", "POST").size();
+        }
+        return matched;
+    }
+}
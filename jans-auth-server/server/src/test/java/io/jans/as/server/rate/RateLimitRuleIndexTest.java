@@ -0,0 +1,103 @@
+package io.jans.as.server.rate;
+
+import io.jans.as.model.configuration.rate.KeyExtractor;
+import io.jans.as.model.configuration.rate.KeySource;
+import io.jans.as.model.configuration.rate.RateLimitRule;
+import io.jans.as.server.rate.RateLimitRuleIndex.CompiledRule;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class RateLimitRuleIndexTest {
+
+    private static CompiledRule compiledRule(String path, int order, String... methods) {
+        RateLimitRule rule = new RateLimitRule();
+        rule.setPath(path);
+        rule.setMethods(Arrays.asList(methods));
+        rule.setRequestCount(10);
+        rule.setPeriodInSeconds(60);
+        rule.setKeyExtractors(List.of(new KeyExtractor(KeySource.HEADER, List.of("X-Real-IP"))));
+        return new CompiledRule(rule, order, 10, 60, new RateLimitMetrics());
+    }
+
+    @Test
+    public void match_whenPathIsExact_shouldReturnRule() {
+        CompiledRule register = compiledRule("/jans-auth/restv1/register", 0, "POST");
+        CompiledRule token = compiledRule("/jans-auth/restv1/token", 1, "POST");
+        RateLimitRuleIndex index = new RateLimitRuleIndex(List.of(register, token));
+
+        List<CompiledRule> rules = index.match("/jans-auth/restv1/register", "POST");
+
+        assertEquals(rules.size(), 1);
+        assertSame(rules.get(0), register);
+        assertTrue(index.match("/jans-auth/restv1/register", "GET").isEmpty());
+        assertTrue(index.match("/jans-auth/restv1/register/", "POST").isEmpty());
+        assertTrue(index.match("/jans-auth/restv1", "POST").isEmpty());
+    }
+
+    @Test
+    public void match_whenPathHasTemplateSegment_shouldMatchAnySegment() {
+        CompiledRule rule = compiledRule("/jans-auth/restv1/register/{clientId}", 0, "GET", "PUT");
+        RateLimitRuleIndex index = new RateLimitRuleIndex(List.of(rule));
+
+        assertEquals(index.match("/jans-auth/restv1/register/123", "GET").size(), 1);
+        assertEquals(index.match("/jans-auth/restv1/register/456", "PUT").size(), 1);
+        assertTrue(index.match("/jans-auth/restv1/register/123/abc", "GET").isEmpty());
+        assertTrue(index.match("/jans-auth/restv1/register", "GET").isEmpty());
+    }
+
+    @Test
+    public void match_whenPathEndsWithAnyPath_shouldMatchRestOfPath() {
+        CompiledRule rule = compiledRule("/jans-auth/restv1/**", 0, "POST");
+        RateLimitRuleIndex index = new RateLimitRuleIndex(List.of(rule));
+
+        assertEquals(index.match("/jans-auth/restv1/token", "POST").size(), 1);
+        assertEquals(index.match("/jans-auth/restv1/register/123", "POST").size(), 1);
+        assertTrue(index.match("/jans-auth/other", "POST").isEmpty());
+    }
+
+    @Test
+    public void match_whenSeveralRulesMatch_shouldReturnThemInConfigurationOrder() {
+        CompiledRule anyPath = compiledRule("/jans-auth/**", 0, "POST");
+        CompiledRule template = compiledRule("/jans-auth/restv1/*", 1, "POST");
+        CompiledRule exact = compiledRule("/jans-auth/restv1/token", 2, "POST");
+        RateLimitRuleIndex index = new RateLimitRuleIndex(List.of(exact, template, anyPath));
+
+        List<CompiledRule> rules = index.match("/jans-auth/restv1/token", "POST");
+
+        assertEquals(rules, List.of(anyPath, template, exact));
+    }
+
+    @Test
+    public void isValidPath_whenAnyPathIsNotLastSegment_shouldReturnFalse() {
+        assertTrue(RateLimitRuleIndex.isValidPath("/jans-auth/**"));
+        assertFalse(RateLimitRuleIndex.isValidPath("/jans-auth/**/token"));
+        assertFalse(RateLimitRuleIndex.isValidPath("jans-auth/token"));
+        assertFalse(RateLimitRuleIndex.isValidPath(null));
+    }
+
+    @Test
+    public void match_withManyRules_shouldReturnOnlyRuleOfRequestedEndpoint() {
+        List<CompiledRule> rules = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            rules.add(compiledRule("/jans-auth/restv1/endpoint" + i + "/{id}", i, "POST"));
+        }
+        RateLimitRuleIndex index = new RateLimitRuleIndex(rules);
+
+        for (int i = 0; i < 150; i++) {
+            List<CompiledRule> matched = index.match("/jans-auth/restv1/endpoint" + i + "/abc", "POST");
+
+            assertEquals(matched.size(), 1);
+            assertSame(matched.get(0), rules.get(i));
+        }
+        assertTrue(index.match("/jans-auth/restv1/endpoint150/abc", "POST").isEmpty());
+        assertTrue(index.match("/jans-auth/restv1/endpoint1/abc", "GET").isEmpty());
+    }
+}
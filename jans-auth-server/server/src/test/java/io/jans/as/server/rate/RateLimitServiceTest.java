@@ -9,6 +9,7 @@ import io.jans.as.model.configuration.rate.RateLimitConfig;
 import io.jans.as.model.configuration.rate.RateLimitRule;
 import io.jans.as.model.error.ErrorResponseFactory;
 import io.jans.as.server.util.ServerUtil;
+import io.jans.service.CacheService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -26,7 +27,13 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertTrue;
 import static org.testng.AssertJUnit.assertEquals;
@@ -51,6 +58,9 @@ public class RateLimitServiceTest {
     @Mock
     private ErrorResponseFactory errorResponseFactory;
 
+    @Mock
+    private CacheService cacheService;
+
     @Test
     public void validateRateLimit_forSingleCall_shouldPassSuccessfully() throws RateLimitedException, IOException {
 
@@ -141,6 +151,43 @@ public class RateLimitServiceTest {
         Assert.fail("Rate limit exception was not thrown. But it's expected to get it.");
     }
 
+    @Test
+    public void updateConfiguration_whenCacheDoesNotSupportCounters_shouldUseLocalBucketsAndLogOnce() throws RateLimitedException, IOException {
+        RateLimitRule rule = new RateLimitRule();
+        rule.setPath("/jans-auth/restv1/token");
+        rule.setMethods(List.of("POST"));
+        rule.setRequestCount(3);
+        rule.setPeriodInSeconds(60);
+
+        RateLimitConfig rateLimitConfiguration = new RateLimitConfig();
+        rateLimitConfiguration.setRateLimitRules(List.of(rule));
+        rateLimitConfiguration.setDistributedEnabled(true);
+
+        when(errorResponseFactory.isFeatureFlagEnabled(FeatureFlagType.RATE_LIMIT)).thenReturn(true);
+        when(appConfiguration.getRateLimitConfiguration()).thenReturn(rateLimitConfiguration);
+        when(cacheService.isCounterSupported()).thenReturn(false);
+
+        rateLimitService.updateConfiguration(appConfiguration);
+        rateLimitService.updateConfiguration(appConfiguration);
+
+        HttpServletRequest httpServletRequest = mock(HttpServletRequest.class);
+        when(httpServletRequest.getRequestURI()).thenReturn("/jans-auth/restv1/token");
+        when(httpServletRequest.getMethod()).thenReturn("POST");
+        for (int i = 0; i < 3; i++) {
+            rateLimitService.validateRateLimit(httpServletRequest);
+        }
+
+        try {
+            rateLimitService.validateRateLimit(httpServletRequest);
+            Assert.fail("Rate limit exception was not thrown. But it's expected to get it.");
+        } catch (RateLimitedException e) {
+            // expected, local bucket is exhausted
+        }
+
+        verify(cacheService, never()).incrementBy(anyInt(), anyString(), anyLong());
+        verify(log, times(1)).warn(anyString());
+    }
+
     @Test
     public void validateRateLimit_invalidEndpoint_shouldNotApplyLimits() throws RateLimitedException, IOException {
         HttpServletRequest mockRequest = mock(HttpServletRequest.class);
@@ -172,6 +219,38 @@ public class RateLimitServiceTest {
         rateLimitService.updateConfiguration(appConfiguration); // Should not throw; system should handle null/empty gracefully.
     }
 
+    @Test
+    public void updateConfiguration_whenRulesChange_shouldKeepMetricsPerRuleAndDropRemovedOnes() {
+        RateLimitRule strictRule = new RateLimitRule();
+        strictRule.setPath("/jans-auth/restv1/token");
+        strictRule.setMethods(List.of("POST"));
+        strictRule.setRequestCount(5);
+        strictRule.setPeriodInSeconds(10);
+
+        RateLimitRule looseRule = new RateLimitRule();
+        looseRule.setPath("/jans-auth/restv1/token");
+        looseRule.setMethods(List.of("POST"));
+        looseRule.setRequestCount(100);
+        looseRule.setPeriodInSeconds(60);
+
+        RateLimitConfig config = new RateLimitConfig();
+        config.setRateLimitRules(List.of(strictRule, looseRule));
+        when(appConfiguration.getRateLimitConfiguration()).thenReturn(config);
+
+        rateLimitService.updateConfiguration(appConfiguration);
+
+        // Rules with the same path and methods don't share metrics
+        assertEquals(2, rateLimitService.getRuleMetrics().size());
+        RateLimitMetrics looseRuleMetrics = rateLimitService.getRuleMetrics().get(looseRule.toString());
+        assertNotNull(looseRuleMetrics);
+
+        config.setRateLimitRules(List.of(looseRule));
+        rateLimitService.updateConfiguration(appConfiguration);
+
+        assertEquals(1, rateLimitService.getRuleMetrics().size());
+        Assert.assertSame(rateLimitService.getRuleMetrics().get(looseRule.toString()), looseRuleMetrics);
+    }
+
     @Test
     public void validateRateLimit_whenFeatureFlagDisabled_shouldAllowAllRequests() throws Exception {
         // Mock request
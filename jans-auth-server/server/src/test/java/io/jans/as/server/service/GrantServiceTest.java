@@ -3,6 +3,7 @@ package io.jans.as.server.service;
 import io.jans.as.model.config.StaticConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.server.service.token.StatusListIndexService;
+import io.jans.as.server.service.token.TokenWriteBehindService;
 import io.jans.model.token.TokenEntity;
 import io.jans.model.token.TokenType;
 import io.jans.orm.PersistenceEntryManager;
@@ -50,6 +51,12 @@ public class GrantServiceTest {
     @Mock
     private StatusListIndexService statusListIndexService;
 
+    @Mock
+    private TokenWriteBehindService tokenWriteBehindService;
+
+    @Mock
+    private IntrospectionGrantCache introspectionGrantCache;
+
     @Test
     public void shouldPersist_byDefault_shouldReturnTrue() {
         assertTrue(grantService.shouldPersist());
@@ -81,6 +88,19 @@ public class GrantServiceTest {
         assertTrue(grantService.shouldSaveInCache());
     }
 
+    @Test
+    public void persist_whenWriteBehindIsEnabled_shouldQueueToken() {
+        Mockito.doReturn(true).when(tokenWriteBehindService).isEnabled();
+
+        TokenEntity token = new TokenEntity();
+        token.setTokenTypeEnum(TokenType.ACCESS_TOKEN);
+
+        grantService.persist(token);
+
+        Mockito.verify(tokenWriteBehindService).write(token);
+        Mockito.verify(persistenceEntryManager, Mockito.never()).persist(token);
+    }
+
     @Test
     public void filterOutRefreshTokenFromDeletion_forTokenWithoutOnlineAccess_shouldFilterOut() {
         Mockito.doReturn(false).when(appConfiguration).getRemoveRefreshTokensForClientOnLogout();
@@ -0,0 +1,48 @@
+package io.jans.as.server.service;
+
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.model.common.AuthorizationGrant;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+@Listeners(MockitoTestNGListener.class)
+public class IntrospectionGrantCacheTest {
+
+    @InjectMocks
+    private IntrospectionGrantCache introspectionGrantCache;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Test
+    public void get_whenCacheIsDisabled_shouldReturnNull() {
+        when(appConfiguration.getIntrospectionGrantCacheLifetimeInSeconds()).thenReturn(0);
+
+        introspectionGrantCache.put("hash", mock(AuthorizationGrant.class));
+
+        assertFalse(introspectionGrantCache.isEnabled());
+        assertNull(introspectionGrantCache.get("hash"));
+    }
+
+    @Test
+    public void invalidate_whenGrantIsCached_shouldRemoveIt() {
+        when(appConfiguration.getIntrospectionGrantCacheLifetimeInSeconds()).thenReturn(10);
+        when(appConfiguration.getIntrospectionGrantCacheSize()).thenReturn(100);
+
+        final AuthorizationGrant grant = mock(AuthorizationGrant.class);
+        introspectionGrantCache.put("hash", grant);
+        assertSame(introspectionGrantCache.get("hash"), grant);
+
+        introspectionGrantCache.invalidate("hash");
+        assertNull(introspectionGrantCache.get("hash"));
+    }
+}
@@ -0,0 +1,145 @@
+package io.jans.as.server.service;
+
+import io.jans.as.common.model.session.SessionId;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.base.CustomEntry;
+import io.jans.service.CacheService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class SessionIdLastUsedAtServiceTest {
+
+    private static final String SESSION_DN = "jansId=123,ou=sessions,o=jans";
+
+    @InjectMocks
+    private SessionIdLastUsedAtService sessionIdLastUsedAtService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private PersistenceEntryManager persistenceEntryManager;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private ScheduledExecutorService flushExecutor;
+
+    private static SessionId session(Date lastUsedAt) {
+        SessionId sessionId = new SessionId();
+        sessionId.setDn(SESSION_DN);
+        sessionId.setLastUsedAt(lastUsedAt);
+        return sessionId;
+    }
+
+    @Test
+    public void isWriteRequired_whenThresholdIsSet_shouldRequireWriteOnlyAfterThreshold() {
+        when(appConfiguration.getSessionIdLastUsedAtPersistThreshold()).thenReturn(10);
+
+        assertFalse(sessionIdLastUsedAtService.isWriteRequired(TimeUnit.SECONDS.toMillis(99), 1000));
+        assertTrue(sessionIdLastUsedAtService.isWriteRequired(TimeUnit.SECONDS.toMillis(100), 1000));
+    }
+
+    @Test
+    public void isWriteRequired_whenPolicyIsNotConfigured_shouldRequireWrite() {
+        when(appConfiguration.getSessionIdLastUsedAtPersistThreshold()).thenReturn(0);
+        when(appConfiguration.getSessionIdLastUsedAtFlushInterval()).thenReturn(0);
+
+        assertTrue(sessionIdLastUsedAtService.isWriteRequired(1000, 1000));
+    }
+
+    @Test
+    public void deferWrite_whenBatchIsDisabled_shouldSuppressWrite() {
+        when(appConfiguration.getSessionIdLastUsedAtFlushInterval()).thenReturn(0);
+
+        sessionIdLastUsedAtService.deferWrite(session(new Date()));
+
+        assertEquals(sessionIdLastUsedAtService.getSuppressedWrites(), 1);
+        assertEquals(sessionIdLastUsedAtService.getQueueDepth(), 0);
+        verifyNoInteractions(flushExecutor);
+    }
+
+    @Test
+    public void flush_whenSessionIsTouchedSeveralTimes_shouldWriteLatestLastUsedAtOnce() {
+        when(appConfiguration.getSessionIdLastUsedAtFlushInterval()).thenReturn(5);
+
+        final Date persistedLastUsedAt = new Date(System.currentTimeMillis() - 60_000);
+        final Date latestLastUsedAt = new Date();
+        sessionIdLastUsedAtService.deferWrite(session(new Date(System.currentTimeMillis() - 30_000)));
+        sessionIdLastUsedAtService.deferWrite(session(latestLastUsedAt));
+
+        assertEquals(sessionIdLastUsedAtService.getQueueDepth(), 1);
+        verify(flushExecutor, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.SECONDS));
+
+        when(persistenceEntryManager.find(eq(SESSION_DN), eq(SessionId.class), any(String[].class))).thenReturn(session(persistedLastUsedAt));
+        when(persistenceEntryManager.encodeTime(SESSION_DN, latestLastUsedAt)).thenReturn("encodedLatestLastUsedAt");
+        sessionIdLastUsedAtService.flush();
+
+        ArgumentCaptor<CustomEntry> captor = ArgumentCaptor.forClass(CustomEntry.class);
+        verify(persistenceEntryManager).merge(captor.capture());
+        assertEquals(captor.getValue().getDn(), SESSION_DN);
+        assertEquals(captor.getValue().getCustomAttributes().size(), 1);
+        assertEquals(captor.getValue().getCustomAttributeValue("jansLastAccessTime"), "encodedLatestLastUsedAt");
+        assertEquals(sessionIdLastUsedAtService.getQueuedWrites(), 2);
+        assertEquals(sessionIdLastUsedAtService.getFlushedWrites(), 1);
+        assertEquals(sessionIdLastUsedAtService.getQueueDepth(), 0);
+    }
+
+    @Test
+    public void flush_whenPersistedLastUsedAtIsNewer_shouldSkipWrite() {
+        when(appConfiguration.getSessionIdLastUsedAtFlushInterval()).thenReturn(5);
+
+        sessionIdLastUsedAtService.deferWrite(session(new Date(System.currentTimeMillis() - 30_000)));
+
+        when(persistenceEntryManager.find(eq(SESSION_DN), eq(SessionId.class), any(String[].class))).thenReturn(session(new Date()));
+        sessionIdLastUsedAtService.flush();
+
+        verify(persistenceEntryManager, times(0)).merge(any());
+        assertEquals(sessionIdLastUsedAtService.getFlushedWrites(), 0);
+    }
+
+    @Test
+    public void flush_whenCachedSessionIsRemovedBeforeWrite_shouldNotPutItBack() {
+        when(appConfiguration.getSessionIdLastUsedAtFlushInterval()).thenReturn(5);
+        when(appConfiguration.getSessionIdPersistInCache()).thenReturn(true);
+
+        final SessionId cached = session(new Date(System.currentTimeMillis() - 60_000));
+        cached.setExpirationDate(new Date(System.currentTimeMillis() + 60_000));
+        sessionIdLastUsedAtService.deferWrite(session(new Date()));
+
+        when(cacheService.get(SESSION_DN)).thenReturn(cached);
+        when(cacheService.replace(anyInt(), eq(SESSION_DN), any())).thenReturn(false);
+        sessionIdLastUsedAtService.flush();
+
+        verify(cacheService).replace(anyInt(), eq(SESSION_DN), eq(cached));
+        verify(cacheService, times(0)).put(anyInt(), any(), any());
+        assertEquals(sessionIdLastUsedAtService.getFlushedWrites(), 0);
+    }
+}
@@ -86,6 +86,9 @@ public class SessionIdServiceTest {
     @Mock
     private AttributeService attributeService;
 
+    @Mock
+    private SessionIdLastUsedAtService sessionIdLastUsedAtService;
+
     @Test
     public void isAgamaInSessionAndRequest_forAgama_shouldReturnTrue() {
         assertTrue(SessionIdService.isAgamaInSessionAndRequest("agama", Lists.newArrayList("agama_io.jans.agamaLab.main")));
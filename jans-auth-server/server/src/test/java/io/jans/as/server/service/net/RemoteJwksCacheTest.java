@@ -0,0 +1,187 @@
+package io.jans.as.server.service.net;
+
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.model.net.HttpServiceResponse;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.json.JSONObject;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class RemoteJwksCacheTest {
+
+    private static final String JWKS_URI = "https://client.example.com/jwks";
+    private static final String JWKS_1 = "{\"keys\":[{\"kid\":\"kid1\",\"kty\":\"EC\"}]}";
+    private static final String JWKS_2 = "{\"keys\":[{\"kid\":\"kid1\",\"kty\":\"EC\"},{\"kid\":\"kid2\",\"kty\":\"EC\"}]}";
+
+    @InjectMocks
+    private RemoteJwksCache remoteJwksCache;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private HttpService2 httpService;
+
+    private static HttpServiceResponse response(int status, String body, String... headers) {
+        final HttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, status, null);
+        if (body != null) {
+            httpResponse.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        }
+        for (int i = 0; i < headers.length; i += 2) {
+            httpResponse.addHeader(headers[i], headers[i + 1]);
+        }
+        return new HttpServiceResponse(null, httpResponse);
+    }
+
+    private void mockConfiguration() {
+        when(appConfiguration.getJwksUriCacheLifetimeInSeconds()).thenReturn(300);
+        when(appConfiguration.getJwksUriCacheMaxLifetimeInSeconds()).thenReturn(3600);
+        doReturn(null).when(httpService).getHttpsClient(any(RequestConfig.class));
+    }
+
+    @Test
+    public void getJwks_whenCalledTwice_shouldFetchOnce() {
+        mockConfiguration();
+        doReturn(response(200, JWKS_1)).when(httpService).executeGet(any(), eq(JWKS_URI), anyMap());
+
+        final JSONObject jwks = remoteJwksCache.getJwks(JWKS_URI);
+        assertNotNull(jwks);
+        assertSame(remoteJwksCache.getJwks(JWKS_URI), jwks);
+
+        verify(httpService, times(1)).executeGet(any(), eq(JWKS_URI), anyMap());
+        assertEquals(remoteJwksCache.getMissCount(), 1);
+        assertEquals(remoteJwksCache.getHitCount(), 1);
+    }
+
+    @Test
+    public void getJwks_whenExpiredAndNotModified_shouldRevalidateWithEtag() {
+        mockConfiguration();
+        doReturn(response(200, JWKS_1, "Cache-Control", "max-age=0", "ETag", "\"v1\""))
+                .when(httpService).executeGet(any(), eq(JWKS_URI), argThat(headers -> !headers.containsKey("If-None-Match")));
+        doReturn(response(304, null, "Cache-Control", "max-age=0"))
+                .when(httpService).executeGet(any(), eq(JWKS_URI), argThat(headers -> "\"v1\"".equals(headers.get("If-None-Match"))));
+
+        final JSONObject jwks = remoteJwksCache.getJwks(JWKS_URI);
+        assertSame(remoteJwksCache.getJwks(JWKS_URI), jwks);
+        assertEquals(remoteJwksCache.getNotModifiedCount(), 1);
+    }
+
+    @Test
+    public void getJwks_whenFetchFails_shouldReturnStaleJwks() {
+        mockConfiguration();
+        when(appConfiguration.getJwksUriMinRefetchIntervalInSeconds()).thenReturn(10);
+        doReturn(response(200, JWKS_1, "Cache-Control", "max-age=0"), response(500, "error"))
+                .when(httpService).executeGet(any(), eq(JWKS_URI), anyMap());
+
+        final JSONObject jwks = remoteJwksCache.getJwks(JWKS_URI);
+        assertSame(remoteJwksCache.getJwks(JWKS_URI), jwks);
+        // failed uri is not retried till min re-fetch interval passes
+        assertSame(remoteJwksCache.getJwks(JWKS_URI), jwks);
+
+        verify(httpService, times(2)).executeGet(any(), eq(JWKS_URI), anyMap());
+        assertEquals(remoteJwksCache.getFailedCount(), 1);
+        assertEquals(remoteJwksCache.getStaleCount(), 1);
+    }
+
+    @Test
+    public void getJwks_whenKidIsNotInCachedJwks_shouldRefetch() {
+        mockConfiguration();
+        when(appConfiguration.getJwksUriMinRefetchIntervalInSeconds()).thenReturn(0);
+        doReturn(response(200, JWKS_1), response(200, JWKS_2))
+                .when(httpService).executeGet(any(), eq(JWKS_URI), anyMap());
+
+        remoteJwksCache.getJwks(JWKS_URI, "kid1");
+        final JSONObject jwks = remoteJwksCache.getJwks(JWKS_URI, "kid2");
+
+        assertTrue(jwks.toString().contains("kid2"));
+        assertEquals(remoteJwksCache.getKidMissRefetchCount(), 1);
+    }
+
+    @Test
+    public void getJwks_whenKidIsNotInCachedJwks_shouldRateLimitRefetch() {
+        mockConfiguration();
+        when(appConfiguration.getJwksUriMinRefetchIntervalInSeconds()).thenReturn(10);
+        doReturn(response(200, JWKS_1)).when(httpService).executeGet(any(), eq(JWKS_URI), anyMap());
+
+        remoteJwksCache.getJwks(JWKS_URI, "kid1");
+        for (int i = 0; i < 5; i++) {
+            remoteJwksCache.getJwks(JWKS_URI, "unknown");
+        }
+
+        verify(httpService, times(1)).executeGet(any(), eq(JWKS_URI), anyMap());
+        assertEquals(remoteJwksCache.getKidMissRefetchCount(), 0);
+    }
+
+    @Test
+    public void getJwks_whenCalledConcurrently_shouldFetchOnce() throws Exception {
+        mockConfiguration();
+        final CountDownLatch fetchStarted = new CountDownLatch(1);
+        final CountDownLatch fetchAllowed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            fetchStarted.countDown();
+            fetchAllowed.await(5, TimeUnit.SECONDS);
+            return response(200, JWKS_1);
+        }).when(httpService).executeGet(any(), eq(JWKS_URI), anyMap());
+
+        final JSONObject[] result = new JSONObject[2];
+        final Thread first = new Thread(() -> result[0] = remoteJwksCache.getJwks(JWKS_URI));
+        first.start();
+        assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+
+        final Thread second = new Thread(() -> result[1] = remoteJwksCache.getJwks(JWKS_URI));
+        second.start();
+        Thread.sleep(200);
+        fetchAllowed.countDown();
+
+        first.join();
+        second.join();
+
+        assertNotNull(result[0]);
+        assertSame(result[1], result[0]);
+        verify(httpService, times(1)).executeGet(any(), eq(JWKS_URI), anyMap());
+        assertEquals(remoteJwksCache.getCoalescedCount(), 1);
+    }
+
+    @Test
+    public void getLifetime_whenMaxAgeIsSet_shouldUseIt() {
+        when(appConfiguration.getJwksUriCacheLifetimeInSeconds()).thenReturn(300);
+        when(appConfiguration.getJwksUriCacheMaxLifetimeInSeconds()).thenReturn(3600);
+
+        assertEquals(remoteJwksCache.getLifetime(response(200, null, "Cache-Control", "public, max-age=60").getHttpResponse()), 60_000);
+        assertEquals(remoteJwksCache.getLifetime(response(200, null, "Cache-Control", "max-age=86400").getHttpResponse()), 3_600_000);
+        assertEquals(remoteJwksCache.getLifetime(response(200, null, "Cache-Control", "no-cache").getHttpResponse()), 0);
+        assertEquals(remoteJwksCache.getLifetime(response(200, null).getHttpResponse()), 300_000);
+    }
+}
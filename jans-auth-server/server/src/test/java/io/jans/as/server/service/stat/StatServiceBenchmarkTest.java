@@ -0,0 +1,104 @@
+package io.jans.as.server.service.stat;
+
+import io.jans.as.common.model.stat.StatEntry;
+import io.jans.as.model.common.GrantType;
+import io.jans.as.model.config.BaseDnConfiguration;
+import io.jans.as.model.config.StaticConfiguration;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.orm.PersistenceEntryManager;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Measures report time of StatService under concurrent token and active user reports.
+ *
+ * Run with -Dbenchmark
+ */
+@Listeners(MockitoTestNGListener.class)
+public class StatServiceBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int WARMUP_ITERATIONS = 100_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @InjectMocks
+    private StatService statService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private PersistenceEntryManager entryManager;
+
+    @Mock
+    private StaticConfiguration staticConfiguration;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Test
+    public void benchmarkReport() throws InterruptedException {
+        BaseDnConfiguration baseDn = new BaseDnConfiguration();
+        baseDn.setStat("ou=stat,o=jans");
+
+        when(staticConfiguration.getBaseDn()).thenReturn(baseDn);
+        when(entryManager.hasBranchesSupport(anyString())).thenReturn(false);
+        assertTrue(statService.init());
+
+        report(WARMUP_ITERATIONS);
+
+        long startTime = System.nanoTime();
+        report(ITERATIONS);
+        long duration = System.nanoTime() - startTime;
+
+        System.out.printf("Stat report with %d threads: %d ns per report%n", THREADS, duration / ITERATIONS);
+
+        statService.updateStat();
+
+        ArgumentCaptor<StatEntry> captor = ArgumentCaptor.forClass(StatEntry.class);
+        verify(entryManager).merge(captor.capture());
+        Map<String, Long> counters = captor.getValue().getStat().getTokenCountPerGrantType().get(GrantType.AUTHORIZATION_CODE.getValue());
+        assertEquals(counters.get(StatService.ACCESS_TOKEN_KEY).longValue(), (long) THREADS * (WARMUP_ITERATIONS + ITERATIONS));
+    }
+
+    private void report(int iterations) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        statService.reportAccessToken(GrantType.AUTHORIZATION_CODE);
+                        statService.reportActiveUser("user" + (i % 10_000));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package io.jans.as.server.service.stat;
+
+import io.jans.as.common.model.stat.StatEntry;
+import io.jans.as.model.common.GrantType;
+import io.jans.as.model.config.BaseDnConfiguration;
+import io.jans.as.model.config.StaticConfiguration;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.orm.PersistenceEntryManager;
+import net.agkn.hll.HLL;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class StatServiceTest {
+
+    private static final int THREADS = 8;
+
+    @InjectMocks
+    private StatService statService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private PersistenceEntryManager entryManager;
+
+    @Mock
+    private StaticConfiguration staticConfiguration;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    private void initStatService() {
+        BaseDnConfiguration baseDn = new BaseDnConfiguration();
+        baseDn.setStat("ou=stat,o=jans");
+
+        when(staticConfiguration.getBaseDn()).thenReturn(baseDn);
+        when(entryManager.hasBranchesSupport(anyString())).thenReturn(false);
+
+        assertTrue(statService.init());
+    }
+
+    private StatEntry updateStat() {
+        statService.updateStat();
+
+        ArgumentCaptor<StatEntry> captor = ArgumentCaptor.forClass(StatEntry.class);
+        verify(entryManager).merge(captor.capture());
+        return captor.getValue();
+    }
+
+    private static void runConcurrently(Runnable task) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Test
+    public void reportToken_whenCalledConcurrently_shouldNotLoseCounts() throws InterruptedException {
+        initStatService();
+
+        final int reportsPerThread = 100_000;
+        runConcurrently(() -> {
+            for (int i = 0; i < reportsPerThread; i++) {
+                statService.reportAccessToken(GrantType.AUTHORIZATION_CODE);
+                statService.reportIdToken(GrantType.AUTHORIZATION_CODE);
+            }
+        });
+
+        final Map<String, Long> counters = updateStat().getStat().getTokenCountPerGrantType().get(GrantType.AUTHORIZATION_CODE.getValue());
+        assertEquals(counters.get(StatService.ACCESS_TOKEN_KEY).longValue(), (long) THREADS * reportsPerThread);
+        assertEquals(counters.get(StatService.ID_TOKEN_KEY).longValue(), (long) THREADS * reportsPerThread);
+    }
+
+    @Test
+    public void reportActiveUser_whenCalledConcurrently_shouldAddAllUsersOnUpdate() throws InterruptedException {
+        initStatService();
+
+        // more users than queued before reporting thread adds them to HLL
+        final List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            userIds.add(UUID.randomUUID().toString());
+        }
+
+        // every thread reports the same users
+        runConcurrently(() -> userIds.forEach(statService::reportActiveUser));
+
+        final HLL hll = HLL.fromBytes(Base64.getDecoder().decode(updateStat().getUserHllData()));
+        assertTrue(Math.abs(hll.cardinality() - userIds.size()) <= userIds.size() / 50, "Unexpected cardinality " + hll.cardinality());
+    }
+
+    @Test
+    public void updateStat_whenEntryExists_shouldAddReportedCountsToLoadedCounts() {
+        Map<String, Long> loadedCounters = new HashMap<>();
+        loadedCounters.put(StatService.ACCESS_TOKEN_KEY, 5L);
+        Map<String, Map<String, Long>> loadedTokenCounters = new HashMap<>();
+        loadedTokenCounters.put(GrantType.CLIENT_CREDENTIALS.getValue(), loadedCounters);
+
+        StatEntry existing = new StatEntry();
+        existing.getStat().setMonth(statService.currentMonth());
+        existing.getStat().setTokenCountPerGrantType(loadedTokenCounters);
+        existing.setUserHllData(Base64.getEncoder().encodeToString(statService.newHll().toBytes()));
+        when(entryManager.find(eq(StatEntry.class), anyString())).thenReturn(existing);
+
+        initStatService();
+
+        for (int i = 0; i < 3; i++) {
+            statService.reportAccessToken(GrantType.CLIENT_CREDENTIALS);
+        }
+
+        final Map<String, Long> counters = updateStat().getStat().getTokenCountPerGrantType().get(GrantType.CLIENT_CREDENTIALS.getValue());
+        assertEquals(counters.get(StatService.ACCESS_TOKEN_KEY).longValue(), 8L);
+    }
+
+    @Test
+    public void updateStat_whenReportRacedMonthRollover_shouldWritePreviousPeriodAgain() throws Exception {
+        initStatService();
+
+        // Replace current period with expired one, next report rolls it over
+        final Field periodField = StatService.class.getDeclaredField("period");
+        periodField.setAccessible(true);
+        final Class<?> periodClass = periodField.getType();
+        final Constructor<?> periodConstructor = periodClass.getDeclaredConstructor(String.class, long.class, StatEntry.class, HLL.class, Map.class);
+        periodConstructor.setAccessible(true);
+
+        final StatEntry previousEntry = new StatEntry();
+        previousEntry.setDn("jansId=previous,ou=stat,o=jans");
+        final Object previousPeriod = periodConstructor.newInstance("202001", 0L, previousEntry, statService.newHll(), new HashMap<>());
+        periodField.set(statService, previousPeriod);
+
+        statService.reportAccessToken(GrantType.AUTHORIZATION_CODE);
+        assertTrue(periodField.get(statService) != previousPeriod);
+
+        // Thread which got previous period before rollover reports after it was written
+        final Method addToken = periodClass.getDeclaredMethod("addToken", String.class, String.class);
+        addToken.setAccessible(true);
+        addToken.invoke(previousPeriod, GrantType.AUTHORIZATION_CODE.getValue(), StatService.ACCESS_TOKEN_KEY);
+
+        statService.updateStat();
+
+        final Map<String, Long> counters = previousEntry.getStat().getTokenCountPerGrantType().get(GrantType.AUTHORIZATION_CODE.getValue());
+        assertEquals(counters.get(StatService.ACCESS_TOKEN_KEY).longValue(), 1L);
+        verify(entryManager, times(3)).merge(any(StatEntry.class));
+    }
+}
@@ -0,0 +1,130 @@
+package io.jans.as.server.service.token;
+
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.cluster.StatusIndexPoolService;
+import io.jans.model.token.StatusIndexPool;
+import io.jans.model.tokenstatus.TokenStatus;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class StatusListIndexServiceTest {
+
+    @InjectMocks
+    private StatusListIndexService statusListIndexService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private StatusIndexPoolService statusTokenPoolService;
+
+    @Mock
+    private StatusListService statusListService;
+
+    @Mock
+    private ScheduledExecutorService flushExecutor;
+
+    @Test
+    public void updateStatusAtIndexes_shouldCoalesceUpdatesPerPool() throws Exception {
+        when(appConfiguration.getStatusListIndexAllocationBlockSize()).thenReturn(10);
+        when(statusTokenPoolService.createDn(0)).thenReturn("pool0");
+        when(statusTokenPoolService.createDn(1)).thenReturn("pool1");
+        when(statusTokenPoolService.updateWithLock(anyString(), anyMap())).thenReturn(new StatusIndexPool());
+
+        statusListIndexService.updateStatusAtIndexes(Arrays.asList(1, 2, 15), TokenStatus.INVALID);
+        assertEquals(statusListIndexService.getQueueDepth(), 3);
+
+        assertTrue(statusListIndexService.updateStatusAtIndexes(Collections.singletonList(2), TokenStatus.VALID, true));
+        assertEquals(statusListIndexService.getQueueDepth(), 0);
+        assertEquals(statusListIndexService.getFlushCount(), 1);
+
+        Map<Integer, TokenStatus> pool0Statuses = new HashMap<>();
+        pool0Statuses.put(1, TokenStatus.INVALID);
+        pool0Statuses.put(2, TokenStatus.VALID);
+
+        verify(statusTokenPoolService).updateWithLock("pool0", pool0Statuses);
+        verify(statusTokenPoolService).updateWithLock("pool1", Collections.singletonMap(15, TokenStatus.INVALID));
+        verify(statusListService, times(2)).onPoolUpdated(any());
+        verify(flushExecutor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void updateStatusAtIndexes_whenPoolIsNotUpdated_shouldReturnFalse() throws Exception {
+        when(appConfiguration.getStatusListIndexAllocationBlockSize()).thenReturn(10);
+        when(statusTokenPoolService.createDn(0)).thenReturn("pool0");
+        when(statusTokenPoolService.updateWithLock(anyString(), anyMap())).thenReturn(null);
+
+        assertFalse(statusListIndexService.updateStatusAtIndexes(Collections.singletonList(3), TokenStatus.INVALID, true));
+        verify(statusListService, never()).onPoolUpdated(any());
+    }
+
+    @Test
+    public void flush_whenPoolUpdateFailed_shouldRetryQueuedStatuses() throws Exception {
+        when(appConfiguration.getStatusListIndexAllocationBlockSize()).thenReturn(10);
+        when(statusTokenPoolService.createDn(0)).thenReturn("pool0");
+        when(statusTokenPoolService.updateWithLock(anyString(), anyMap())).thenReturn(null, new StatusIndexPool());
+
+        assertFalse(statusListIndexService.updateStatusAtIndexes(Collections.singletonList(3), TokenStatus.INVALID, true));
+        assertEquals(statusListIndexService.getQueueDepth(), 1);
+
+        statusListIndexService.flush();
+
+        assertEquals(statusListIndexService.getQueueDepth(), 0);
+        assertEquals(statusListIndexService.getDroppedUpdateCount(), 0);
+        verify(statusTokenPoolService, times(2)).updateWithLock("pool0", Collections.singletonMap(3, TokenStatus.INVALID));
+        verify(statusListService).onPoolUpdated(any());
+        verify(flushExecutor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void flush_whenPoolUpdateFailsTooManyTimes_shouldDropStatuses() throws Exception {
+        when(appConfiguration.getStatusListIndexAllocationBlockSize()).thenReturn(10);
+        when(statusTokenPoolService.createDn(0)).thenReturn("pool0");
+        when(statusTokenPoolService.updateWithLock(anyString(), anyMap())).thenReturn(null);
+
+        assertFalse(statusListIndexService.updateStatusAtIndexes(Arrays.asList(3, 4), TokenStatus.INVALID, true));
+        for (int i = 0; i < StatusListIndexService.MAX_FLUSH_RETRIES; i++) {
+            assertEquals(statusListIndexService.getQueueDepth(), 2);
+            statusListIndexService.flush();
+        }
+
+        assertEquals(statusListIndexService.getQueueDepth(), 0);
+        assertEquals(statusListIndexService.getDroppedUpdateCount(), 2);
+        verify(statusTokenPoolService, times(StatusListIndexService.MAX_FLUSH_RETRIES + 1)).updateWithLock(anyString(), anyMap());
+    }
+
+    @Test
+    public void updateStatusAtIndexes_whenIndexesAreInvalid_shouldSkip() {
+        assertTrue(statusListIndexService.updateStatusAtIndexes(Collections.singletonList(-1), TokenStatus.INVALID, true));
+        assertEquals(statusListIndexService.getQueueDepth(), 0);
+        verifyNoInteractions(statusTokenPoolService, flushExecutor);
+    }
+}
@@ -1,6 +1,7 @@
 package io.jans.as.server.service.token;
 
 import io.jans.as.model.common.FeatureFlagType;
+import io.jans.as.model.config.Constants;
 import io.jans.as.model.config.WebKeysConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.model.error.ErrorResponseFactory;
@@ -9,7 +10,13 @@ import io.jans.as.model.token.JsonWebResponse;
 import io.jans.as.server.model.common.ExecutionContext;
 import io.jans.as.server.service.DiscoveryService;
 import io.jans.as.server.service.cluster.StatusIndexPoolService;
+import io.jans.model.token.StatusIndexPool;
+import io.jans.model.tokenstatus.StatusList;
+import io.jans.model.tokenstatus.TokenStatus;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
 import org.json.JSONObject;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -18,6 +25,12 @@ import org.slf4j.Logger;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.util.Collections;
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.*;
 
@@ -146,4 +159,86 @@ public class StatusListServiceTest {
         assertNotNull(statusClaim);
         assertEquals(statusClaim.getJSONObject("status_list").getInt("idx"), 0);
     }
+
+    @Test
+    public void isEtagMatched_withMatchingValues_shouldReturnTrue() {
+        assertTrue(StatusListService.isEtagMatched("\"abc\"", "abc"));
+        assertTrue(StatusListService.isEtagMatched("W/\"abc\"", "abc"));
+        assertTrue(StatusListService.isEtagMatched("\"xyz\", \"abc\"", "abc"));
+        assertTrue(StatusListService.isEtagMatched("*", "abc"));
+    }
+
+    @Test
+    public void isEtagMatched_withNotMatchingValues_shouldReturnFalse() {
+        assertFalse(StatusListService.isEtagMatched(null, "abc"));
+        assertFalse(StatusListService.isEtagMatched("", "abc"));
+        assertFalse(StatusListService.isEtagMatched("\"xyz\"", "abc"));
+    }
+
+    @Test
+    public void getStatusListSnapshot_whenPoolsAreNotChanged_shouldNotReloadPools() throws Exception {
+        when(appConfiguration.getStatusListBitSize()).thenReturn(2);
+
+        Date lastUpdate = new Date();
+        when(statusTokenPoolService.getAllPools(any(String[].class))).thenReturn(Collections.singletonList(createPool(null, lastUpdate)));
+        when(statusTokenPoolService.getPoolByDn("jansNum=0,ou=statusListPool,o=jans")).thenReturn(createPool(createData(3), lastUpdate));
+
+        StatusListService.StatusListSnapshot snapshot = statusListService.getStatusListSnapshot();
+        assertSame(statusListService.getStatusListSnapshot(), snapshot);
+
+        StatusList statusList = StatusList.fromEncoded(new JSONObject(snapshot.getJson()).getString("lst"), 2);
+        assertEquals(statusList.get(3), TokenStatus.INVALID.getValue());
+
+        verify(statusTokenPoolService, times(1)).getAllPools(any(String[].class));
+        verify(statusTokenPoolService, times(1)).getPoolByDn("jansNum=0,ou=statusListPool,o=jans");
+    }
+
+    @Test
+    public void getStatusListSnapshot_afterLocalPoolUpdate_shouldRebuildWithoutReload() throws Exception {
+        when(appConfiguration.getStatusListBitSize()).thenReturn(2);
+
+        Date lastUpdate = new Date();
+        when(statusTokenPoolService.getAllPools(any(String[].class))).thenReturn(Collections.singletonList(createPool(null, lastUpdate)));
+        when(statusTokenPoolService.getPoolByDn("jansNum=0,ou=statusListPool,o=jans")).thenReturn(createPool(createData(3), lastUpdate));
+
+        StatusListService.StatusListSnapshot snapshot = statusListService.getStatusListSnapshot();
+
+        statusListService.onPoolUpdated(createPool(createData(5), new Date(lastUpdate.getTime() + 1000)));
+
+        StatusListService.StatusListSnapshot updatedSnapshot = statusListService.getStatusListSnapshot();
+        assertNotEquals(updatedSnapshot.getEtag(), snapshot.getEtag());
+
+        StatusList statusList = StatusList.fromEncoded(new JSONObject(updatedSnapshot.getJson()).getString("lst"), 2);
+        assertEquals(statusList.get(3), TokenStatus.VALID.getValue());
+        assertEquals(statusList.get(5), TokenStatus.INVALID.getValue());
+
+        verify(statusTokenPoolService, times(1)).getAllPools(any(String[].class));
+    }
+
+    @Test
+    public void requestStatusList_whenJsonRequested_shouldLimitMaxAgeToRevisionCheckInterval() {
+        when(appConfiguration.getStatusListBitSize()).thenReturn(2);
+        when(statusTokenPoolService.getAllPools(any(String[].class))).thenReturn(Collections.emptyList());
+
+        Response response = statusListService.requestStatusList(Constants.CONTENT_TYPE_STATUSLIST_JSON, null);
+
+        assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+        CacheControl cacheControl = (CacheControl) response.getMetadata().getFirst(HttpHeaders.CACHE_CONTROL);
+        assertEquals(cacheControl.getMaxAge(), (int) (StatusListService.POOLS_REVISION_CHECK_INTERVAL / 1000));
+    }
+
+    private static StatusIndexPool createPool(String data, Date lastUpdate) {
+        StatusIndexPool pool = new StatusIndexPool();
+        pool.setId(0);
+        pool.setDn("jansNum=0,ou=statusListPool,o=jans");
+        pool.setData(data);
+        pool.setLastUpdate(lastUpdate);
+        return pool;
+    }
+
+    private static String createData(int invalidIndex) throws Exception {
+        StatusList statusList = new StatusList(2);
+        statusList.set(invalidIndex, TokenStatus.INVALID.getValue());
+        return statusList.getLst();
+    }
 }
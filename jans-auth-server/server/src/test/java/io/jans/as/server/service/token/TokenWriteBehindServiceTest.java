@@ -0,0 +1,202 @@
+package io.jans.as.server.service.token;
+
+import io.jans.as.model.common.TokenPersistenceMode;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.model.token.TokenEntity;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.BulkOperationResult;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class TokenWriteBehindServiceTest {
+
+    @InjectMocks
+    private TokenWriteBehindService tokenWriteBehindService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private PersistenceEntryManager persistenceEntryManager;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private ScheduledExecutorService flushExecutor;
+
+    private static TokenEntity token(String code) {
+        TokenEntity token = new TokenEntity();
+        token.setDn("tknCde=" + code + ",ou=tokens,o=jans");
+        token.setTokenCode(code);
+        return token;
+    }
+
+    private static BulkOperationResult success(Collection<?> entries) {
+        BulkOperationResult result = new BulkOperationResult(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            result.addSuccess(i, null);
+        }
+        return result;
+    }
+
+    @Test
+    public void isEnabled_forAsyncMode_shouldReturnTrue() {
+        when(appConfiguration.getTokenPersistenceMode()).thenReturn(TokenPersistenceMode.ASYNC_ACK_AFTER_CACHE.getValue());
+
+        assertTrue(tokenWriteBehindService.isEnabled());
+    }
+
+    @Test
+    public void write_shouldKeepTokenInLocalCacheUntilItIsPersisted() {
+        when(appConfiguration.getTokenWriteQueueSize()).thenReturn(100);
+        when(appConfiguration.getTokenWriteBatchSize()).thenReturn(100);
+        when(persistenceEntryManager.persistAll(anyCollection())).thenAnswer(invocation -> success(invocation.getArgument(0)));
+
+        TokenEntity token = token("code1");
+        tokenWriteBehindService.write(token);
+
+        assertSame(tokenWriteBehindService.getPending(token.getDn()), token);
+        assertEquals(tokenWriteBehindService.getQueueDepth(), 1);
+        verify(flushExecutor).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        tokenWriteBehindService.flush();
+
+        assertNull(tokenWriteBehindService.getPending(token.getDn()));
+        assertEquals(tokenWriteBehindService.getQueueDepth(), 0);
+        assertEquals(tokenWriteBehindService.getPersistedCount(), 1);
+        assertEquals(tokenWriteBehindService.getLastBatchSize(), 1);
+    }
+
+    @Test
+    public void flush_shouldPersistTokensInBatchesOfConfiguredSize() {
+        when(appConfiguration.getTokenWriteQueueSize()).thenReturn(100);
+        when(appConfiguration.getTokenWriteBatchSize()).thenReturn(2);
+        when(persistenceEntryManager.persistAll(anyCollection())).thenAnswer(invocation -> success(invocation.getArgument(0)));
+
+        for (int i = 0; i < 5; i++) {
+            tokenWriteBehindService.write(token("code" + i));
+        }
+        tokenWriteBehindService.flush();
+
+        verify(persistenceEntryManager, times(3)).persistAll(anyCollection());
+        assertEquals(tokenWriteBehindService.getBatchCount(), 3);
+        assertEquals(tokenWriteBehindService.getMaxBatchSize(), 2);
+        assertEquals(tokenWriteBehindService.getPersistedCount(), 5);
+    }
+
+    @Test
+    public void write_whenQueueIsFull_shouldPersistOnCallerThread() {
+        when(appConfiguration.getTokenWriteQueueSize()).thenReturn(2);
+        when(appConfiguration.getTokenWriteBatchSize()).thenReturn(100);
+        when(persistenceEntryManager.persistAll(anyCollection())).thenAnswer(invocation -> success(invocation.getArgument(0)));
+
+        tokenWriteBehindService.write(token("code1"));
+        verify(persistenceEntryManager, never()).persistAll(anyCollection());
+
+        tokenWriteBehindService.write(token("code2"));
+
+        verify(persistenceEntryManager).persistAll(anyCollection());
+        assertEquals(tokenWriteBehindService.getQueueDepth(), 0);
+    }
+
+    @Test
+    public void flush_whenBatchWriteFailsForToken_shouldRetryItOneByOne() {
+        when(appConfiguration.getTokenWriteQueueSize()).thenReturn(100);
+        when(appConfiguration.getTokenWriteBatchSize()).thenReturn(100);
+        when(persistenceEntryManager.persistAll(anyCollection())).thenAnswer(invocation -> {
+            Collection<?> entries = invocation.getArgument(0);
+            BulkOperationResult result = new BulkOperationResult(entries.size());
+            result.addSuccess(0, null);
+            result.addFailure(1, null, new RuntimeException("duplicate"));
+            return result;
+        });
+
+        TokenEntity failed = token("code2");
+        tokenWriteBehindService.write(token("code1"));
+        tokenWriteBehindService.write(failed);
+        tokenWriteBehindService.flush();
+
+        verify(persistenceEntryManager).persist(failed);
+        assertEquals(tokenWriteBehindService.getPersistedCount(), 2);
+        assertEquals(tokenWriteBehindService.getFailedCount(), 0);
+    }
+
+    @Test
+    public void flush_whenTokenCanNotBePersisted_shouldKeepItQueuedForRetry() {
+        when(appConfiguration.getTokenWriteQueueSize()).thenReturn(100);
+        when(appConfiguration.getTokenWriteBatchSize()).thenReturn(100);
+        when(persistenceEntryManager.persistAll(anyCollection())).thenThrow(new RuntimeException("unavailable"));
+
+        TokenEntity token = token("code1");
+        doThrow(new RuntimeException("unavailable")).when(persistenceEntryManager).persist(token);
+
+        tokenWriteBehindService.write(token);
+        tokenWriteBehindService.flush();
+
+        assertSame(tokenWriteBehindService.getPending(token.getDn()), token);
+        assertEquals(tokenWriteBehindService.getQueueDepth(), 1);
+        assertEquals(tokenWriteBehindService.getFailedCount(), 0);
+        verify(flushExecutor).schedule(any(Runnable.class), eq(TokenWriteBehindService.RETRY_DELAY), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void flush_whenTokenCanNotBePersistedAfterMaxAttempts_shouldDropIt() {
+        when(appConfiguration.getTokenWriteQueueSize()).thenReturn(100);
+        when(appConfiguration.getTokenWriteBatchSize()).thenReturn(100);
+        when(persistenceEntryManager.persistAll(anyCollection())).thenThrow(new RuntimeException("unavailable"));
+
+        TokenEntity token = token("code1");
+        doThrow(new RuntimeException("unavailable")).when(persistenceEntryManager).persist(token);
+
+        tokenWriteBehindService.write(token);
+        for (int i = 0; i < TokenWriteBehindService.MAX_WRITE_ATTEMPTS; i++) {
+            tokenWriteBehindService.flush();
+        }
+
+        verify(persistenceEntryManager, times(TokenWriteBehindService.MAX_WRITE_ATTEMPTS)).persist(token);
+        assertNull(tokenWriteBehindService.getPending(token.getDn()));
+        assertEquals(tokenWriteBehindService.getQueueDepth(), 0);
+        assertEquals(tokenWriteBehindService.getFailedCount(), 1);
+    }
+
+    @Test
+    public void findPending_shouldReturnOnlyMatchingNotPersistedTokens() {
+        when(appConfiguration.getTokenWriteQueueSize()).thenReturn(100);
+
+        TokenEntity token1 = token("code1");
+        token1.setGrantId("grant1");
+        TokenEntity token2 = token("code2");
+        token2.setGrantId("grant2");
+        tokenWriteBehindService.write(token1);
+        tokenWriteBehindService.write(token2);
+
+        List<TokenEntity> pending = tokenWriteBehindService.findPending(t -> "grant2".equals(t.getGrantId()));
+
+        assertEquals(pending, List.of(token2));
+    }
+}
@@ -14,6 +14,8 @@ import io.jans.configapi.configuration.ConfigurationFactory;
 import io.jans.configapi.core.model.PersistenceConfiguration;
 import io.jans.configapi.model.status.StatsData;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.service.ChangeNotificationService;
+import io.jans.service.cdi.event.ChangeNotificationEvent;
 import io.jans.service.document.store.conf.DocumentStoreConfiguration;
 import io.jans.util.StringHelper;
 
@@ -43,6 +45,9 @@ public class ConfigurationService {
     @Inject
     ConfigurationFactory configurationFactory;
 
+    @Inject
+    ChangeNotificationService changeNotificationService;
+
     private StatsData statsData;
 
     public Conf findConf() {
@@ -53,6 +58,7 @@ public class ConfigurationService {
     public void merge(Conf conf) {
         conf.setRevision(conf.getRevision() + 1);
         persistenceManager.merge(conf);
+        changeNotificationService.publish(ChangeNotificationEvent.CONFIGURATION_TYPE, conf.getDn(), conf.getRevision());
     }
 
     public void merge(GluuConfiguration conf) {
@@ -9,11 +9,24 @@ package io.jans.service;
 import io.jans.service.cache.CacheInterface;
 import io.jans.service.cache.CacheProvider;
 import io.jans.service.cache.CacheProviderType;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
+import net.jodah.expiringmap.ExpirationPolicy;
+import net.jodah.expiringmap.ExpiringMap;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
 import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 /**
@@ -26,9 +39,23 @@ public abstract class BaseCacheService implements CacheInterface {
 	
 	public static int DEFAULT_EXPIRATION = 60;
 
+	private static final String REFRESH_AHEAD_THREAD_NAME = "CacheRefreshAheadThread";
+	private static final int REFRESH_AHEAD_MAX_THREADS = 4;
+	private static final int REFRESH_AHEAD_MAX_QUEUE_SIZE = 1000;
+	private static final int REFRESH_AHEAD_MAX_KEYS = 100000;
+	private static final long LOAD_WAIT_TIMEOUT = 10; // seconds
+
 	@Inject
     private Logger log;
 
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final ExpiringMap<String, Long> refreshAheadTimes = ExpiringMap.builder().maxSize(REFRESH_AHEAD_MAX_KEYS).variableExpiration().build();
+    private volatile ExecutorService refreshAheadExecutor;
+
+    private final LongAdder stampedeAvoidedCount = new LongAdder();
+    private final LongAdder refreshAheadCount = new LongAdder();
+    private final LongAdder refreshAheadRejectedCount = new LongAdder();
+
     public Object get(String key) {
     	CacheProvider cacheProvider = getCacheProvider();
         if (cacheProvider == null) {
@@ -54,6 +81,18 @@ public abstract class BaseCacheService implements CacheInterface {
     }
 
     public <T> T getWithPut(String key, Supplier<T> loadFunction, int expirationInSeconds) {
+        return getWithPut(key, loadFunction, expirationInSeconds, 0);
+    }
+
+    /*
+     * Concurrent loads of the same key on this node are coalesced, only one load function call is executed.
+     * Callers which wait longer than LOAD_WAIT_TIMEOUT call load function themselves.
+     * If refreshAheadInSeconds > 0 then entry which was loaded on this node is reloaded in background when it's
+     * in last refreshAheadInSeconds of its lifetime. Callers get old value till reload finish.
+     * Reload is skipped and retried by a later read if refresh ahead queue is full.
+     * Value loaded before key was removed is not put into cache.
+     */
+    public <T> T getWithPut(String key, Supplier<T> loadFunction, int expirationInSeconds, int refreshAheadInSeconds) {
         if (loadFunction == null) {
             return (T) get(key);
         }
@@ -70,24 +109,169 @@ public abstract class BaseCacheService implements CacheInterface {
         final Object value = get(key);
         if (value != null) {
             log.trace("Loaded from cache, key: '{}'", key);
+            if (refreshAheadInSeconds > 0) {
+                refreshAheadIfNeeded(key, value, loadFunction, expirationInSeconds, refreshAheadInSeconds);
+            }
             return (T) value;
-        } else {
+        }
+
+        CompletableFuture<Object> loadFuture = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightLoadFuture = inFlightLoads.putIfAbsent(key, loadFuture);
+        if (inFlightLoadFuture != null) {
+            log.trace("Key not in cache. Waiting for value from concurrent load, key: '{}'", key);
+            stampedeAvoidedCount.increment();
+            return waitForLoad(key, inFlightLoadFuture, loadFunction);
+        }
+
+        try {
             log.trace("Key not in cache. Searching value via load function, key: '{}'", key);
-            final T loaded = loadFunction.get();
-            if (loaded == null) {
-                log.trace("Key not in cache. There is no value, key: '{}'", key);
-                return null;
+            final T loaded = loadAndPut(key, loadFunction, expirationInSeconds, refreshAheadInSeconds, loadFuture);
+            loadFuture.complete(loaded);
+
+            return loaded;
+        } catch (RuntimeException ex) {
+            loadFuture.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightLoads.remove(key, loadFuture);
+        }
+    }
+
+    private <T> T loadAndPut(String key, Supplier<T> loadFunction, int expirationInSeconds, int refreshAheadInSeconds, CompletableFuture<Object> loadFuture) {
+        final T loaded = loadFunction.get();
+        if (loaded == null) {
+            log.trace("Key not in cache. There is no value, key: '{}'", key);
+            return null;
+        }
+
+        try {
+            // Put only if key wasn't removed during load. remove() waits till put finishes
+            inFlightLoads.computeIfPresent(key, (k, inFlightLoadFuture) -> {
+                if (inFlightLoadFuture == loadFuture) {
+                    put(expirationInSeconds, key, loaded);
+                    if (refreshAheadInSeconds > 0) {
+                        long refreshAfter = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(Math.max(0, expirationInSeconds - refreshAheadInSeconds));
+                        refreshAheadTimes.put(key, refreshAfter, ExpirationPolicy.CREATED, Math.max(1, expirationInSeconds), TimeUnit.SECONDS);
+                    }
+                } else {
+                    log.trace("Key was removed during load, skipping put, key: '{}'", key);
+                }
+                return inFlightLoadFuture;
+            });
+        } catch (Exception e) {
+            log.error("Failed to put object into cache, key: '{}'", key, e); // we don't want prevent returning loaded value due to failure with put
+        }
+
+        return loaded;
+    }
+
+    private <T> T waitForLoad(String key, CompletableFuture<Object> loadFuture, Supplier<T> loadFunction) {
+        try {
+            return (T) loadFuture.get(LOAD_WAIT_TIMEOUT, TimeUnit.SECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
             }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            log.debug("Concurrent load takes too long, loading value directly, key: '{}'", key);
+            return loadFunction.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return loadFunction.get();
+        }
+    }
+
+    private <T> void refreshAheadIfNeeded(String key, Object value, Supplier<T> loadFunction, int expirationInSeconds, int refreshAheadInSeconds) {
+        Long refreshAfter = refreshAheadTimes.get(key);
+        if ((refreshAfter == null) || (System.currentTimeMillis() < refreshAfter)) {
+            return;
+        }
+
+        CompletableFuture<Object> loadFuture = new CompletableFuture<>();
+        if (inFlightLoads.putIfAbsent(key, loadFuture) != null) {
+            // Entry is already reloading
+            return;
+        }
+
+        // Prevent scheduling of another refresh till this one finish
+        refreshAheadTimes.remove(key);
 
+        Runnable refreshTask = () -> {
             try {
-                put(expirationInSeconds, key, loaded);
-            } catch (Exception e) {
-                log.error("Failed to put object into cache, key: '{}'", key, e); // we don't want prevent returning loaded value due to failure with put
+                log.trace("Refreshing ahead value via load function, key: '{}'", key);
+                loadFuture.complete(loadAndPut(key, loadFunction, expirationInSeconds, refreshAheadInSeconds, loadFuture));
+                refreshAheadCount.increment();
+            } catch (RuntimeException ex) {
+                log.error("Failed to refresh ahead value, key: '{}'", key, ex);
+                loadFuture.completeExceptionally(ex);
+            } finally {
+                inFlightLoads.remove(key, loadFuture);
             }
-            return loaded;
+        };
+
+        try {
+            getRefreshAheadExecutor().execute(refreshTask);
+        } catch (RejectedExecutionException ex) {
+            // Current value is still valid, don't make caller wait for load. Next read after refreshAfter retries
+            log.debug("Refresh ahead queue is full, skipping refresh, key: '{}'", key);
+            refreshAheadRejectedCount.increment();
+            refreshAheadTimes.put(key, refreshAfter, ExpirationPolicy.CREATED, Math.max(1, refreshAheadInSeconds), TimeUnit.SECONDS);
+            inFlightLoads.remove(key, loadFuture);
+            loadFuture.complete(value);
+        }
+    }
+
+    private ExecutorService getRefreshAheadExecutor() {
+        ExecutorService executor = this.refreshAheadExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.refreshAheadExecutor;
+                if (executor == null) {
+                    executor = new ThreadPoolExecutor(1, REFRESH_AHEAD_MAX_THREADS, 60L, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(REFRESH_AHEAD_MAX_QUEUE_SIZE), runnable -> {
+                                Thread thread = new Thread(runnable);
+                                thread.setName(REFRESH_AHEAD_THREAD_NAME);
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    this.refreshAheadExecutor = executor;
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (refreshAheadExecutor != null) {
+            refreshAheadExecutor.shutdownNow();
+            refreshAheadExecutor = null;
         }
     }
 
+    /*
+     * Number of load function calls avoided because value was loaded by concurrent request
+     */
+    public long getStampedeAvoidedCount() {
+        return stampedeAvoidedCount.sum();
+    }
+
+    /*
+     * Number of values which were reloaded in background before expiration
+     */
+    public long getRefreshAheadCount() {
+        return refreshAheadCount.sum();
+    }
+
+    /*
+     * Number of background reloads which were skipped because refresh ahead queue was full
+     */
+    public long getRefreshAheadRejectedCount() {
+        return refreshAheadRejectedCount.sum();
+    }
+
 	public void put(int expirationInSeconds, String key, Object object) {
     	CacheProvider cacheProvider = getCacheProvider();
     	if (cacheProvider == null) {
@@ -109,11 +293,90 @@ public abstract class BaseCacheService implements CacheInterface {
 		}
 
         key = addKeyPrefix(key, cacheProvider);
-		
+
+        // Value which is being loaded now can be stale already
+        inFlightLoads.remove(key);
+        refreshAheadTimes.remove(key);
+
     	log.trace("Remove data, key '{}'", key);
 		cacheProvider.remove(key);
 	}
 
+	/**
+	 * Puts data into cache only if there is data under the given key already. It's atomic if cache provider supports it
+	 *
+	 * @return true if data was put
+	 */
+	public boolean replace(int expirationInSeconds, String key, Object object) {
+    	CacheProvider cacheProvider = getCacheProvider();
+    	if (cacheProvider == null) {
+        	log.error("Cache provider is invalid!");
+			return false;
+		}
+
+        key = addKeyPrefix(key, cacheProvider);
+
+    	log.trace("Replace data, key '{}': '{}'", key, object);
+		return cacheProvider.replace(expirationInSeconds, key, object);
+	}
+
+	/**
+	 * Removes data from cache and returns it. It's atomic if cache provider supports it
+	 */
+	public Object getAndRemove(String key) {
+    	CacheProvider cacheProvider = getCacheProvider();
+    	if (cacheProvider == null) {
+        	log.error("Cache provider is invalid!");
+			return null;
+		}
+
+        key = addKeyPrefix(key, cacheProvider);
+
+    	log.trace("Get and remove data, key '{}'", key);
+		return cacheProvider.getAndRemove(key);
+	}
+
+	/**
+	 * Atomically adds delta to counter stored under the given key and returns new counter value
+	 *
+	 * @throws UnsupportedOperationException if cache provider doesn't support atomic counters
+	 */
+	public long incrementBy(int expirationInSeconds, String key, long delta) {
+    	CacheProvider cacheProvider = getCacheProvider();
+    	if (cacheProvider == null) {
+        	throw new IllegalStateException("Cache provider is invalid!");
+		}
+
+        key = addKeyPrefix(key, cacheProvider);
+
+    	log.trace("Increment counter, key '{}' by {}", key, delta);
+		return cacheProvider.incrementBy(expirationInSeconds, key, delta);
+	}
+
+	/**
+	 * @return true if cache provider supports atomic counters, see {@link #incrementBy(int, String, long)}
+	 */
+	public boolean isCounterSupported() {
+		CacheProvider cacheProvider = getCacheProvider();
+		return cacheProvider != null && cacheProvider.isCounterSupported();
+	}
+
+	/**
+	 * @return true if cache provider removes and returns data atomically, see {@link #getAndRemove(String)}
+	 */
+	public boolean isAtomicGetAndRemoveSupported() {
+		CacheProvider cacheProvider = getCacheProvider();
+		return cacheProvider != null && cacheProvider.isAtomicGetAndRemoveSupported();
+	}
+
+	/**
+	 * @return type of cache provider or null if cache provider is invalid
+	 */
+	public CacheProviderType getCacheProviderType() {
+		CacheProvider cacheProvider = getCacheProvider();
+		return cacheProvider != null ? cacheProvider.getProviderType() : null;
+	}
+
 	public void clear() {
     	CacheProvider cacheProvider = getCacheProvider();
     	if (cacheProvider == null) {
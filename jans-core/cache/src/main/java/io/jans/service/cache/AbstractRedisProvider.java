@@ -6,6 +6,7 @@
 
 package io.jans.service.cache;
 
+import io.jans.service.cache.codec.CacheValueSerializer;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisPoolConfig;
 
@@ -14,12 +15,22 @@ import redis.clients.jedis.JedisPoolConfig;
  */
 public abstract class AbstractRedisProvider {
 
+	/*
+	 * Increments counter and sets expiration if counter was created by this call. KEYS[1] - counter key,
+	 * ARGV[1] - delta, ARGV[2] - expiration in seconds
+	 */
+	protected static final String INCREMENT_BY_SCRIPT = "local value = redis.call('INCRBY', KEYS[1], ARGV[1]) "
+			+ "if value == tonumber(ARGV[1]) then redis.call('EXPIRE', KEYS[1], ARGV[2]) end "
+			+ "return value";
+
 	protected CacheConfiguration cacheConfiguration;
 	protected RedisConfiguration redisConfiguration;
+	protected CacheValueSerializer valueSerializer;
 
 	public AbstractRedisProvider(CacheConfiguration cacheConfiguration) {
 		this.cacheConfiguration = cacheConfiguration;
 		this.redisConfiguration = cacheConfiguration.getRedisConfiguration();
+		this.valueSerializer = new CacheValueSerializer(cacheConfiguration.getCacheValueCodecConfiguration());
         HostAndPort.setLocalhost("127.0.0.1");
 	}
 
@@ -72,10 +83,41 @@ public abstract class AbstractRedisProvider {
 
 	public abstract void remove(String key);
 
+	/*
+	 * Not atomic by default, providers which support transactions override it
+	 */
+	public Object getAndRemove(String key) {
+		Object value = get(key);
+		if (value != null) {
+			remove(key);
+		}
+		return value;
+	}
+
+	public boolean isAtomicGetAndRemoveSupported() {
+		return false;
+	}
+
+	/*
+	 * Not atomic by default, providers which support SET with XX option override it
+	 */
+	public boolean replace(int expirationInSeconds, String key, Object object) {
+		if (!hasKey(key)) {
+			return false;
+		}
+		put(expirationInSeconds, key, object);
+		return true;
+	}
+
 	public abstract void clear();
 
 	public abstract void put(int expirationInSeconds, String key, Object object);
 
 	public abstract void put(String key, Object object);
 
+	/**
+	 * Counter is incremented and its expiration is set in one atomic step
+	 */
+	public abstract long incrementBy(int expirationInSeconds, String key, long delta);
+
 }
@@ -12,6 +12,8 @@ import jakarta.enterprise.inject.Vetoed;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import io.jans.service.cache.codec.CacheValueCodecConfiguration;
+
 
 /**
  * @author yuriyz on 02/21/2017.
@@ -32,6 +34,10 @@ public class CacheConfiguration implements Serializable {
 
     private NativePersistenceConfiguration nativePersistenceConfiguration;
 
+    private NearCacheConfiguration nearCacheConfiguration = new NearCacheConfiguration();
+
+    private CacheValueCodecConfiguration cacheValueCodecConfiguration = new CacheValueCodecConfiguration();
+
     private String keyPrefix;
 
     public NativePersistenceConfiguration getNativePersistenceConfiguration() {
@@ -74,6 +80,22 @@ public class CacheConfiguration implements Serializable {
         this.memcachedConfiguration = memcachedConfiguration;
     }
 
+    public NearCacheConfiguration getNearCacheConfiguration() {
+        return nearCacheConfiguration;
+    }
+
+    public void setNearCacheConfiguration(NearCacheConfiguration nearCacheConfiguration) {
+        this.nearCacheConfiguration = nearCacheConfiguration;
+    }
+
+    public CacheValueCodecConfiguration getCacheValueCodecConfiguration() {
+        return cacheValueCodecConfiguration;
+    }
+
+    public void setCacheValueCodecConfiguration(CacheValueCodecConfiguration cacheValueCodecConfiguration) {
+        this.cacheValueCodecConfiguration = cacheValueCodecConfiguration;
+    }
+
     public String getKeyPrefix() {
         return keyPrefix;
     }
@@ -90,6 +112,8 @@ public class CacheConfiguration implements Serializable {
                 ", redisConfiguration=" + redisConfiguration +
                 ", inMemoryConfiguration=" + inMemoryConfiguration +
                 ", nativePersistenceConfiguration=" + nativePersistenceConfiguration +
+                ", nearCacheConfiguration=" + nearCacheConfiguration +
+                ", cacheValueCodecConfiguration=" + cacheValueCodecConfiguration +
                 ", keyPrefix=" + keyPrefix +
                 '}';
     }
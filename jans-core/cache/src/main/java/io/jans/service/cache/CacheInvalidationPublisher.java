@@ -0,0 +1,18 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+/**
+ * Notifies other cluster nodes about changes in shared cache
+ */
+public interface CacheInvalidationPublisher {
+
+	void publishRemove(String key);
+
+	void publishClear();
+
+}
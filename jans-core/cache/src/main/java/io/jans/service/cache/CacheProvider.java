@@ -8,6 +8,13 @@ package io.jans.service.cache;
 
 import java.util.Date;
 
+/**
+ * Base class of cache providers.
+ *
+ * Objects put into cache and returned from it should be treated as immutable. IN_MEMORY provider and
+ * L1 cache of {@link NearCacheProvider} return the same instance to all callers, so caller should
+ * not modify object after put or modify returned object. Copy it before change and put the copy back.
+ */
 public abstract class CacheProvider<T> implements CacheInterface {
 
     /**
@@ -25,7 +32,7 @@ public abstract class CacheProvider<T> implements CacheInterface {
      * Only the specified cache region will be searched.
      *
      * @param key - a key to identify the object.
-     * @return - the object if found or null if not
+     * @return - the object if found or null if not. It can be shared with other callers and should not be modified
      */
     public abstract Object get(String key);
 
@@ -39,11 +46,72 @@ public abstract class CacheProvider<T> implements CacheInterface {
      */
     public abstract void remove(String key);
 
+    /**
+     * Removes an object from the cache and returns it. Providers which support it do it atomically,
+     * so only one of concurrent callers gets the object. Default implementation isn't atomic.
+     * <ul>
+     * <li>IN_MEMORY - atomic, but cache is local to node</li>
+     * <li>REDIS STANDALONE and SENTINEL - atomic, GET and DEL are executed in MULTI/EXEC block</li>
+     * <li>REDIS CLUSTER and SHARDED - not atomic, GET and DEL are separate commands</li>
+     * <li>MEMCACHED - not atomic</li>
+     * <li>NATIVE_PERSISTENCE - not atomic</li>
+     * </ul>
+     *
+     * @param key - a key to identify the object
+     * @return - the object if found or null if not
+     */
+    public Object getAndRemove(String key) {
+        Object value = get(key);
+        if (value != null) {
+            remove(key);
+        }
+        return value;
+    }
+
+    /**
+     * Puts an object into the cache only if there is object under the given key already.
+     * Providers which support it do it atomically, so removed object is not put back.
+     * Default implementation isn't atomic.
+     *
+     * @return - true if object was put
+     */
+    public boolean replace(int expirationInSeconds, String key, Object object) {
+        if (!hasKey(key)) {
+            return false;
+        }
+        put(expirationInSeconds, key, object);
+        return true;
+    }
+
     /**
      * Removes all objects from cache
      */
     public abstract void clear();
 
+    /**
+     * Atomically adds delta to counter stored under the given key and returns new counter value.
+     * Expiration is applied when counter is created. Counter value should not be read via get.
+     *
+     * @throws UnsupportedOperationException if cache provider doesn't support atomic counters
+     */
+    public long incrementBy(int expirationInSeconds, String key, long delta) {
+        throw new UnsupportedOperationException("Atomic counters are not supported by " + getProviderType() + " cache provider");
+    }
+
+    /**
+     * @return true if cache provider implements atomic counters, see {@link #incrementBy(int, String, long)}
+     */
+    public boolean isCounterSupported() {
+        return false;
+    }
+
+    /**
+     * @return true if {@link #getAndRemove(String)} is atomic
+     */
+    public boolean isAtomicGetAndRemoveSupported() {
+        return false;
+    }
+
     /**
      * Clean objects from cache regions till specified date
      */
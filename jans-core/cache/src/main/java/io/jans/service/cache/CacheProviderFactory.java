@@ -32,16 +32,26 @@ public class CacheProviderFactory {
     @Any
     private Instance<CacheProvider> instance;
 
+    private volatile NearCacheProvider nearCacheProvider;
+
     @Produces
     @ApplicationScoped
     public CacheProvider getCacheProvider() {
         log.debug("Started to create cache provider");
 
+        NearCacheProvider nearCacheProvider = getNearCacheProvider();
+        if (nearCacheProvider != null) {
+            return nearCacheProvider;
+        }
 
         return getCacheProvider(cacheConfiguration);
     }
 
     public CacheProvider getCacheProvider(CacheConfiguration cacheConfiguration) {
+        return createCacheProvider(cacheConfiguration);
+    }
+
+    private AbstractCacheProvider<?> createCacheProvider(CacheConfiguration cacheConfiguration) {
 		CacheProviderType cacheProviderType = cacheConfiguration.getCacheProviderType();
 
         if (cacheProviderType == null) {
@@ -75,6 +85,41 @@ public class CacheProviderFactory {
         return cacheProvider;
 	}
 
+    /*
+     * Returns near cache provider if it's enabled in configuration. It's created on first call
+     * in front of the configured cache provider and then shared by all callers
+     */
+    public NearCacheProvider getNearCacheProvider() {
+        NearCacheProvider result = nearCacheProvider;
+        if ((result != null) || !isNearCacheEnabled()) {
+            return result;
+        }
+
+        synchronized (this) {
+            if (nearCacheProvider == null) {
+                CacheProviderType cacheProviderType = cacheConfiguration.getCacheProviderType();
+                if ((cacheProviderType == null) || (CacheProviderType.IN_MEMORY == cacheProviderType)) {
+                    log.warn("Near cache is not applicable for IN_MEMORY cache provider type");
+                    return null;
+                }
+
+                log.debug("Adding near cache in front of cache provider {}", cacheProviderType);
+                NearCacheProvider newNearCacheProvider = new NearCacheProvider(createCacheProvider(cacheConfiguration),
+                        cacheConfiguration.getNearCacheConfiguration());
+                newNearCacheProvider.create();
+
+                nearCacheProvider = newNearCacheProvider;
+            }
+
+            return nearCacheProvider;
+        }
+    }
+
+    private boolean isNearCacheEnabled() {
+        NearCacheConfiguration nearCacheConfiguration = cacheConfiguration.getNearCacheConfiguration();
+        return (nearCacheConfiguration != null) && nearCacheConfiguration.isEnabled();
+    }
+
     @Produces
     @ApplicationScoped
     @LocalCache
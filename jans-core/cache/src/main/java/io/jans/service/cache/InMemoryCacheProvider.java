@@ -16,6 +16,7 @@ import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author yuriyz on 02/21/2017.
@@ -98,6 +99,35 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
         map.remove(key);
     }
 
+    @Override
+    public Object getAndRemove(String key) {
+        return map.remove(key);
+    }
+
+    @Override
+    public boolean isAtomicGetAndRemoveSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isCounterSupported() {
+        return true;
+    }
+
+    @Override
+    public long incrementBy(int expirationInSeconds, String key, long delta) {
+        synchronized (map) {
+            Object value = map.get(key);
+            if (value instanceof AtomicLong) {
+                return ((AtomicLong) value).addAndGet(delta);
+            }
+
+            expirationInSeconds = expirationInSeconds >= 0 ? expirationInSeconds : inMemoryConfiguration.getDefaultPutExpiration();
+            map.put(key, new AtomicLong(delta), ExpirationPolicy.CREATED, expirationInSeconds, TimeUnit.SECONDS);
+            return delta;
+        }
+    }
+
     @Override
     public void clear() {
         map.clear();
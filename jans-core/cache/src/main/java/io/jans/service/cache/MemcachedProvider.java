@@ -146,6 +146,33 @@ public class MemcachedProvider extends AbstractCacheProvider<MemcachedClient> {
         }
     }
 
+    @Override
+    public boolean replace(int expirationInSeconds, String key, Object object) {
+        try {
+            int expiration = expirationInSeconds > 0 ? expirationInSeconds : memcachedConfiguration.getDefaultPutExpiration();
+            OperationFuture<Boolean> replace = client.replace(key, expiration, object);
+            boolean replaced = Boolean.TRUE.equals(replace.get());
+            log.trace("replace - key:" + key + ", expiration: " + expiration + ", replaced:" + replaced);
+            return replaced;
+        } catch (Exception e) {
+            log.error("Failed to replace object in cache, key: " + key, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isCounterSupported() {
+        return true;
+    }
+
+    @Override
+    public long incrementBy(int expirationInSeconds, String key, long delta) {
+        int expiration = expirationInSeconds > 0 ? expirationInSeconds : memcachedConfiguration.getDefaultPutExpiration();
+        long value = client.incr(key, delta, delta, expiration);
+        log.trace("incr - key:" + key + ", value: " + value);
+        return value;
+    }
+
     @Override
     public void clear() {
         client.flush();
@@ -12,9 +12,9 @@ import io.jans.orm.exception.operation.DuplicateEntryException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.model.base.SimpleBranch;
 import io.jans.orm.search.filter.Filter;
+import io.jans.service.cache.codec.CacheValueSerializer;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,10 +22,6 @@ import org.slf4j.LoggerFactory;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -49,6 +45,8 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
 
 	private boolean attemptUpdateBeforeInsert;
 
+	private CacheValueSerializer valueSerializer;
+
     @PostConstruct
     public void init() {
     }
@@ -57,6 +55,7 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
     public void create() {
         try {
             baseDn = cacheConfiguration.getNativePersistenceConfiguration().getBaseDn();
+            valueSerializer = new CacheValueSerializer(cacheConfiguration.getCacheValueCodecConfiguration());
             deleteExpiredOnGetRequest = cacheConfiguration.getNativePersistenceConfiguration().isDeleteExpiredOnGetRequest();
 
             if (StringUtils.isBlank(baseDn)) {
@@ -250,14 +249,7 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
     private Object fromString(String s) {
         try {
             byte[] data = Base64.decodeBase64(s);
-            ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data));
-            try {
-                Object o = ois.readObject();
-                ois.close();
-                return o;
-            } finally {
-                IOUtils.closeQuietly(ois);
-            }
+            return valueSerializer.deserialize(data);
         } catch (Exception e) {
             log.error("Failed to deserizalize cache entity, data: " + s, e);
             return null;
@@ -265,18 +257,11 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
     }
 
     private String asString(Object o) {
-        ObjectOutputStream oos = null;
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            oos = new ObjectOutputStream(baos);
-            oos.writeObject(o);
-            oos.close();
-            return Base64.encodeBase64String(baos.toByteArray());
+            return Base64.encodeBase64String(valueSerializer.serialize(o));
         } catch (Exception e) {
             log.error("Failed to serizalize cache entity to string, object: " + 0, e);
             return null;
-        } finally {
-            IOUtils.closeQuietly(oos);
         }
     }
 
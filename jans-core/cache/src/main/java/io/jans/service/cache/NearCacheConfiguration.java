@@ -0,0 +1,84 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * In-process L1 cache which can be placed in front of configured cache provider
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class NearCacheConfiguration implements Serializable {
+
+    private static final long serialVersionUID = -2931530391742861287L;
+
+    public static final String DEFAULT_INVALIDATION_CHANNEL = "jans_cache_invalidation";
+
+    private boolean enabled = false;
+
+    private int maxSize = 10000;
+
+    private int maxTtl = 10; // in seconds
+
+    // TTL of entries loaded from L2 cache. Their remaining L2 expiration is unknown, so it should be short
+    private int loadedTtl = 2; // in seconds
+
+    private String invalidationChannel = DEFAULT_INVALIDATION_CHANNEL;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxTtl() {
+        return maxTtl;
+    }
+
+    public void setMaxTtl(int maxTtl) {
+        this.maxTtl = maxTtl;
+    }
+
+    public int getLoadedTtl() {
+        return loadedTtl;
+    }
+
+    public void setLoadedTtl(int loadedTtl) {
+        this.loadedTtl = loadedTtl;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheConfiguration{" +
+                "enabled=" + enabled +
+                ", maxSize=" + maxSize +
+                ", maxTtl=" + maxTtl +
+                ", loadedTtl=" + loadedTtl +
+                ", invalidationChannel=" + invalidationChannel +
+                '}';
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.jodah.expiringmap.ExpirationPolicy;
+import net.jodah.expiringmap.ExpiringMap;
+
+/**
+ * Two-tier cache provider. Keeps bounded in-process L1 cache in front of
+ * shared L2 cache provider. L1 entries expire before L2 entries and are
+ * invalidated on other nodes via {@link CacheInvalidationPublisher} on each put/remove.
+ * Entries loaded from L2 on L1 miss are kept for loadedTtl only, because their remaining
+ * L2 expiration is unknown.
+ *
+ * Note: objects from L1 cache are shared between callers like in IN_MEMORY provider, so they
+ * should not be modified, see {@link CacheProvider}.
+ */
+public class NearCacheProvider extends AbstractCacheProvider<AbstractCacheProvider<?>> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NearCacheProvider.class);
+
+    private final AbstractCacheProvider<?> cacheProvider;
+    private final NearCacheConfiguration nearCacheConfiguration;
+    private final String nodeId;
+
+    private ExpiringMap<String, Object> map;
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public NearCacheProvider(AbstractCacheProvider<?> cacheProvider, NearCacheConfiguration nearCacheConfiguration) {
+        this.cacheProvider = cacheProvider;
+        this.nearCacheConfiguration = nearCacheConfiguration;
+        this.nodeId = UUID.randomUUID().toString();
+    }
+
+    @Override
+    public void create() {
+        LOG.debug("Starting NearCacheProvider ... configuration: {}", nearCacheConfiguration);
+        map = ExpiringMap.builder().maxSize(nearCacheConfiguration.getMaxSize()).expirationPolicy(ExpirationPolicy.CREATED)
+                .variableExpiration().expirationListener((key, value) -> evictions.increment()).build();
+        LOG.debug("NearCacheProvider started.");
+    }
+
+    @Override
+    public void destroy() {
+        LOG.debug("Destroying NearCacheProvider");
+        // L2 cache provider lifecycle is managed by its owner
+        if (map != null) {
+            map.clear();
+        }
+        LOG.debug("Destroyed NearCacheProvider");
+    }
+
+    @Override
+    public AbstractCacheProvider<?> getDelegate() {
+        return cacheProvider;
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        if (key == null) {
+            return false;
+        }
+
+        return map.containsKey(key) || cacheProvider.hasKey(key);
+    }
+
+    @Override
+    public Object get(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        Object value = map.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = cacheProvider.get(key);
+        if (value != null) {
+            // Remaining L2 expiration is unknown here, keep L1 copy for short time only
+            putLocal(Math.min(nearCacheConfiguration.getMaxTtl(), nearCacheConfiguration.getLoadedTtl()), key, value);
+        }
+
+        return value;
+    }
+
+    @Override
+    public void put(int expirationInSeconds, String key, Object object) {
+        cacheProvider.put(expirationInSeconds, key, object);
+
+        int ttl = nearCacheConfiguration.getMaxTtl();
+        if (expirationInSeconds > 0) {
+            // L1 entry should expire before L2 entry
+            ttl = Math.min(ttl, expirationInSeconds - 1);
+        }
+        putLocal(ttl, key, object);
+
+        if (invalidationPublisher != null) {
+            invalidationPublisher.publishRemove(key);
+        }
+    }
+
+    @Override
+    public boolean replace(int expirationInSeconds, String key, Object object) {
+        // Don't keep L1 copy of object which could be removed from L2 already
+        map.remove(key);
+        boolean replaced = cacheProvider.replace(expirationInSeconds, key, object);
+
+        if (invalidationPublisher != null) {
+            invalidationPublisher.publishRemove(key);
+        }
+
+        return replaced;
+    }
+
+    @Override
+    public void remove(String key) {
+        cacheProvider.remove(key);
+        map.remove(key);
+
+        if (invalidationPublisher != null) {
+            invalidationPublisher.publishRemove(key);
+        }
+    }
+
+    @Override
+    public Object getAndRemove(String key) {
+        map.remove(key);
+        Object value = cacheProvider.getAndRemove(key);
+
+        if (invalidationPublisher != null) {
+            invalidationPublisher.publishRemove(key);
+        }
+
+        return value;
+    }
+
+    /*
+     * Counters are shared between nodes, they are not cached in L1
+     */
+    @Override
+    public long incrementBy(int expirationInSeconds, String key, long delta) {
+        return cacheProvider.incrementBy(expirationInSeconds, key, delta);
+    }
+
+    @Override
+    public boolean isCounterSupported() {
+        return cacheProvider.isCounterSupported();
+    }
+
+    @Override
+    public boolean isAtomicGetAndRemoveSupported() {
+        return cacheProvider.isAtomicGetAndRemoveSupported();
+    }
+
+    @Override
+    public void clear() {
+        cacheProvider.clear();
+        map.clear();
+
+        if (invalidationPublisher != null) {
+            invalidationPublisher.publishClear();
+        }
+    }
+
+    @Override
+    public void cleanup(Date now) {
+        cacheProvider.cleanup(now);
+    }
+
+    private void putLocal(int ttl, String key, Object object) {
+        // Remove first to reset expiration time, see InMemoryCacheProvider.put
+        map.remove(key);
+        if ((ttl <= 0) || (object == null)) {
+            return;
+        }
+
+        map.put(key, object, ExpirationPolicy.CREATED, ttl, TimeUnit.SECONDS);
+    }
+
+    /*
+     * Remove entry from L1 cache only. Should be called on invalidation notification from other node
+     */
+    public void invalidateLocal(String key) {
+        if (map.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    /*
+     * Clear L1 cache only. Should be called on invalidation notification from other node
+     */
+    public void clearLocal() {
+        invalidations.add(map.size());
+        map.clear();
+    }
+
+    public CacheInvalidationPublisher getInvalidationPublisher() {
+        return invalidationPublisher;
+    }
+
+    public void setInvalidationPublisher(CacheInvalidationPublisher invalidationPublisher) {
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    public NearCacheConfiguration getNearCacheConfiguration() {
+        return nearCacheConfiguration;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public int getSize() {
+        return map.size();
+    }
+
+    @Override
+    public CacheProviderType getProviderType() {
+        return cacheProvider.getProviderType();
+    }
+
+    @Override
+    public CacheConfiguration getCacheConfiguration() {
+        return cacheProvider.getCacheConfiguration();
+    }
+
+}
@@ -6,16 +6,15 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.params.SetParams;
 
 import java.io.IOException;
-import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -99,20 +98,20 @@ public class RedisClusterProvider extends AbstractRedisProvider {
         byte[] value = pool.get(key.getBytes());
         Object deserialized = null;
         if (value != null && value.length > 0) {
-            deserialized = SerializationUtils.deserialize(value);
+            deserialized = valueSerializer.deserialize(value);
         }
         return deserialized;
     }
 
     @Override
     public void put(int expirationInSeconds, String key, Object object) {
-        String status = pool.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+        String status = pool.setex(key.getBytes(), expirationInSeconds, valueSerializer.serialize(object));
         LOG.trace("put - key: " + key + ", status: " + status);
     }
 
     @Override
     public void put(String key, Object object) {
-        String status = pool.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+        String status = pool.set(key.getBytes(), valueSerializer.serialize(object));
         LOG.trace("put - key: " + key + ", status: " + status);
     }
 
@@ -122,6 +121,20 @@ public class RedisClusterProvider extends AbstractRedisProvider {
         LOG.trace("remove - key: " + key + ", entriesRemoved: " + entriesRemoved);
     }
 
+    @Override
+    public boolean replace(int expirationInSeconds, String key, Object object) {
+        String status = pool.set(key.getBytes(), valueSerializer.serialize(object), SetParams.setParams().xx().ex(expirationInSeconds));
+        LOG.trace("replace - key: " + key + ", status: " + status);
+        return status != null;
+    }
+
+    @Override
+    public long incrementBy(int expirationInSeconds, String key, long delta) {
+        long value = (Long) pool.eval(INCREMENT_BY_SCRIPT, 1, key, String.valueOf(delta), String.valueOf(expirationInSeconds));
+        LOG.trace("incrementBy - key: " + key + ", value: " + value);
+        return value;
+    }
+
     @Override
     public void clear() {
         LOG.trace("clear not allowed for cluster deployments");
@@ -125,6 +125,34 @@ public class RedisProvider extends AbstractCacheProvider<AbstractRedisProvider>
         redisProvider.remove(key);
     }
 
+    @Override
+    public Object getAndRemove(String key) {
+        if (key == null) {
+            return null;
+        }
+        return redisProvider.getAndRemove(key);
+    }
+
+    @Override
+    public boolean replace(int expirationInSeconds, String key, Object object) {
+        return redisProvider.replace(expirationInSeconds > 0 ? expirationInSeconds : defaultPutExpiration, key, object);
+    }
+
+    @Override
+    public boolean isAtomicGetAndRemoveSupported() {
+        return redisProvider.isAtomicGetAndRemoveSupported();
+    }
+
+    @Override
+    public boolean isCounterSupported() {
+        return true;
+    }
+
+    @Override
+    public long incrementBy(int expirationInSeconds, String key, long delta) {
+        return redisProvider.incrementBy(expirationInSeconds > 0 ? expirationInSeconds : defaultPutExpiration, key, delta);
+    }
+
     @Override
     public void clear() {
         redisProvider.clear();
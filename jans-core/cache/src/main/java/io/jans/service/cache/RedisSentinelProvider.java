@@ -6,12 +6,10 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang3.SerializationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.*;
-
-import java.io.Serializable;
+import redis.clients.jedis.params.SetParams;
 
 import static io.jans.service.cache.RedisClusterProvider.hosts;
 
@@ -89,7 +87,7 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
             byte[] value = resource.get(key.getBytes());
             Object deserialized = null;
             if (value != null && value.length > 0) {
-                deserialized = SerializationUtils.deserialize(value);
+                deserialized = valueSerializer.deserialize(value);
             }
             return deserialized;
         }
@@ -98,7 +96,7 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
     @Override
     public void put(int expirationInSeconds, String key, Object object) {
         try (final Jedis resource = pool.getResource()) {
-            String status = resource.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+            String status = resource.setex(key.getBytes(), expirationInSeconds, valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         }
     }
@@ -106,7 +104,7 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
     @Override
     public void put(String key, Object object) {
         try (final Jedis resource = pool.getResource()) {
-            String status = resource.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+            String status = resource.set(key.getBytes(), valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         }
     }
@@ -119,6 +117,47 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
         }
     }
 
+    @Override
+    public boolean isAtomicGetAndRemoveSupported() {
+        return true;
+    }
+
+    @Override
+    public Object getAndRemove(String key) {
+        try (final Jedis resource = pool.getResource()) {
+            // GET and DEL are executed atomically in MULTI/EXEC block
+            Transaction transaction = resource.multi();
+            Response<byte[]> response = transaction.get(key.getBytes());
+            transaction.del(key.getBytes());
+            transaction.exec();
+
+            byte[] value = response.get();
+            LOG.trace("getAndRemove - key: " + key + ", found: " + (value != null));
+            if (value != null && value.length > 0) {
+                return valueSerializer.deserialize(value);
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public boolean replace(int expirationInSeconds, String key, Object object) {
+        try (final Jedis resource = pool.getResource()) {
+            String status = resource.set(key.getBytes(), valueSerializer.serialize(object), SetParams.setParams().xx().ex(expirationInSeconds));
+            LOG.trace("replace - key: " + key + ", status: " + status);
+            return status != null;
+        }
+    }
+
+    @Override
+    public long incrementBy(int expirationInSeconds, String key, long delta) {
+        try (final Jedis resource = pool.getResource()) {
+            long value = (Long) resource.eval(INCREMENT_BY_SCRIPT, 1, key, String.valueOf(delta), String.valueOf(expirationInSeconds));
+            LOG.trace("incrementBy - key: " + key + ", value: " + value);
+            return value;
+        }
+    }
+
     @Override
     public void clear() {
         try (final Jedis resource = pool.getResource()) {
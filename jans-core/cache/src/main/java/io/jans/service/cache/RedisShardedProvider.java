@@ -6,7 +6,6 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
@@ -17,7 +16,6 @@ import redis.clients.jedis.ShardedJedis;
 import redis.clients.jedis.ShardedJedisPool;
 
 import javax.net.ssl.SSLParameters;
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -120,7 +118,7 @@ public class RedisShardedProvider extends AbstractRedisProvider {
             byte[] value = jedis.get(key.getBytes());
             Object deserialized = null;
             if (value != null && value.length > 0) {
-                deserialized = SerializationUtils.deserialize(value);
+                deserialized = valueSerializer.deserialize(value);
             }
             return deserialized;
         } finally {
@@ -132,7 +130,7 @@ public class RedisShardedProvider extends AbstractRedisProvider {
     public void put(int expirationInSeconds, String key, Object object) {
         ShardedJedis jedis = pool.getResource();
         try {
-            String status = jedis.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+            String status = jedis.setex(key.getBytes(), expirationInSeconds, valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
@@ -143,7 +141,7 @@ public class RedisShardedProvider extends AbstractRedisProvider {
     public void put(String key, Object object) {
         ShardedJedis jedis = pool.getResource();
         try {
-            String status = jedis.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+            String status = jedis.set(key.getBytes(), valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
@@ -161,6 +159,18 @@ public class RedisShardedProvider extends AbstractRedisProvider {
         }
     }
 
+    @Override
+    public long incrementBy(int expirationInSeconds, String key, long delta) {
+        ShardedJedis jedis = pool.getResource();
+        try {
+            long value = (Long) jedis.getShard(key).eval(INCREMENT_BY_SCRIPT, 1, key, String.valueOf(delta), String.valueOf(expirationInSeconds));
+            LOG.trace("incrementBy - key: " + key + ", value: " + value);
+            return value;
+        } finally {
+            jedis.close();
+        }
+    }
+
     @Override
     public void clear() {
         LOG.trace("clear not supported by sharded implemented");
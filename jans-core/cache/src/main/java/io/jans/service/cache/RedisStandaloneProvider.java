@@ -6,7 +6,6 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.slf4j.Logger;
@@ -15,11 +14,13 @@ import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.params.SetParams;
 
 import jakarta.annotation.PreDestroy;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSocketFactory;
-import java.io.Serializable;
 
 /**
  * Important : keep it weld free. It's reused by oxd !
@@ -95,7 +96,7 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
             byte[] value = jedis.get(key.getBytes());
             Object deserialized = null;
             if (value != null && value.length > 0) {
-                deserialized = SerializationUtils.deserialize(value);
+                deserialized = valueSerializer.deserialize(value);
             }
             return deserialized;
         } finally {
@@ -108,7 +109,7 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
         Jedis jedis = pool.getResource();
 
         try {
-            String status = jedis.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+            String status = jedis.setex(key.getBytes(), expirationInSeconds, valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
@@ -120,7 +121,7 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
         Jedis jedis = pool.getResource();
 
         try {
-            String status = jedis.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+            String status = jedis.set(key.getBytes(), valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
@@ -139,6 +140,59 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
         }
     }
 
+    @Override
+    public boolean isAtomicGetAndRemoveSupported() {
+        return true;
+    }
+
+    @Override
+    public Object getAndRemove(String key) {
+        Jedis jedis = pool.getResource();
+
+        try {
+            // GET and DEL are executed atomically in MULTI/EXEC block
+            Transaction transaction = jedis.multi();
+            Response<byte[]> response = transaction.get(key.getBytes());
+            transaction.del(key.getBytes());
+            transaction.exec();
+
+            byte[] value = response.get();
+            LOG.trace("getAndRemove - key: " + key + ", found: " + (value != null));
+            if (value != null && value.length > 0) {
+                return valueSerializer.deserialize(value);
+            }
+            return null;
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public boolean replace(int expirationInSeconds, String key, Object object) {
+        Jedis jedis = pool.getResource();
+
+        try {
+            String status = jedis.set(key.getBytes(), valueSerializer.serialize(object), SetParams.setParams().xx().ex(expirationInSeconds));
+            LOG.trace("replace - key: " + key + ", status: " + status);
+            return status != null;
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public long incrementBy(int expirationInSeconds, String key, long delta) {
+        Jedis jedis = pool.getResource();
+
+        try {
+            long value = (Long) jedis.eval(INCREMENT_BY_SCRIPT, 1, key, String.valueOf(delta), String.valueOf(expirationInSeconds));
+            LOG.trace("incrementBy - key: " + key + ", value: " + value);
+            return value;
+        } finally {
+            jedis.close();
+        }
+    }
+
     @Override
     public void clear() {
         Jedis jedis = pool.getResource();
@@ -0,0 +1,23 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache.codec;
+
+/**
+ * Converts cache values to binary form and back
+ */
+public interface CacheValueCodec {
+
+	/*
+	 * Unique codec identifier which is stored in encoded value header
+	 */
+	byte getFormat();
+
+	byte[] encode(Object object);
+
+	Object decode(byte[] data, int offset, int length);
+
+}
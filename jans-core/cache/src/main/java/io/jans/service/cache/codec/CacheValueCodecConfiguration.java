@@ -0,0 +1,61 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache.codec;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Cache values serialization configuration
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CacheValueCodecConfiguration implements Serializable {
+
+    private static final long serialVersionUID = 3650236413474389251L;
+
+    private CacheValueCodecType codecType = CacheValueCodecType.JAVA;
+
+    private int compressionThreshold = 0; // in bytes, 0 - disable compression
+
+    private List<String> registeredClasses = new ArrayList<>();
+
+    public CacheValueCodecType getCodecType() {
+        return codecType;
+    }
+
+    public void setCodecType(CacheValueCodecType codecType) {
+        this.codecType = codecType;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public List<String> getRegisteredClasses() {
+        return registeredClasses;
+    }
+
+    public void setRegisteredClasses(List<String> registeredClasses) {
+        this.registeredClasses = registeredClasses;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheValueCodecConfiguration{" +
+                "codecType=" + codecType +
+                ", compressionThreshold=" + compressionThreshold +
+                ", registeredClasses=" + registeredClasses +
+                '}';
+    }
+}
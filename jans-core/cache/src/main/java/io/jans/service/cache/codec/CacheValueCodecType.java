@@ -0,0 +1,17 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache.codec;
+
+import jakarta.xml.bind.annotation.XmlEnum;
+
+/**
+ * Supported cache value codecs
+ */
+@XmlEnum(String.class)
+public enum CacheValueCodecType {
+    JAVA, KRYO
+}
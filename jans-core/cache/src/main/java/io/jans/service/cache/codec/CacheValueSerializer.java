@@ -0,0 +1,148 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache.codec;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.SerializationUtils;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Serializes cache values with configured codec.
+ *
+ * Encoded value layout: [version][codec format][flags][original length if compressed][payload].
+ * Values without header are written by Java serialization (default, compatible with previous releases).
+ * Decoding supports both layouts, so entries written by old nodes still can be read during rollout.
+ */
+public class CacheValueSerializer {
+
+	public static final byte VERSION = 1;
+
+	private static final byte FLAG_COMPRESSED = 1;
+
+	private static final int HEADER_LENGTH = 3;
+	private static final int ORIGINAL_LENGTH_LENGTH = 4;
+
+	private static final byte JAVA_STREAM_MAGIC_0 = (byte) 0xAC;
+	private static final byte JAVA_STREAM_MAGIC_1 = (byte) 0xED;
+
+	private static final CacheValueSerializer DEFAULT_INSTANCE = new CacheValueSerializer(new CacheValueCodecConfiguration());
+
+	private final CacheValueCodec codec;
+	private final CacheValueCodec javaCodec;
+	private final CacheValueCodec kryoCodec;
+	private final int compressionThreshold;
+	private final boolean legacyFormat;
+
+	private final LZ4Compressor compressor;
+	private final LZ4FastDecompressor decompressor;
+
+	public CacheValueSerializer(CacheValueCodecConfiguration codecConfiguration) {
+		if (codecConfiguration == null) {
+			codecConfiguration = new CacheValueCodecConfiguration();
+		}
+
+		this.javaCodec = new JavaCacheValueCodec();
+		this.kryoCodec = new KryoCacheValueCodec(codecConfiguration.getRegisteredClasses());
+		this.codec = CacheValueCodecType.KRYO == codecConfiguration.getCodecType() ? kryoCodec : javaCodec;
+		this.compressionThreshold = codecConfiguration.getCompressionThreshold();
+		this.legacyFormat = (codec == javaCodec) && (compressionThreshold <= 0);
+
+		LZ4Factory lz4Factory = LZ4Factory.fastestInstance();
+		this.compressor = lz4Factory.fastCompressor();
+		this.decompressor = lz4Factory.fastDecompressor();
+	}
+
+	public static CacheValueSerializer defaultInstance() {
+		return DEFAULT_INSTANCE;
+	}
+
+	public byte[] serialize(Object object) {
+		if (legacyFormat) {
+			return SerializationUtils.serialize((Serializable) object);
+		}
+
+		byte[] payload = codec.encode(object);
+		if ((compressionThreshold > 0) && (payload.length >= compressionThreshold)) {
+			int maxCompressedLength = compressor.maxCompressedLength(payload.length);
+			byte[] result = new byte[HEADER_LENGTH + ORIGINAL_LENGTH_LENGTH + maxCompressedLength];
+			writeHeader(result, FLAG_COMPRESSED);
+			writeInt(result, HEADER_LENGTH, payload.length);
+
+			int compressedLength = compressor.compress(payload, 0, payload.length, result, HEADER_LENGTH + ORIGINAL_LENGTH_LENGTH, maxCompressedLength);
+			int resultLength = HEADER_LENGTH + ORIGINAL_LENGTH_LENGTH + compressedLength;
+			if (resultLength < HEADER_LENGTH + payload.length) {
+				byte[] trimmed = new byte[resultLength];
+				System.arraycopy(result, 0, trimmed, 0, resultLength);
+				return trimmed;
+			}
+			// Compression is not effective, store original payload
+		}
+
+		byte[] result = new byte[HEADER_LENGTH + payload.length];
+		writeHeader(result, (byte) 0);
+		System.arraycopy(payload, 0, result, HEADER_LENGTH, payload.length);
+
+		return result;
+	}
+
+	public Object deserialize(byte[] data) {
+		if ((data == null) || (data.length == 0)) {
+			return null;
+		}
+
+		if ((data.length >= 2) && (data[0] == JAVA_STREAM_MAGIC_0) && (data[1] == JAVA_STREAM_MAGIC_1)) {
+			return SerializationUtils.deserialize(data);
+		}
+
+		if ((data.length < HEADER_LENGTH) || (data[0] != VERSION)) {
+			throw new IllegalArgumentException("Unsupported cache value format version: " + data[0]);
+		}
+
+		CacheValueCodec dataCodec = getCodec(data[1]);
+		if ((data[2] & FLAG_COMPRESSED) == 0) {
+			return dataCodec.decode(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+		}
+
+		int originalLength = readInt(data, HEADER_LENGTH);
+		byte[] payload = new byte[originalLength];
+		decompressor.decompress(data, HEADER_LENGTH + ORIGINAL_LENGTH_LENGTH, payload, 0, originalLength);
+
+		return dataCodec.decode(payload, 0, originalLength);
+	}
+
+	private CacheValueCodec getCodec(byte format) {
+		if (format == JavaCacheValueCodec.FORMAT) {
+			return javaCodec;
+		} else if (format == KryoCacheValueCodec.FORMAT) {
+			return kryoCodec;
+		}
+
+		throw new IllegalArgumentException("Unsupported cache value codec format: " + format);
+	}
+
+	private void writeHeader(byte[] data, byte flags) {
+		data[0] = VERSION;
+		data[1] = codec.getFormat();
+		data[2] = flags;
+	}
+
+	private static void writeInt(byte[] data, int offset, int value) {
+		data[offset] = (byte) (value >>> 24);
+		data[offset + 1] = (byte) (value >>> 16);
+		data[offset + 2] = (byte) (value >>> 8);
+		data[offset + 3] = (byte) value;
+	}
+
+	private static int readInt(byte[] data, int offset) {
+		return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16) | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+	}
+
+}
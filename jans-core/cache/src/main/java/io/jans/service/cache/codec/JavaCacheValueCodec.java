@@ -0,0 +1,36 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.Serializable;
+
+import org.apache.commons.lang3.SerializationUtils;
+
+/**
+ * Java serialization codec
+ */
+public class JavaCacheValueCodec implements CacheValueCodec {
+
+	public static final byte FORMAT = 1;
+
+	@Override
+	public byte getFormat() {
+		return FORMAT;
+	}
+
+	@Override
+	public byte[] encode(Object object) {
+		return SerializationUtils.serialize((Serializable) object);
+	}
+
+	@Override
+	public Object decode(byte[] data, int offset, int length) {
+		return SerializationUtils.deserialize(new ByteArrayInputStream(data, offset, length));
+	}
+
+}
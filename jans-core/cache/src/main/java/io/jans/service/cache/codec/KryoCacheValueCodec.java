@@ -0,0 +1,101 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache.codec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+
+/**
+ * Kryo codec. Registered classes are written as small integer identifiers instead of class names.
+ * Registration identifiers depend on registration order, hence all nodes should use same list
+ * of registered classes.
+ */
+public class KryoCacheValueCodec implements CacheValueCodec {
+
+	private static final Logger LOG = LoggerFactory.getLogger(KryoCacheValueCodec.class);
+
+	public static final byte FORMAT = 2;
+
+	private static final int OUTPUT_BUFFER_SIZE = 512;
+
+	private static final int FIRST_REGISTRATION_ID = 100;
+
+	private static final List<Class<?>> DEFAULT_REGISTERED_CLASSES = List.of(
+			ArrayList.class, HashMap.class, LinkedHashMap.class, TreeMap.class, HashSet.class, LinkedHashSet.class,
+			Date.class, String[].class);
+
+	private final List<String> registeredClasses;
+	private final ThreadLocal<Kryo> kryos;
+
+	public KryoCacheValueCodec(List<String> registeredClasses) {
+		this.registeredClasses = registeredClasses == null ? Collections.emptyList() : new ArrayList<>(registeredClasses);
+		this.kryos = ThreadLocal.withInitial(this::createKryo);
+	}
+
+	private Kryo createKryo() {
+		Kryo kryo = new Kryo();
+		kryo.setRegistrationRequired(false);
+		kryo.setReferences(true);
+		kryo.setOptimizedGenerics(false);
+		kryo.setClassLoader(getClass().getClassLoader());
+		kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+
+		int registrationId = FIRST_REGISTRATION_ID;
+		for (Class<?> clazz : DEFAULT_REGISTERED_CLASSES) {
+			kryo.register(clazz, registrationId++);
+		}
+
+		for (String className : registeredClasses) {
+			// Keep identifier reserved even if class is not available to get same identifiers on all nodes
+			int classRegistrationId = registrationId++;
+			try {
+				kryo.register(Class.forName(className, false, kryo.getClassLoader()), classRegistrationId);
+			} catch (ClassNotFoundException ex) {
+				LOG.warn("Failed to register class '{}' in Kryo codec", className);
+			}
+		}
+
+		return kryo;
+	}
+
+	@Override
+	public byte getFormat() {
+		return FORMAT;
+	}
+
+	@Override
+	public byte[] encode(Object object) {
+		Output output = new Output(OUTPUT_BUFFER_SIZE, -1);
+		kryos.get().writeClassAndObject(output, object);
+
+		return output.toBytes();
+	}
+
+	@Override
+	public Object decode(byte[] data, int offset, int length) {
+		Input input = new Input(data, offset, length);
+
+		return kryos.get().readClassAndObject(input);
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cdi.event;
+
+/**
+ * Notification that entry (custom script, configuration, etc.) was changed on other node
+ */
+public class ChangeNotificationEvent {
+
+	public static final String CUSTOM_SCRIPT_TYPE = "customScript";
+	public static final String CONFIGURATION_TYPE = "configuration";
+
+	private final String type;
+	private final String id;
+	private final long revision;
+
+	public ChangeNotificationEvent(String type, String id, long revision) {
+		this.type = type;
+		this.id = id;
+		this.revision = revision;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public long getRevision() {
+		return revision;
+	}
+
+	@Override
+	public String toString() {
+		return "ChangeNotificationEvent [type=" + type + ", id=" + id + ", revision=" + revision + "]";
+	}
+
+}
@@ -0,0 +1,26 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cdi.event;
+
+/**
+ * Notifies cluster nodes about changed entries. Nodes receive notifications as {@link ChangeNotificationEvent}
+ */
+public interface ChangeNotificationPublisher {
+
+	/**
+	 * @return true if this node receives notifications, in this case polling can be done rarely
+	 */
+	boolean isActive();
+
+	/**
+	 * @return interval in seconds of polling which is done as safety net while this node receives notifications
+	 */
+	int getPollingInterval();
+
+	void publish(String type, String id, long revision);
+
+}
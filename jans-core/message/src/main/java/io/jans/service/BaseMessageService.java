@@ -8,6 +8,7 @@ package io.jans.service;
 
 import org.slf4j.Logger;
 
+import io.jans.service.message.model.config.MessageProviderType;
 import io.jans.service.message.provider.MessageInterface;
 import io.jans.service.message.provider.MessageProvider;
 import io.jans.service.message.pubsub.PubSubInterface;
@@ -63,6 +64,15 @@ public abstract class BaseMessageService implements MessageInterface {
 		return result;
 	}
 
+	public MessageProviderType getProviderType() {
+		MessageProvider<?> messageProvider = getMessageProvider();
+		if (messageProvider == null) {
+			return null;
+		}
+
+		return messageProvider.getProviderType();
+	}
+
 	protected abstract MessageProvider getMessageProvider();
 
 }
@@ -22,6 +22,8 @@ public class MessageConfiguration implements Serializable {
 
 	private static final long serialVersionUID = 5047285980342633402L;
 
+	public static final int DEFAULT_CHANGE_NOTIFICATION_POLLING_INTERVAL = 600; // 10 minutes
+
 	private MessageProviderType messageProviderType = MessageProviderType.DISABLED;
 
 	@Hidden
@@ -31,6 +33,9 @@ public class MessageConfiguration implements Serializable {
 
 	private PostgresMessageConfiguration postgresConfiguration;
 
+	// Interval in seconds of full scripts reload and configuration revision check if changes are pushed via messages
+	private int changeNotificationPollingInterval = DEFAULT_CHANGE_NOTIFICATION_POLLING_INTERVAL;
+
 	public MessageProviderType getMessageProviderType() {
 		return messageProviderType;
 	}
@@ -63,10 +68,18 @@ public class MessageConfiguration implements Serializable {
 		this.redisConfiguration = redisConfiguration;
 	}
 
+	public int getChangeNotificationPollingInterval() {
+		return changeNotificationPollingInterval;
+	}
+
+	public void setChangeNotificationPollingInterval(int changeNotificationPollingInterval) {
+		this.changeNotificationPollingInterval = changeNotificationPollingInterval;
+	}
+
 	@Override
 	public String toString() {
 		return "MessageConfiguration [messageProviderType=" + messageProviderType + ", nullConfiguration="
 				+ nullConfiguration + ", redisConfiguration=" + redisConfiguration + ", postgresConfiguration="
-				+ postgresConfiguration + "]";
+				+ postgresConfiguration + ", changeNotificationPollingInterval=" + changeNotificationPollingInterval + "]";
 	}
 }
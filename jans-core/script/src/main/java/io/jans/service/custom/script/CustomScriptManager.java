@@ -12,7 +12,10 @@ import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.model.CustomScript;
 import io.jans.model.custom.script.type.BaseExternalType;
+import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.service.cdi.async.Asynchronous;
+import io.jans.service.cdi.event.ChangeNotificationEvent;
+import io.jans.service.cdi.event.ChangeNotificationPublisher;
 import io.jans.service.cdi.event.Scheduled;
 import io.jans.service.cdi.event.UpdateScriptEvent;
 import io.jans.service.custom.inject.ReloadScript;
@@ -30,6 +33,8 @@ import org.slf4j.Logger;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -65,12 +70,17 @@ public class CustomScriptManager {
 	@Inject
 	private Instance<ExternalScriptService> externalScriptServiceInstance;
 
+	@Inject
+	private Instance<ChangeNotificationPublisher> changeNotificationPublisherInstance;
+
 	protected List<CustomScriptType> supportedCustomScriptTypes;
 	private Map<String, CustomScriptConfiguration> customScriptConfigurations;
 
 	private AtomicBoolean isActive;
 	private long lastFinishedTime;
 
+	private final Set<String> pendingScriptInums = ConcurrentHashMap.newKeySet();
+
 	private Map<CustomScriptType, List<CustomScriptConfiguration>> customScriptConfigurationsByScriptType;
 	
     private boolean initialized = false;
@@ -102,6 +112,13 @@ public class CustomScriptManager {
 			return;
 		}
 
+		ChangeNotificationPublisher changeNotificationPublisher = getActiveChangeNotificationPublisher();
+		if ((changeNotificationPublisher != null) && (System.currentTimeMillis() - this.lastFinishedTime < TimeUnit.SECONDS
+				.toMillis(changeNotificationPublisher.getPollingInterval()))) {
+			// Changes are applied by change notifications, full reload is only safety net
+			return;
+		}
+
 		if (!this.isActive.compareAndSet(false, true)) {
 			return;
 		}
@@ -115,6 +132,53 @@ public class CustomScriptManager {
 			this.lastFinishedTime = System.currentTimeMillis();
 			log.trace("Last finished time '{}'", new Date(this.lastFinishedTime));
 		}
+
+		// Apply notifications which were received during full reload
+		reloadPendingScripts();
+	}
+
+	@Asynchronous
+	public void onChangeNotification(@Observes ChangeNotificationEvent changeNotificationEvent) {
+		if (!ChangeNotificationEvent.CUSTOM_SCRIPT_TYPE.equals(changeNotificationEvent.getType()) || !this.initialized) {
+			return;
+		}
+
+		log.debug("Get custom script change notification, inum: '{}', revision: '{}'", changeNotificationEvent.getId(),
+				changeNotificationEvent.getRevision());
+		pendingScriptInums.add(changeNotificationEvent.getId());
+		reloadPendingScripts();
+	}
+
+	private ChangeNotificationPublisher getActiveChangeNotificationPublisher() {
+		if ((changeNotificationPublisherInstance == null) || !changeNotificationPublisherInstance.isResolvable()) {
+			return null;
+		}
+
+		ChangeNotificationPublisher changeNotificationPublisher = changeNotificationPublisherInstance.get();
+		return changeNotificationPublisher.isActive() ? changeNotificationPublisher : null;
+	}
+
+	@SuppressWarnings("java:S1181")
+	private void reloadPendingScripts() {
+		while (!pendingScriptInums.isEmpty() && this.isActive.compareAndSet(false, true)) {
+			try {
+				boolean modified = false;
+				for (Iterator<String> it = pendingScriptInums.iterator(); it.hasNext();) {
+					String inum = it.next();
+					it.remove();
+
+					modified |= reloadCustomScriptConfiguration(inum);
+				}
+
+				if (modified) {
+					updateScriptServices(false);
+				}
+			} catch (Throwable ex) {
+				log.error("Exception happened while reloading custom script configuration", ex);
+			} finally {
+				this.isActive.set(false);
+			}
+		}
 	}
 
 	@SuppressWarnings("java:S1172")
@@ -223,33 +287,8 @@ public class CustomScriptManager {
 					destroyCustomScript(prevCustomScriptConfiguration);
 				}
 
-				// Load script entry with all attributes
-				CustomScript loadedCustomScript = customScriptService.getCustomScriptByDn(
-						newCustomScript.getScriptType().getCustomScriptModel(), newCustomScript.getDn());
-
-				// Prepare configuration attributes
-				Map<String, SimpleCustomProperty> newConfigurationAttributes = new HashMap<>();
-
-				List<SimpleExtendedCustomProperty> simpleCustomProperties = loadedCustomScript
-						.getConfigurationProperties();
-				if (simpleCustomProperties == null) {
-					simpleCustomProperties = new ArrayList<>(0);
-
-				}
-
-				for (SimpleCustomProperty simpleCustomProperty : simpleCustomProperties) {
-					newConfigurationAttributes.put(simpleCustomProperty.getValue1(), simpleCustomProperty);
-				}
-				
-				// Load script
-				BaseExternalType newCustomScriptExternalType = externalTypeCreator.createExternalType(loadedCustomScript,
-						newConfigurationAttributes);
-
-				CustomScriptConfiguration newCustomScriptConfiguration = new CustomScriptConfiguration(
-						loadedCustomScript, newCustomScriptExternalType, newConfigurationAttributes);
-
 				// Store configuration and script
-				newCustomScriptConfigurations.put(newSupportedCustomScriptInum, newCustomScriptConfiguration);
+				newCustomScriptConfigurations.put(newSupportedCustomScriptInum, loadCustomScriptConfiguration(newCustomScript));
 
 				modified = true;
 			}
@@ -274,6 +313,84 @@ public class CustomScriptManager {
 		return new ReloadResult(newCustomScriptConfigurations, modified);
 	}
 
+	/**
+	 * Reloads only one script. It's used to apply change notification without loading of all scripts
+	 */
+	private boolean reloadCustomScriptConfiguration(String inum) {
+		if (this.customScriptConfigurations == null) {
+			return false;
+		}
+
+		CustomScript newCustomScript;
+		try {
+			newCustomScript = customScriptService.getCustomScriptByDn(customScriptService.buildDn(inum),
+					CUSTOM_SCRIPT_CHECK_ATTRIBUTES);
+		} catch (EntryPersistenceException ex) {
+			// Script was removed
+			newCustomScript = null;
+		}
+
+		String supportedCustomScriptInum = StringHelper.toLowerCase(inum);
+		Map<String, CustomScriptConfiguration> newCustomScriptConfigurations = new HashMap<>(this.customScriptConfigurations);
+		CustomScriptConfiguration prevCustomScriptConfiguration = newCustomScriptConfigurations.get(supportedCustomScriptInum);
+
+		boolean supported = (newCustomScript != null) && newCustomScript.isEnabled()
+				&& this.supportedCustomScriptTypes.contains(newCustomScript.getScriptType());
+		if (supported) {
+			if ((prevCustomScriptConfiguration != null) && (prevCustomScriptConfiguration.getCustomScript()
+					.getRevision() == newCustomScript.getRevision())) {
+				return false;
+			}
+
+			// Destroy old version properly before creating new one
+			if (prevCustomScriptConfiguration != null) {
+				destroyCustomScript(prevCustomScriptConfiguration);
+			}
+
+			newCustomScriptConfigurations.put(supportedCustomScriptInum, loadCustomScriptConfiguration(newCustomScript));
+		} else {
+			if (prevCustomScriptConfiguration == null) {
+				return false;
+			}
+
+			destroyCustomScript(prevCustomScriptConfiguration);
+			newCustomScriptConfigurations.remove(supportedCustomScriptInum);
+		}
+
+		log.debug("Custom script '{}' was reloaded", inum);
+		this.customScriptConfigurations = newCustomScriptConfigurations;
+		this.customScriptConfigurationsByScriptType = groupCustomScriptConfigurationsByScriptType(
+				this.customScriptConfigurations);
+
+		return true;
+	}
+
+	private CustomScriptConfiguration loadCustomScriptConfiguration(CustomScript newCustomScript) {
+		// Load script entry with all attributes
+		CustomScript loadedCustomScript = customScriptService.getCustomScriptByDn(
+				newCustomScript.getScriptType().getCustomScriptModel(), newCustomScript.getDn());
+
+		// Prepare configuration attributes
+		Map<String, SimpleCustomProperty> newConfigurationAttributes = new HashMap<>();
+
+		List<SimpleExtendedCustomProperty> simpleCustomProperties = loadedCustomScript
+				.getConfigurationProperties();
+		if (simpleCustomProperties == null) {
+			simpleCustomProperties = new ArrayList<>(0);
+
+		}
+
+		for (SimpleCustomProperty simpleCustomProperty : simpleCustomProperties) {
+			newConfigurationAttributes.put(simpleCustomProperty.getValue1(), simpleCustomProperty);
+		}
+
+		// Load script
+		BaseExternalType newCustomScriptExternalType = externalTypeCreator.createExternalType(loadedCustomScript,
+				newConfigurationAttributes);
+
+		return new CustomScriptConfiguration(loadedCustomScript, newCustomScriptExternalType, newConfigurationAttributes);
+	}
+
 	private boolean destroyCustomScript(CustomScriptConfiguration customScriptConfiguration) {
 		String customScriptInum = customScriptConfiguration.getInum();
 
@@ -0,0 +1,172 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.custom.script;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.model.custom.script.CustomScriptType;
+import io.jans.model.custom.script.model.CustomScript;
+import io.jans.model.custom.script.type.BaseExternalType;
+import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.service.cdi.event.ChangeNotificationEvent;
+import io.jans.service.cdi.event.ChangeNotificationPublisher;
+import io.jans.service.timer.event.TimerEvent;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.inject.Instance;
+
+public class CustomScriptManagerTest {
+
+	private static final String SCRIPT_INUM_1 = "a51e-b19c";
+	private static final String SCRIPT_INUM_2 = "0300-ba90";
+
+	@InjectMocks
+	private CustomScriptManager customScriptManager;
+
+	@Mock
+	private Logger log;
+
+	@Mock
+	private Event<TimerEvent> timerEvent;
+
+	@Mock
+	private ExternalTypeCreator externalTypeCreator;
+
+	@Mock
+	private AbstractCustomScriptService customScriptService;
+
+	@Mock
+	private Event<String> event;
+
+	@Mock
+	private Instance<ExternalScriptService> externalScriptServiceInstance;
+
+	@Mock
+	private Instance<ChangeNotificationPublisher> changeNotificationPublisherInstance;
+
+	private AutoCloseable mocks;
+
+	private List<CustomScript> scripts = Collections.emptyList();
+
+	@BeforeMethod
+	public void beforeMethod() {
+		mocks = MockitoAnnotations.openMocks(this);
+
+		when(externalScriptServiceInstance.iterator()).thenReturn(Collections.emptyIterator());
+		when(externalTypeCreator.createExternalType(any(CustomScript.class), anyMap())).thenAnswer(invocation -> mock(BaseExternalType.class));
+		when(customScriptService.getCustomScriptByDn(any(Class.class), any(String.class)))
+				.thenAnswer(invocation -> scriptByDn(invocation.getArgument(1)));
+		when(customScriptService.getCustomScriptByDn(any(String.class), any(String[].class)))
+				.thenAnswer(invocation -> scriptByDn(invocation.getArgument(0)));
+		when(customScriptService.buildDn(any(String.class))).thenAnswer(invocation -> dn(invocation.getArgument(0)));
+	}
+
+	@AfterMethod
+	public void afterMethod() throws Exception {
+		mocks.close();
+	}
+
+	private static String dn(String inum) {
+		return "inum=" + inum + ",ou=scripts,o=jans";
+	}
+
+	private CustomScript scriptByDn(String dn) {
+		for (CustomScript customScript : scripts) {
+			if (customScript.getDn().equals(dn)) {
+				return customScript;
+			}
+		}
+		throw new EntryPersistenceException("Script is not found: " + dn);
+	}
+
+	private static CustomScript script(String inum, long revision) {
+		CustomScript customScript = new CustomScript(dn(inum), inum, "script_" + inum);
+		customScript.setScriptType(CustomScriptType.PERSON_AUTHENTICATION);
+		customScript.setEnabled(true);
+		customScript.setRevision(revision);
+		return customScript;
+	}
+
+	private void setScripts(CustomScript... customScripts) {
+		scripts = Arrays.asList(customScripts);
+		when(customScriptService.findCustomScripts(anyList(), any(String[].class))).thenReturn(scripts);
+	}
+
+	private void initScripts() {
+		setScripts(script(SCRIPT_INUM_1, 1), script(SCRIPT_INUM_2, 1));
+		customScriptManager.initTimer(List.of(CustomScriptType.PERSON_AUTHENTICATION));
+
+		assertEquals(customScriptManager.getCustomScriptConfigurations().size(), 2);
+	}
+
+	private void notify(String inum, long revision) {
+		customScriptManager.onChangeNotification(new ChangeNotificationEvent(ChangeNotificationEvent.CUSTOM_SCRIPT_TYPE, inum, revision));
+	}
+
+	@Test
+	public void onChangeNotification_whenScriptIsUpdated_shouldReloadOnlyThisScript() {
+		initScripts();
+		CustomScript otherScript = customScriptManager.getCustomScriptConfigurationByInum(SCRIPT_INUM_2).getCustomScript();
+
+		setScripts(script(SCRIPT_INUM_1, 2), otherScript);
+		notify(SCRIPT_INUM_1, 2);
+
+		assertEquals(customScriptManager.getCustomScriptConfigurationByInum(SCRIPT_INUM_1).getCustomScript().getRevision(), 2L);
+		assertEquals(customScriptManager.getCustomScriptConfigurationByInum(SCRIPT_INUM_2).getCustomScript(), otherScript);
+		assertEquals(customScriptManager.getCustomScriptConfigurationsByScriptType(CustomScriptType.PERSON_AUTHENTICATION).size(), 2);
+
+		// Scripts are not searched again, only notified one is loaded
+		verify(customScriptService, times(1)).findCustomScripts(anyList(), any(String[].class));
+		verify(event).fire(CustomScriptManager.CUSTOM_SCRIPT_MODIFIED_EVENT_TYPE);
+	}
+
+	@Test
+	public void onChangeNotification_whenScriptIsRemoved_shouldRemoveOnlyThisScript() {
+		initScripts();
+
+		setScripts(script(SCRIPT_INUM_2, 1));
+		notify(SCRIPT_INUM_1, 2);
+
+		assertNull(customScriptManager.getCustomScriptConfigurationByInum(SCRIPT_INUM_1));
+		assertNotNull(customScriptManager.getCustomScriptConfigurationByInum(SCRIPT_INUM_2));
+		assertEquals(customScriptManager.getCustomScriptConfigurationsByScriptType(CustomScriptType.PERSON_AUTHENTICATION).size(), 1);
+		verify(event).fire(CustomScriptManager.CUSTOM_SCRIPT_MODIFIED_EVENT_TYPE);
+	}
+
+	@Test
+	public void onChangeNotification_whenRevisionIsNotChanged_shouldNotReloadScript() {
+		initScripts();
+		CustomScript script = customScriptManager.getCustomScriptConfigurationByInum(SCRIPT_INUM_1).getCustomScript();
+
+		notify(SCRIPT_INUM_1, 1);
+
+		assertEquals(customScriptManager.getCustomScriptConfigurationByInum(SCRIPT_INUM_1).getCustomScript(), script);
+		verify(event, never()).fire(any(String.class));
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+import io.jans.service.cdi.event.ApplicationInitialized;
+import io.jans.service.cdi.event.ApplicationInitializedEvent;
+import io.jans.service.cdi.event.ChangeNotificationEvent;
+import io.jans.service.cdi.event.ChangeNotificationPublisher;
+import io.jans.service.message.model.config.MessageConfiguration;
+import io.jans.service.message.model.config.MessageProviderType;
+import io.jans.service.message.pubsub.PubSubInterface;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Publishes revisions of changed entries via message provider and fires {@link ChangeNotificationEvent}
+ * on each node which receives them. It allows to apply changes immediately instead of waiting for next
+ * polling of persistence.
+ */
+@ApplicationScoped
+public class ChangeNotificationService implements ChangeNotificationPublisher, PubSubInterface {
+
+	public static final String CHANNEL = "jans_change_notification";
+
+	private static final String SEPARATOR = ":";
+
+	@Inject
+	private Logger log;
+
+	@Inject
+	private MessageService messageService;
+
+	@Inject
+	private MessageConfiguration messageConfiguration;
+
+	@Inject
+	private Event<ChangeNotificationEvent> changeNotificationEvent;
+
+	private volatile boolean active;
+
+	public void init(@Observes @ApplicationInitialized(ApplicationScoped.class) ApplicationInitializedEvent event) {
+		if (!isMessageProviderEnabled()) {
+			log.info("Message provider is disabled. Changes will be applied by polling");
+			return;
+		}
+
+		log.info("Subscribing to change notification channel '{}'", CHANNEL);
+		messageService.subscribe(this, CHANNEL);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if (!active) {
+			return;
+		}
+
+		active = false;
+		messageService.unsubscribe(this);
+	}
+
+	@Override
+	public boolean isActive() {
+		return active;
+	}
+
+	@Override
+	public int getPollingInterval() {
+		int pollingInterval = messageConfiguration.getChangeNotificationPollingInterval();
+		return (pollingInterval > 0) ? pollingInterval : MessageConfiguration.DEFAULT_CHANGE_NOTIFICATION_POLLING_INTERVAL;
+	}
+
+	@Override
+	public void publish(String type, String id, long revision) {
+		if (!isMessageProviderEnabled()) {
+			return;
+		}
+
+		// Message format: type:revision:id
+		boolean result = messageService.publish(CHANNEL, type + SEPARATOR + revision + SEPARATOR + id);
+		if (!result) {
+			log.warn("Failed to publish change notification, type: '{}', id: '{}'", type, id);
+		}
+	}
+
+	private boolean isMessageProviderEnabled() {
+		MessageProviderType messageProviderType = messageService.getProviderType();
+		return (messageProviderType != null) && (MessageProviderType.DISABLED != messageProviderType);
+	}
+
+	@Override
+	public void onMessage(String channel, String message) {
+		String[] parts = message.split(SEPARATOR, 3);
+		if ((parts.length < 3) || StringUtils.isBlank(parts[0]) || StringUtils.isBlank(parts[2])) {
+			log.warn("Get invalid change notification message '{}'", message);
+			return;
+		}
+
+		long revision;
+		try {
+			revision = Long.parseLong(parts[1]);
+		} catch (NumberFormatException ex) {
+			log.warn("Get invalid change notification message '{}'", message);
+			return;
+		}
+
+		ChangeNotificationEvent notification = new ChangeNotificationEvent(parts[0], parts[2], revision);
+		log.debug("Get change notification: {}", notification);
+
+		changeNotificationEvent.fire(notification);
+	}
+
+	@Override
+	public void onSubscribe(String channel, int subscribedChannels) {
+		active = true;
+		log.debug("Subscribed to change notification channel '{}'", channel);
+	}
+
+	@Override
+	public void onUnsubscribe(String channel, int subscribedChannels) {
+		active = false;
+		log.debug("Unsubscribed from change notification channel '{}'", channel);
+	}
+
+}
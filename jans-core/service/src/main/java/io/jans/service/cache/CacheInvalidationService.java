@@ -0,0 +1,127 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+import io.jans.service.MessageService;
+import io.jans.service.cdi.event.ApplicationInitialized;
+import io.jans.service.cdi.event.ApplicationInitializedEvent;
+import io.jans.service.message.model.config.MessageProviderType;
+import io.jans.service.message.pubsub.PubSubInterface;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Propagates near cache invalidations between cluster nodes via message provider
+ */
+@ApplicationScoped
+public class CacheInvalidationService implements CacheInvalidationPublisher, PubSubInterface {
+
+	private static final String OPERATION_REMOVE = "R";
+	private static final String OPERATION_CLEAR = "C";
+	private static final String SEPARATOR = ":";
+
+	@Inject
+	private Logger log;
+
+	@Inject
+	private CacheProvider cacheProvider;
+
+	@Inject
+	private CacheProviderFactory cacheProviderFactory;
+
+	@Inject
+	private MessageService messageService;
+
+	private NearCacheProvider nearCacheProvider;
+	private String channel;
+
+	public void init(@Observes @ApplicationInitialized(ApplicationScoped.class) ApplicationInitializedEvent event) {
+		// Make sure that cache provider is instantiated
+		cacheProvider.getProviderType();
+
+		this.nearCacheProvider = cacheProviderFactory.getNearCacheProvider();
+		if (nearCacheProvider == null) {
+			return;
+		}
+
+		MessageProviderType messageProviderType = messageService.getProviderType();
+		if ((messageProviderType == null) || (MessageProviderType.DISABLED == messageProviderType)) {
+			log.warn("Message provider is disabled. Near cache invalidation will work only in single node deployment");
+			return;
+		}
+
+		this.channel = nearCacheProvider.getNearCacheConfiguration().getInvalidationChannel();
+		if (StringUtils.isBlank(channel)) {
+			channel = NearCacheConfiguration.DEFAULT_INVALIDATION_CHANNEL;
+		}
+
+		log.info("Subscribing to near cache invalidation channel '{}'", channel);
+		messageService.subscribe(this, channel);
+		nearCacheProvider.setInvalidationPublisher(this);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if ((nearCacheProvider == null) || (nearCacheProvider.getInvalidationPublisher() == null)) {
+			return;
+		}
+
+		nearCacheProvider.setInvalidationPublisher(null);
+		messageService.unsubscribe(this);
+	}
+
+	@Override
+	public void publishRemove(String key) {
+		messageService.publish(channel, nearCacheProvider.getNodeId() + SEPARATOR + OPERATION_REMOVE + SEPARATOR + key);
+	}
+
+	@Override
+	public void publishClear() {
+		messageService.publish(channel, nearCacheProvider.getNodeId() + SEPARATOR + OPERATION_CLEAR + SEPARATOR);
+	}
+
+	@Override
+	public void onMessage(String channel, String message) {
+		// Message format: nodeId:operation:key
+		String[] parts = message.split(SEPARATOR, 3);
+		if (parts.length < 2) {
+			log.warn("Get invalid near cache invalidation message '{}'", message);
+			return;
+		}
+
+		if (StringUtils.equals(nearCacheProvider.getNodeId(), parts[0])) {
+			// Skip own messages
+			return;
+		}
+
+		if (OPERATION_CLEAR.equals(parts[1])) {
+			nearCacheProvider.clearLocal();
+		} else if (OPERATION_REMOVE.equals(parts[1]) && (parts.length == 3)) {
+			nearCacheProvider.invalidateLocal(parts[2]);
+		}
+	}
+
+	@Override
+	public void onSubscribe(String channel, int subscribedChannels) {
+		log.debug("Subscribed to near cache invalidation channel '{}'", channel);
+	}
+
+	@Override
+	public void onUnsubscribe(String channel, int subscribedChannels) {
+		log.debug("Unsubscribed from near cache invalidation channel '{}'", channel);
+	}
+
+	public NearCacheProvider getNearCacheProvider() {
+		return nearCacheProvider;
+	}
+
+}
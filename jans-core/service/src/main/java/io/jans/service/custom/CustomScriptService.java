@@ -19,7 +19,9 @@ import io.jans.model.custom.script.model.CustomScript;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SortOrder;
 import io.jans.orm.search.filter.Filter;
+import io.jans.service.ChangeNotificationService;
 import io.jans.service.OrganizationService;
+import io.jans.service.cdi.event.ChangeNotificationEvent;
 import io.jans.service.custom.script.AbstractCustomScriptService;
 import io.jans.util.OxConstants;
 
@@ -36,10 +38,36 @@ public class CustomScriptService extends AbstractCustomScriptService {
     @Inject
     private OrganizationService organizationService;
 
+    @Inject
+    private ChangeNotificationService changeNotificationService;
+
     public String baseDn() {
         return String.format("ou=scripts,%s", organizationService.getDnForOrganization(null));
     }
 
+    @Override
+    public void add(CustomScript customScript) {
+        super.add(customScript);
+        publishChange(customScript);
+    }
+
+    @Override
+    public void update(CustomScript customScript) {
+        super.update(customScript);
+        publishChange(customScript);
+    }
+
+    @Override
+    public void remove(CustomScript customScript) {
+        super.remove(customScript);
+        publishChange(customScript);
+    }
+
+    private void publishChange(CustomScript customScript) {
+        changeNotificationService.publish(ChangeNotificationEvent.CUSTOM_SCRIPT_TYPE, customScript.getInum(),
+                customScript.getRevision());
+    }
+
     public PagedResult<CustomScript> searchScripts(String pattern, String sortBy, String sortOrder, Integer startIndex,
             int limit, int maximumRecCount, CustomScriptType type) {
         log.debug(
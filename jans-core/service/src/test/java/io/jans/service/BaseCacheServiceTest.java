@@ -0,0 +1,169 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.service.cache.CacheConfiguration;
+import io.jans.service.cache.CacheProvider;
+import io.jans.service.cache.InMemoryCacheProvider;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class BaseCacheServiceTest {
+
+    private InMemoryCacheProvider cacheProvider;
+    private BaseCacheService cacheService;
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void beforeMethod() throws Exception {
+        cacheProvider = new InMemoryCacheProvider();
+        cacheProvider.configure(new CacheConfiguration());
+        cacheProvider.create();
+
+        cacheService = new BaseCacheService() {
+
+            @Override
+            protected CacheProvider getCacheProvider() {
+                return cacheProvider;
+            }
+        };
+
+        Field log = BaseCacheService.class.getDeclaredField("log");
+        log.setAccessible(true);
+        log.set(cacheService, LoggerFactory.getLogger(BaseCacheService.class));
+
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterMethod
+    public void afterMethod() {
+        executor.shutdownNow();
+        cacheService.destroy();
+    }
+
+    @Test
+    public void getWithPut_concurrentLoads_shouldCallLoadFunctionOnce() throws Exception {
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> cacheService.getWithPut("key", () -> {
+            loadCount.incrementAndGet();
+            loadStarted.countDown();
+            await(releaseLoad);
+            return "value";
+        }, 60));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        Future<String> second = executor.submit(() -> cacheService.getWithPut("key", () -> {
+            loadCount.incrementAndGet();
+            return "otherValue";
+        }, 60));
+
+        // Give second caller time to join in-flight load
+        while (cacheService.getStampedeAvoidedCount() == 0 && !second.isDone()) {
+            Thread.sleep(10);
+        }
+        releaseLoad.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), "value");
+        assertEquals(second.get(5, TimeUnit.SECONDS), "value");
+        assertEquals(loadCount.get(), 1);
+        assertEquals(cacheService.getStampedeAvoidedCount(), 1);
+        assertEquals(cacheService.get("key"), "value");
+    }
+
+    @Test
+    public void getWithPut_inRefreshAheadWindow_shouldReloadValueInBackground() throws Exception {
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // Entry is in refresh ahead window right after load
+        assertEquals(cacheService.getWithPut("key", () -> "value" + loadCount.incrementAndGet(), 60, 60), "value1");
+
+        // Old value is returned while value is refreshed
+        assertEquals(cacheService.getWithPut("key", () -> "value" + loadCount.incrementAndGet(), 60, 60), "value1");
+
+        waitFor(() -> cacheService.getRefreshAheadCount() == 1);
+        assertEquals(loadCount.get(), 2);
+        assertEquals(cacheService.get("key"), "value2");
+    }
+
+    @Test
+    public void remove_duringRefreshAhead_shouldNotPutReloadedValueBack() throws Exception {
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+
+        cacheService.getWithPut("key", () -> "value", 60, 60);
+        cacheService.getWithPut("key", () -> {
+            refreshStarted.countDown();
+            await(releaseRefresh);
+            return "staleValue";
+        }, 60, 60);
+        assertTrue(refreshStarted.await(5, TimeUnit.SECONDS));
+
+        cacheService.remove("key");
+        releaseRefresh.countDown();
+
+        waitFor(() -> cacheService.getRefreshAheadCount() == 1);
+        assertNull(cacheService.get("key"));
+    }
+
+    @Test
+    public void getWithPut_whenRefreshAheadIsRejected_shouldReturnOldValueWithoutLoad() throws Exception {
+        ExecutorService rejectingExecutor = Executors.newSingleThreadExecutor();
+        rejectingExecutor.shutdown();
+
+        Field refreshAheadExecutor = BaseCacheService.class.getDeclaredField("refreshAheadExecutor");
+        refreshAheadExecutor.setAccessible(true);
+        refreshAheadExecutor.set(cacheService, rejectingExecutor);
+
+        AtomicInteger loadCount = new AtomicInteger();
+        assertEquals(cacheService.getWithPut("key", () -> "value" + loadCount.incrementAndGet(), 60, 60), "value1");
+
+        assertEquals(cacheService.getWithPut("key", () -> "value" + loadCount.incrementAndGet(), 60, 60), "value1");
+        assertEquals(loadCount.get(), 1);
+        assertEquals(cacheService.getRefreshAheadRejectedCount(), 1);
+
+        // Skipped refresh is retried by next read
+        assertEquals(cacheService.getWithPut("key", () -> "value" + loadCount.incrementAndGet(), 60, 60), "value1");
+        assertEquals(cacheService.getRefreshAheadRejectedCount(), 2);
+        assertEquals(loadCount.get(), 1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+}
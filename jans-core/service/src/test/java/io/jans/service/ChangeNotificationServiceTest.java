@@ -0,0 +1,98 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.service.cdi.event.ChangeNotificationEvent;
+import io.jans.service.message.model.config.MessageConfiguration;
+import jakarta.enterprise.event.Event;
+
+public class ChangeNotificationServiceTest {
+
+	@InjectMocks
+	private ChangeNotificationService changeNotificationService;
+
+	@Mock
+	private Logger log;
+
+	@Mock
+	private MessageService messageService;
+
+	@Mock
+	private MessageConfiguration messageConfiguration;
+
+	@Mock
+	private Event<ChangeNotificationEvent> changeNotificationEvent;
+
+	private AutoCloseable mocks;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		mocks = MockitoAnnotations.openMocks(this);
+	}
+
+	@AfterMethod
+	public void afterMethod() throws Exception {
+		mocks.close();
+	}
+
+	private ChangeNotificationEvent captureEvent() {
+		ArgumentCaptor<ChangeNotificationEvent> captor = ArgumentCaptor.forClass(ChangeNotificationEvent.class);
+		verify(changeNotificationEvent).fire(captor.capture());
+
+		return captor.getValue();
+	}
+
+	@Test
+	public void onMessage_withValidMessage_shouldFireEvent() {
+		changeNotificationService.onMessage(ChangeNotificationService.CHANNEL, "customScript:12:a51e-b19c");
+
+		ChangeNotificationEvent event = captureEvent();
+		assertEquals(event.getType(), ChangeNotificationEvent.CUSTOM_SCRIPT_TYPE);
+		assertEquals(event.getRevision(), 12L);
+		assertEquals(event.getId(), "a51e-b19c");
+	}
+
+	@Test
+	public void onMessage_whenIdContainsSeparator_shouldKeepWholeId() {
+		changeNotificationService.onMessage(ChangeNotificationService.CHANNEL, "configuration:3:ou=jans-auth:ou=configuration");
+
+		ChangeNotificationEvent event = captureEvent();
+		assertEquals(event.getType(), ChangeNotificationEvent.CONFIGURATION_TYPE);
+		assertEquals(event.getRevision(), 3L);
+		assertEquals(event.getId(), "ou=jans-auth:ou=configuration");
+	}
+
+	@Test
+	public void onMessage_withInvalidMessage_shouldNotFireEvent() {
+		String[] messages = { "", "customScript", "customScript:12", "customScript:12:", ":12:a51e", "customScript:rev:a51e" };
+		for (String message : messages) {
+			changeNotificationService.onMessage(ChangeNotificationService.CHANNEL, message);
+		}
+
+		verify(changeNotificationEvent, never()).fire(any());
+	}
+
+	@Test
+	public void getPollingInterval_whenNotConfigured_shouldReturnDefault() {
+		assertEquals(changeNotificationService.getPollingInterval(), MessageConfiguration.DEFAULT_CHANGE_NOTIFICATION_POLLING_INTERVAL);
+	}
+
+}
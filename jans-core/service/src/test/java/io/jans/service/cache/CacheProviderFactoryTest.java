@@ -0,0 +1,99 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import jakarta.enterprise.inject.Instance;
+
+public class CacheProviderFactoryTest {
+
+    @InjectMocks
+    private CacheProviderFactory cacheProviderFactory;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private CacheConfiguration cacheConfiguration;
+
+    @Mock
+    private Instance<CacheProvider> instance;
+
+    @Mock
+    private Instance<RedisProvider> redisProviderInstance;
+
+    private RedisProvider redisProvider;
+
+    private AutoCloseable mocks;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        mocks = MockitoAnnotations.openMocks(this);
+
+        redisProvider = mock(RedisProvider.class);
+        when(instance.select(RedisProvider.class)).thenReturn(redisProviderInstance);
+        when(redisProviderInstance.get()).thenReturn(redisProvider);
+        when(cacheConfiguration.getCacheProviderType()).thenReturn(CacheProviderType.REDIS);
+    }
+
+    @AfterMethod
+    public void afterMethod() throws Exception {
+        mocks.close();
+    }
+
+    private void enableNearCache() {
+        NearCacheConfiguration nearCacheConfiguration = new NearCacheConfiguration();
+        nearCacheConfiguration.setEnabled(true);
+        when(cacheConfiguration.getNearCacheConfiguration()).thenReturn(nearCacheConfiguration);
+    }
+
+    @Test
+    public void getCacheProvider_whenNearCacheIsEnabled_shouldCreateNearCacheProviderOnce() {
+        enableNearCache();
+
+        NearCacheProvider nearCacheProvider = cacheProviderFactory.getNearCacheProvider();
+        CacheProvider cacheProvider = cacheProviderFactory.getCacheProvider();
+
+        assertSame(cacheProvider, nearCacheProvider);
+        assertSame(cacheProviderFactory.getNearCacheProvider(), nearCacheProvider);
+        assertSame(nearCacheProvider.getDelegate(), redisProvider);
+        verify(redisProvider, times(1)).create();
+    }
+
+    @Test
+    public void getCacheProvider_withConfiguration_shouldNotReplaceNearCacheProvider() {
+        enableNearCache();
+
+        NearCacheProvider nearCacheProvider = cacheProviderFactory.getNearCacheProvider();
+        CacheProvider cacheProvider = cacheProviderFactory.getCacheProvider(cacheConfiguration);
+
+        assertSame(cacheProvider, redisProvider);
+        assertSame(cacheProviderFactory.getNearCacheProvider(), nearCacheProvider);
+    }
+
+    @Test
+    public void getNearCacheProvider_whenNearCacheIsDisabled_shouldReturnNull() {
+        assertNull(cacheProviderFactory.getNearCacheProvider());
+        assertEquals(cacheProviderFactory.getCacheProvider(), redisProvider);
+    }
+
+}
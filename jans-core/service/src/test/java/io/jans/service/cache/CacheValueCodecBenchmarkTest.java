@@ -0,0 +1,63 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import io.jans.service.cache.codec.CacheValueCodecConfiguration;
+import io.jans.service.cache.codec.CacheValueCodecType;
+import io.jans.service.cache.codec.CacheValueSerializer;
+
+/**
+ * Compares encode/decode time and payload size of cache value codecs.
+ *
+ * Run with -Dbenchmark
+ */
+public class CacheValueCodecBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 20000;
+    private static final int ITERATIONS = 100000;
+
+    @Test
+    public void compareCodecs() {
+        for (int attributesCount : new int[] { 5, 50 }) {
+            SampleSessionId sessionId = CacheValueSerializerTest.createSessionId(attributesCount);
+
+            benchmark("JAVA", new CacheValueSerializer(new CacheValueCodecConfiguration()), sessionId);
+            benchmark("KRYO", new CacheValueSerializer(CacheValueSerializerTest.createConfiguration(CacheValueCodecType.KRYO, 0)), sessionId);
+            benchmark("KRYO+LZ4", new CacheValueSerializer(CacheValueSerializerTest.createConfiguration(CacheValueCodecType.KRYO, 256)), sessionId);
+        }
+    }
+
+    private void benchmark(String name, CacheValueSerializer serializer, Object value) {
+        byte[] data = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            data = serializer.serialize(value);
+            serializer.deserialize(data);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            data = serializer.serialize(value);
+        }
+        long encodeTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serializer.deserialize(data);
+        }
+        long decodeTime = System.nanoTime() - start;
+
+        assertEquals(serializer.deserialize(data), value);
+
+        System.out.println(String.format("%-10s size: %6d bytes, encode: %8.1f ns/op, decode: %8.1f ns/op", name, data.length,
+                (double) encodeTime / ITERATIONS, (double) decodeTime / ITERATIONS));
+    }
+
+}
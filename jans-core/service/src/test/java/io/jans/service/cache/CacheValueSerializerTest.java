@@ -0,0 +1,111 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.testng.annotations.Test;
+
+import io.jans.service.cache.codec.CacheValueCodecConfiguration;
+import io.jans.service.cache.codec.CacheValueCodecType;
+import io.jans.service.cache.codec.CacheValueSerializer;
+
+public class CacheValueSerializerTest {
+
+    @Test
+    public void javaCodec_mustWriteLegacyFormat() {
+        SampleSessionId sessionId = createSessionId(2);
+        CacheValueSerializer serializer = new CacheValueSerializer(new CacheValueCodecConfiguration());
+
+        byte[] data = serializer.serialize(sessionId);
+
+        assertEquals(data, SerializationUtils.serialize(sessionId));
+        assertSessionId((SampleSessionId) serializer.deserialize(data), sessionId);
+    }
+
+    @Test
+    public void kryoCodec_mustDecodeOwnAndLegacyValues() {
+        SampleSessionId sessionId = createSessionId(2);
+        CacheValueSerializer serializer = new CacheValueSerializer(createConfiguration(CacheValueCodecType.KRYO, 0));
+
+        byte[] data = serializer.serialize(sessionId);
+        assertEquals(data[0], CacheValueSerializer.VERSION);
+        assertSessionId((SampleSessionId) serializer.deserialize(data), sessionId);
+
+        byte[] legacyData = SerializationUtils.serialize((Serializable) sessionId);
+        assertSessionId((SampleSessionId) serializer.deserialize(legacyData), sessionId);
+    }
+
+    @Test
+    public void kryoCodecWithCompression_mustRoundTripLargeValues() {
+        SampleSessionId sessionId = createSessionId(200);
+        CacheValueSerializer compressingSerializer = new CacheValueSerializer(createConfiguration(CacheValueCodecType.KRYO, 256));
+        CacheValueSerializer plainSerializer = new CacheValueSerializer(createConfiguration(CacheValueCodecType.KRYO, 0));
+
+        byte[] compressed = compressingSerializer.serialize(sessionId);
+        byte[] plain = plainSerializer.serialize(sessionId);
+        assertTrue(compressed.length < plain.length);
+
+        // Serializer without compression still should be able to read compressed values
+        assertSessionId((SampleSessionId) plainSerializer.deserialize(compressed), sessionId);
+        assertSessionId((SampleSessionId) compressingSerializer.deserialize(plain), sessionId);
+    }
+
+    @Test
+    public void javaCodec_mustDecodeKryoValuesWithSameRegisteredClasses() {
+        SampleSessionId sessionId = createSessionId(2);
+        CacheValueSerializer kryoSerializer = new CacheValueSerializer(createConfiguration(CacheValueCodecType.KRYO, 0));
+        // Node which still writes with Java codec shares registeredClasses of cache configuration
+        CacheValueSerializer javaSerializer = new CacheValueSerializer(createConfiguration(CacheValueCodecType.JAVA, 0));
+
+        byte[] data = kryoSerializer.serialize(sessionId);
+        assertSessionId((SampleSessionId) javaSerializer.deserialize(data), sessionId);
+    }
+
+    static CacheValueCodecConfiguration createConfiguration(CacheValueCodecType codecType, int compressionThreshold) {
+        CacheValueCodecConfiguration configuration = new CacheValueCodecConfiguration();
+        configuration.setCodecType(codecType);
+        configuration.setCompressionThreshold(compressionThreshold);
+        configuration.getRegisteredClasses().add(SampleSessionId.class.getName());
+        configuration.getRegisteredClasses().add(SessionIdState.class.getName());
+
+        return configuration;
+    }
+
+    static SampleSessionId createSessionId(int attributesCount) {
+        Map<String, String> sessionAttributes = new HashMap<>();
+        for (int i = 0; i < attributesCount; i++) {
+            sessionAttributes.put("attr" + i, "value" + i);
+        }
+
+        SampleSessionId sessionId = new SampleSessionId();
+        sessionId.setId(UUID.randomUUID().toString());
+        sessionId.setDn(sessionId.getId());
+        sessionId.setAuthenticationTime(new Date());
+        sessionId.setState(SessionIdState.AUTHENTICATED);
+        sessionId.setSessionAttributes(sessionAttributes);
+
+        return sessionId;
+    }
+
+    private static void assertSessionId(SampleSessionId actual, SampleSessionId expected) {
+        assertEquals(actual.getId(), expected.getId());
+        assertEquals(actual.getDn(), expected.getDn());
+        assertEquals(actual.getAuthenticationTime(), expected.getAuthenticationTime());
+        assertEquals(actual.getState(), expected.getState());
+        assertEquals(actual.getSessionAttributes(), expected.getSessionAttributes());
+    }
+
+}
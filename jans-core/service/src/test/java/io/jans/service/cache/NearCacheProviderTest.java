@@ -0,0 +1,111 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class NearCacheProviderTest {
+
+    private InMemoryCacheProvider l2Cache;
+    private NearCacheProvider cache;
+    private List<String> publishedRemoves;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        l2Cache = new InMemoryCacheProvider();
+        l2Cache.configure(new CacheConfiguration());
+        l2Cache.create();
+
+        NearCacheConfiguration nearCacheConfiguration = new NearCacheConfiguration();
+        nearCacheConfiguration.setMaxTtl(10);
+        nearCacheConfiguration.setLoadedTtl(1);
+
+        publishedRemoves = new ArrayList<>();
+        cache = new NearCacheProvider(l2Cache, nearCacheConfiguration);
+        cache.setInvalidationPublisher(new CacheInvalidationPublisher() {
+
+            @Override
+            public void publishRemove(String key) {
+                publishedRemoves.add(key);
+            }
+
+            @Override
+            public void publishClear() {
+            }
+        });
+        cache.create();
+    }
+
+    @Test
+    public void get_afterPut_shouldHitL1() {
+        cache.put(60, "myKey", "value");
+
+        assertEquals(cache.get("myKey"), "value");
+        assertEquals(l2Cache.get("myKey"), "value");
+        assertEquals(cache.getHits(), 1);
+        assertEquals(cache.getMisses(), 0);
+        assertEquals(publishedRemoves, List.of("myKey"));
+    }
+
+    @Test
+    public void get_onL1Miss_shouldLoadFromL2() {
+        l2Cache.put(60, "myKey", "value");
+
+        assertEquals(cache.get("myKey"), "value");
+        assertEquals(cache.get("myKey"), "value");
+        assertNull(cache.get("unknownKey"));
+
+        assertEquals(cache.getHits(), 1);
+        assertEquals(cache.getMisses(), 2);
+    }
+
+    @Test
+    public void invalidateLocal_shouldReloadEntryFromL2() {
+        cache.put(60, "myKey", "value");
+
+        // Other node changed entry
+        l2Cache.put(60, "myKey", "newValue");
+        assertEquals(cache.get("myKey"), "value");
+
+        cache.invalidateLocal("myKey");
+
+        assertEquals(cache.get("myKey"), "newValue");
+        assertEquals(cache.getInvalidations(), 1);
+        assertEquals(l2Cache.get("myKey"), "newValue");
+    }
+
+    @Test
+    public void get_onL1Miss_shouldKeepEntryForLoadedTtlOnly() throws InterruptedException {
+        l2Cache.put(60, "myKey", "value");
+        assertEquals(cache.get("myKey"), "value");
+
+        Thread.sleep(1500);
+
+        assertEquals(cache.get("myKey"), "value");
+        assertEquals(cache.getHits(), 0);
+        assertEquals(cache.getMisses(), 2);
+    }
+
+    @Test
+    public void put_shouldExpireL1EntryBeforeL2Entry() throws InterruptedException {
+        cache.put(2, "myKey", "value");
+
+        Thread.sleep(1500);
+
+        // L1 entry expired after 1 second, L2 entry is still there
+        assertEquals(cache.get("myKey"), "value");
+        assertEquals(cache.getMisses(), 1);
+    }
+
+}
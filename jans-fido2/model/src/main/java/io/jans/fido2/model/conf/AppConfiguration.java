@@ -14,6 +14,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import io.jans.as.model.configuration.Configuration;
 import io.jans.doc.annotation.DocProperty;
+import io.jans.fido2.model.metric.Fido2MetricsOverflowPolicy;
 import jakarta.enterprise.inject.Vetoed;
 /**
  * Represents the configuration JSON file.
@@ -91,6 +92,18 @@ public class AppConfiguration implements Configuration, Serializable {
 	
 	@DocProperty(description = "Interval in minutes for FIDO2 metrics aggregation", defaultValue = "60")
     private int fido2MetricsAggregationInterval = 60;
+
+	@DocProperty(description = "Maximum number of FIDO2 metrics entries queued for persistence", defaultValue = "10000")
+    private int fido2MetricsQueueCapacity = 10000;
+
+	@DocProperty(description = "Maximum number of FIDO2 metrics entries persisted in one batch", defaultValue = "100")
+    private int fido2MetricsBatchSize = 100;
+
+	@DocProperty(description = "Number of threads which persist queued FIDO2 metrics entries", defaultValue = "1")
+    private int fido2MetricsWriterThreads = 1;
+
+	@DocProperty(description = "Policy applied when FIDO2 metrics queue is full: DROP_NEWEST, DROP_OLDEST or BLOCK", defaultValue = "DROP_NEWEST")
+    private Fido2MetricsOverflowPolicy fido2MetricsOverflowPolicy = Fido2MetricsOverflowPolicy.DROP_NEWEST;
 	
 	@DocProperty(description = "Custom object class list for dynamic person enrolment")
     private List<String> personCustomObjectClassList;
@@ -262,6 +275,38 @@ public class AppConfiguration implements Configuration, Serializable {
 		this.fido2MetricsAggregationInterval = fido2MetricsAggregationInterval;
 	}
 
+	public int getFido2MetricsQueueCapacity() {
+		return fido2MetricsQueueCapacity;
+	}
+
+	public void setFido2MetricsQueueCapacity(int fido2MetricsQueueCapacity) {
+		this.fido2MetricsQueueCapacity = fido2MetricsQueueCapacity;
+	}
+
+	public int getFido2MetricsBatchSize() {
+		return fido2MetricsBatchSize;
+	}
+
+	public void setFido2MetricsBatchSize(int fido2MetricsBatchSize) {
+		this.fido2MetricsBatchSize = fido2MetricsBatchSize;
+	}
+
+	public int getFido2MetricsWriterThreads() {
+		return fido2MetricsWriterThreads;
+	}
+
+	public void setFido2MetricsWriterThreads(int fido2MetricsWriterThreads) {
+		this.fido2MetricsWriterThreads = fido2MetricsWriterThreads;
+	}
+
+	public Fido2MetricsOverflowPolicy getFido2MetricsOverflowPolicy() {
+		return fido2MetricsOverflowPolicy;
+	}
+
+	public void setFido2MetricsOverflowPolicy(Fido2MetricsOverflowPolicy fido2MetricsOverflowPolicy) {
+		this.fido2MetricsOverflowPolicy = fido2MetricsOverflowPolicy;
+	}
+
 	public List<String> getPersonCustomObjectClassList() {
 		return personCustomObjectClassList;
 	}
@@ -0,0 +1,52 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.model.conf;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Storage of pending registration/authentication requests between options and result calls
+ */
+public enum CeremonyStoreType {
+
+    CACHE("cache"), DATABASE("database");
+
+    private final String value;
+
+    CeremonyStoreType(String value) {
+        this.value = value;
+    }
+
+    private static final Map<String, CeremonyStoreType> mapByValues = new HashMap<>();
+
+    static {
+        for (CeremonyStoreType enumType : values()) {
+            mapByValues.put(enumType.getValue(), enumType);
+        }
+    }
+
+    @JsonCreator
+    public static CeremonyStoreType forValues(String value) {
+        return getByValue(value);
+    }
+
+    public static CeremonyStoreType getByValue(String value) {
+        return value == null ? null : mapByValues.get(value.toLowerCase());
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -35,6 +35,8 @@ public class Fido2Configuration {
 	private int unfinishedRequestExpiration = 120; // 120 seconds
 	@DocProperty(description = "Expiration time in seconds for approved authentication requests")
 	private int authenticationHistoryExpiration = 15 * 24 * 3600; // 15 days
+	@DocProperty(description = "Storage of pending enrollment/authentication requests: cache or database. Cache is used only with shared cache provider which removes entries atomically, otherwise database is used", defaultValue = "database")
+	private String ceremonyStore = CeremonyStoreType.DATABASE.getValue();
 
 	@DocProperty(description = "Authenticators metadata in json format")
 	private String serverMetadataFolder;
@@ -86,6 +88,14 @@ public class Fido2Configuration {
 		this.unfinishedRequestExpiration = unfinishedRequestExpiration;
 	}
 
+	public String getCeremonyStore() {
+		return ceremonyStore;
+	}
+
+	public void setCeremonyStore(String ceremonyStore) {
+		this.ceremonyStore = ceremonyStore;
+	}
+
 	public String getServerMetadataFolder() {
 		return serverMetadataFolder;
 	}
@@ -203,7 +213,8 @@ public class Fido2Configuration {
 		return "Fido2Configuration [authenticatorCertsFolder=" + authenticatorCertsFolder + ", mdsCertsFolder="
 				+ mdsCertsFolder + ", mdsTocsFolder=" + mdsTocsFolder + ", userAutoEnrollment="
 				+ userAutoEnrollment + ", unfinishedRequestExpiration=" + unfinishedRequestExpiration
-				+ ", authenticationHistoryExpiration=" + authenticationHistoryExpiration + ", serverMetadataFolder="
+				+ ", authenticationHistoryExpiration=" + authenticationHistoryExpiration + ", ceremonyStore="
+				+ ceremonyStore + ", serverMetadataFolder="
 				+ serverMetadataFolder + ", enabledFidoAlgorithms=" + enabledFidoAlgorithms + ", requestedParties="
 				+ requestedParties + ", metadataServers=" + metadataServers + ", disableMetadataService="
 				+ disableMetadataService + ", hints=" + hints + ", enterpriseAttestation=" + enterpriseAttestation
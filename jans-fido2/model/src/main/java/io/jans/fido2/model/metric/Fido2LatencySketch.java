@@ -0,0 +1,176 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.model.metric;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable latency histogram with logarithmic buckets. Each bucket covers values within
+ * RELATIVE_ACCURACY of its representative value, so quantiles computed from merged sketches
+ * have bounded relative error regardless of how many values were recorded.
+ * Not thread safe.
+ */
+public class Fido2LatencySketch {
+
+    public static final double RELATIVE_ACCURACY = 0.02;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private static final String COUNT = "count";
+    private static final String SUM = "sum";
+    private static final String MIN = "min";
+    private static final String MAX = "max";
+    private static final String ZERO_COUNT = "zeroCount";
+    private static final String BUCKETS = "buckets";
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public void add(long value) {
+        if (value <= 0) {
+            zeroCount++;
+        } else {
+            buckets.merge(index(value), 1L, Long::sum);
+        }
+        count++;
+        sum += Math.max(0, value);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(Fido2LatencySketch other) {
+        if (other == null || other.isEmpty()) {
+            return;
+        }
+
+        other.buckets.forEach((index, bucketCount) -> buckets.merge(index, bucketCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @param quantile value in range [0, 1]
+     * @return approximate value at quantile or null if sketch is empty
+     */
+    public Long getQuantile(double quantile) {
+        if (isEmpty()) {
+            return null;
+        }
+
+        long rank = (long) Math.floor(Math.min(1, Math.max(0, quantile)) * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return Math.max(min, 0L);
+        }
+
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (rank < seen) {
+                long value = Math.round(2 * Math.pow(GAMMA, bucket.getKey()) / (GAMMA + 1));
+                return Math.min(max, Math.max(min, value));
+            }
+        }
+
+        return max;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public Long getMin() {
+        return isEmpty() ? null : min;
+    }
+
+    public Long getMax() {
+        return isEmpty() ? null : max;
+    }
+
+    public Double getAverage() {
+        return isEmpty() ? null : (double) sum / count;
+    }
+
+    private static int index(long value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    /**
+     * Converts sketch into map which can be stored as JSON in metrics data
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new HashMap<>();
+        result.put(COUNT, count);
+        result.put(SUM, sum);
+        result.put(ZERO_COUNT, zeroCount);
+        if (!isEmpty()) {
+            result.put(MIN, min);
+            result.put(MAX, max);
+        }
+
+        Map<String, Long> bucketsMap = new HashMap<>();
+        buckets.forEach((index, bucketCount) -> bucketsMap.put(Integer.toString(index), bucketCount));
+        result.put(BUCKETS, bucketsMap);
+
+        return result;
+    }
+
+    /**
+     * Restores sketch from map created by {@link #toMap()}. Numbers may be deserialized as any {@link Number} type
+     */
+    public static Fido2LatencySketch fromMap(Map<?, ?> map) {
+        Fido2LatencySketch sketch = new Fido2LatencySketch();
+        if (map == null) {
+            return sketch;
+        }
+
+        sketch.count = toLong(map.get(COUNT));
+        if (sketch.count == 0) {
+            return new Fido2LatencySketch();
+        }
+
+        sketch.sum = toLong(map.get(SUM));
+        sketch.zeroCount = toLong(map.get(ZERO_COUNT));
+        sketch.min = toLong(map.get(MIN));
+        sketch.max = toLong(map.get(MAX));
+
+        Object bucketsValue = map.get(BUCKETS);
+        if (bucketsValue instanceof Map) {
+            for (Map.Entry<?, ?> bucket : ((Map<?, ?>) bucketsValue).entrySet()) {
+                try {
+                    sketch.buckets.merge(Integer.parseInt(String.valueOf(bucket.getKey())), toLong(bucket.getValue()), Long::sum);
+                } catch (NumberFormatException e) {
+                    // Skip invalid bucket
+                }
+            }
+        }
+
+        return sketch;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+}
@@ -30,6 +30,7 @@ public final class Fido2MetricsConstants {
     public static final String DROP_OFF_RATE = "dropOffRate";
 
     // Aggregation Types
+    public static final String MINUTE = "MINUTE";
     public static final String HOURLY = "HOURLY";
     public static final String DAILY = "DAILY";
     public static final String WEEKLY = "WEEKLY";
@@ -104,6 +105,22 @@ public final class Fido2MetricsConstants {
     public static final String ERROR_COUNTS = "errorCounts";
     public static final String PERFORMANCE_METRICS = "performanceMetrics";
     public static final String TOTAL_OPERATIONS = "totalOperations";
+    public static final String STATUS_COUNTS = "statusCounts";
+    public static final String CLIENT_DEVICE_TYPES = "clientDeviceTypes";
+    public static final String BROWSERS = "browsers";
+    public static final String OPERATING_SYSTEMS = "operatingSystems";
+    public static final String ERROR_CATEGORIES = "errorCategories";
+    public static final String REGISTRATION_DURATION_SKETCH = "registrationDurationSketch";
+    public static final String AUTHENTICATION_DURATION_SKETCH = "authenticationDurationSketch";
+    public static final String USER_ID_SKETCH = "userIdSketch";
+
+    // Duration statistics suffixes, e.g. registration + MIN_DURATION = registrationMinDuration
+    public static final String AVG_DURATION = "AvgDuration";
+    public static final String MIN_DURATION = "MinDuration";
+    public static final String MAX_DURATION = "MaxDuration";
+    public static final String P50_DURATION = "P50Duration";
+    public static final String P95_DURATION = "P95Duration";
+    public static final String P99_DURATION = "P99Duration";
     
     // Period/Time related
     public static final String CURRENT_PERIOD = "currentPeriod";
@@ -0,0 +1,23 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.model.metric;
+
+/**
+ * Defines what happens with new FIDO2 metrics entry when ingestion queue is full
+ */
+public enum Fido2MetricsOverflowPolicy {
+
+    // Drop new entry
+    DROP_NEWEST,
+
+    // Drop the oldest queued entry to free space for new one
+    DROP_OLDEST,
+
+    // Wait for free space for a short time, then drop new entry
+    BLOCK
+
+}
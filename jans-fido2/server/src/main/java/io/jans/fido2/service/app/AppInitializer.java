@@ -12,6 +12,7 @@ import io.jans.exception.ConfigurationException;
 import io.jans.fido2.service.shared.LoggerService;
 import io.jans.fido2.service.shared.MetricService;
 import io.jans.fido2.service.metric.Fido2MetricsAggregationScheduler;
+import io.jans.fido2.service.metric.Fido2MetricsPreAggregator;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.as.common.service.common.ApplicationFactory;
 import io.jans.orm.PersistenceEntryManager;
@@ -105,6 +106,9 @@ public class AppInitializer {
 	@Inject
 	private MDS3UpdateTimer mds3UpdateTimer;
 
+	@Inject
+	private Fido2MetricsPreAggregator fido2MetricsPreAggregator;
+
 	@Inject
 	private Instance<Fido2MetricsAggregationScheduler> fido2MetricsAggregationSchedulerInstance;
 
@@ -197,6 +201,13 @@ public class AppInitializer {
 			log.error("Failed to initialize MDS3 update timer: {}", e.getMessage(), e);
 		}
 		
+		try {
+			fido2MetricsPreAggregator.initTimer();
+			log.info("FIDO2 metrics pre-aggregation timer initialized");
+		} catch (Exception e) {
+			log.error("Failed to initialize FIDO2 metrics pre-aggregation timer: {}", e.getMessage(), e);
+		}
+		
 		try {
 			customScriptManager.initTimer(supportedCustomScriptTypes);
 			log.info("Custom script manager timer initialized");
@@ -64,6 +64,9 @@ public class AttestationCertificateService {
 	@Inject
 	private LocalMdsService localMdsService;
 
+	@Inject
+	private TocService tocService;
+
     @Inject
     private DataMapperService dataMapperService;
 
@@ -99,6 +102,12 @@ public class AttestationCertificateService {
 
 	public List<X509Certificate> getAttestationRootCertificates(JsonNode metadataNode,
 			List<X509Certificate> attestationCertificates) {
+		// Certificates of TOC entries are decoded when TOC is loaded
+		List<X509Certificate> tocRootCertificates = tocService.getAttestationRootCertificates(metadataNode);
+		if (tocRootCertificates != null) {
+			return tocRootCertificates;
+		}
+
 		JsonNode metaDataStatement = null;
 		// incase of u2f-fido2 attestation
 		if ((metadataNode != null)) {
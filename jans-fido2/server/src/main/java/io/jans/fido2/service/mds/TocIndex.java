@@ -0,0 +1,197 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.service.mds;
+
+import static java.time.format.DateTimeFormatter.ISO_DATE;
+
+import java.security.cert.X509Certificate;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Immutable index of TOC entries by AAGUID, AAID and attestation certificate key identifier.
+ * Index is never modified after creation, refresh builds new index and replaces reference to it.
+ * Because of this lookups don't need synchronization.
+ */
+final class TocIndex {
+
+	static final TocIndex EMPTY = new Builder(-1, null).build();
+
+	private static final String STATUS_REPORTS = "statusReports";
+	private static final String TIME_OF_LAST_STATUS_CHANGE = "timeOfLastStatusChange";
+
+	private final int serialNo;
+	private final LocalDate nextUpdate;
+
+	private final Map<String, Entry> aaguidEntries;
+	private final Map<String, Entry> aaidEntries;
+	private final Map<String, Entry> keyIdentifierEntries;
+	private final Map<JsonNode, Entry> metadataEntries;
+
+	private TocIndex(Builder builder) {
+		this.serialNo = builder.serialNo;
+		this.nextUpdate = builder.nextUpdate;
+		this.aaguidEntries = Collections.unmodifiableMap(builder.aaguidEntries);
+		this.aaidEntries = Collections.unmodifiableMap(builder.aaidEntries);
+		this.keyIdentifierEntries = Collections.unmodifiableMap(builder.keyIdentifierEntries);
+
+		Map<JsonNode, Entry> metadataEntries = new IdentityHashMap<>();
+		putMetadataEntries(metadataEntries, aaguidEntries);
+		putMetadataEntries(metadataEntries, aaidEntries);
+		putMetadataEntries(metadataEntries, keyIdentifierEntries);
+		this.metadataEntries = Collections.unmodifiableMap(metadataEntries);
+	}
+
+	private static void putMetadataEntries(Map<JsonNode, Entry> metadataEntries, Map<String, Entry> entries) {
+		for (Entry entry : entries.values()) {
+			metadataEntries.put(entry.getMetadata(), entry);
+		}
+	}
+
+	public int getSerialNo() {
+		return serialNo;
+	}
+
+	public LocalDate getNextUpdate() {
+		return nextUpdate;
+	}
+
+	public boolean isEmpty() {
+		return metadataEntries.isEmpty();
+	}
+
+	public int size() {
+		return aaguidEntries.size() + aaidEntries.size() + keyIdentifierEntries.size();
+	}
+
+	public Entry getByAaguid(String aaguid) {
+		return aaguidEntries.get(aaguid);
+	}
+
+	public Entry getByAaid(String aaid) {
+		return aaidEntries.get(aaid);
+	}
+
+	public Entry getByKeyIdentifier(String keyIdentifier) {
+		return keyIdentifierEntries.get(keyIdentifier);
+	}
+
+	/**
+	 * Find entry by AAGUID, AAID or attestation certificate key identifier
+	 */
+	public Entry get(String key) {
+		Entry entry = aaguidEntries.get(key);
+		if (entry == null) {
+			entry = aaidEntries.get(key);
+		}
+		if (entry == null) {
+			entry = keyIdentifierEntries.get(key);
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Find entry by metadata node instance returned from this index
+	 */
+	public Entry getByMetadata(JsonNode metadata) {
+		return metadataEntries.get(metadata);
+	}
+
+	/**
+	 * TOC entry with decoded attestation root certificates of metadata statement
+	 */
+	static final class Entry {
+
+		private final JsonNode metadata;
+		private final List<X509Certificate> rootCertificates;
+
+		Entry(JsonNode metadata, List<X509Certificate> rootCertificates) {
+			this.metadata = metadata;
+			this.rootCertificates = rootCertificates == null ? null : Collections.unmodifiableList(rootCertificates);
+		}
+
+		public JsonNode getMetadata() {
+			return metadata;
+		}
+
+		/**
+		 * @return Decoded attestationRootCertificates or null if metadata statement doesn't contain them
+		 */
+		public List<X509Certificate> getRootCertificates() {
+			return rootCertificates;
+		}
+
+		/**
+		 * Metadata entry is updated together with its status reports, so entry with same status reports
+		 * and time of last status change can be reused after refresh
+		 */
+		public boolean hasSameStatus(JsonNode metadataEntry) {
+			return Objects.equals(metadata.get(STATUS_REPORTS), metadataEntry.get(STATUS_REPORTS))
+					&& Objects.equals(metadata.get(TIME_OF_LAST_STATUS_CHANGE), metadataEntry.get(TIME_OF_LAST_STATUS_CHANGE));
+		}
+
+		private LocalDate getTimeOfLastStatusChange() {
+			JsonNode dateNode = metadata.get(TIME_OF_LAST_STATUS_CHANGE);
+			if (dateNode == null) {
+				return LocalDate.now();
+			}
+
+			return LocalDate.parse(dateNode.asText(), ISO_DATE);
+		}
+
+	}
+
+	static final class Builder {
+
+		private final int serialNo;
+		private final LocalDate nextUpdate;
+
+		private final Map<String, Entry> aaguidEntries = new HashMap<>();
+		private final Map<String, Entry> aaidEntries = new HashMap<>();
+		private final Map<String, Entry> keyIdentifierEntries = new HashMap<>();
+
+		Builder(int serialNo, LocalDate nextUpdate) {
+			this.serialNo = serialNo;
+			this.nextUpdate = nextUpdate;
+		}
+
+		public Builder addAaguidEntry(String aaguid, Entry entry) {
+			put(aaguidEntries, aaguid, entry);
+			return this;
+		}
+
+		public Builder addAaidEntry(String aaid, Entry entry) {
+			put(aaidEntries, aaid, entry);
+			return this;
+		}
+
+		public Builder addKeyIdentifierEntry(String keyIdentifier, Entry entry) {
+			put(keyIdentifierEntries, keyIdentifier, entry);
+			return this;
+		}
+
+		public TocIndex build() {
+			return new TocIndex(this);
+		}
+
+		private static void put(Map<String, Entry> entries, String key, Entry entry) {
+			// Keep entry with latest status change if there are duplicates
+			entries.merge(key, entry, (existing, added) -> existing.getTimeOfLastStatusChange()
+					.isAfter(added.getTimeOfLastStatusChange()) ? existing : added);
+		}
+
+	}
+
+}
@@ -13,6 +13,7 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.security.MessageDigest;
+import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPublicKey;
@@ -20,13 +21,9 @@ import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
@@ -56,15 +53,14 @@ import io.jans.service.cdi.event.ApplicationInitialized;
 import io.jans.service.document.store.exception.DocumentException;
 import io.jans.service.document.store.model.Document;
 import io.jans.service.document.store.service.DBDocumentService;
-import io.jans.util.Pair;
 import io.jans.util.StringHelper;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 
 /**
- * TOC is parsed and Hashmap containing JSON object of individual Authenticators
- * is created.
+ * TOC is parsed and index containing JSON object of individual Authenticators
+ * is created. Index is immutable and replaced on refresh, so lookups are lock free.
  *
  */
 @ApplicationScoped
@@ -93,7 +89,7 @@ public class TocService {
 
 	private static final String ADDED_TOC_ENTRY_LOG = "Added TOC entry: {} ";
 
-	private Map<String, JsonNode> tocEntries;
+	private volatile TocIndex tocIndex = TocIndex.EMPTY;
 
 	private LocalDate nextUpdate;
 	private MessageDigest digester;
@@ -103,11 +99,11 @@ public class TocService {
 	}
 
 	public void refreshTOCEntries() {
-		this.tocEntries = Collections.synchronizedMap(new HashMap<String, JsonNode>());
 		if (appConfiguration.getFido2Configuration().isDisableMetadataService()) {
 			log.debug("SkipDownloadMds is enabled");
+			this.tocIndex = TocIndex.EMPTY;
 		} else {
-			tocEntries.putAll(parseTOCs());
+			this.tocIndex = parseTOCs();
 		}
 	}
 
@@ -141,31 +137,31 @@ public class TocService {
 		}
 	}
 
-	private Map<String, JsonNode> parseTOCs() {
+	private TocIndex parseTOCs() {
 		Fido2Configuration fido2Configuration = appConfiguration.getFido2Configuration();
-		List<Map<String, JsonNode>> maps = new ArrayList<>();
-		
+
 		String mdsTocRootCertsFolder = fido2Configuration.getMdsCertsFolder();
 		if (StringHelper.isEmpty(mdsTocRootCertsFolder)) {
 			log.warn("Fido2 MDS cert and TOC properties should be set");
-			return new HashMap<>();
+			return TocIndex.EMPTY;
 		}
 		log.info("Populating TOC certs entries from {}", mdsTocRootCertsFolder);
 
 		try {
 			Document mdsDocument = dbDocumentService.getDocumentByDisplayName("mdsTocsFolder");
-			Pair<LocalDate, Map<String, JsonNode>> result = parseTOC(mdsTocRootCertsFolder, mdsDocument.getDocument());
-			log.info("Get TOC {} entries with nextUpdate date {}", result.getSecond().size(), result.getFirst());
+			TocIndex result = parseTOC(mdsTocRootCertsFolder, mdsDocument.getDocument());
+			log.info("Get TOC {} entries with nextUpdate date {}", result.size(), result.getNextUpdate());
+			log.info("🔐 MedataUrlsProvider successfully loaded");
 
-			maps.add(result.getSecond());
+			return result;
 		} catch (Exception e) {
 			log.warn("Can't access document : {}", e.getMessage(), e);
 		}
 
-		return mergeAndResolveDuplicateEntries(maps);
+		return TocIndex.EMPTY;
 	}
 
-	private Pair<LocalDate, Map<String, JsonNode>> parseTOC(String mdsTocRootCertsFolder, String content)
+	private TocIndex parseTOC(String mdsTocRootCertsFolder, String content)
 			throws IOException, ParseException {
 		String decodedString = new String(base64Service.decode(content));
 		return readEntriesFromTocJWT(decodedString, mdsTocRootCertsFolder, true);
@@ -259,54 +255,42 @@ public class TocService {
 		}
 	}
 
-	private Map<String, JsonNode> mergeAndResolveDuplicateEntries(List<Map<String, JsonNode>> maps) {
-		Map<String, JsonNode> allEntries = new HashMap<>();
-		Map<String, JsonNode> a[] = new Map[maps.size()];
-		maps.toArray(a);
-
-		allEntries.putAll(Stream.of(a).flatMap(m -> m.entrySet().stream())
-				.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (v1, v2) -> {
-					log.warn("Duplicate values {} {}", v1, v2);
-
-					LocalDate dateV1 = getDate(v1);
-					LocalDate dateV2 = getDate(v2);
-
-					JsonNode result;
-					if (dateV1.isAfter(dateV2)) {
-						result = v1;
-					} else {
-						result = v2;
-					}
-
-					log.debug("Selected value {} ", result);
-
-					return result;
-				})));
-		log.info("🔐 MedataUrlsProvider successfully loaded");
-		return allEntries;
+	public JsonNode getAuthenticatorsMetadata(String aaguid) {
+		TocIndex.Entry entry = tocIndex.get(aaguid);
+		if (entry == null) {
+			log.warn("No entry found for AAGUID: {}", aaguid);
+			return null;
+		}
+		return entry.getMetadata();
 	}
 
-	private LocalDate getDate(JsonNode node) {
-		JsonNode dateNode = node.get("timeOfLastStatusChange");
-		LocalDate date;
-		if (dateNode != null) {
-			date = LocalDate.parse(dateNode.asText(), ISO_DATE);
-		} else {
-			date = LocalDate.now();
+	/**
+	 * Returns attestation root certificates decoded when TOC was loaded
+	 *
+	 * @param metadataNode TOC entry returned by {@link #getAuthenticatorsMetadata(String)}
+	 * @return List with certificates or null if node is not TOC entry or it has no attestationRootCertificates
+	 */
+	public List<X509Certificate> getAttestationRootCertificates(JsonNode metadataNode) {
+		if (metadataNode == null) {
+			return null;
 		}
-		return date;
-	}
 
-	public JsonNode getAuthenticatorsMetadata(String aaguid) {
-		if (tocEntries == null) {
-			log.warn("TOC entries map is null");
+		TocIndex.Entry entry = tocIndex.getByMetadata(metadataNode);
+		if ((entry == null) || (entry.getRootCertificates() == null)) {
 			return null;
 		}
-		JsonNode entry = tocEntries.get(aaguid);
-		if (entry == null) {
-			log.warn("No entry found for AAGUID: {}", aaguid);
+
+		List<X509Certificate> rootCertificates = entry.getRootCertificates();
+		for (X509Certificate rootCertificate : rootCertificates) {
+			try {
+				rootCertificate.checkValidity();
+			} catch (CertificateException e) {
+				log.warn("Certificate not valid {}", rootCertificate.getIssuerX500Principal().getName());
+				throw new Fido2RuntimeException("Certificate not valid", e);
+			}
 		}
-		return entry;
+
+		return rootCertificates;
 	}
 
 	public MessageDigest getDigester() {
@@ -381,7 +365,7 @@ public class TocService {
 		return date.format(DateTimeFormatter.ISO_LOCAL_DATE);
 	}
 
-	private Pair<LocalDate, Map<String, JsonNode>> readEntriesFromTocJWT(String tocJwt, String mdsTocRootCertsFolder,
+	private TocIndex readEntriesFromTocJWT(String tocJwt, String mdsTocRootCertsFolder,
 			boolean loadGlobalVariables) {
 		log.debug("Attempting reading entries from JWT: {}", StringUtils.abbreviateMiddle(tocJwt, "...", 100));
 
@@ -398,13 +382,18 @@ public class TocService {
 		}
 
 		JsonNode entriesNode = toc.get("entries");
+		int serialNo = toc.get("no").asInt();
 		log.debug("Legal header: {}", toc.get("legalHeader"));
-		log.debug("Property 'no' value: {}. serialNo: {}", toc.get("no").asInt(), entriesNode.size());
+		log.debug("Property 'no' value: {}. serialNo: {}", serialNo, entriesNode.size());
 
-		Map<String, JsonNode> entries = processMetadataEntries(entriesNode);
+		TocIndex currentIndex = this.tocIndex;
+		if (!currentIndex.isEmpty() && (currentIndex.getSerialNo() == serialNo)) {
+			log.debug("TOC serial number {} is not changed, keep current entries", serialNo);
+			return currentIndex;
+		}
 
 		LocalDate nextUpdateDate = LocalDate.parse(toc.get("nextUpdate").asText());
-		return new Pair<>(nextUpdateDate, entries);
+		return processMetadataEntries(entriesNode, serialNo, nextUpdateDate, currentIndex);
 	}
 
 	private JWSObject parseJwt(String tocJwt) {
@@ -446,9 +435,15 @@ public class TocService {
 		this.digester = resolveDigester(algorithm);
 	}
 
-	private Map<String, JsonNode> processMetadataEntries(JsonNode entriesNode) {
-		Map<String, JsonNode> entries = new HashMap<>();
+	/**
+	 * Builds new index from TOC entries. Entries with unchanged status reports are taken from
+	 * current index without verification and decoding of their certificates
+	 */
+	private TocIndex processMetadataEntries(JsonNode entriesNode, int serialNo, LocalDate nextUpdateDate,
+			TocIndex currentIndex) {
+		TocIndex.Builder builder = new TocIndex.Builder(serialNo, nextUpdateDate);
 
+		int reused = 0;
 		for (JsonNode metadataEntryNode : entriesNode) {
 			Optional<String> aaguid = Optional.ofNullable(metadataEntryNode.get("aaguid")).map(JsonNode::asText);
 			Optional<String> aaid = Optional.ofNullable(metadataEntryNode.get("aaid")).map(JsonNode::asText);
@@ -456,59 +451,95 @@ public class TocService {
 					.ofNullable(metadataEntryNode.get("attestationCertificateKeyIdentifiers")).map(JsonNode::toString);
 
 			if (aaguid.isPresent()) {
-				processAaguidEntry(entries, metadataEntryNode, aaguid.get());
+				TocIndex.Entry currentEntry = currentIndex.getByAaguid(aaguid.get());
+				TocIndex.Entry entry = resolveEntry(currentEntry, metadataEntryNode, aaguid.get());
+				if (entry != null) {
+					builder.addAaguidEntry(aaguid.get(), entry);
+					reused += entry == currentEntry ? 1 : 0;
+				}
 			} else if (aaid.isPresent()) {
-				processAaidEntry(entries, metadataEntryNode, aaid.get());
+				TocIndex.Entry currentEntry = currentIndex.getByAaid(aaid.get());
+				TocIndex.Entry entry = resolveEntry(currentEntry, metadataEntryNode, aaid.get());
+				if (entry != null) {
+					builder.addAaidEntry(aaid.get(), entry);
+					reused += entry == currentEntry ? 1 : 0;
+				}
 			} else if (attestationCertificateKeyIdentifiers.isPresent()) {
-				processAttestationCertificateKeyIdentifiers(entries, entriesNode,
+				reused += processAttestationCertificateKeyIdentifiers(builder, currentIndex, metadataEntryNode,
 						attestationCertificateKeyIdentifiers.get());
 			} else {
 				log.debug("Null aaguid, aaid, attestationCertificateKeyIdentifiers - Added TOC entry with status {}",
 						metadataEntryNode.get("statusReports").findValue("status"));
 			}
 		}
+		log.debug("Reused {} TOC entries with unchanged status", reused);
 
-		return entries;
+		return builder.build();
 	}
 
-	private void processAaguidEntry(Map<String, JsonNode> entries, JsonNode metadataEntryNode, String aaguid) {
+	private TocIndex.Entry resolveEntry(TocIndex.Entry currentEntry, JsonNode metadataEntryNode, String key) {
+		if ((currentEntry != null) && currentEntry.hasSameStatus(metadataEntryNode)) {
+			return currentEntry;
+		}
+
 		try {
-			certificateVerifier.verifyStatusAcceptable(aaguid, metadataEntryNode);
+			certificateVerifier.verifyStatusAcceptable(key, metadataEntryNode);
 			if (!metadataEntryNode.has("metadataStatement")) {
 				log.warn("This entry doesn't contain metadataStatement");
 			}
-			entries.put(aaguid, metadataEntryNode);
-			log.info(ADDED_TOC_ENTRY_LOG, aaguid);
+			log.info(ADDED_TOC_ENTRY_LOG, key);
+
+			return new TocIndex.Entry(metadataEntryNode, decodeAttestationRootCertificates(metadataEntryNode, key));
 		} catch (Fido2RuntimeException e) {
 			log.error(e.getMessage());
+			return null;
 		}
 	}
 
-	private void processAaidEntry(Map<String, JsonNode> entries, JsonNode metadataEntryNode, String aaid) {
+	private List<X509Certificate> decodeAttestationRootCertificates(JsonNode metadataEntryNode, String key) {
+		JsonNode metadataStatement = metadataEntryNode.get("metadataStatement");
+		if ((metadataStatement == null) || !metadataStatement.has("attestationRootCertificates")) {
+			return null;
+		}
+
+		List<String> x509certificates = new ArrayList<>();
+		for (JsonNode certNode : metadataStatement.get("attestationRootCertificates")) {
+			x509certificates.add(certNode.asText());
+		}
+
 		try {
-			certificateVerifier.verifyStatusAcceptable(aaid, metadataEntryNode);
-			if (!metadataEntryNode.has("metadataStatement")) {
-				log.warn("This entry doesn't contain metadataStatement");
-			}
-			entries.put(aaid, metadataEntryNode);
-			log.info(ADDED_TOC_ENTRY_LOG, aaid);
-		} catch (Fido2RuntimeException e) {
-			log.error(e.getMessage());
+			// Validity is checked on each use
+			return certificateService.getCertificates(x509certificates, false);
+		} catch (RuntimeException e) {
+			log.warn("Failed to decode attestationRootCertificates of TOC entry {}: {}", key, e.getMessage());
+			return null;
 		}
 	}
 
-	private void processAttestationCertificateKeyIdentifiers(Map<String, JsonNode> entries, JsonNode entriesNode,
-			String attestationCertificateKeyIdentifiers) {
+	private int processAttestationCertificateKeyIdentifiers(TocIndex.Builder builder, TocIndex currentIndex,
+			JsonNode metadataEntryNode, String attestationCertificateKeyIdentifiers) {
+		int reused = 0;
 		try {
 			List<String> keyIdentifiersList = dataMapperService.readValue(attestationCertificateKeyIdentifiers,
 					List.class);
+			// All key identifiers of entry share same index entry
+			TocIndex.Entry entry = null;
 			for (String keyIdentifier : keyIdentifiersList) {
-				entries.put(keyIdentifier, entriesNode);
-				log.info(ADDED_TOC_ENTRY_LOG, keyIdentifier);
+				if (entry == null) {
+					TocIndex.Entry currentEntry = currentIndex.getByKeyIdentifier(keyIdentifier);
+					entry = resolveEntry(currentEntry, metadataEntryNode, keyIdentifier);
+					if (entry == null) {
+						return reused;
+					}
+					reused += entry == currentEntry ? 1 : 0;
+				}
+				builder.addKeyIdentifierEntry(keyIdentifier, entry);
 			}
 		} catch (IOException e) {
 			log.error("Failed to add attestationCertificateKeyIdentifiers to tocEntries: {}",
 					attestationCertificateKeyIdentifiers);
 		}
+
+		return reused;
 	}
 }
\ No newline at end of file
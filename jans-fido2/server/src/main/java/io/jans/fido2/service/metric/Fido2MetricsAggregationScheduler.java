@@ -294,9 +294,9 @@ public class Fido2MetricsAggregationScheduler {
         try {
             if (metricsService != null) {
                 // Force flush any pending metrics to database
-                log.info("Flushing pending FIDO2 metrics to database...");
-                // The actual flush logic would be implemented in Fido2MetricsService
                 // This ensures no data is lost when nodes are removed from cluster
+                log.info("Flushing pending FIDO2 metrics to database...");
+                metricsService.flushPendingMetrics();
             }
         } catch (Exception e) {
             log.error("Failed to flush pending metrics: {}", e.getMessage(), e);
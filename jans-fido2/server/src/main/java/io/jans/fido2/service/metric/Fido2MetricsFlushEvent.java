@@ -0,0 +1,5 @@
+package io.jans.fido2.service.metric;
+
+public interface Fido2MetricsFlushEvent {
+
+}
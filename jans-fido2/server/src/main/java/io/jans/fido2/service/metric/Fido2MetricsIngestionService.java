@@ -0,0 +1,241 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.service.metric;
+
+import io.jans.as.common.service.common.ApplicationFactory;
+import io.jans.fido2.model.conf.AppConfiguration;
+import io.jans.fido2.model.metric.Fido2MetricsEntry;
+import io.jans.fido2.model.metric.Fido2MetricsOverflowPolicy;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.BulkOperationResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded queue of FIDO2 metrics entries which are persisted in batches by dedicated writer threads.
+ * Request threads only enqueue entries, if queue is full fido2MetricsOverflowPolicy is applied.
+ * Queue capacity and number of writer threads are read on start, batch size and policy on each use.
+ */
+@ApplicationScoped
+public class Fido2MetricsIngestionService {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    // Maximum time to wait for free space in queue with BLOCK policy
+    public static final long BLOCK_TIMEOUT = 100; // milliseconds
+    private static final long POLL_TIMEOUT = 1000; // milliseconds
+    private static final long SHUTDOWN_TIMEOUT = 5000; // milliseconds
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    @Named(ApplicationFactory.PERSISTENCE_ENTRY_MANAGER_NAME)
+    private PersistenceEntryManager persistenceEntryManager;
+
+    private BlockingQueue<Fido2MetricsEntry> queue;
+    private ExecutorService writerExecutor;
+    private volatile boolean running;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder persistedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder batchLatencyTotal = new LongAdder();
+    private final AtomicLong maxBatchLatency = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        int capacity = appConfiguration.getFido2MetricsQueueCapacity() > 0 ? appConfiguration.getFido2MetricsQueueCapacity() : DEFAULT_QUEUE_CAPACITY;
+        int writerThreads = Math.max(1, appConfiguration.getFido2MetricsWriterThreads());
+
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.running = true;
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.writerExecutor = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "fido2-metrics-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writerThreads; i++) {
+            writerExecutor.execute(this::writeLoop);
+        }
+
+        log.debug("Started FIDO2 metrics ingestion, queue capacity: {}, writer threads: {}", capacity, writerThreads);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        running = false;
+        writerExecutor.shutdown();
+        try {
+            if (!writerExecutor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                writerExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writerExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        // Flush entries which are still in queue
+        flush();
+        log.info("Stopped FIDO2 metrics ingestion, persisted: {}, failed: {}, dropped: {}", getPersistedCount(), getFailedCount(), getDroppedCount());
+    }
+
+    /**
+     * Queues entry for persistence
+     *
+     * @return false if entry was dropped
+     */
+    public boolean offer(Fido2MetricsEntry entry) {
+        if (!running) {
+            droppedCount.increment();
+            return false;
+        }
+
+        boolean added;
+        Fido2MetricsOverflowPolicy overflowPolicy = appConfiguration.getFido2MetricsOverflowPolicy();
+        if (overflowPolicy == Fido2MetricsOverflowPolicy.DROP_OLDEST) {
+            added = queue.offer(entry);
+            while (!added) {
+                if (queue.poll() != null) {
+                    droppedCount.increment();
+                }
+                added = queue.offer(entry);
+            }
+        } else if (overflowPolicy == Fido2MetricsOverflowPolicy.BLOCK) {
+            try {
+                added = queue.offer(entry, BLOCK_TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                added = false;
+            }
+        } else {
+            added = queue.offer(entry);
+        }
+
+        if (added) {
+            enqueuedCount.increment();
+        } else {
+            droppedCount.increment();
+            log.trace("FIDO2 metrics queue is full, dropped entry: {}", entry.getId());
+        }
+        return added;
+    }
+
+    /**
+     * Persists all queued entries in current thread
+     */
+    public void flush() {
+        List<Fido2MetricsEntry> batch = new ArrayList<>();
+        while (queue.drainTo(batch, getBatchSize()) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeLoop() {
+        List<Fido2MetricsEntry> batch = new ArrayList<>();
+        while (running) {
+            try {
+                Fido2MetricsEntry first = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, getBatchSize() - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in FIDO2 metrics writer: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Fido2MetricsEntry> batch) {
+        long start = System.nanoTime();
+        try {
+            BulkOperationResult result = persistenceEntryManager.persistAll(batch);
+            persistedCount.add(result.getSuccessCount());
+            if (result.getFailureCount() > 0) {
+                failedCount.add(result.getFailureCount());
+                log.error("Failed to store {} of {} FIDO2 metrics entries: {}", result.getFailureCount(), batch.size(), result.getFailedResults().get(0));
+            }
+        } catch (Exception e) {
+            failedCount.add(batch.size());
+            log.error("Failed to store {} FIDO2 metrics entries: {}", batch.size(), e.getMessage(), e);
+        } finally {
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            batchCount.increment();
+            batchLatencyTotal.add(latency);
+            maxBatchLatency.accumulateAndGet(latency, Math::max);
+            log.trace("Stored batch of {} FIDO2 metrics entries in {} ms", batch.size(), latency);
+        }
+    }
+
+    private int getBatchSize() {
+        return appConfiguration.getFido2MetricsBatchSize() > 0 ? appConfiguration.getFido2MetricsBatchSize() : DEFAULT_BATCH_SIZE;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getPersistedCount() {
+        return persistedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    public double getAverageBatchLatency() {
+        long batches = batchCount.sum();
+        return batches > 0 ? (double) batchLatencyTotal.sum() / batches : 0;
+    }
+
+    public long getMaxBatchLatency() {
+        return maxBatchLatency.get();
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.service.metric;
+
+import io.jans.as.common.service.common.ApplicationFactory;
+import io.jans.fido2.model.metric.Fido2MetricsAggregation;
+import io.jans.fido2.model.metric.Fido2MetricsConstants;
+import io.jans.fido2.model.metric.Fido2MetricsEntry;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.BulkOperationResult;
+import io.jans.service.cdi.async.Asynchronous;
+import io.jans.service.cdi.event.Scheduled;
+import io.jans.service.timer.event.TimerEvent;
+import io.jans.service.timer.schedule.TimerSchedule;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.slf4j.Logger;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains per-minute rollups of FIDO2 metrics entries recorded on this node and persists closed
+ * minutes as MINUTE aggregations. Analytics and periodic aggregations merge these rollups instead of
+ * loading raw entries, so their cost depends on time range and not on number of events.
+ *
+ * Rollups which failed to be persisted are kept and persisted with next flush. Entries which come after
+ * their minute was persisted are merged into persisted MINUTE aggregation with next flush.
+ */
+@ApplicationScoped
+public class Fido2MetricsPreAggregator {
+
+    private static final int FLUSH_INTERVAL = 30; // seconds
+    // Minute is persisted after grace period to include entries which are recorded with delay
+    private static final long GRACE_PERIOD = 1; // minutes
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final DateTimeFormatter PERIOD_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm").withZone(ZoneOffset.UTC);
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    @Named(ApplicationFactory.PERSISTENCE_ENTRY_MANAGER_NAME)
+    private PersistenceEntryManager persistenceEntryManager;
+
+    @Inject
+    private Event<TimerEvent> timerEvent;
+
+    // Minute rollups are persisted by each node separately, node id makes their ids unique
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<Long, Fido2MetricsRollup> minuteRollups = new ConcurrentHashMap<>();
+    // Rollups of late entries of already persisted minutes
+    private final ConcurrentMap<Long, Fido2MetricsRollup> lateRollups = new ConcurrentHashMap<>();
+    private final AtomicBoolean isActive = new AtomicBoolean(false);
+    private final LongAdder lateCount = new LongAdder();
+
+    // All minutes till this one are persisted
+    private volatile long flushedMinute = Long.MIN_VALUE;
+    // Persisted minutes after flushedMinute, they exist when earlier minute failed to be persisted
+    private final Set<Long> persistedMinutes = ConcurrentHashMap.newKeySet();
+
+    public void initTimer() {
+        log.debug("Initializing FIDO2 metrics pre-aggregation timer");
+
+        timerEvent.fire(new TimerEvent(new TimerSchedule(FLUSH_INTERVAL, FLUSH_INTERVAL), new Fido2MetricsFlushEvent() {
+        }, Scheduled.Literal.INSTANCE));
+    }
+
+    @Asynchronous
+    public void process(@Observes @Scheduled Fido2MetricsFlushEvent flushEvent) {
+        if (!isActive.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            flush();
+        } finally {
+            isActive.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flush(Long.MAX_VALUE);
+    }
+
+    /**
+     * Adds entry to rollup of minute in which it was created
+     */
+    public void record(Fido2MetricsEntry entry) {
+        long time = entry.getTimestamp() != null ? entry.getTimestamp().getTime() : System.currentTimeMillis();
+        long minute = Math.floorDiv(time, MINUTE);
+        if (isPersisted(minute)) {
+            // Minute is already persisted, entry is merged into its aggregation with next flush
+            lateCount.increment();
+            addToRollup(lateRollups, minute, entry);
+            return;
+        }
+
+        addToRollup(minuteRollups, minute, entry);
+    }
+
+    private static void addToRollup(ConcurrentMap<Long, Fido2MetricsRollup> rollups, long minute, Fido2MetricsEntry entry) {
+        // Add under map lock, so entry can't be added to rollup which flush already removed
+        rollups.compute(minute, (key, rollup) -> {
+            Fido2MetricsRollup result = rollup != null ? rollup : new Fido2MetricsRollup();
+            result.add(entry);
+            return result;
+        });
+    }
+
+    private boolean isPersisted(long minute) {
+        return minute <= flushedMinute || persistedMinutes.contains(minute);
+    }
+
+    /**
+     * Persists rollups of all minutes which passed grace period
+     */
+    public void flush() {
+        flush(Math.floorDiv(System.currentTimeMillis(), MINUTE) - GRACE_PERIOD - 1);
+    }
+
+    private synchronized void flush(long upToMinute) {
+        List<Long> minutes = new ArrayList<>();
+        List<Fido2MetricsRollup> rollups = new ArrayList<>();
+        List<Fido2MetricsAggregation> aggregations = new ArrayList<>();
+        for (Long minute : new ArrayList<>(minuteRollups.keySet())) {
+            if (minute > upToMinute) {
+                continue;
+            }
+
+            Fido2MetricsRollup rollup = minuteRollups.remove(minute);
+            if (rollup == null || rollup.isEmpty()) {
+                continue;
+            }
+            if (isPersisted(minute)) {
+                // Rollup was created by late entry while minute was being persisted
+                lateCount.increment();
+                lateRollups.computeIfAbsent(minute, key -> new Fido2MetricsRollup()).merge(rollup);
+                continue;
+            }
+
+            minutes.add(minute);
+            rollups.add(rollup);
+            aggregations.add(createAggregation(minute, rollup));
+        }
+
+        boolean[] failed = new boolean[aggregations.size()];
+        if (!aggregations.isEmpty()) {
+            try {
+                BulkOperationResult result = persistenceEntryManager.persistAll(aggregations);
+                for (int i = 0; i < failed.length; i++) {
+                    BulkOperationResult.EntryResult entryResult = result.getResult(i);
+                    failed[i] = entryResult == null || !entryResult.isSuccess();
+                }
+                if (result.getFailureCount() > 0) {
+                    log.error("Failed to store {} of {} FIDO2 metrics minute aggregations, they will be retried: {}", result.getFailureCount(), aggregations.size(), result.getFailedResults());
+                }
+                log.debug("Stored {} FIDO2 metrics minute aggregations", result.getSuccessCount());
+            } catch (Exception e) {
+                log.error("Failed to store {} FIDO2 metrics minute aggregations, they will be retried: {}", aggregations.size(), e.getMessage(), e);
+                Arrays.fill(failed, true);
+            }
+        }
+
+        long firstFailedMinute = Long.MAX_VALUE;
+        for (int i = 0; i < failed.length; i++) {
+            long minute = minutes.get(i);
+            if (failed[i]) {
+                firstFailedMinute = Math.min(firstFailedMinute, minute);
+                // Entries recorded while minute was being persisted are in new rollup
+                minuteRollups.computeIfAbsent(minute, key -> new Fido2MetricsRollup()).merge(rollups.get(i));
+            } else {
+                persistedMinutes.add(minute);
+            }
+        }
+
+        // Minute is closed for new entries only when it and all minutes before it are persisted
+        long closedMinute = firstFailedMinute == Long.MAX_VALUE ? upToMinute : Math.min(upToMinute, firstFailedMinute - 1);
+        if (closedMinute > flushedMinute) {
+            flushedMinute = closedMinute;
+        }
+        persistedMinutes.removeIf(minute -> minute <= flushedMinute);
+
+        mergeLateRollups();
+    }
+
+    /*
+     * Late entries are rare, each minute is updated with separate read-modify-write
+     */
+    private void mergeLateRollups() {
+        for (Long minute : new ArrayList<>(lateRollups.keySet())) {
+            Fido2MetricsRollup rollup = lateRollups.remove(minute);
+            if (rollup == null || rollup.isEmpty()) {
+                continue;
+            }
+
+            Fido2MetricsAggregation aggregation = createAggregation(minute, rollup);
+            try {
+                if (persistenceEntryManager.contains(aggregation.getDn(), Fido2MetricsAggregation.class)) {
+                    Fido2MetricsAggregation persisted = persistenceEntryManager.find(Fido2MetricsAggregation.class, aggregation.getDn());
+
+                    Fido2MetricsRollup merged = new Fido2MetricsRollup();
+                    merged.merge(persisted.getMetricsData());
+                    merged.merge(rollup);
+                    persisted.setMetricsData(merged.toMetricsData());
+                    persistenceEntryManager.merge(persisted);
+                } else {
+                    // Aggregation was removed by cleanup
+                    persistenceEntryManager.persist(aggregation);
+                }
+                log.debug("Merged late FIDO2 metrics entries into minute aggregation {}", aggregation.getId());
+            } catch (Exception e) {
+                log.error("Failed to merge late FIDO2 metrics entries into minute aggregation {}, they will be retried: {}", aggregation.getId(), e.getMessage(), e);
+                lateRollups.computeIfAbsent(minute, key -> new Fido2MetricsRollup()).merge(rollup);
+            }
+        }
+    }
+
+    private Fido2MetricsAggregation createAggregation(long minute, Fido2MetricsRollup rollup) {
+        Instant start = Instant.ofEpochMilli(minute * MINUTE);
+        String period = PERIOD_FORMATTER.format(start) + "_" + nodeId;
+
+        Fido2MetricsAggregation aggregation = new Fido2MetricsAggregation(Fido2MetricsConstants.MINUTE, period,
+                Date.from(start), Date.from(start.plusMillis(MINUTE)));
+        aggregation.setDn(String.format("jansId=%s,%s", aggregation.getId(), Fido2MetricsConstants.FIDO2_METRICS_AGGREGATION_BASE_DN));
+        aggregation.setMetricsData(rollup.toMetricsData());
+
+        return aggregation;
+    }
+
+    /**
+     * Merges rollups of minutes and late entries which are not persisted yet and start in range [startTime, endTime)
+     */
+    public Fido2MetricsRollup getPendingRollup(Date startTime, Date endTime) {
+        Fido2MetricsRollup result = new Fido2MetricsRollup();
+        mergeRollups(result, minuteRollups, startTime, endTime);
+        mergeRollups(result, lateRollups, startTime, endTime);
+
+        return result;
+    }
+
+    private static void mergeRollups(Fido2MetricsRollup result, Map<Long, Fido2MetricsRollup> rollups, Date startTime, Date endTime) {
+        for (Map.Entry<Long, Fido2MetricsRollup> entry : rollups.entrySet()) {
+            long minuteStart = entry.getKey() * MINUTE;
+            if (minuteStart >= startTime.getTime() && minuteStart < endTime.getTime()) {
+                result.merge(entry.getValue());
+            }
+        }
+    }
+
+    public int getPendingMinutes() {
+        return minuteRollups.size();
+    }
+
+    public long getLateCount() {
+        return lateCount.sum();
+    }
+
+}
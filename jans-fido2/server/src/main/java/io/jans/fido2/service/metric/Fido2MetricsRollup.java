@@ -0,0 +1,277 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.service.metric;
+
+import io.jans.fido2.model.metric.Fido2LatencySketch;
+import io.jans.fido2.model.metric.Fido2MetricsConstants;
+import io.jans.fido2.model.metric.Fido2MetricsEntry;
+import net.agkn.hll.HLL;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mergeable summary of FIDO2 metrics entries: counters, breakdowns, latency sketches and HLL sketch
+ * of user ids. Rollups of different periods and nodes can be merged without access to raw entries.
+ * Persisted form is metrics data of {@link io.jans.fido2.model.metric.Fido2MetricsAggregation}.
+ */
+public class Fido2MetricsRollup {
+
+    private static final String REGISTRATION_PREFIX = "registration";
+    private static final String AUTHENTICATION_PREFIX = "authentication";
+
+    // ~1% error of unique users estimate, sketch is stored sparse while number of users is small
+    private static final int HLL_LOG_2_M = 14;
+    private static final int HLL_REGWIDTH = 5;
+
+    private long registrationAttempts;
+    private long registrationSuccesses;
+    private long authenticationAttempts;
+    private long authenticationSuccesses;
+    private long fallbackEvents;
+
+    private final Map<String, Long> statusCounts = new HashMap<>();
+    private final Map<String, Long> authenticatorTypes = new HashMap<>();
+    private final Map<String, Long> clientDeviceTypes = new HashMap<>();
+    private final Map<String, Long> browsers = new HashMap<>();
+    private final Map<String, Long> operatingSystems = new HashMap<>();
+    private final Map<String, Long> errorCategories = new HashMap<>();
+    private final Map<String, Long> errorReasons = new HashMap<>();
+
+    private final Fido2LatencySketch registrationDurations = new Fido2LatencySketch();
+    private final Fido2LatencySketch authenticationDurations = new Fido2LatencySketch();
+
+    private final HLL userIds = new HLL(HLL_LOG_2_M, HLL_REGWIDTH);
+
+    public synchronized void add(Fido2MetricsEntry entry) {
+        String operationType = entry.getOperationType();
+        boolean success = Fido2MetricsConstants.SUCCESS.equals(entry.getStatus());
+        if (Fido2MetricsConstants.REGISTRATION.equals(operationType)) {
+            registrationAttempts++;
+            if (success) {
+                registrationSuccesses++;
+            }
+            if (entry.getDurationMs() != null) {
+                registrationDurations.add(entry.getDurationMs());
+            }
+        } else if (Fido2MetricsConstants.AUTHENTICATION.equals(operationType)) {
+            authenticationAttempts++;
+            if (success) {
+                authenticationSuccesses++;
+            }
+            if (entry.getDurationMs() != null) {
+                authenticationDurations.add(entry.getDurationMs());
+            }
+        } else if (Fido2MetricsConstants.FALLBACK.equals(operationType)) {
+            fallbackEvents++;
+        }
+
+        if (entry.getUserId() != null) {
+            userIds.addRaw(hash(entry.getUserId()));
+        }
+
+        increment(statusCounts, entry.getStatus(), 1);
+        increment(authenticatorTypes, entry.getAuthenticatorType(), 1);
+        increment(errorCategories, entry.getErrorCategory(), 1);
+        increment(errorReasons, entry.getErrorReason(), 1);
+
+        Fido2MetricsEntry.DeviceInfo deviceInfo = entry.getDeviceInfo();
+        if (deviceInfo != null) {
+            increment(clientDeviceTypes, deviceInfo.getDeviceType(), 1);
+            increment(browsers, deviceInfo.getBrowser(), 1);
+            increment(operatingSystems, deviceInfo.getOs(), 1);
+        }
+    }
+
+    public void merge(Fido2MetricsRollup other) {
+        // Take snapshot first to avoid holding both locks
+        merge(other.toMetricsData());
+    }
+
+    /**
+     * Merges metrics data created by {@link #toMetricsData()}
+     */
+    public synchronized void merge(Map<String, Object> metricsData) {
+        if (metricsData == null) {
+            return;
+        }
+
+        registrationAttempts += getLong(metricsData, Fido2MetricsConstants.REGISTRATION_ATTEMPTS);
+        registrationSuccesses += getLong(metricsData, Fido2MetricsConstants.REGISTRATION_SUCCESSES);
+        authenticationAttempts += getLong(metricsData, Fido2MetricsConstants.AUTHENTICATION_ATTEMPTS);
+        authenticationSuccesses += getLong(metricsData, Fido2MetricsConstants.AUTHENTICATION_SUCCESSES);
+        fallbackEvents += getLong(metricsData, Fido2MetricsConstants.FALLBACK_EVENTS);
+
+        mergeCounts(statusCounts, metricsData.get(Fido2MetricsConstants.STATUS_COUNTS));
+        mergeCounts(authenticatorTypes, metricsData.get(Fido2MetricsConstants.DEVICE_TYPES));
+        mergeCounts(clientDeviceTypes, metricsData.get(Fido2MetricsConstants.CLIENT_DEVICE_TYPES));
+        mergeCounts(browsers, metricsData.get(Fido2MetricsConstants.BROWSERS));
+        mergeCounts(operatingSystems, metricsData.get(Fido2MetricsConstants.OPERATING_SYSTEMS));
+        mergeCounts(errorCategories, metricsData.get(Fido2MetricsConstants.ERROR_CATEGORIES));
+        mergeCounts(errorReasons, metricsData.get(Fido2MetricsConstants.ERROR_COUNTS));
+
+        mergeSketch(registrationDurations, metricsData.get(Fido2MetricsConstants.REGISTRATION_DURATION_SKETCH));
+        mergeSketch(authenticationDurations, metricsData.get(Fido2MetricsConstants.AUTHENTICATION_DURATION_SKETCH));
+
+        Object userIdSketch = metricsData.get(Fido2MetricsConstants.USER_ID_SKETCH);
+        if (userIdSketch instanceof String) {
+            userIds.union(HLL.fromBytes(Base64.getDecoder().decode((String) userIdSketch)));
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return registrationAttempts == 0 && authenticationAttempts == 0 && fallbackEvents == 0 && statusCounts.isEmpty();
+    }
+
+    /**
+     * Converts rollup into aggregation metrics data. Besides mergeable state it contains derived
+     * success rates and duration statistics
+     */
+    public synchronized Map<String, Object> toMetricsData() {
+        Map<String, Object> metricsData = new HashMap<>();
+
+        metricsData.put(Fido2MetricsConstants.REGISTRATION_ATTEMPTS, registrationAttempts);
+        metricsData.put(Fido2MetricsConstants.REGISTRATION_SUCCESSES, registrationSuccesses);
+        metricsData.put(Fido2MetricsConstants.REGISTRATION_FAILURES, registrationAttempts - registrationSuccesses);
+        if (registrationAttempts > 0) {
+            metricsData.put(Fido2MetricsConstants.REGISTRATION_SUCCESS_RATE, (double) registrationSuccesses / registrationAttempts);
+        }
+
+        metricsData.put(Fido2MetricsConstants.AUTHENTICATION_ATTEMPTS, authenticationAttempts);
+        metricsData.put(Fido2MetricsConstants.AUTHENTICATION_SUCCESSES, authenticationSuccesses);
+        metricsData.put(Fido2MetricsConstants.AUTHENTICATION_FAILURES, authenticationAttempts - authenticationSuccesses);
+        if (authenticationAttempts > 0) {
+            metricsData.put(Fido2MetricsConstants.AUTHENTICATION_SUCCESS_RATE, (double) authenticationSuccesses / authenticationAttempts);
+        }
+
+        metricsData.put(Fido2MetricsConstants.FALLBACK_EVENTS, fallbackEvents);
+
+        metricsData.put(Fido2MetricsConstants.STATUS_COUNTS, new HashMap<>(statusCounts));
+        metricsData.put(Fido2MetricsConstants.DEVICE_TYPES, new HashMap<>(authenticatorTypes));
+        metricsData.put(Fido2MetricsConstants.CLIENT_DEVICE_TYPES, new HashMap<>(clientDeviceTypes));
+        metricsData.put(Fido2MetricsConstants.BROWSERS, new HashMap<>(browsers));
+        metricsData.put(Fido2MetricsConstants.OPERATING_SYSTEMS, new HashMap<>(operatingSystems));
+        metricsData.put(Fido2MetricsConstants.ERROR_CATEGORIES, new HashMap<>(errorCategories));
+        metricsData.put(Fido2MetricsConstants.ERROR_COUNTS, new HashMap<>(errorReasons));
+
+        metricsData.put(Fido2MetricsConstants.REGISTRATION_DURATION_SKETCH, registrationDurations.toMap());
+        metricsData.put(Fido2MetricsConstants.AUTHENTICATION_DURATION_SKETCH, authenticationDurations.toMap());
+        putDurationStatistics(metricsData, REGISTRATION_PREFIX, registrationDurations);
+        putDurationStatistics(metricsData, AUTHENTICATION_PREFIX, authenticationDurations);
+
+        metricsData.put(Fido2MetricsConstants.USER_ID_SKETCH, Base64.getEncoder().encodeToString(userIds.toBytes()));
+
+        return metricsData;
+    }
+
+    /**
+     * Puts avg, min, max, p50, p95 and p99 durations of registrations and authentications,
+     * e.g. registrationAvgDuration, authenticationP95Duration
+     */
+    public synchronized void putDurationStatistics(Map<String, Object> result) {
+        putDurationStatistics(result, REGISTRATION_PREFIX, registrationDurations);
+        putDurationStatistics(result, AUTHENTICATION_PREFIX, authenticationDurations);
+    }
+
+    private static void putDurationStatistics(Map<String, Object> result, String prefix, Fido2LatencySketch sketch) {
+        if (sketch.isEmpty()) {
+            return;
+        }
+
+        result.put(prefix + Fido2MetricsConstants.AVG_DURATION, sketch.getAverage());
+        result.put(prefix + Fido2MetricsConstants.MIN_DURATION, sketch.getMin());
+        result.put(prefix + Fido2MetricsConstants.MAX_DURATION, sketch.getMax());
+        result.put(prefix + Fido2MetricsConstants.P50_DURATION, sketch.getQuantile(0.5));
+        result.put(prefix + Fido2MetricsConstants.P95_DURATION, sketch.getQuantile(0.95));
+        result.put(prefix + Fido2MetricsConstants.P99_DURATION, sketch.getQuantile(0.99));
+    }
+
+    /**
+     * Estimated number of unique users. Aggregations stored before user id sketch was added don't contribute to it
+     */
+    public synchronized long getUniqueUsers() {
+        return userIds.cardinality();
+    }
+
+    public synchronized long getStatusCount(String status) {
+        return statusCounts.getOrDefault(status, 0L);
+    }
+
+    public synchronized Map<String, Long> getAuthenticatorTypes() {
+        return new HashMap<>(authenticatorTypes);
+    }
+
+    public synchronized Map<String, Long> getClientDeviceTypes() {
+        return new HashMap<>(clientDeviceTypes);
+    }
+
+    public synchronized Map<String, Long> getBrowsers() {
+        return new HashMap<>(browsers);
+    }
+
+    public synchronized Map<String, Long> getOperatingSystems() {
+        return new HashMap<>(operatingSystems);
+    }
+
+    public synchronized Map<String, Long> getErrorCategories() {
+        return new HashMap<>(errorCategories);
+    }
+
+    public synchronized Map<String, Long> getErrorReasons() {
+        return new HashMap<>(errorReasons);
+    }
+
+    private static void increment(Map<String, Long> counts, String key, long value) {
+        if (key != null) {
+            counts.merge(key, value, Long::sum);
+        }
+    }
+
+    private static void mergeCounts(Map<String, Long> counts, Object value) {
+        if (!(value instanceof Map)) {
+            return;
+        }
+
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+            if (entry.getKey() != null && entry.getValue() instanceof Number) {
+                increment(counts, entry.getKey().toString(), ((Number) entry.getValue()).longValue());
+            }
+        }
+    }
+
+    private static void mergeSketch(Fido2LatencySketch sketch, Object value) {
+        if (value instanceof Map) {
+            sketch.merge(Fido2LatencySketch.fromMap((Map<?, ?>) value));
+        }
+    }
+
+    /*
+     * HLL expects uniformly distributed 64-bit values. String hash is finalized with fmix64 of MurmurHash3
+     */
+    private static long hash(String value) {
+        long hash = 1125899906842597L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = 31 * hash + b;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    private static long getLong(Map<String, Object> metricsData, String key) {
+        Object value = metricsData.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+}
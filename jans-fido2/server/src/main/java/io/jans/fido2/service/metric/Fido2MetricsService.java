@@ -26,7 +26,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
-import java.util.OptionalDouble;
 
 /**
  * Service for managing FIDO2 metrics data operations
@@ -47,28 +46,34 @@ public class Fido2MetricsService {
     @Named(ApplicationFactory.PERSISTENCE_ENTRY_MANAGER_NAME)
     private PersistenceEntryManager persistenceEntryManager;
 
+    @Inject
+    private Fido2MetricsIngestionService metricsIngestionService;
+
+    @Inject
+    private Fido2MetricsPreAggregator metricsPreAggregator;
+
     private static final String METRICS_ENTRY_BASE_DN = "ou=fido2-metrics,o=jans";
     private static final String METRICS_AGGREGATION_BASE_DN = "ou=fido2-aggregations,o=jans";
+    private static final String USER_ID_ATTRIBUTE = "jansFido2MetricsUserId";
+    private static final String OPERATION_TYPE_ATTRIBUTE = "jansFido2MetricsOperationType";
+    private static final String STATUS_ATTRIBUTE = "jansFido2MetricsStatus";
 
     // ========== METRICS ENTRY OPERATIONS ==========
 
     /**
-     * Store a metrics entry asynchronously
+     * Queue a metrics entry, it's persisted in batches by Fido2MetricsIngestionService
+     * and added to per-minute rollup used by analytics
      */
     public void storeMetricsEntry(Fido2MetricsEntry entry) {
         if (!isFido2MetricsEnabled()) {
             return;
         }
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                entry.setDn(generateMetricsEntryDn(entry.getId()));
-                persistenceEntryManager.persist(entry);
-                log.debug("Stored FIDO2 metrics entry: {}", entry.getId());
-            } catch (Exception e) {
-                log.error("Failed to store FIDO2 metrics entry: {}", e.getMessage(), e);
-            }
-        });
+        entry.setDn(generateMetricsEntryDn(entry.getId()));
+        metricsPreAggregator.record(entry);
+        if (metricsIngestionService.offer(entry)) {
+            log.debug("Queued FIDO2 metrics entry: {}", entry.getId());
+        }
     }
 
     /**
@@ -339,19 +344,44 @@ public class Fido2MetricsService {
                 }
                 
                 log.info("Cleaned up {} old metrics entries", entries.size());
+
+                // Minute aggregations are merged into hourly and longer aggregations, keep them for same period as entries
+                Filter minuteFilter = Filter.createANDFilter(
+                    Filter.createEqualityFilter("jansAggregationType", Fido2MetricsConstants.MINUTE),
+                    Filter.createLessOrEqualFilter("jansEndTime", cutoffDate)
+                );
+                List<Fido2MetricsAggregation> minuteAggregations = persistenceEntryManager.findEntries(
+                    METRICS_AGGREGATION_BASE_DN, Fido2MetricsAggregation.class, minuteFilter
+                );
+
+                for (Fido2MetricsAggregation aggregation : minuteAggregations) {
+                    persistenceEntryManager.remove(aggregation);
+                }
+
+                log.info("Cleaned up {} old minute aggregations", minuteAggregations.size());
             } catch (Exception e) {
                 log.error("Failed to cleanup old data: {}", e.getMessage(), e);
             }
         });
     }
 
+    /**
+     * Persist queued metrics entries and closed minute rollups
+     */
+    public void flushPendingMetrics() {
+        metricsIngestionService.flush();
+        metricsPreAggregator.flush();
+    }
+
     // ========== ANALYTICS AND REPORTING ==========
 
     /**
      * Get user adoption metrics
      */
     public Map<String, Object> getUserAdoptionMetrics(LocalDateTime startTime, LocalDateTime endTime) {
-        List<Fido2MetricsEntry> entries = getMetricsEntries(startTime, endTime);
+        // Only attributes which are needed to identify users
+        List<Fido2MetricsEntry> entries = getMetricsEntriesByTimeRange(startTime, endTime,
+                new String[] { USER_ID_ATTRIBUTE, OPERATION_TYPE_ATTRIBUTE, STATUS_ATTRIBUTE });
         
         Map<String, Object> metrics = new HashMap<>();
         
@@ -384,36 +414,13 @@ public class Fido2MetricsService {
     }
 
     /**
-     * Get performance metrics
+     * Get performance metrics: avg, min, max and p50/p95/p99 durations
      */
     public Map<String, Object> getPerformanceMetrics(LocalDateTime startTime, LocalDateTime endTime) {
-        List<Fido2MetricsEntry> entries = getMetricsEntries(startTime, endTime);
+        Fido2MetricsRollup rollup = getMetricsRollup(startTime, endTime);
         
         Map<String, Object> metrics = new HashMap<>();
-        
-        // Registration performance
-        List<Long> registrationDurations = entries.stream()
-            .filter(e -> "REGISTRATION".equals(e.getOperationType()) && e.getDurationMs() != null)
-            .map(Fido2MetricsEntry::getDurationMs)
-            .collect(Collectors.toList());
-        
-        if (!registrationDurations.isEmpty()) {
-            metrics.put("registrationAvgDuration", registrationDurations.stream().mapToLong(Long::longValue).average().orElse(0.0));
-            metrics.put("registrationMinDuration", registrationDurations.stream().mapToLong(Long::longValue).min().orElse(0L));
-            metrics.put("registrationMaxDuration", registrationDurations.stream().mapToLong(Long::longValue).max().orElse(0L));
-        }
-
-        // Authentication performance
-        List<Long> authenticationDurations = entries.stream()
-            .filter(e -> "AUTHENTICATION".equals(e.getOperationType()) && e.getDurationMs() != null)
-            .map(Fido2MetricsEntry::getDurationMs)
-            .collect(Collectors.toList());
-        
-        if (!authenticationDurations.isEmpty()) {
-            metrics.put("authenticationAvgDuration", authenticationDurations.stream().mapToLong(Long::longValue).average().orElse(0.0));
-            metrics.put("authenticationMinDuration", authenticationDurations.stream().mapToLong(Long::longValue).min().orElse(0L));
-            metrics.put("authenticationMaxDuration", authenticationDurations.stream().mapToLong(Long::longValue).max().orElse(0L));
-        }
+        rollup.putDurationStatistics(metrics);
 
         return metrics;
     }
@@ -422,45 +429,13 @@ public class Fido2MetricsService {
      * Get device/platform analytics
      */
     public Map<String, Object> getDeviceAnalytics(LocalDateTime startTime, LocalDateTime endTime) {
-        List<Fido2MetricsEntry> entries = getMetricsEntries(startTime, endTime);
+        Fido2MetricsRollup rollup = getMetricsRollup(startTime, endTime);
         
         Map<String, Object> analytics = new HashMap<>();
-        
-        // Device types
-        Map<String, Long> deviceTypes = entries.stream()
-            .filter(e -> e.getDeviceInfo() != null && e.getDeviceInfo().getDeviceType() != null)
-            .collect(Collectors.groupingBy(
-                e -> e.getDeviceInfo().getDeviceType(),
-                Collectors.counting()
-            ));
-        analytics.put("deviceTypes", deviceTypes);
-
-        // Authenticator types
-        Map<String, Long> authenticatorTypes = entries.stream()
-            .filter(e -> e.getAuthenticatorType() != null)
-            .collect(Collectors.groupingBy(
-                Fido2MetricsEntry::getAuthenticatorType,
-                Collectors.counting()
-            ));
-        analytics.put("authenticatorTypes", authenticatorTypes);
-
-        // Browsers
-        Map<String, Long> browsers = entries.stream()
-            .filter(e -> e.getDeviceInfo() != null && e.getDeviceInfo().getBrowser() != null)
-            .collect(Collectors.groupingBy(
-                e -> e.getDeviceInfo().getBrowser(),
-                Collectors.counting()
-            ));
-        analytics.put("browsers", browsers);
-
-        // Operating systems
-        Map<String, Long> operatingSystems = entries.stream()
-            .filter(e -> e.getDeviceInfo() != null && e.getDeviceInfo().getOs() != null)
-            .collect(Collectors.groupingBy(
-                e -> e.getDeviceInfo().getOs(),
-                Collectors.counting()
-            ));
-        analytics.put("operatingSystems", operatingSystems);
+        analytics.put("deviceTypes", rollup.getClientDeviceTypes());
+        analytics.put("authenticatorTypes", rollup.getAuthenticatorTypes());
+        analytics.put(Fido2MetricsConstants.BROWSERS, rollup.getBrowsers());
+        analytics.put(Fido2MetricsConstants.OPERATING_SYSTEMS, rollup.getOperatingSystems());
 
         return analytics;
     }
@@ -469,42 +444,16 @@ public class Fido2MetricsService {
      * Get error analysis
      */
     public Map<String, Object> getErrorAnalysis(LocalDateTime startTime, LocalDateTime endTime) {
-        List<Fido2MetricsEntry> entries = getMetricsEntries(startTime, endTime);
+        Fido2MetricsRollup rollup = getMetricsRollup(startTime, endTime);
         
         Map<String, Object> analysis = new HashMap<>();
-        
-        // Error categories
-        Map<String, Long> errorCategories = entries.stream()
-            .filter(e -> e.getErrorCategory() != null)
-            .collect(Collectors.groupingBy(
-                Fido2MetricsEntry::getErrorCategory,
-                Collectors.counting()
-            ));
-        analysis.put("errorCategories", errorCategories);
-
-        // Top errors
-        Map<String, Long> topErrors = entries.stream()
-            .filter(e -> e.getErrorReason() != null)
-            .collect(Collectors.groupingBy(
-                Fido2MetricsEntry::getErrorReason,
-                Collectors.counting()
-            ));
-        analysis.put("topErrors", topErrors);
-
-        // Single-pass tally of status counts (ATTEMPT = started, SUCCESS/FAILURE = completed)
-        long totalStarted = 0;
-        long successfulOperations = 0;
-        long failedOperations = 0;
-        for (Fido2MetricsEntry e : entries) {
-            String status = e.getStatus();
-            if (Fido2MetricsConstants.ATTEMPT.equals(status)) {
-                totalStarted++;
-            } else if (Fido2MetricsConstants.SUCCESS.equals(status)) {
-                successfulOperations++;
-            } else if (Fido2MetricsConstants.FAILURE.equals(status)) {
-                failedOperations++;
-            }
-        }
+        analysis.put(Fido2MetricsConstants.ERROR_CATEGORIES, rollup.getErrorCategories());
+        analysis.put("topErrors", rollup.getErrorReasons());
+
+        // Status counts (ATTEMPT = started, SUCCESS/FAILURE = completed)
+        long totalStarted = rollup.getStatusCount(Fido2MetricsConstants.ATTEMPT);
+        long successfulOperations = rollup.getStatusCount(Fido2MetricsConstants.SUCCESS);
+        long failedOperations = rollup.getStatusCount(Fido2MetricsConstants.FAILURE);
 
         if (totalStarted > 0) {
             // Normal case: rates as proportion of started operations (ATTEMPT count)
@@ -551,10 +500,8 @@ public class Fido2MetricsService {
      */
     private Fido2MetricsAggregation calculateAggregation(String aggregationType, String period, LocalDateTime startTime, LocalDateTime endTime) {
         try {
-            // Get all entries for the time period
-            List<Fido2MetricsEntry> entries = getMetricsEntriesByTimeRange(startTime, endTime);
-            
-            if (entries.isEmpty()) {
+            Fido2MetricsRollup rollup = getMetricsRollup(startTime, endTime);
+            if (rollup.isEmpty()) {
                 return null;
             }
 
@@ -563,101 +510,11 @@ public class Fido2MetricsService {
             Date endDate = convertToDate(endTime);
             
             Fido2MetricsAggregation aggregation = new Fido2MetricsAggregation(aggregationType, period, startDate, endDate);
-            Map<String, Object> metricsData = new HashMap<>();
+            aggregation.setMetricsData(rollup.toMetricsData());
 
-            // Calculate registration metrics
-            long registrationAttempts = entries.stream()
-                .filter(e -> Fido2MetricsConstants.REGISTRATION.equals(e.getOperationType()))
-                .count();
-            
-            long registrationSuccesses = entries.stream()
-                .filter(e -> Fido2MetricsConstants.REGISTRATION.equals(e.getOperationType()) && 
-                           Fido2MetricsConstants.SUCCESS.equals(e.getStatus()))
-                .count();
-            
-            long registrationFailures = registrationAttempts - registrationSuccesses;
-            
-            metricsData.put(Fido2MetricsConstants.REGISTRATION_ATTEMPTS, registrationAttempts);
-            metricsData.put(Fido2MetricsConstants.REGISTRATION_SUCCESSES, registrationSuccesses);
-            metricsData.put(Fido2MetricsConstants.REGISTRATION_FAILURES, registrationFailures);
-            
-            if (registrationAttempts > 0) {
-                metricsData.put(Fido2MetricsConstants.REGISTRATION_SUCCESS_RATE, (double) registrationSuccesses / registrationAttempts);
-            }
-
-            // Calculate authentication metrics
-            long authenticationAttempts = entries.stream()
-                .filter(e -> Fido2MetricsConstants.AUTHENTICATION.equals(e.getOperationType()))
-                .count();
-            
-            long authenticationSuccesses = entries.stream()
-                .filter(e -> Fido2MetricsConstants.AUTHENTICATION.equals(e.getOperationType()) && 
-                           Fido2MetricsConstants.SUCCESS.equals(e.getStatus()))
-                .count();
-            
-            long authenticationFailures = authenticationAttempts - authenticationSuccesses;
-            
-            metricsData.put(Fido2MetricsConstants.AUTHENTICATION_ATTEMPTS, authenticationAttempts);
-            metricsData.put(Fido2MetricsConstants.AUTHENTICATION_SUCCESSES, authenticationSuccesses);
-            metricsData.put(Fido2MetricsConstants.AUTHENTICATION_FAILURES, authenticationFailures);
-            
-            if (authenticationAttempts > 0) {
-                metricsData.put(Fido2MetricsConstants.AUTHENTICATION_SUCCESS_RATE, (double) authenticationSuccesses / authenticationAttempts);
-            }
+            // Estimated from merged HLL sketches of user ids
+            aggregation.setUniqueUsers(rollup.getUniqueUsers());
 
-            // Calculate fallback events
-            long fallbackEvents = entries.stream()
-                .filter(e -> Fido2MetricsConstants.FALLBACK.equals(e.getOperationType()))
-                .count();
-            metricsData.put(Fido2MetricsConstants.FALLBACK_EVENTS, fallbackEvents);
-
-            // Calculate unique users
-            Set<String> uniqueUsers = entries.stream()
-                .filter(e -> e.getUserId() != null)
-                .map(Fido2MetricsEntry::getUserId)
-                .collect(Collectors.toSet());
-            aggregation.setUniqueUsers((long) uniqueUsers.size());
-
-            // Calculate device types
-            Map<String, Long> deviceTypes = entries.stream()
-                .filter(e -> e.getAuthenticatorType() != null)
-                .collect(Collectors.groupingBy(
-                    Fido2MetricsEntry::getAuthenticatorType,
-                    Collectors.counting()
-                ));
-            metricsData.put(Fido2MetricsConstants.DEVICE_TYPES, deviceTypes);
-
-            // Calculate error counts
-            Map<String, Long> errorCounts = entries.stream()
-                .filter(e -> e.getErrorReason() != null)
-                .collect(Collectors.groupingBy(
-                    Fido2MetricsEntry::getErrorReason,
-                    Collectors.counting()
-                ));
-            metricsData.put(Fido2MetricsConstants.ERROR_COUNTS, errorCounts);
-
-            // Calculate average durations
-            OptionalDouble avgRegistrationDuration = entries.stream()
-                .filter(e -> Fido2MetricsConstants.REGISTRATION.equals(e.getOperationType()) && 
-                           e.getDurationMs() != null)
-                .mapToLong(Fido2MetricsEntry::getDurationMs)
-                .average();
-            
-            if (avgRegistrationDuration.isPresent()) {
-                metricsData.put(Fido2MetricsConstants.REGISTRATION_AVG_DURATION, avgRegistrationDuration.getAsDouble());
-            }
-
-            OptionalDouble avgAuthenticationDuration = entries.stream()
-                .filter(e -> Fido2MetricsConstants.AUTHENTICATION.equals(e.getOperationType()) && 
-                           e.getDurationMs() != null)
-                .mapToLong(Fido2MetricsEntry::getDurationMs)
-                .average();
-            
-            if (avgAuthenticationDuration.isPresent()) {
-                metricsData.put(Fido2MetricsConstants.AUTHENTICATION_AVG_DURATION, avgAuthenticationDuration.getAsDouble());
-            }
-
-            aggregation.setMetricsData(metricsData);
             return aggregation;
 
         } catch (Exception e) {
@@ -666,7 +523,62 @@ public class Fido2MetricsService {
         }
     }
 
-    private List<Fido2MetricsEntry> getMetricsEntriesByTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
+    /**
+     * Merge MINUTE aggregations of time range with rollups of this node which are not persisted yet.
+     * Part of range before first MINUTE aggregation (e.g. entries stored before pre-aggregation
+     * was introduced or when minute aggregations failed to be stored) is calculated from raw entries
+     */
+    private Fido2MetricsRollup getMetricsRollup(LocalDateTime startTime, LocalDateTime endTime) {
+        Date startDate = convertToDate(startTime);
+        Date endDate = convertToDate(endTime);
+
+        List<Fido2MetricsAggregation> minuteAggregations = getMinuteAggregations(startDate, endDate);
+        Date aggregatedFrom = minuteAggregations.stream()
+            .map(Fido2MetricsAggregation::getStartTime)
+            .min(Comparator.naturalOrder())
+            .orElse(endDate);
+
+        Fido2MetricsRollup rollup = metricsPreAggregator.getPendingRollup(aggregatedFrom, endDate);
+        for (Fido2MetricsAggregation minuteAggregation : minuteAggregations) {
+            rollup.merge(minuteAggregation.getMetricsData());
+        }
+
+        if (minuteAggregations.isEmpty()) {
+            getMetricsEntriesByTimeRange(startTime, endTime, null).forEach(rollup::add);
+        } else if (aggregatedFrom.after(startDate)) {
+            // Entries of first aggregated minute are in its aggregation already
+            LocalDateTime rawEndTime = LocalDateTime.ofInstant(aggregatedFrom.toInstant(), ZoneId.of("UTC"));
+            getMetricsEntriesByTimeRange(startTime, rawEndTime, null).stream()
+                .filter(entry -> entry.getTimestamp() == null || entry.getTimestamp().before(aggregatedFrom))
+                .forEach(rollup::add);
+        }
+
+        return rollup;
+    }
+
+    /**
+     * Get MINUTE aggregations of all nodes which start in range [startDate, endDate)
+     */
+    private List<Fido2MetricsAggregation> getMinuteAggregations(Date startDate, Date endDate) {
+        try {
+            Filter filter = Filter.createANDFilter(
+                Filter.createEqualityFilter("jansAggregationType", Fido2MetricsConstants.MINUTE),
+                Filter.createGreaterOrEqualFilter("jansStartTime", startDate),
+                Filter.createLessOrEqualFilter("jansStartTime", endDate)
+            );
+
+            return persistenceEntryManager.findEntries(
+                METRICS_AGGREGATION_BASE_DN, Fido2MetricsAggregation.class, filter
+            ).stream()
+                .filter(a -> a.getStartTime() != null && a.getStartTime().before(endDate))
+                .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("Failed to retrieve minute aggregations: {}", e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    private List<Fido2MetricsEntry> getMetricsEntriesByTimeRange(LocalDateTime startTime, LocalDateTime endTime, String[] returnAttributes) {
         try {
             // Convert LocalDateTime to Date for SQL persistence filters
             Date startDate = convertToDate(startTime);
@@ -678,7 +590,7 @@ public class Fido2MetricsService {
             );
 
             return persistenceEntryManager.findEntries(
-                METRICS_ENTRY_BASE_DN, Fido2MetricsEntry.class, filter
+                METRICS_ENTRY_BASE_DN, Fido2MetricsEntry.class, filter, returnAttributes
             );
         } catch (Exception e) {
             log.error("Failed to retrieve metrics entries for time range: {}", e.getMessage(), e);
@@ -37,6 +37,7 @@ import io.jans.fido2.service.external.ExternalFido2Service;
 import io.jans.fido2.service.external.context.ExternalFido2Context;
 import io.jans.fido2.service.shared.MetricService;
 import io.jans.fido2.service.persist.AuthenticationPersistenceService;
+import io.jans.fido2.service.persist.CeremonyStateService;
 import io.jans.fido2.service.persist.RegistrationPersistenceService;
 import io.jans.fido2.service.persist.UserSessionIdService;
 import io.jans.fido2.service.util.CommonUtilService;
@@ -82,6 +83,9 @@ public class AssertionService {
 	@Inject
 	private AuthenticationPersistenceService authenticationPersistenceService;
 
+	@Inject
+	private CeremonyStateService ceremonyStateService;
+
 	@Inject
 	private UserSessionIdService userSessionIdService;
 
@@ -211,7 +215,7 @@ public class AssertionService {
 		int unfinishedRequestExpiration = appConfiguration.getFido2Configuration().getUnfinishedRequestExpiration();
 		authenticationEntity.setExpiration(unfinishedRequestExpiration);
 
-		authenticationPersistenceService.save(authenticationEntity);
+		ceremonyStateService.savePendingAuthentication(authenticationEntity);
 
 		externalFido2InterceptionContext.addToContext(null, authenticationEntity);
 		externalFido2InterceptionService.authenticateAssertionFinish(CommonUtilService.toJsonNode(assertionOptions),
@@ -290,7 +294,7 @@ public class AssertionService {
 		int unfinishedRequestExpiration = appConfiguration.getFido2Configuration().getUnfinishedRequestExpiration();
 		authenticationEntity.setExpiration(unfinishedRequestExpiration);
 
-		authenticationPersistenceService.save(authenticationEntity);
+		ceremonyStateService.savePendingAuthentication(authenticationEntity);
 
 		return asserOptGenerateResponse;
 	}
@@ -338,8 +342,8 @@ public class AssertionService {
 		String challenge = commonVerifiers.getChallenge(clientJsonNode);
 
 		// Find authentication entry
-		Fido2AuthenticationEntry authenticationEntity = authenticationPersistenceService.findByChallenge(challenge)
-				.parallelStream().findFirst().orElseThrow(() -> new Fido2RuntimeException(
+		Fido2AuthenticationEntry authenticationEntity = ceremonyStateService.takePendingAuthentication(challenge)
+				.orElseThrow(() -> new Fido2RuntimeException(
 						String.format("Can't find associated assertion request by challenge '%s'", challenge)));
 		Fido2AuthenticationData authenticationData = authenticationEntity.getAuthenticationData();
 
@@ -395,7 +399,7 @@ public class AssertionService {
 		int authenticationHistoryExpiration = appConfiguration.getFido2Configuration().getAuthenticationHistoryExpiration();
 		authenticationEntity.setExpiration(authenticationHistoryExpiration);
 
-		authenticationPersistenceService.update(authenticationEntity);
+		ceremonyStateService.completeAuthentication(authenticationEntity);
 
 		// Store actual counter value in separate attribute. Note: Fido2 not update
 		// initial value in Fido2RegistrationData to minimize DB updates
@@ -26,6 +26,7 @@ import io.jans.fido2.service.ChallengeGenerator;
 import io.jans.fido2.service.DataMapperService;
 import io.jans.fido2.service.external.ExternalFido2Service;
 import io.jans.fido2.service.external.context.ExternalFido2Context;
+import io.jans.fido2.service.persist.CeremonyStateService;
 import io.jans.fido2.service.persist.RegistrationPersistenceService;
 import io.jans.fido2.service.persist.UserSessionIdService;
 import io.jans.fido2.service.util.CommonUtilService;
@@ -70,6 +71,9 @@ public class AttestationService {
 	@Inject
 	private RegistrationPersistenceService registrationPersistenceService;
 
+	@Inject
+	private CeremonyStateService ceremonyStateService;
+
 	@Inject
 	private AttestationVerifier attestationVerifier;
 
@@ -212,7 +216,7 @@ public class AttestationService {
 		int unfinishedRequestExpiration = appConfiguration.getFido2Configuration().getUnfinishedRequestExpiration();
         registrationEntry.setExpiration(unfinishedRequestExpiration);
 
-		registrationPersistenceService.save(registrationEntry);
+		ceremonyStateService.savePendingRegistration(registrationEntry);
 
 		log.debug("Saved in DB");
 
@@ -265,8 +269,8 @@ public class AttestationService {
 		String challenge = commonVerifiers.getChallenge(clientDataJSONNode);
 
 		// Find registration entry
-		Fido2RegistrationEntry registrationEntry = registrationPersistenceService.findByChallenge(challenge)
-				.parallelStream().findAny().orElseThrow(() ->
+		Fido2RegistrationEntry registrationEntry = ceremonyStateService.takePendingRegistration(challenge)
+				.orElseThrow(() ->
 					errorResponseFactory.badRequestException(AttestationErrorResponseType.INVALID_CHALLENGE, String.format("Can't find associated attestation request by challenge '%s'", challenge)));
 		Fido2RegistrationData registrationData = registrationEntry.getRegistrationData();
 		
@@ -358,7 +362,7 @@ public class AttestationService {
         registrationEntry.clearExpiration();
         
 
-		registrationPersistenceService.update(registrationEntry);
+		ceremonyStateService.completeRegistration(registrationEntry);
 
 		// If sessionStateId is not empty update session
         if (StringHelper.isNotEmpty(sessionStateId)) {
@@ -0,0 +1,167 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.service.persist;
+
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Optional;
+import java.util.TimeZone;
+
+import org.slf4j.Logger;
+
+import io.jans.fido2.model.conf.AppConfiguration;
+import io.jans.fido2.model.conf.CeremonyStoreType;
+import io.jans.orm.model.fido2.Fido2AuthenticationData;
+import io.jans.orm.model.fido2.Fido2AuthenticationEntry;
+import io.jans.orm.model.fido2.Fido2RegistrationData;
+import io.jans.orm.model.fido2.Fido2RegistrationEntry;
+import io.jans.service.CacheService;
+import io.jans.service.cache.CacheProviderType;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Keeps pending registration/authentication requests between options and result calls.
+ * With cache store requests are kept in cache under challenge with expiration unfinishedRequestExpiration
+ * and result call takes them with single get-and-remove operation. Entries are persisted only when ceremony
+ * completes. With database store pending requests are persisted and found by challenge as before.
+ *
+ * Cache store is used only if cache provider is shared between nodes and removes entries atomically
+ * (REDIS STANDALONE or SENTINEL), so challenge can't be used twice. Otherwise database store is used.
+ */
+@ApplicationScoped
+public class CeremonyStateService {
+
+	private static final String REGISTRATION_KEY_PREFIX = "fido2_registration_";
+	private static final String AUTHENTICATION_KEY_PREFIX = "fido2_authentication_";
+
+	@Inject
+	private Logger log;
+
+	@Inject
+	private AppConfiguration appConfiguration;
+
+	@Inject
+	private CacheService cacheService;
+
+	@Inject
+	private RegistrationPersistenceService registrationPersistenceService;
+
+	@Inject
+	private AuthenticationPersistenceService authenticationPersistenceService;
+
+	private volatile boolean cacheStoreFallbackLogged = false;
+
+	public boolean isCacheStore() {
+		String ceremonyStore = appConfiguration.getFido2Configuration().getCeremonyStore();
+		if (CeremonyStoreType.getByValue(ceremonyStore) != CeremonyStoreType.CACHE) {
+			return false;
+		}
+
+		CacheProviderType cacheProviderType = cacheService.getCacheProviderType();
+		if ((cacheProviderType == CacheProviderType.IN_MEMORY) || !cacheService.isAtomicGetAndRemoveSupported()) {
+			if (!cacheStoreFallbackLogged) {
+				log.warn("Cache provider '{}' isn't shared or doesn't remove entries atomically, database is used as ceremony store", cacheProviderType);
+				cacheStoreFallbackLogged = true;
+			}
+			return false;
+		}
+
+		return true;
+	}
+
+	public void savePendingRegistration(Fido2RegistrationEntry registrationEntry) {
+		if (isCacheStore()) {
+			cacheService.put(getExpiration(), REGISTRATION_KEY_PREFIX + registrationEntry.getChallange(), registrationEntry);
+			log.trace("Put pending registration request into cache, id: {}", registrationEntry.getId());
+		} else {
+			registrationPersistenceService.save(registrationEntry);
+		}
+	}
+
+	/**
+	 * Finds pending registration request by challenge. With cache store request is removed,
+	 * so each challenge can be used once
+	 */
+	public Optional<Fido2RegistrationEntry> takePendingRegistration(String challenge) {
+		if (!isCacheStore()) {
+			return registrationPersistenceService.findByChallenge(challenge).stream().findFirst();
+		}
+
+		Object value = cacheService.getAndRemove(REGISTRATION_KEY_PREFIX + challenge);
+		if (value instanceof Fido2RegistrationEntry) {
+			return Optional.of((Fido2RegistrationEntry) value);
+		}
+
+		return Optional.empty();
+	}
+
+	public void completeRegistration(Fido2RegistrationEntry registrationEntry) {
+		if (!isCacheStore()) {
+			registrationPersistenceService.update(registrationEntry);
+			return;
+		}
+
+		// Pending request wasn't persisted, create entry
+		Fido2RegistrationData registrationData = registrationEntry.getRegistrationData();
+		registrationData.setUpdatedDate(now());
+		registrationData.setUpdatedBy(registrationData.getUsername());
+		registrationEntry.setRegistrationStatus(registrationData.getStatus());
+
+		registrationPersistenceService.save(registrationEntry);
+	}
+
+	public void savePendingAuthentication(Fido2AuthenticationEntry authenticationEntry) {
+		if (isCacheStore()) {
+			cacheService.put(getExpiration(), AUTHENTICATION_KEY_PREFIX + authenticationEntry.getChallange(), authenticationEntry);
+			log.trace("Put pending authentication request into cache, id: {}", authenticationEntry.getId());
+		} else {
+			authenticationPersistenceService.save(authenticationEntry);
+		}
+	}
+
+	/**
+	 * Finds pending authentication request by challenge. With cache store request is removed,
+	 * so each challenge can be used once
+	 */
+	public Optional<Fido2AuthenticationEntry> takePendingAuthentication(String challenge) {
+		if (!isCacheStore()) {
+			return authenticationPersistenceService.findByChallenge(challenge).stream().findFirst();
+		}
+
+		Object value = cacheService.getAndRemove(AUTHENTICATION_KEY_PREFIX + challenge);
+		if (value instanceof Fido2AuthenticationEntry) {
+			return Optional.of((Fido2AuthenticationEntry) value);
+		}
+
+		return Optional.empty();
+	}
+
+	public void completeAuthentication(Fido2AuthenticationEntry authenticationEntry) {
+		if (!isCacheStore()) {
+			authenticationPersistenceService.update(authenticationEntry);
+			return;
+		}
+
+		// Pending request wasn't persisted, create entry
+		Fido2AuthenticationData authenticationData = authenticationEntry.getAuthenticationData();
+		authenticationData.setUpdatedDate(now());
+		authenticationData.setUpdatedBy(authenticationData.getUsername());
+		authenticationEntry.setAuthenticationStatus(authenticationData.getStatus());
+
+		authenticationPersistenceService.save(authenticationEntry);
+	}
+
+	private int getExpiration() {
+		return appConfiguration.getFido2Configuration().getUnfinishedRequestExpiration();
+	}
+
+	private Date now() {
+		return new GregorianCalendar(TimeZone.getTimeZone("UTC")).getTime();
+	}
+
+}
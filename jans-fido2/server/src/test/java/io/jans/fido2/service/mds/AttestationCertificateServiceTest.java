@@ -1,5 +1,6 @@
 package io.jans.fido2.service.mds;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jans.fido2.exception.Fido2RuntimeException;
 import io.jans.fido2.model.auth.AuthData;
@@ -21,9 +22,12 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +47,8 @@ class AttestationCertificateServiceTest {
     private MdsService mdsService;
     @Mock
     private DataMapperService dataMapperService;
+    @Mock
+    private TocService tocService;
 
     private AuthData authDataWithAaguid() {
         AuthData authData = mock(AuthData.class);
@@ -82,4 +88,15 @@ class AttestationCertificateServiceTest {
         // Regression guard: monitor/disabled keep the previous lenient behavior — fall back, do not throw.
         assertDoesNotThrow(() -> attestationCertificateService.getAttestationRootCertificates(authData, certs));
     }
+
+    @Test
+    void getAttestationRootCertificates_tocEntry_returnsDecodedCertificates() {
+        configureMode("enforced");
+        JsonNode metadata = new ObjectMapper().createObjectNode();
+        List<X509Certificate> rootCerts = Collections.singletonList(mock(X509Certificate.class));
+        when(tocService.getAttestationRootCertificates(metadata)).thenReturn(rootCerts);
+
+        assertSame(rootCerts, attestationCertificateService.getAttestationRootCertificates(metadata, Collections.emptyList()));
+        verify(certificateService, never()).getCertificates(any(List.class));
+    }
 }
@@ -0,0 +1,69 @@
+package io.jans.fido2.service.mds;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TocIndexTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static ObjectNode metadataEntry(String status, String timeOfLastStatusChange) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.putArray("statusReports").addObject().put("status", status).put("effectiveDate", timeOfLastStatusChange);
+        node.put("timeOfLastStatusChange", timeOfLastStatusChange);
+        return node;
+    }
+
+    @Test
+    void get_shouldLookupByAaguidAaidAndKeyIdentifier() {
+        TocIndex.Entry aaguidEntry = new TocIndex.Entry(metadataEntry("FIDO_CERTIFIED", "2024-01-01"), null);
+        TocIndex.Entry aaidEntry = new TocIndex.Entry(metadataEntry("FIDO_CERTIFIED", "2024-01-01"), null);
+        TocIndex.Entry keyIdentifierEntry = new TocIndex.Entry(metadataEntry("FIDO_CERTIFIED", "2024-01-01"), null);
+
+        TocIndex index = new TocIndex.Builder(5, LocalDate.of(2024, 2, 1))
+                .addAaguidEntry("aaguid", aaguidEntry)
+                .addAaidEntry("aaid", aaidEntry)
+                .addKeyIdentifierEntry("keyId", keyIdentifierEntry)
+                .build();
+
+        assertEquals(5, index.getSerialNo());
+        assertEquals(3, index.size());
+        assertSame(aaguidEntry, index.get("aaguid"));
+        assertSame(aaidEntry, index.get("aaid"));
+        assertSame(keyIdentifierEntry, index.get("keyId"));
+        assertNull(index.get("unknown"));
+        assertNull(index.getByAaguid("aaid"));
+        assertSame(aaidEntry, index.getByMetadata(aaidEntry.getMetadata()));
+        assertNull(index.getByMetadata(metadataEntry("FIDO_CERTIFIED", "2024-01-01")));
+    }
+
+    @Test
+    void build_withDuplicateKeys_shouldKeepLatestStatusChange() {
+        TocIndex.Entry older = new TocIndex.Entry(metadataEntry("FIDO_CERTIFIED", "2023-01-01"), null);
+        TocIndex.Entry newer = new TocIndex.Entry(metadataEntry("FIDO_CERTIFIED_L1", "2024-01-01"), null);
+
+        TocIndex index = new TocIndex.Builder(1, null)
+                .addAaguidEntry("aaguid", newer)
+                .addAaguidEntry("aaguid", older)
+                .build();
+
+        assertSame(newer, index.getByAaguid("aaguid"));
+        assertNull(index.getByMetadata(older.getMetadata()));
+    }
+
+    @Test
+    void hasSameStatus_shouldCompareStatusReports() {
+        TocIndex.Entry entry = new TocIndex.Entry(metadataEntry("FIDO_CERTIFIED", "2024-01-01"), null);
+
+        assertTrue(entry.hasSameStatus(metadataEntry("FIDO_CERTIFIED", "2024-01-01")));
+        assertFalse(entry.hasSameStatus(metadataEntry("REVOKED", "2024-01-01")));
+        assertFalse(entry.hasSameStatus(metadataEntry("FIDO_CERTIFIED", "2024-03-01")));
+        assertTrue(TocIndex.EMPTY.isEmpty());
+    }
+
+}
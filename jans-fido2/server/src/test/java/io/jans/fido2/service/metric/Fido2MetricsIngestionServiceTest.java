@@ -0,0 +1,149 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.service.metric;
+
+import io.jans.fido2.model.conf.AppConfiguration;
+import io.jans.fido2.model.metric.Fido2MetricsEntry;
+import io.jans.fido2.model.metric.Fido2MetricsOverflowPolicy;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.BulkOperationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class Fido2MetricsIngestionServiceTest {
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private PersistenceEntryManager persistenceEntryManager;
+
+    @InjectMocks
+    private Fido2MetricsIngestionService ingestionService;
+
+    private final CountDownLatch writeStarted = new CountDownLatch(1);
+    private final CountDownLatch writeAllowed = new CountDownLatch(1);
+
+    private void start(int capacity, Fido2MetricsOverflowPolicy overflowPolicy) {
+        when(appConfiguration.getFido2MetricsQueueCapacity()).thenReturn(capacity);
+        when(appConfiguration.getFido2MetricsBatchSize()).thenReturn(10);
+        when(appConfiguration.getFido2MetricsWriterThreads()).thenReturn(1);
+        when(appConfiguration.getFido2MetricsOverflowPolicy()).thenReturn(overflowPolicy);
+        when(persistenceEntryManager.persistAll(anyCollection())).thenAnswer(invocation -> {
+            writeStarted.countDown();
+            writeAllowed.await(5, TimeUnit.SECONDS);
+            return successResult(invocation.getArgument(0));
+        });
+
+        ingestionService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeAllowed.countDown();
+        ingestionService.destroy();
+    }
+
+    private static BulkOperationResult successResult(Collection<?> entries) {
+        BulkOperationResult result = new BulkOperationResult(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            result.addSuccess(i, null);
+        }
+        return result;
+    }
+
+    private static Fido2MetricsEntry entry(String id) {
+        Fido2MetricsEntry entry = new Fido2MetricsEntry();
+        entry.setId(id);
+        return entry;
+    }
+
+    // Blocks writer thread in persistAll, so following entries stay in queue
+    private void blockWriter() throws InterruptedException {
+        assertTrue(ingestionService.offer(entry("blocking")));
+        assertTrue(writeStarted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void offer_whenQueueIsFullAndDropNewest_shouldDropNewEntry() throws InterruptedException {
+        start(2, Fido2MetricsOverflowPolicy.DROP_NEWEST);
+        blockWriter();
+
+        assertTrue(ingestionService.offer(entry("1")));
+        assertTrue(ingestionService.offer(entry("2")));
+        assertFalse(ingestionService.offer(entry("3")));
+
+        assertEquals(2, ingestionService.getQueueDepth());
+        assertEquals(1, ingestionService.getDroppedCount());
+    }
+
+    @Test
+    void offer_whenQueueIsFullAndDropOldest_shouldKeepNewEntry() throws InterruptedException {
+        start(2, Fido2MetricsOverflowPolicy.DROP_OLDEST);
+        blockWriter();
+
+        assertTrue(ingestionService.offer(entry("1")));
+        assertTrue(ingestionService.offer(entry("2")));
+        assertTrue(ingestionService.offer(entry("3")));
+
+        assertEquals(2, ingestionService.getQueueDepth());
+        assertEquals(1, ingestionService.getDroppedCount());
+    }
+
+    @Test
+    void offer_whenQueueIsFullAndBlock_shouldDropAfterTimeout() throws InterruptedException {
+        start(1, Fido2MetricsOverflowPolicy.BLOCK);
+        blockWriter();
+
+        assertTrue(ingestionService.offer(entry("1")));
+        long start = System.currentTimeMillis();
+        assertFalse(ingestionService.offer(entry("2")));
+
+        assertTrue(System.currentTimeMillis() - start >= Fido2MetricsIngestionService.BLOCK_TIMEOUT - 10);
+        assertEquals(1, ingestionService.getDroppedCount());
+    }
+
+    @Test
+    void destroy_shouldPersistQueuedEntriesInBatches() throws InterruptedException {
+        start(100, Fido2MetricsOverflowPolicy.DROP_NEWEST);
+        blockWriter();
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(ingestionService.offer(entry(Integer.toString(i))));
+        }
+
+        writeAllowed.countDown();
+        ingestionService.destroy();
+
+        assertEquals(26, ingestionService.getPersistedCount());
+        assertEquals(0, ingestionService.getQueueDepth());
+        assertEquals(0, ingestionService.getDroppedCount());
+        // 1 blocking entry and 25 entries in batches of 10
+        assertTrue(ingestionService.getBatchCount() >= 4);
+        verify(persistenceEntryManager, never()).persist(any());
+    }
+}
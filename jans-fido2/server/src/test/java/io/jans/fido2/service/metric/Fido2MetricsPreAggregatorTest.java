@@ -0,0 +1,248 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2024, Janssen Project
+ */
+
+package io.jans.fido2.service.metric;
+
+import io.jans.fido2.model.metric.Fido2MetricsAggregation;
+import io.jans.fido2.model.metric.Fido2MetricsConstants;
+import io.jans.fido2.model.metric.Fido2MetricsEntry;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.BulkOperationResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class Fido2MetricsPreAggregatorTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private PersistenceEntryManager persistenceEntryManager;
+
+    @InjectMocks
+    private Fido2MetricsPreAggregator preAggregator;
+
+    private static Fido2MetricsEntry userEntry(String userId) {
+        Fido2MetricsEntry entry = entry(0, Fido2MetricsConstants.AUTHENTICATION, Fido2MetricsConstants.SUCCESS, 100L);
+        entry.setUserId(userId);
+        return entry;
+    }
+
+    private static Fido2MetricsEntry entry(long timestamp, String operationType, String status, Long durationMs) {
+        Fido2MetricsEntry entry = new Fido2MetricsEntry();
+        entry.setTimestamp(new Date(timestamp));
+        entry.setOperationType(operationType);
+        entry.setStatus(status);
+        entry.setDurationMs(durationMs);
+        entry.setAuthenticatorType("PLATFORM");
+        return entry;
+    }
+
+    private static BulkOperationResult success(Collection<?> entries) {
+        BulkOperationResult result = new BulkOperationResult(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            result.addSuccess(i, null);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Fido2MetricsAggregation> captureFlushed() {
+        ArgumentCaptor<Collection<Fido2MetricsAggregation>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(persistenceEntryManager).persistAll(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    @Test
+    void flush_shouldPersistOnlyClosedMinutes() {
+        when(persistenceEntryManager.persistAll(anyCollection())).thenAnswer(invocation -> success(invocation.getArgument(0)));
+        long now = System.currentTimeMillis();
+        long oldMinute = (now / MINUTE - 10) * MINUTE;
+
+        preAggregator.record(entry(oldMinute + 1000, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS, 500L));
+        preAggregator.record(entry(oldMinute + 2000, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.FAILURE, 700L));
+        preAggregator.record(entry(now, Fido2MetricsConstants.AUTHENTICATION, Fido2MetricsConstants.SUCCESS, 200L));
+
+        preAggregator.flush();
+
+        List<Fido2MetricsAggregation> flushed = captureFlushed();
+        assertEquals(1, flushed.size());
+        Fido2MetricsAggregation aggregation = flushed.get(0);
+        assertEquals(Fido2MetricsConstants.MINUTE, aggregation.getAggregationType());
+        assertEquals(oldMinute, aggregation.getStartTime().getTime());
+        assertEquals(2L, aggregation.getRegistrationAttempts());
+        assertEquals(1L, aggregation.getRegistrationSuccesses());
+        assertEquals(0L, aggregation.getAuthenticationAttempts());
+        assertTrue(aggregation.getDn().endsWith(Fido2MetricsConstants.FIDO2_METRICS_AGGREGATION_BASE_DN));
+
+        // Current minute is still pending
+        assertEquals(1, preAggregator.getPendingMinutes());
+        assertFalse(preAggregator.getPendingRollup(new Date(now - MINUTE), new Date(now + MINUTE)).isEmpty());
+    }
+
+    @Test
+    void record_whenMinuteIsAlreadyFlushed_shouldCountLateEntry() {
+        when(persistenceEntryManager.persistAll(anyCollection())).thenAnswer(invocation -> success(invocation.getArgument(0)));
+        long oldMinute = (System.currentTimeMillis() / MINUTE - 10) * MINUTE;
+
+        preAggregator.record(entry(oldMinute, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS, 500L));
+        preAggregator.flush();
+        preAggregator.record(entry(oldMinute, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS, 500L));
+
+        assertEquals(1, preAggregator.getLateCount());
+        assertEquals(0, preAggregator.getPendingMinutes());
+        assertFalse(preAggregator.getPendingRollup(new Date(oldMinute), new Date(oldMinute + MINUTE)).isEmpty());
+    }
+
+    @Test
+    void flush_whenLateEntryIsRecorded_shouldMergeItIntoPersistedAggregation() {
+        when(persistenceEntryManager.persistAll(anyCollection())).thenAnswer(invocation -> success(invocation.getArgument(0)));
+        long oldMinute = (System.currentTimeMillis() / MINUTE - 10) * MINUTE;
+
+        preAggregator.record(entry(oldMinute, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS, 500L));
+        preAggregator.flush();
+        Fido2MetricsAggregation persisted = captureFlushed().get(0);
+
+        when(persistenceEntryManager.contains(persisted.getDn(), Fido2MetricsAggregation.class)).thenReturn(true);
+        when(persistenceEntryManager.find(Fido2MetricsAggregation.class, persisted.getDn())).thenReturn(persisted);
+
+        preAggregator.record(entry(oldMinute + 1000, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.FAILURE, 700L));
+        preAggregator.flush();
+
+        ArgumentCaptor<Fido2MetricsAggregation> captor = ArgumentCaptor.forClass(Fido2MetricsAggregation.class);
+        verify(persistenceEntryManager).merge(captor.capture());
+        assertEquals(2L, captor.getValue().getRegistrationAttempts());
+        assertEquals(1L, captor.getValue().getRegistrationSuccesses());
+        assertTrue(preAggregator.getPendingRollup(new Date(oldMinute), new Date(oldMinute + MINUTE)).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_whenPersistFails_shouldKeepRollupAndRetryIt() {
+        when(persistenceEntryManager.persistAll(anyCollection()))
+            .thenThrow(new RuntimeException("unavailable"))
+            .thenAnswer(invocation -> success(invocation.getArgument(0)));
+        long oldMinute = (System.currentTimeMillis() / MINUTE - 10) * MINUTE;
+
+        preAggregator.record(entry(oldMinute, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS, 500L));
+        preAggregator.flush();
+
+        // Minute is not closed, entry which comes after failure is added to the same rollup
+        preAggregator.record(entry(oldMinute + 1000, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS, 500L));
+        assertEquals(0, preAggregator.getLateCount());
+        assertEquals(1, preAggregator.getPendingMinutes());
+        assertFalse(preAggregator.getPendingRollup(new Date(oldMinute), new Date(oldMinute + MINUTE)).isEmpty());
+
+        preAggregator.flush();
+
+        ArgumentCaptor<Collection<Fido2MetricsAggregation>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(persistenceEntryManager, times(2)).persistAll(captor.capture());
+        List<Fido2MetricsAggregation> retried = new ArrayList<>(captor.getAllValues().get(1));
+        assertEquals(1, retried.size());
+        assertEquals(2L, retried.get(0).getRegistrationAttempts());
+        assertEquals(0, preAggregator.getPendingMinutes());
+
+        preAggregator.record(entry(oldMinute, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS, 500L));
+        assertEquals(1, preAggregator.getLateCount());
+    }
+
+    @Test
+    void flush_whenOneMinuteFails_shouldRetryOnlyThisMinute() {
+        long oldMinute = (System.currentTimeMillis() / MINUTE - 10) * MINUTE;
+        when(persistenceEntryManager.persistAll(anyCollection())).thenAnswer(invocation -> {
+            Collection<Fido2MetricsAggregation> aggregations = invocation.getArgument(0);
+            BulkOperationResult result = new BulkOperationResult(aggregations.size());
+            int i = 0;
+            for (Fido2MetricsAggregation aggregation : aggregations) {
+                if (aggregation.getStartTime().getTime() == oldMinute) {
+                    result.addFailure(i++, aggregation.getDn(), new RuntimeException("failed"));
+                } else {
+                    result.addSuccess(i++, aggregation.getDn());
+                }
+            }
+            return result;
+        });
+
+        preAggregator.record(entry(oldMinute, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS, 500L));
+        preAggregator.record(entry(oldMinute + MINUTE, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS, 500L));
+        preAggregator.flush();
+
+        assertEquals(1, preAggregator.getPendingMinutes());
+        assertFalse(preAggregator.getPendingRollup(new Date(oldMinute), new Date(oldMinute + MINUTE)).isEmpty());
+
+        // Persisted minute doesn't accept entries even if minute before it is not persisted yet
+        preAggregator.record(entry(oldMinute + MINUTE, Fido2MetricsConstants.REGISTRATION, Fido2MetricsConstants.SUCCESS, 500L));
+        assertEquals(1, preAggregator.getLateCount());
+        assertEquals(1, preAggregator.getPendingMinutes());
+    }
+
+    @Test
+    void rollup_whenMergedFromMetricsData_shouldEstimateUniqueUsers() {
+        Fido2MetricsRollup first = new Fido2MetricsRollup();
+        Fido2MetricsRollup second = new Fido2MetricsRollup();
+        for (int i = 0; i < 10_000; i++) {
+            // Half of users are in both rollups
+            first.add(userEntry("user" + i));
+            second.add(userEntry("user" + (i + 5_000)));
+        }
+
+        Fido2MetricsRollup merged = new Fido2MetricsRollup();
+        merged.merge(first.toMetricsData());
+        merged.merge(second.toMetricsData());
+
+        assertEquals(15_000, merged.getUniqueUsers(), 15_000 * 0.03);
+        assertEquals(0, new Fido2MetricsRollup().getUniqueUsers());
+    }
+
+    @Test
+    void rollup_whenMergedFromMetricsData_shouldKeepCountsAndPercentiles() {
+        Fido2MetricsRollup first = new Fido2MetricsRollup();
+        Fido2MetricsRollup second = new Fido2MetricsRollup();
+        for (long duration = 1; duration <= 1000; duration++) {
+            Fido2MetricsRollup rollup = duration % 2 == 0 ? first : second;
+            rollup.add(entry(0, Fido2MetricsConstants.AUTHENTICATION, Fido2MetricsConstants.SUCCESS, duration));
+        }
+
+        Fido2MetricsRollup merged = new Fido2MetricsRollup();
+        merged.merge(first.toMetricsData());
+        merged.merge(second.toMetricsData());
+
+        Map<String, Object> metricsData = merged.toMetricsData();
+        assertEquals(1000L, metricsData.get(Fido2MetricsConstants.AUTHENTICATION_ATTEMPTS));
+        assertEquals(1000L, merged.getStatusCount(Fido2MetricsConstants.SUCCESS));
+        assertEquals(1000L, merged.getAuthenticatorTypes().get("PLATFORM"));
+        assertEquals(500.5, (Double) metricsData.get(Fido2MetricsConstants.AUTHENTICATION_AVG_DURATION), 0.001);
+        assertEquals(1L, metricsData.get("authentication" + Fido2MetricsConstants.MIN_DURATION));
+        assertEquals(1000L, metricsData.get("authentication" + Fido2MetricsConstants.MAX_DURATION));
+
+        assertEquals(500, (Long) metricsData.get("authentication" + Fido2MetricsConstants.P50_DURATION), 500 * 0.02 + 1);
+        assertEquals(950, (Long) metricsData.get("authentication" + Fido2MetricsConstants.P95_DURATION), 950 * 0.02 + 1);
+        assertEquals(990, (Long) metricsData.get("authentication" + Fido2MetricsConstants.P99_DURATION), 990 * 0.02 + 1);
+        assertFalse(metricsData.containsKey("registration" + Fido2MetricsConstants.P50_DURATION));
+    }
+}
@@ -6,6 +6,7 @@ import io.jans.fido2.model.assertion.AssertionResult;
 import io.jans.fido2.model.error.ErrorResponseFactory;
 import io.jans.fido2.service.external.ExternalFido2Service;
 import io.jans.fido2.service.persist.AuthenticationPersistenceService;
+import io.jans.fido2.service.persist.CeremonyStateService;
 import io.jans.fido2.service.persist.RegistrationPersistenceService;
 import io.jans.fido2.service.shared.MetricService;
 import io.jans.fido2.service.util.CommonUtilService;
@@ -29,7 +30,6 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.slf4j.Logger;
 
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -58,6 +58,8 @@ class AssertionServiceTest {
     @Mock
     private RegistrationPersistenceService registrationPersistenceService;
     @Mock
+    private CeremonyStateService ceremonyStateService;
+    @Mock
     private ErrorResponseFactory errorResponseFactory;
     @Mock
     private DomainVerifier domainVerifier;
@@ -90,7 +92,7 @@ class AssertionServiceTest {
         authData.setChallenge("issuedChallenge"); // differs from the clientData challenge
         Fido2AuthenticationEntry entry = mock(Fido2AuthenticationEntry.class);
         when(entry.getAuthenticationData()).thenReturn(authData);
-        when(authenticationPersistenceService.findByChallenge("clientChallenge")).thenReturn(List.of(entry));
+        when(ceremonyStateService.takePendingAuthentication("clientChallenge")).thenReturn(Optional.of(entry));
 
         when(errorResponseFactory.invalidRequest(any()))
                 .thenReturn(new WebApplicationException(Response.status(400).entity("challenge mismatch").build()));
@@ -122,7 +124,7 @@ class AssertionServiceTest {
         authData.setChallenge(null); // no issued challenge stored
         Fido2AuthenticationEntry entry = mock(Fido2AuthenticationEntry.class);
         when(entry.getAuthenticationData()).thenReturn(authData);
-        when(authenticationPersistenceService.findByChallenge("clientChallenge")).thenReturn(List.of(entry));
+        when(ceremonyStateService.takePendingAuthentication("clientChallenge")).thenReturn(Optional.of(entry));
 
         when(errorResponseFactory.invalidRequest(any()))
                 .thenReturn(new WebApplicationException(Response.status(400).entity("challenge mismatch").build()));
@@ -156,7 +158,7 @@ class AssertionServiceTest {
         authData.setChallenge("clientChallenge"); // matches → guard must pass
         Fido2AuthenticationEntry entry = mock(Fido2AuthenticationEntry.class);
         when(entry.getAuthenticationData()).thenReturn(authData);
-        when(authenticationPersistenceService.findByChallenge("clientChallenge")).thenReturn(List.of(entry));
+        when(ceremonyStateService.takePendingAuthentication("clientChallenge")).thenReturn(Optional.of(entry));
 
         // Sentinel thrown by the step immediately after the challenge check.
         doThrow(new WebApplicationException(Response.status(499).entity("reached domain check").build()))
@@ -215,7 +217,7 @@ class AssertionServiceTest {
         Fido2AuthenticationEntry entry = mock(Fido2AuthenticationEntry.class);
         when(entry.getAuthenticationData()).thenReturn(authData);
         when(entry.getRpId()).thenReturn("rp");
-        when(authenticationPersistenceService.findByChallenge("clientChallenge")).thenReturn(List.of(entry));
+        when(ceremonyStateService.takePendingAuthentication("clientChallenge")).thenReturn(Optional.of(entry));
 
         Fido2RegistrationData regData = new Fido2RegistrationData();
         regData.setUsername("bob"); // different owner than the ceremony user
@@ -254,7 +256,7 @@ class AssertionServiceTest {
         Fido2AuthenticationEntry entry = mock(Fido2AuthenticationEntry.class);
         when(entry.getAuthenticationData()).thenReturn(authData);
         when(entry.getRpId()).thenReturn("rp");
-        when(authenticationPersistenceService.findByChallenge("clientChallenge")).thenReturn(List.of(entry));
+        when(ceremonyStateService.takePendingAuthentication("clientChallenge")).thenReturn(Optional.of(entry));
 
         Fido2RegistrationData regData = new Fido2RegistrationData();
         regData.setUsername("alice"); // same user → passes the allowCredentials check
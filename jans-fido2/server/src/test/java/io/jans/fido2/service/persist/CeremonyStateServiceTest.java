@@ -0,0 +1,156 @@
+package io.jans.fido2.service.persist;
+
+import io.jans.fido2.model.conf.AppConfiguration;
+import io.jans.fido2.model.conf.CeremonyStoreType;
+import io.jans.fido2.model.conf.Fido2Configuration;
+import io.jans.orm.model.fido2.Fido2AuthenticationData;
+import io.jans.orm.model.fido2.Fido2AuthenticationEntry;
+import io.jans.orm.model.fido2.Fido2AuthenticationStatus;
+import io.jans.orm.model.fido2.Fido2RegistrationData;
+import io.jans.orm.model.fido2.Fido2RegistrationEntry;
+import io.jans.orm.model.fido2.Fido2RegistrationStatus;
+import io.jans.service.CacheService;
+import io.jans.service.cache.CacheProviderType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CeremonyStateServiceTest {
+
+    @InjectMocks
+    private CeremonyStateService ceremonyStateService;
+
+    @Mock
+    private Logger log;
+    @Mock
+    private AppConfiguration appConfiguration;
+    @Mock
+    private CacheService cacheService;
+    @Mock
+    private RegistrationPersistenceService registrationPersistenceService;
+    @Mock
+    private AuthenticationPersistenceService authenticationPersistenceService;
+
+    private Fido2Configuration fido2Configuration;
+
+    @BeforeEach
+    void setUp() {
+        fido2Configuration = new Fido2Configuration();
+        fido2Configuration.setUnfinishedRequestExpiration(120);
+        fido2Configuration.setCeremonyStore(CeremonyStoreType.CACHE.getValue());
+        when(appConfiguration.getFido2Configuration()).thenReturn(fido2Configuration);
+        when(cacheService.getCacheProviderType()).thenReturn(CacheProviderType.REDIS);
+        when(cacheService.isAtomicGetAndRemoveSupported()).thenReturn(true);
+    }
+
+    private static Fido2RegistrationEntry registrationEntry() {
+        Fido2RegistrationData registrationData = new Fido2RegistrationData();
+        registrationData.setUsername("user");
+        registrationData.setStatus(Fido2RegistrationStatus.registered);
+
+        Fido2RegistrationEntry registrationEntry = new Fido2RegistrationEntry();
+        registrationEntry.setChallange("challenge");
+        registrationEntry.setRegistrationData(registrationData);
+        return registrationEntry;
+    }
+
+    @Test
+    void savePendingRegistration_cacheStore_putsEntryWithUnfinishedRequestExpiration() {
+        Fido2RegistrationEntry registrationEntry = registrationEntry();
+
+        ceremonyStateService.savePendingRegistration(registrationEntry);
+
+        verify(cacheService).put(120, "fido2_registration_challenge", registrationEntry);
+        verifyNoInteractions(registrationPersistenceService);
+    }
+
+    @Test
+    void takePendingRegistration_cacheStore_removesEntryFromCache() {
+        Fido2RegistrationEntry registrationEntry = registrationEntry();
+        when(cacheService.getAndRemove("fido2_registration_challenge")).thenReturn(registrationEntry, (Object) null);
+
+        assertSame(registrationEntry, ceremonyStateService.takePendingRegistration("challenge").orElse(null));
+        assertFalse(ceremonyStateService.takePendingRegistration("challenge").isPresent());
+        verify(registrationPersistenceService, never()).findByChallenge(anyString());
+    }
+
+    @Test
+    void completeRegistration_cacheStore_persistsNewEntry() {
+        Fido2RegistrationEntry registrationEntry = registrationEntry();
+
+        ceremonyStateService.completeRegistration(registrationEntry);
+
+        verify(registrationPersistenceService).save(registrationEntry);
+        verify(registrationPersistenceService, never()).update(any());
+        assertEquals(Fido2RegistrationStatus.registered, registrationEntry.getRegistrationStatus());
+        assertEquals("user", registrationEntry.getRegistrationData().getUpdatedBy());
+        assertNotNull(registrationEntry.getRegistrationData().getUpdatedDate());
+    }
+
+    @Test
+    void isCacheStore_defaultConfiguration_usesDatabase() {
+        fido2Configuration = new Fido2Configuration();
+        when(appConfiguration.getFido2Configuration()).thenReturn(fido2Configuration);
+
+        assertFalse(ceremonyStateService.isCacheStore());
+    }
+
+    @Test
+    void isCacheStore_inMemoryCacheProvider_fallsBackToDatabase() {
+        when(cacheService.getCacheProviderType()).thenReturn(CacheProviderType.IN_MEMORY);
+
+        assertFalse(ceremonyStateService.isCacheStore());
+    }
+
+    @Test
+    void isCacheStore_notAtomicGetAndRemove_fallsBackToDatabase() {
+        when(cacheService.getCacheProviderType()).thenReturn(CacheProviderType.MEMCACHED);
+        when(cacheService.isAtomicGetAndRemoveSupported()).thenReturn(false);
+
+        Fido2RegistrationEntry registrationEntry = registrationEntry();
+        ceremonyStateService.savePendingRegistration(registrationEntry);
+
+        assertFalse(ceremonyStateService.isCacheStore());
+        verify(registrationPersistenceService).save(registrationEntry);
+        verify(cacheService, never()).put(anyInt(), anyString(), any());
+    }
+
+    @Test
+    void authenticationCeremony_databaseStore_usesPersistence() {
+        fido2Configuration.setCeremonyStore(CeremonyStoreType.DATABASE.getValue());
+
+        Fido2AuthenticationData authenticationData = new Fido2AuthenticationData();
+        authenticationData.setStatus(Fido2AuthenticationStatus.authenticated);
+        Fido2AuthenticationEntry authenticationEntry = new Fido2AuthenticationEntry();
+        authenticationEntry.setChallange("challenge");
+        authenticationEntry.setAuthenticationData(authenticationData);
+        when(authenticationPersistenceService.findByChallenge("challenge")).thenReturn(List.of(authenticationEntry));
+
+        ceremonyStateService.savePendingAuthentication(authenticationEntry);
+        Optional<Fido2AuthenticationEntry> found = ceremonyStateService.takePendingAuthentication("challenge");
+        ceremonyStateService.completeAuthentication(authenticationEntry);
+
+        assertSame(authenticationEntry, found.orElse(null));
+        verify(authenticationPersistenceService).save(authenticationEntry);
+        verify(authenticationPersistenceService).update(authenticationEntry);
+        verifyNoInteractions(cacheService);
+    }
+
+}
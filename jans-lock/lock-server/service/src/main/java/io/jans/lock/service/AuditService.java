@@ -1,12 +1,18 @@
 package io.jans.lock.service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import io.jans.lock.model.audit.HealthEntry;
 import io.jans.lock.model.audit.LogEntry;
 import io.jans.lock.model.audit.TelemetryEntry;
 import io.jans.lock.model.config.StaticConfiguration;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.base.BaseEntry;
+import io.jans.orm.model.BulkOperationResult;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -85,6 +91,55 @@ public class AuditService {
 		persistenceEntryManager.persist(healthEntry);
 	}
 
+	/**
+	 * Assigns unique inums and corresponding DNs to the provided log entries and persists them in batches.
+	 *
+	 * Inum collision check is skipped because it requires lookup per entry. Persist of entry with
+	 * duplicate DN is reported in result.
+	 *
+	 * @param logEntries the log entries to assign identifiers to and persist
+	 * @return per entry persist results
+	 */
+	public BulkOperationResult addLogEntries(List<LogEntry> logEntries) {
+		return addEntries(logEntries, LogEntry::setInum, this::getDnForLogEntry);
+	}
+
+	/**
+	 * Assigns unique inums and corresponding DNs to the provided telemetry entries and persists them in batches.
+	 *
+	 * @param telemetryEntries the telemetry entries to assign identifiers to and persist
+	 * @return per entry persist results
+	 */
+	public BulkOperationResult addTelemetryEntries(List<TelemetryEntry> telemetryEntries) {
+		return addEntries(telemetryEntries, TelemetryEntry::setInum, this::getDnForTelemetryEntry);
+	}
+
+	/**
+	 * Assigns unique inums and corresponding DNs to the provided health entries and persists them in batches.
+	 *
+	 * @param healthEntries the health entries to assign identifiers to and persist
+	 * @return per entry persist results
+	 */
+	public BulkOperationResult addHealthEntries(List<HealthEntry> healthEntries) {
+		return addEntries(healthEntries, HealthEntry::setInum, this::getDnForHealthEntry);
+	}
+
+	private <T extends BaseEntry> BulkOperationResult addEntries(List<T> entries, BiConsumer<T, String> inumSetter, Function<String, String> dnBuilder) {
+		List<T> entriesToPersist = new ArrayList<>(entries.size());
+		for (T entry : entries) {
+			if (entry == null) {
+				continue;
+			}
+
+			String inum = generateId();
+			inumSetter.accept(entry, inum);
+			entry.setDn(dnBuilder.apply(inum));
+			entriesToPersist.add(entry);
+		}
+
+		return persistenceEntryManager.persistAll(entriesToPersist);
+	}
+
 	/**
 	 * Builds the Distinguished Name (DN) for a log entry using the provided inum.
 	 *
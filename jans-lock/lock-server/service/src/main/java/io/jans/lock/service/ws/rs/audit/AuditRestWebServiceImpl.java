@@ -36,6 +36,7 @@ import io.jans.lock.service.stat.StatService;
 import io.jans.lock.service.ws.rs.base.BaseResource;
 import io.jans.lock.util.ServerUtil;
 import io.jans.net.InetAddressUtility;
+import io.jans.orm.model.BulkOperationResult;
 import io.jans.service.JsonService;
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
@@ -411,29 +412,27 @@ public class AuditRestWebServiceImpl extends BaseResource implements AuditRestWe
 	@SuppressWarnings("unchecked")
 	private String persistBulkAuditData(ResponseBuilder builder, AuditEndpointType requestType, List<?> entries) {
 		try {
+			BulkOperationResult result;
 			switch (requestType) {
 			case LOG_BULK:
-				List<LogEntry> logEntries = (List<LogEntry>) entries;
-				for (LogEntry entry : logEntries) {
-					auditService.addLogEntry(entry);
-				}
+				result = auditService.addLogEntries((List<LogEntry>) entries);
 				break;
 			case HEALTH_BULK:
-				List<HealthEntry> healthEntries = (List<HealthEntry>) entries;
-				for (HealthEntry entry : healthEntries) {
-					auditService.addHealthEntry(entry);
-				}
+				result = auditService.addHealthEntries((List<HealthEntry>) entries);
 				break;
 			case TELEMETRY_BULK:
-				List<TelemetryEntry> telemetryEntries = (List<TelemetryEntry>) entries;
-				for (TelemetryEntry entry : telemetryEntries) {
-					auditService.addTelemetryEntry(entry);
-				}
+				result = auditService.addTelemetryEntries((List<TelemetryEntry>) entries);
 				break;
 			default:
 				builder.status(Status.BAD_REQUEST);
 				return "Invalid request type for bulk entries";
 			}
+
+			if (!result.isSuccess()) {
+				builder.status(Status.INTERNAL_SERVER_ERROR);
+				log.error("Failed to persist {} of {} bulk audit entries: {}", result.getFailureCount(), result.getSize(), result.getFailedResults());
+				return String.format("Failed to persist %d of %d bulk entries", result.getFailureCount(), result.getSize());
+			}
 		} catch (Exception ex) {
 			builder.status(Status.INTERNAL_SERVER_ERROR);
 			log.error("Failed to persist bulk audit data", ex);
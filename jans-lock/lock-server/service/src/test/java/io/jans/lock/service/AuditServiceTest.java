@@ -12,6 +12,7 @@ import io.jans.lock.model.audit.TelemetryEntry;
 import io.jans.lock.model.config.BaseDnConfiguration;
 import io.jans.lock.model.config.StaticConfiguration;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.BulkOperationResult;
 import io.jans.service.OrganizationService;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
@@ -20,6 +21,10 @@ import org.mockito.MockitoAnnotations;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.*;
@@ -228,6 +233,37 @@ public class AuditServiceTest {
         assertTrue(persistedEntry.getDn().matches("inum=.+,ou=health,ou=audit,o=jans"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAddLogEntries_shouldPersistAllWithoutNulls() {
+        LogEntry entry1 = new LogEntry();
+        LogEntry entry2 = new LogEntry();
+        ArgumentCaptor<Collection<LogEntry>> captor = ArgumentCaptor.forClass(Collection.class);
+        when(persistenceEntryManager.persistAll(anyCollection())).thenReturn(new BulkOperationResult(2));
+
+        auditService.addLogEntries(Arrays.asList(entry1, null, entry2));
+
+        verify(persistenceEntryManager).persistAll(captor.capture());
+        assertEquals(captor.getValue().size(), 2);
+        assertTrue(entry1.getDn().matches("inum=.+,ou=log,ou=audit,o=jans"));
+        assertNotEquals(entry1.getInum(), entry2.getInum());
+        verify(persistenceEntryManager, never()).persist(any());
+        verify(persistenceEntryManager, never()).contains(anyString(), any());
+    }
+
+    @Test
+    public void testAddHealthEntries_shouldReturnPersistResult() {
+        HealthEntry healthEntry = new HealthEntry();
+        BulkOperationResult result = new BulkOperationResult(1);
+        result.addSuccess(0, "inum=1,ou=health,ou=audit,o=jans");
+        when(persistenceEntryManager.persistAll(anyCollection())).thenReturn(result);
+
+        BulkOperationResult actual = auditService.addHealthEntries(Collections.singletonList(healthEntry));
+
+        assertSame(actual, result);
+        assertTrue(healthEntry.getDn().matches("inum=.+,ou=health,ou=audit,o=jans"));
+    }
+
     @Test
     public void testGetDnForLogEntry_withSpecialCharacters_shouldHandleCorrectly() {
         String inumWithSpecial = "test-inum-123-abc";
@@ -31,6 +31,7 @@ import io.jans.orm.extension.PersistenceExtension;
 import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.BatchOperation;
+import io.jans.orm.model.BulkOperationResult;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.PersistenceMetadata;
 import io.jans.orm.model.SearchScope;
@@ -58,6 +59,16 @@ public interface PersistenceEntryManager extends EntityManager {
 
 	Void merge(Object entry);
 
+	/**
+	 * Persist entries in batches if persistence layer supports it
+	 *
+	 * @param entries Entries to persist
+	 * @return Per entry results in same order as entries
+	 */
+	BulkOperationResult persistAll(Collection<?> entries);
+
+	BulkOperationResult mergeAll(Collection<?> entries);
+
 	@Deprecated
 	boolean contains(Object entity);
 
@@ -73,6 +84,13 @@ public interface PersistenceEntryManager extends EntityManager {
 
     <T> T find(Object primaryKey, Class<T> entryClass, String[] ldapReturnAttributes);
 
+    /**
+     * Find entries by list of DNs with minimal number of DB requests
+     *
+     * @return Found entries in same order as DNs. Missing entries are skipped
+     */
+    <T> List<T> findByDns(Class<T> entryClass, Collection<String> dns, String[] ldapReturnAttributes);
+
     /**
      * Search by sample
      *
@@ -101,6 +119,7 @@ public interface PersistenceEntryManager extends EntityManager {
 	void remove(String dn);
 	<T> void removeByDn(String dn, String[] objectClasses);
 	<T> void remove(String primaryKey, Class<T> entryClass);
+	<T> BulkOperationResult removeAll(Collection<String> dns, Class<T> entryClass);
 
 	<T> int remove(String primaryKey, Class<T> entryClass, Filter filter, int count);
 	
@@ -22,6 +22,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -53,10 +55,13 @@ import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.InvalidArgumentException;
 import io.jans.orm.exception.MappingException;
 import io.jans.orm.extension.PersistenceExtension;
+import io.jans.orm.impl.EntryClassModel.PropertyModel;
 import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
+import io.jans.orm.model.BulkOperationResult;
+import io.jans.orm.model.BulkOperationResult.EntryResult;
 import io.jans.orm.model.PasswordAttributeData;
 import io.jans.orm.model.PersistenceMetadata;
 import io.jans.orm.model.SearchScope;
@@ -99,13 +104,12 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 	private static final Class<?>[] SUM_BY_ALLOWED_DATA_TYPES = { int.class, Integer.class, float.class, Float.class,
 			double.class, Double.class };
 
-	private final Map<String, List<PropertyAnnotation>> classAnnotations = new HashMap<String, List<PropertyAnnotation>>();
-	private final Map<String, Getter> classGetters = new HashMap<String, Getter>();
-	private final Map<String, Setter> classSetters = new HashMap<String, Setter>();
-
-	private static Object CLASS_ANNOTATIONS_LOCK = new Object();
-	private static Object CLASS_SETTERS_LOCK = new Object();
-	private static Object CLASS_GETTERS_LOCK = new Object();
+	private static final ClassValue<EntryClassModel> ENTRY_CLASS_MODELS = new ClassValue<EntryClassModel>() {
+		@Override
+		protected EntryClassModel computeValue(Class<?> entryClass) {
+			return new EntryClassModel(entryClass);
+		}
+	};
 
 	private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
 
@@ -121,8 +125,21 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 	protected FilterProcessor filterProcessor = new FilterProcessor();
 
+	private final EntrySnapshotRegistry entrySnapshotRegistry = new EntrySnapshotRegistry();
+
 	@Override
 	public void persist(Object entry) {
+		PersistEntry persistEntry = preparePersistEntry(0, entry);
+
+		persist(persistEntry.getDn(), persistEntry.getObjectClasses(), persistEntry.getAttributes(), persistEntry.getExpiration());
+
+		if (isUseEntrySnapshot()) {
+			// New entry contains only persisted attributes
+			entrySnapshotRegistry.put(entry, persistEntry.getDn(), null, persistEntry.getAttributes());
+		}
+	}
+
+	protected PersistEntry preparePersistEntry(int index, Object entry) {
 		if (entry == null) {
 			throw new MappingException("Entry to persist is null");
 		}
@@ -146,11 +163,124 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 			LOG.debug(String.format("LDAP attributes for persist: %s", maskSensetiveData(attributes)));
 		}
 
-		persist(dnValue.toString(), objectClasses, attributes, expirationValue);
+		return new PersistEntry(index, dnValue.toString(), objectClasses, attributes, expirationValue);
 	}
 
 	protected abstract void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration);
 
+	@Override
+	public BulkOperationResult persistAll(Collection<?> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to persist is null");
+		}
+
+		BulkOperationResult result = new BulkOperationResult(entries.size());
+
+		List<PersistEntry> persistEntries = new ArrayList<PersistEntry>(entries.size());
+		int index = 0;
+		for (Object entry : entries) {
+			try {
+				persistEntries.add(preparePersistEntry(index, entry));
+			} catch (RuntimeException ex) {
+				result.addFailure(index, null, ex);
+			}
+			index++;
+		}
+
+		if (!persistEntries.isEmpty()) {
+			persist(persistEntries, result);
+		}
+
+		return result;
+	}
+
+	/*
+	 * Default implementation persists entries one by one. Persistence layers which
+	 * support batch writes should override it
+	 */
+	protected void persist(List<PersistEntry> persistEntries, BulkOperationResult result) {
+		for (PersistEntry persistEntry : persistEntries) {
+			try {
+				persist(persistEntry.getDn(), persistEntry.getObjectClasses(), persistEntry.getAttributes(), persistEntry.getExpiration());
+				result.addSuccess(persistEntry.getIndex(), persistEntry.getDn());
+			} catch (RuntimeException ex) {
+				result.addFailure(persistEntry.getIndex(), persistEntry.getDn(), ex);
+			}
+		}
+	}
+
+	@Override
+	public BulkOperationResult mergeAll(Collection<?> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to merge is null");
+		}
+
+		BulkOperationResult result = new BulkOperationResult(entries.size());
+
+		// Build modifications lists first. Entries without snapshot are loaded from DB for this
+		List<MergeEntry> mergeEntries = new ArrayList<MergeEntry>(entries.size());
+		int index = 0;
+		for (Object entry : entries) {
+			String dn = null;
+			try {
+				if (entry == null) {
+					throw new MappingException("Entry to merge is null");
+				}
+				dn = String.valueOf(getDNValue(entry, entry.getClass()));
+
+				mergeEntries.add(prepareMergeEntry(index, entry));
+			} catch (RuntimeException ex) {
+				result.addFailure(index, dn, ex);
+			}
+			index++;
+		}
+
+		if (mergeEntries.isEmpty()) {
+			return result;
+		}
+
+		merge(mergeEntries, result);
+
+		for (MergeEntry mergeEntry : mergeEntries) {
+			EntryResult entryResult = result.getResult(mergeEntry.getIndex());
+			if ((entryResult != null) && entryResult.isSuccess()) {
+				afterMerge(mergeEntry);
+			} else {
+				onMergeFailure(mergeEntry);
+			}
+		}
+
+		return result;
+	}
+
+	/*
+	 * Prepares entry for bulk merge. Schema entries are not supported in bulk operations
+	 */
+	protected MergeEntry prepareMergeEntry(int index, Object entry) {
+		Class<?> entryClass = entry.getClass();
+		checkEntryClass(entryClass, true);
+		if (isSchemaEntry(entryClass)) {
+			throw new UnsupportedOperationException("Bulk merge of schema entries is not supported");
+		}
+
+		return prepareMergeEntry(index, entry, false, false, null);
+	}
+
+	/*
+	 * Default implementation updates entries one by one. Persistence layers which
+	 * support batch writes should override it
+	 */
+	protected void merge(List<MergeEntry> mergeEntries, BulkOperationResult result) {
+		for (MergeEntry mergeEntry : mergeEntries) {
+			try {
+				merge(mergeEntry.getDn(), mergeEntry.getObjectClasses(), mergeEntry.getAttributeDataModifications(), mergeEntry.getExpiration());
+				result.addSuccess(mergeEntry.getIndex(), mergeEntry.getDn());
+			} catch (RuntimeException ex) {
+				result.addFailure(mergeEntry.getIndex(), mergeEntry.getDn(), ex);
+			}
+		}
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> List<T> findEntries(Object entry, int count) {
@@ -223,8 +353,28 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		return countEntries(dnValue.toString(), entryClass, searchFilter);
 	}
 
-	@SuppressWarnings("unchecked")
+	/*
+	 * With entry snapshots modifications are built from attributes which this entry instance had when it was
+	 * loaded or written last time. Changes done by other writers after that are not detected: attributes which
+	 * were changed in entry are written (last writer wins), other attributes are not touched.
+	 * Entries without snapshot (e.g. deserialized from cache) are loaded from DB before update
+	 */
 	protected Void merge(Object entry, boolean isSchemaUpdate, boolean isConfigurationUpdate, AttributeModificationType schemaModificationType) {
+		MergeEntry mergeEntry = prepareMergeEntry(0, entry, isSchemaUpdate, isConfigurationUpdate, schemaModificationType);
+
+		try {
+			merge(mergeEntry.getDn(), mergeEntry.getObjectClasses(), mergeEntry.getAttributeDataModifications(), mergeEntry.getExpiration());
+		} catch (RuntimeException ex) {
+			onMergeFailure(mergeEntry);
+			throw ex;
+		}
+
+		afterMerge(mergeEntry);
+
+		return null;
+	}
+
+	protected MergeEntry prepareMergeEntry(int index, Object entry, boolean isSchemaUpdate, boolean isConfigurationUpdate, AttributeModificationType schemaModificationType) {
 		if (entry == null) {
 			throw new MappingException("Entry for check if exists is null");
 		}
@@ -250,6 +400,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		// Load entry
 		List<AttributeData> attributesFromLdap = null;
 		List<String> currentLdapReturnAttributesList = null;
+		boolean useEntrySnapshot = !isSchemaUpdate && !forceUpdate && isUseEntrySnapshot();
 		if (isSchemaUpdate || forceUpdate) {
 			// If it's schema modification request we don't need to load
 			// attributes from LDAP
@@ -260,7 +411,14 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 				currentLdapReturnAttributesList.add("objectClass");
 			}
 
-			attributesFromLdap = find(dnValue.toString(), objectClasses, propertiesAnnotationsMap, currentLdapReturnAttributesList.toArray(EMPTY_STRING_ARRAY));
+			if (useEntrySnapshot) {
+				// Use attributes which were loaded or written by this entry manager last time
+				attributesFromLdap = getEntrySnapshotAttributes(entry, dnValue.toString(), currentLdapReturnAttributesList);
+			}
+
+			if (attributesFromLdap == null) {
+				attributesFromLdap = find(dnValue.toString(), objectClasses, propertiesAnnotationsMap, currentLdapReturnAttributesList.toArray(EMPTY_STRING_ARRAY));
+			}
 		}
 
 		if (LOG.isTraceEnabled()) {
@@ -272,31 +430,62 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 				entry, propertiesAnnotations, attributesToPersistMap, attributesFromLdap, schemaModificationType, isSchemaUpdate,
 				isConfigurationUpdate, forceUpdate);
 
-		merge(dnValue.toString(), objectClasses, attributeDataModifications, expirationValue);
+		MergeEntry mergeEntry = new MergeEntry(index, dnValue.toString(), objectClasses, attributeDataModifications, expirationValue);
+		mergeEntry.entry = entry;
+		mergeEntry.entryClass = entryClass;
+		mergeEntry.propertiesAnnotations = propertiesAnnotations;
+		mergeEntry.propertiesAnnotationsMap = propertiesAnnotationsMap;
+		mergeEntry.attributesToPersist = attributesToPersist;
+		mergeEntry.currentLdapReturnAttributesList = currentLdapReturnAttributesList;
+		mergeEntry.useEntrySnapshot = useEntrySnapshot;
+		mergeEntry.isSchemaUpdate = isSchemaUpdate;
+		mergeEntry.isConfigurationUpdate = isConfigurationUpdate;
+		mergeEntry.forceUpdate = forceUpdate;
+		mergeEntry.schemaModificationType = schemaModificationType;
+
+		return mergeEntry;
+	}
+
+	private void onMergeFailure(MergeEntry mergeEntry) {
+		if (mergeEntry.useEntrySnapshot) {
+			// Entry state in DB is unknown now
+			entrySnapshotRegistry.remove(mergeEntry.entry);
+		}
+	}
+
+	private void afterMerge(MergeEntry mergeEntry) {
+		Object entry = mergeEntry.entry;
+		String dn = mergeEntry.getDn();
+
+		if (mergeEntry.useEntrySnapshot) {
+			// After update DB contains attributes from entry
+			List<AttributeData> attributesAfterMerge = new ArrayList<AttributeData>(mergeEntry.attributesToPersist);
+			attributesAfterMerge.add(new AttributeData(OBJECT_CLASS, mergeEntry.getObjectClasses(), true));
+			entrySnapshotRegistry.put(entry, dn, mergeEntry.currentLdapReturnAttributesList, attributesAfterMerge);
+		}
 		
 		if (isValidateAfterUpdate()) {
-			if (!isSchemaUpdate && !forceUpdate) {
+			if (!mergeEntry.isSchemaUpdate && !mergeEntry.forceUpdate) {
 				// Compare loaded entry data after merge
 				
 				// Step 1. Rebuild map with attributes which we planned to persist
-				attributesToPersistMap = getAttributesMap(attributesToPersist);
+				Map<String, AttributeData> attributesToPersistMap = getAttributesMap(mergeEntry.attributesToPersist);
 
 				// Step 2. Load current entry from DB
-				List<AttributeData> attributesAfterMergeFromLdap = find(dnValue.toString(), objectClasses, propertiesAnnotationsMap, currentLdapReturnAttributesList.toArray(EMPTY_STRING_ARRAY));
+				List<AttributeData> attributesAfterMergeFromLdap = find(dn, mergeEntry.getObjectClasses(), mergeEntry.propertiesAnnotationsMap,
+						mergeEntry.currentLdapReturnAttributesList.toArray(EMPTY_STRING_ARRAY));
 
 				// Step 3. Compare loaded entry data with initial entry data
-				List<AttributeDataModification> attributeDataModificationsAftermerge = prepareAttributeDataModifications(entryClass,
-						dnValue, entry, propertiesAnnotations, attributesToPersistMap, attributesAfterMergeFromLdap, schemaModificationType,
-						isSchemaUpdate, isConfigurationUpdate, forceUpdate);
+				List<AttributeDataModification> attributeDataModificationsAftermerge = prepareAttributeDataModifications(mergeEntry.entryClass,
+						dn, entry, mergeEntry.propertiesAnnotations, attributesToPersistMap, attributesAfterMergeFromLdap, mergeEntry.schemaModificationType,
+						mergeEntry.isSchemaUpdate, mergeEntry.isConfigurationUpdate, mergeEntry.forceUpdate);
 
 				if (attributeDataModificationsAftermerge.size() > 0) {
 					LOG.warn("Detected changes which not exists in enry after merge. Entry DN: {}, missing changes: {}",
-							dnValue, attributeDataModificationsAftermerge);
+							dn, attributeDataModificationsAftermerge);
 				}
 			}
 		}
-
-		return null;
 	}
 
 	private List<AttributeDataModification> prepareAttributeDataModifications(Class<?> entryClass, Object dnValue,
@@ -541,6 +730,45 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		removeByDn(primaryKey, objectClasses);
 	}
 
+	@Override
+	public <T> BulkOperationResult removeAll(Collection<String> dns, Class<T> entryClass) {
+		if (dns == null) {
+			throw new MappingException("DNs to remove is null");
+		}
+
+		String[] objectClasses = null;
+		if (entryClass != null) {
+			// Check entry class
+			checkEntryClass(entryClass, false);
+			objectClasses = getTypeObjectClasses(entryClass);
+		}
+
+		return removeAllByDn(new ArrayList<String>(dns), objectClasses);
+	}
+
+	public BulkOperationResult removeAllByDn(List<String> dns, String[] objectClasses) {
+		BulkOperationResult result = new BulkOperationResult(dns.size());
+		removeByDns(dns, objectClasses, result);
+
+		return result;
+	}
+
+	/*
+	 * Default implementation removes entries one by one. Persistence layers which
+	 * support batch writes should override it
+	 */
+	protected void removeByDns(List<String> dns, String[] objectClasses, BulkOperationResult result) {
+		for (int i = 0; i < dns.size(); i++) {
+			String dn = dns.get(i);
+			try {
+				removeByDn(dn, objectClasses);
+				result.addSuccess(i, dn);
+			} catch (RuntimeException ex) {
+				result.addFailure(i, dn, ex);
+			}
+		}
+	}
+
 	public abstract <T> void removeRecursivelyFromDn(String primaryKey, String[] objectClasses);
 
 	@Deprecated
@@ -771,11 +999,68 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 		entriesAttributes.put(String.valueOf(primaryKey), ldapAttributes);
 		List<T> results = createEntities(entryClass, propertiesAnnotations, entriesAttributes);
-		return results.get(0);
+
+		T entry = results.get(0);
+		registerEntrySnapshot(entry, entryClass, String.valueOf(primaryKey), currentLdapReturnAttributes, ldapAttributes);
+
+		return entry;
 	}
 
 	protected abstract List<AttributeData> find(String dn, String[] objectClasses, Map<String, PropertyAnnotation> propertiesAnnotationsMap, String... attributes);
 
+	@Override
+	public <T> List<T> findByDns(Class<T> entryClass, Collection<String> dns, String[] ldapReturnAttributes) {
+		if (dns == null) {
+			throw new MappingException("DNs to find entries is null");
+		}
+
+		checkEntryClass(entryClass, true);
+		List<PropertyAnnotation> propertiesAnnotations = getEntryPropertyAnnotations(entryClass);
+        Map<String, PropertyAnnotation> propertiesAnnotationsMap = prepareEntryPropertiesTypes(entryClass, propertiesAnnotations);
+
+		String[] currentLdapReturnAttributes = ldapReturnAttributes;
+		if (ArrayHelper.isEmpty(currentLdapReturnAttributes)) {
+			currentLdapReturnAttributes = getAttributes(null, propertiesAnnotations, false);
+		}
+
+		// Remove duplicates and preserve order
+		Set<String> uniqueDns = new LinkedHashSet<String>(dns);
+		uniqueDns.remove(null);
+
+		String[] objectClasses = getTypeObjectClasses(entryClass);
+		Map<String, List<AttributeData>> entriesAttributes = findByDns(new ArrayList<String>(uniqueDns), objectClasses, propertiesAnnotationsMap, currentLdapReturnAttributes);
+
+		List<T> results = createEntities(entryClass, propertiesAnnotations, entriesAttributes, false);
+
+		if (isUseEntrySnapshot()) {
+			// Entities are created in same order as entries in map
+			Iterator<T> resultsIterator = results.iterator();
+			for (Entry<String, List<AttributeData>> entryAttributes : entriesAttributes.entrySet()) {
+				registerEntrySnapshot(resultsIterator.next(), entryClass, entryAttributes.getKey(), currentLdapReturnAttributes, entryAttributes.getValue());
+			}
+		}
+
+		return results;
+	}
+
+	/*
+	 * Default implementation loads entries one by one. Persistence layers which
+	 * support multi-key lookup should override it. Returns map with entries
+	 * attributes by DN in same order as DNs. Missing entries should be skipped
+	 */
+	protected Map<String, List<AttributeData>> findByDns(List<String> dns, String[] objectClasses, Map<String, PropertyAnnotation> propertiesAnnotationsMap, String... attributes) {
+		Map<String, List<AttributeData>> entriesAttributes = new LinkedHashMap<String, List<AttributeData>>();
+		for (String dn : dns) {
+			try {
+				entriesAttributes.put(dn, find(dn, objectClasses, propertiesAnnotationsMap, attributes));
+			} catch (EntryPersistenceException ex) {
+				LOG.debug("Failed to find entry: '{}'", dn, ex);
+			}
+		}
+
+		return entriesAttributes;
+	}
+
 	protected boolean checkEntryClass(Class<?> entryClass, boolean isAllowSchemaEntry) {
 		if (entryClass == null) {
 			throw new MappingException("Entry class is null");
@@ -1007,6 +1292,8 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		String[] typeObjectClasses = getTypeObjectClasses(entryClass);
 		Arrays.sort(typeObjectClasses);
 
+		EntryClassModel entryClassModel = getEntryClassModel(entryClass);
+
 		List<T> results = new ArrayList<T>(entriesAttributes.size());
 		for (Entry<String, List<AttributeData>> entryAttributes : entriesAttributes.entrySet()) {
 			String dn = entryAttributes.getKey();
@@ -1036,19 +1323,13 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 			// Process properties with AttributeName annotation
 			for (PropertyAnnotation propertiesAnnotation : propertiesAnnotations) {
-				String propertyName = propertiesAnnotation.getPropertyName();
-				Annotation ldapAttribute;
-
-				ldapAttribute = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-						AttributeName.class);
-                Annotation languageTag = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(), LanguageTag.class);
+				PropertyModel propertyModel = entryClassModel.getProperty(propertiesAnnotation);
+				String propertyName = propertyModel.getPropertyName();
+				AttributeName ldapAttribute = propertyModel.getAttributeName();
 				if (ldapAttribute != null) {
-					String ldapAttributeName = ((AttributeName) ldapAttribute).name();
-					if (StringHelper.isEmpty(ldapAttributeName)) {
-						ldapAttributeName = propertyName;
-					}
+					String ldapAttributeName = propertyModel.getDbAttributeName();
 
-                    if (languageTag != null) {
+                    if (propertyModel.isLanguageTag()) {
                         Getter getter = getGetter(entryClass, propertyName);
                         if (getter == null) {
                             throw new MappingException("Entry should has getter for property " + propertyName);
@@ -1074,27 +1355,21 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
                         continue;
                     }
 
-					ldapAttributeName = ldapAttributeName.toLowerCase();
-
-					AttributeData attributeData = attributesMap.get(ldapAttributeName);
+					ldapAttributeName = propertyModel.getDbAttributeNameLowerCase();
 
 					// Remove processed attributes
-					attributesMap.remove(ldapAttributeName);
+					AttributeData attributeData = attributesMap.remove(ldapAttributeName);
 
-					if (((AttributeName) ldapAttribute).ignoreDuringRead()) {
+					if (ldapAttribute.ignoreDuringRead()) {
 						continue;
 					}
 
-					Setter setter = getSetter(entryClass, propertyName);
+					Setter setter = entryClassModel.getSetter(propertyName);
 					if (setter == null) {
 						throw new MappingException("Entry should has setter for property " + propertyName);
 					}
 
-					Annotation ldapJsonObject = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-							JsonObject.class);
-					boolean jsonObject = ldapJsonObject != null;
-
-					setPropertyValue(propertyName, setter, entry, attributeData, jsonObject);
+					setPropertyValue(propertyName, setter, entry, attributeData, propertyModel.isJsonObject());
 				}
 			}
 
@@ -1653,24 +1928,22 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 	protected List<AttributeData> getAttributesListForPersist(Object entry,
 			List<PropertyAnnotation> propertiesAnnotations) {
+		EntryClassModel entryClassModel = getEntryClassModel(entry.getClass());
+
 		// Prepare list of properties to persist
 		List<AttributeData> attributes = new ArrayList<AttributeData>();
 		for (PropertyAnnotation propertiesAnnotation : propertiesAnnotations) {
-			String propertyName = propertiesAnnotation.getPropertyName();
+			PropertyModel propertyModel = entryClassModel.getProperty(propertiesAnnotation);
+			String propertyName = propertyModel.getPropertyName();
 			Annotation ldapAttribute;
-            Annotation languageTag;
 
 			// Process properties with AttributeName annotation
-			ldapAttribute = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-					AttributeName.class);
-            languageTag = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-                    LanguageTag.class);
+			ldapAttribute = propertyModel.getAttributeName();
 			if (ldapAttribute != null) {
-                if (languageTag != null) {
+                if (propertyModel.isLanguageTag()) {
 					addAttributeDataFromLocalizedString(entry, ldapAttribute, propertyName, attributes);
                 } else {
-                    AttributeData attribute = getAttributeDataFromAttribute(entry, ldapAttribute, propertiesAnnotation,
-                            propertyName);
+                    AttributeData attribute = getAttributeDataFromAttribute(entry, entryClassModel, propertyModel);
                     if (attribute != null) {
                         attributes.add(attribute);
                     }
@@ -1696,32 +1969,23 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		return attributes;
 	}
 
-	private AttributeData getAttributeDataFromAttribute(Object entry, Annotation ldapAttribute,
-			PropertyAnnotation propertiesAnnotation, String propertyName) {
-		Class<?> entryClass = entry.getClass();
-
-		String ldapAttributeName = ((AttributeName) ldapAttribute).name();
-		if (StringHelper.isEmpty(ldapAttributeName)) {
-			ldapAttributeName = propertyName;
-		}
+	private AttributeData getAttributeDataFromAttribute(Object entry, EntryClassModel entryClassModel, PropertyModel propertyModel) {
+		String propertyName = propertyModel.getPropertyName();
+		String ldapAttributeName = propertyModel.getDbAttributeName();
 
-		Getter getter = getGetter(entryClass, propertyName);
+		Getter getter = entryClassModel.getGetter(propertyName);
 		if (getter == null) {
 			throw new MappingException("Entry should has getter for property " + propertyName);
 		}
 
-		Class<?> parameterType = getSetterPropertyType(entryClass, propertyName);
+		Class<?> parameterType = getSetterPropertyType(entry.getClass(), propertyName);
 		boolean multiValued = isMultiValued(parameterType);
 
-		Annotation ldapJsonObject = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(),
-				JsonObject.class);
-		boolean jsonObject = ldapJsonObject != null;
+		AttributeData attribute = getAttributeData(propertyName, ldapAttributeName, getter, entry, multiValued, propertyModel.isJsonObject());
 
-		AttributeData attribute = getAttributeData(propertyName, ldapAttributeName, getter, entry, multiValued, jsonObject);
-
-		Annotation passwordObject = ReflectHelper.getAnnotationByType(propertiesAnnotation.getAnnotations(), Password.class);
+		Password passwordObject = propertyModel.getPassword();
 		if (passwordObject != null) {
-			attribute = new PasswordAttributeData(attribute, ((Password) passwordObject).skipHashed());
+			attribute = new PasswordAttributeData(attribute, passwordObject.skipHashed());
 		}
 
 		return attribute;
@@ -1872,67 +2136,19 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 	protected <T> List<PropertyAnnotation> getEntryClassAnnotations(Class<T> entryClass, String keyCategory,
 			Class<?>[] annotationTypes) {
-		String key = keyCategory + entryClass.getName();
-
-		List<PropertyAnnotation> annotations = classAnnotations.get(key);
-		if (annotations == null) {
-			synchronized (CLASS_ANNOTATIONS_LOCK) {
-				annotations = classAnnotations.get(key);
-				if (annotations == null) {
-					Map<String, List<Annotation>> annotationsMap = ReflectHelper.getPropertiesAnnotations(entryClass,
-							annotationTypes);
-					annotations = convertToPropertyAnnotationList(annotationsMap);
-					classAnnotations.put(key, annotations);
-				}
-			}
-		}
-
-		return annotations;
+		return getEntryClassModel(entryClass).getPropertiesAnnotations(keyCategory, annotationTypes);
 	}
 
-	private List<PropertyAnnotation> convertToPropertyAnnotationList(Map<String, List<Annotation>> annotations) {
-		List<PropertyAnnotation> result = new ArrayList<PropertyAnnotation>(annotations.size());
-		for (Entry<String, List<Annotation>> entry : annotations.entrySet()) {
-			result.add(new PropertyAnnotation(entry.getKey(), entry.getValue()));
-		}
-
-		Collections.sort(result);
-
-		return result;
+	protected EntryClassModel getEntryClassModel(Class<?> entryClass) {
+		return ENTRY_CLASS_MODELS.get(entryClass);
 	}
 
 	protected <T> Getter getGetter(Class<T> entryClass, String propertyName) {
-		String key = entryClass.getName() + "." + propertyName;
-
-		Getter getter = classGetters.get(key);
-		if (getter == null) {
-			synchronized (CLASS_GETTERS_LOCK) {
-				getter = classGetters.get(key);
-				if (getter == null) {
-					getter = ReflectHelper.getGetter(entryClass, propertyName);
-					classGetters.put(key, getter);
-				}
-			}
-		}
-
-		return getter;
+		return getEntryClassModel(entryClass).getGetter(propertyName);
 	}
 
 	protected <T> Setter getSetter(Class<T> entryClass, String propertyName) {
-		String key = entryClass.getName() + "." + propertyName;
-
-		Setter setter = classSetters.get(key);
-		if (setter == null) {
-			synchronized (CLASS_SETTERS_LOCK) {
-				setter = classSetters.get(key);
-				if (setter == null) {
-					setter = ReflectHelper.getSetter(entryClass, propertyName);
-					classSetters.put(key, setter);
-				}
-			}
-		}
-
-		return setter;
+		return getEntryClassModel(entryClass).getSetter(propertyName);
 	}
 
 	private AttributeData getAttributeData(String propertyName, Getter propertyNameGetter, Getter propertyValueGetter,
@@ -2596,6 +2812,66 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		return false;
 	}
 
+	/*
+	 * Entry manager which returns true should return only requested attributes in find
+	 * and should not have entry attributes which are not defined in entry class
+	 */
+	protected boolean isUseEntrySnapshot() {
+		return false;
+	}
+
+	protected EntrySnapshotRegistry getEntrySnapshotRegistry() {
+		return entrySnapshotRegistry;
+	}
+
+	protected void registerEntrySnapshot(Object entry, Class<?> entryClass, String dn, String[] ldapReturnAttributes, List<AttributeData> attributes) {
+		if (!isUseEntrySnapshot() || (entry == null) || (attributes == null)) {
+			return;
+		}
+
+		List<String> attributeNames = null;
+		if (ldapReturnAttributes != null) {
+			attributeNames = new ArrayList<String>(Arrays.asList(ldapReturnAttributes));
+			attributeNames.add(OBJECT_CLASS);
+		}
+
+		List<AttributeData> snapshotAttributes = attributes;
+		if (!containsAttribute(attributes, OBJECT_CLASS)) {
+			// Find with specified attributes returns only requested attributes
+			snapshotAttributes = new ArrayList<AttributeData>(attributes);
+			snapshotAttributes.add(new AttributeData(OBJECT_CLASS, getObjectClasses(entry, entryClass), true));
+		}
+
+		entrySnapshotRegistry.put(entry, dn, attributeNames, snapshotAttributes);
+	}
+
+	/*
+	 * Returns null if there is no snapshot or it not contains all requested attributes.
+	 * In this case entry should be loaded from DB
+	 */
+	private List<AttributeData> getEntrySnapshotAttributes(Object entry, String dn, List<String> attributeNames) {
+		EntrySnapshotRegistry.EntrySnapshot entrySnapshot = entrySnapshotRegistry.get(entry);
+		if (entrySnapshot == null) {
+			return null;
+		}
+
+		if (!StringHelper.equalsIgnoreCase(dn, entrySnapshot.getDn()) || !entrySnapshot.containsAttributes(attributeNames)) {
+			return null;
+		}
+
+		return entrySnapshot.getAttributes(attributeNames);
+	}
+
+	private boolean containsAttribute(List<AttributeData> attributes, String attributeName) {
+		for (AttributeData attribute : attributes) {
+			if (attributeName.equalsIgnoreCase(attribute.getName())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
     
 	@Override
 	public PersistenceMetadata getPersistenceMetadata(String primaryKey) {
@@ -2607,4 +2883,93 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		return operationService.getTableColumnsMap();
 	}
 
+	protected static class PersistEntry {
+
+		private final int index;
+		private final String dn;
+		private final String[] objectClasses;
+		private final List<AttributeData> attributes;
+		private final Integer expiration;
+
+		public PersistEntry(int index, String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration) {
+			this.index = index;
+			this.dn = dn;
+			this.objectClasses = objectClasses;
+			this.attributes = attributes;
+			this.expiration = expiration;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public String getDn() {
+			return dn;
+		}
+
+		public String[] getObjectClasses() {
+			return objectClasses;
+		}
+
+		public List<AttributeData> getAttributes() {
+			return attributes;
+		}
+
+		public Integer getExpiration() {
+			return expiration;
+		}
+
+	}
+
+	protected static class MergeEntry {
+
+		private final int index;
+		private final String dn;
+		private final String[] objectClasses;
+		private final List<AttributeDataModification> attributeDataModifications;
+		private final Integer expiration;
+
+		// State which is needed to finish merge after write
+		private Object entry;
+		private Class<?> entryClass;
+		private List<PropertyAnnotation> propertiesAnnotations;
+		private Map<String, PropertyAnnotation> propertiesAnnotationsMap;
+		private List<AttributeData> attributesToPersist;
+		private List<String> currentLdapReturnAttributesList;
+		private boolean useEntrySnapshot;
+		private boolean isSchemaUpdate;
+		private boolean isConfigurationUpdate;
+		private boolean forceUpdate;
+		private AttributeModificationType schemaModificationType;
+
+		public MergeEntry(int index, String dn, String[] objectClasses, List<AttributeDataModification> attributeDataModifications, Integer expiration) {
+			this.index = index;
+			this.dn = dn;
+			this.objectClasses = objectClasses;
+			this.attributeDataModifications = attributeDataModifications;
+			this.expiration = expiration;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public String getDn() {
+			return dn;
+		}
+
+		public String[] getObjectClasses() {
+			return objectClasses;
+		}
+
+		public List<AttributeDataModification> getAttributeDataModifications() {
+			return attributeDataModifications;
+		}
+
+		public Integer getExpiration() {
+			return expiration;
+		}
+
+	}
+
 }
@@ -0,0 +1,180 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.impl;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.jans.orm.annotation.AttributeName;
+import io.jans.orm.annotation.JsonObject;
+import io.jans.orm.annotation.LanguageTag;
+import io.jans.orm.annotation.Password;
+import io.jans.orm.reflect.property.Getter;
+import io.jans.orm.reflect.property.LambdaPropertyAccessor;
+import io.jans.orm.reflect.property.PropertyAnnotation;
+import io.jans.orm.reflect.property.Setter;
+import io.jans.orm.reflect.util.ReflectHelper;
+import io.jans.orm.util.StringHelper;
+
+/**
+ * Entry class metadata: property annotations, accessors and attribute names.
+ * Instances are shared between entry managers via {@link ClassValue} and
+ * built once per class and property
+ */
+public class EntryClassModel {
+
+	private final Class<?> entryClass;
+
+	private final Map<String, List<PropertyAnnotation>> propertiesAnnotations = new ConcurrentHashMap<String, List<PropertyAnnotation>>();
+	private final Map<String, PropertyModel> properties = new ConcurrentHashMap<String, PropertyModel>();
+	private final Map<String, Getter> getters = new ConcurrentHashMap<String, Getter>();
+	private final Map<String, Setter> setters = new ConcurrentHashMap<String, Setter>();
+
+	public EntryClassModel(Class<?> entryClass) {
+		this.entryClass = entryClass;
+	}
+
+	public Class<?> getEntryClass() {
+		return entryClass;
+	}
+
+	public List<PropertyAnnotation> getPropertiesAnnotations(String keyCategory, Class<?>[] annotationTypes) {
+		List<PropertyAnnotation> annotations = propertiesAnnotations.get(keyCategory);
+		if (annotations == null) {
+			annotations = propertiesAnnotations.computeIfAbsent(keyCategory,
+					k -> convertToPropertyAnnotationList(ReflectHelper.getPropertiesAnnotations(entryClass, annotationTypes)));
+		}
+
+		return annotations;
+	}
+
+	public PropertyModel getProperty(PropertyAnnotation propertyAnnotation) {
+		PropertyModel property = properties.get(propertyAnnotation.getPropertyName());
+		if (property == null) {
+			property = properties.computeIfAbsent(propertyAnnotation.getPropertyName(), k -> new PropertyModel(propertyAnnotation));
+		}
+
+		return property;
+	}
+
+	/*
+	 * Throws PropertyNotFoundException if there is no getter for property. Result is not cached in this case
+	 */
+	public Getter getGetter(String propertyName) {
+		Getter getter = getters.get(propertyName);
+		if (getter == null) {
+			getter = LambdaPropertyAccessor.createGetter(entryClass, propertyName);
+			Getter previousGetter = getters.putIfAbsent(propertyName, getter);
+			if (previousGetter != null) {
+				getter = previousGetter;
+			}
+		}
+
+		return getter;
+	}
+
+	/*
+	 * Throws PropertyNotFoundException if there is no setter for property. Result is not cached in this case
+	 */
+	public Setter getSetter(String propertyName) {
+		Setter setter = setters.get(propertyName);
+		if (setter == null) {
+			setter = LambdaPropertyAccessor.createSetter(entryClass, propertyName);
+			Setter previousSetter = setters.putIfAbsent(propertyName, setter);
+			if (previousSetter != null) {
+				setter = previousSetter;
+			}
+		}
+
+		return setter;
+	}
+
+	private List<PropertyAnnotation> convertToPropertyAnnotationList(Map<String, List<Annotation>> annotations) {
+		List<PropertyAnnotation> result = new ArrayList<PropertyAnnotation>(annotations.size());
+		for (Entry<String, List<Annotation>> entry : annotations.entrySet()) {
+			result.add(new PropertyAnnotation(entry.getKey(), entry.getValue()));
+		}
+
+		Collections.sort(result);
+
+		return result;
+	}
+
+	/**
+	 * Precomputed property annotations which entry manager needs on each entry create/persist
+	 */
+	public static class PropertyModel {
+
+		private final String propertyName;
+		private final AttributeName attributeName;
+		private final String dbAttributeName;
+		private final String dbAttributeNameLowerCase;
+		private final boolean languageTag;
+		private final boolean jsonObject;
+		private final Password password;
+
+		protected PropertyModel(PropertyAnnotation propertyAnnotation) {
+			List<Annotation> annotations = propertyAnnotation.getAnnotations();
+
+			this.propertyName = propertyAnnotation.getPropertyName();
+			this.attributeName = (AttributeName) ReflectHelper.getAnnotationByType(annotations, AttributeName.class);
+			this.languageTag = ReflectHelper.getAnnotationByType(annotations, LanguageTag.class) != null;
+			this.jsonObject = ReflectHelper.getAnnotationByType(annotations, JsonObject.class) != null;
+			this.password = (Password) ReflectHelper.getAnnotationByType(annotations, Password.class);
+
+			if (attributeName == null) {
+				this.dbAttributeName = null;
+				this.dbAttributeNameLowerCase = null;
+			} else {
+				String name = attributeName.name();
+				if (StringHelper.isEmpty(name)) {
+					name = propertyName;
+				}
+				this.dbAttributeName = name;
+				this.dbAttributeNameLowerCase = name.toLowerCase();
+			}
+		}
+
+		public String getPropertyName() {
+			return propertyName;
+		}
+
+		/*
+		 * Returns null if property has no AttributeName annotation
+		 */
+		public AttributeName getAttributeName() {
+			return attributeName;
+		}
+
+		public String getDbAttributeName() {
+			return dbAttributeName;
+		}
+
+		public String getDbAttributeNameLowerCase() {
+			return dbAttributeNameLowerCase;
+		}
+
+		public boolean isLanguageTag() {
+			return languageTag;
+		}
+
+		public boolean isJsonObject() {
+			return jsonObject;
+		}
+
+		public Password getPassword() {
+			return password;
+		}
+
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.jans.orm.model.AttributeData;
+
+/**
+ * Keeps copy of attributes which were loaded from DB or written to DB for entry instances.
+ * Entry manager uses it in merge instead of loading entry before update.
+ *
+ * Entries are referenced weakly and compared by identity because entry classes
+ * can override equals/hashCode
+ */
+public class EntrySnapshotRegistry {
+
+	private final ConcurrentHashMap<IdentityWeakReference, EntrySnapshot> snapshots = new ConcurrentHashMap<IdentityWeakReference, EntrySnapshot>();
+	private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
+
+	/*
+	 * Attribute names should be null if all entry attributes were loaded
+	 */
+	public void put(Object entry, String dn, Collection<String> attributeNames, List<AttributeData> attributes) {
+		expungeStaleEntries();
+		if (entry == null) {
+			return;
+		}
+
+		snapshots.put(new IdentityWeakReference(entry, referenceQueue), new EntrySnapshot(dn, attributeNames, attributes));
+	}
+
+	public EntrySnapshot get(Object entry) {
+		expungeStaleEntries();
+		if (entry == null) {
+			return null;
+		}
+
+		return snapshots.get(new IdentityWeakReference(entry, null));
+	}
+
+	public void remove(Object entry) {
+		expungeStaleEntries();
+		if (entry == null) {
+			return;
+		}
+
+		snapshots.remove(new IdentityWeakReference(entry, null));
+	}
+
+	public void clear() {
+		snapshots.clear();
+		expungeStaleEntries();
+	}
+
+	public int size() {
+		expungeStaleEntries();
+		return snapshots.size();
+	}
+
+	private void expungeStaleEntries() {
+		Reference<? extends Object> reference;
+		while ((reference = referenceQueue.poll()) != null) {
+			snapshots.remove(reference);
+		}
+	}
+
+	private static List<AttributeData> copyAttributes(List<AttributeData> attributes) {
+		List<AttributeData> result = new ArrayList<AttributeData>(attributes.size());
+		for (AttributeData attribute : attributes) {
+			if (attribute == null) {
+				continue;
+			}
+
+			Object[] values = attribute.getValues();
+			Object[] copyValues = null;
+			if (values != null) {
+				copyValues = new Object[values.length];
+				for (int i = 0; i < values.length; i++) {
+					// Date is only mutable type which entry manager put into attribute values
+					if (values[i] instanceof Date) {
+						copyValues[i] = ((Date) values[i]).clone();
+					} else {
+						copyValues[i] = values[i];
+					}
+				}
+			}
+
+			result.add(new AttributeData(attribute.getName(), copyValues, attribute.getMultiValued(), attribute.getJsonValue()));
+		}
+
+		return result;
+	}
+
+	public static class EntrySnapshot {
+
+		private final String dn;
+		private final Set<String> attributeNames;
+		private final List<AttributeData> attributes;
+
+		protected EntrySnapshot(String dn, Collection<String> attributeNames, List<AttributeData> attributes) {
+			this.dn = dn;
+			if (attributeNames == null) {
+				this.attributeNames = null;
+			} else {
+				Set<String> names = new HashSet<String>(attributeNames.size());
+				for (String attributeName : attributeNames) {
+					names.add(attributeName.toLowerCase());
+				}
+				this.attributeNames = Collections.unmodifiableSet(names);
+			}
+			this.attributes = Collections.unmodifiableList(copyAttributes(attributes));
+		}
+
+		public String getDn() {
+			return dn;
+		}
+
+		public boolean isFullEntry() {
+			return attributeNames == null;
+		}
+
+		/*
+		 * Check if snapshot was built with all specified attributes
+		 */
+		public boolean containsAttributes(Collection<String> names) {
+			if (attributeNames == null) {
+				return true;
+			}
+			if (names == null) {
+				return false;
+			}
+
+			for (String name : names) {
+				if (!attributeNames.contains(name.toLowerCase())) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/*
+		 * Returns copy of snapshot attributes. Returns all attributes if names is null
+		 */
+		public List<AttributeData> getAttributes(Collection<String> names) {
+			if (names == null) {
+				return copyAttributes(attributes);
+			}
+
+			Set<String> lowerCaseNames = new HashSet<String>(names.size());
+			for (String name : names) {
+				lowerCaseNames.add(name.toLowerCase());
+			}
+
+			List<AttributeData> result = new ArrayList<AttributeData>(attributes.size());
+			for (AttributeData attribute : attributes) {
+				if (lowerCaseNames.contains(attribute.getName().toLowerCase())) {
+					result.add(attribute);
+				}
+			}
+
+			return copyAttributes(result);
+		}
+
+	}
+
+	private static class IdentityWeakReference extends WeakReference<Object> {
+
+		private final int hashCode;
+
+		IdentityWeakReference(Object referent, ReferenceQueue<Object> referenceQueue) {
+			super(referent, referenceQueue);
+			this.hashCode = System.identityHashCode(referent);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof IdentityWeakReference)) {
+				return false;
+			}
+
+			Object referent = get();
+			return (referent != null) && (referent == ((IdentityWeakReference) obj).get());
+		}
+
+	}
+
+}
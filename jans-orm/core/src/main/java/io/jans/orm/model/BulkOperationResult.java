@@ -0,0 +1,120 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per entry results of bulk persist/merge/remove operation. Results are
+ * stored in same order as entries were passed to operation
+ */
+public class BulkOperationResult implements Serializable {
+
+	private static final long serialVersionUID = 3021954713482291765L;
+
+	private final EntryResult[] results;
+
+	public BulkOperationResult(int size) {
+		this.results = new EntryResult[size];
+	}
+
+	public void addSuccess(int index, String dn) {
+		results[index] = new EntryResult(index, dn, null);
+	}
+
+	public void addFailure(int index, String dn, Exception exception) {
+		results[index] = new EntryResult(index, dn, exception);
+	}
+
+	public EntryResult getResult(int index) {
+		return results[index];
+	}
+
+	public List<EntryResult> getResults() {
+		return Arrays.asList(results);
+	}
+
+	public List<EntryResult> getFailedResults() {
+		List<EntryResult> failedResults = new ArrayList<>();
+		for (EntryResult result : results) {
+			if ((result != null) && !result.isSuccess()) {
+				failedResults.add(result);
+			}
+		}
+
+		return failedResults;
+	}
+
+	public int getSize() {
+		return results.length;
+	}
+
+	public int getSuccessCount() {
+		int count = 0;
+		for (EntryResult result : results) {
+			if ((result != null) && result.isSuccess()) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	public int getFailureCount() {
+		return results.length - getSuccessCount();
+	}
+
+	public boolean isSuccess() {
+		return getFailureCount() == 0;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkOperationResult [size=" + results.length + ", failed=" + getFailedResults() + "]";
+	}
+
+	public static class EntryResult implements Serializable {
+
+		private static final long serialVersionUID = -6541320817594401347L;
+
+		private final int index;
+		private final String dn;
+		private final Exception exception;
+
+		public EntryResult(int index, String dn, Exception exception) {
+			this.index = index;
+			this.dn = dn;
+			this.exception = exception;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public String getDn() {
+			return dn;
+		}
+
+		public Exception getException() {
+			return exception;
+		}
+
+		public boolean isSuccess() {
+			return exception == null;
+		}
+
+		@Override
+		public String toString() {
+			return "EntryResult [index=" + index + ", dn=" + dn + ", exception=" + exception + "]";
+		}
+
+	}
+
+}
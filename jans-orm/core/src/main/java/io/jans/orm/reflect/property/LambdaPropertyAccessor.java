@@ -0,0 +1,223 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.reflect.property;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.jans.orm.exception.BasePersistenceException;
+import io.jans.orm.exception.PropertyAccessException;
+import io.jans.orm.exception.PropertyNotFoundException;
+
+/**
+ * Accessor which calls getter/setter methods found by {@link BasicPropertyAccessor} via
+ * functions generated by {@link LambdaMetafactory}. It allows to avoid reflection calls
+ * on entry create/persist
+ */
+public class LambdaPropertyAccessor implements PropertyAccessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LambdaPropertyAccessor.class);
+
+    private static final BasicPropertyAccessor BASIC_PROPERTY_ACCESSOR = new BasicPropertyAccessor();
+
+    public static final class LambdaSetter implements Setter {
+
+        private static final long serialVersionUID = -3871284957261380553L;
+
+        private final Class<?> clazz;
+        private final transient Method method;
+        private final transient BiConsumer<Object, Object> function;
+        private final String propertyName;
+
+        private LambdaSetter(Class<?> clazz, Method method, BiConsumer<Object, Object> function, String propertyName) {
+            this.clazz = clazz;
+            this.method = method;
+            this.function = function;
+            this.propertyName = propertyName;
+        }
+
+        public void set(Object target, Object value) throws BasePersistenceException {
+            try {
+                function.accept(target, value);
+            } catch (NullPointerException npe) {
+                if (value == null && method.getParameterTypes()[0].isPrimitive()) {
+                    throw new PropertyAccessException(npe, "Null value was assigned to a property of primitive type", true, clazz,
+                            propertyName);
+                } else {
+                    throw new PropertyAccessException(npe, "NullPointerException occurred while calling", true, clazz, propertyName);
+                }
+            } catch (ClassCastException cce) {
+                LOG.error("ClassCastException in class: " + clazz.getName() + ", setter method of property: " + propertyName);
+                LOG.error("expected type: " + method.getParameterTypes()[0].getName() + ", actual value: "
+                        + (value == null ? null : value.getClass().getName()));
+                throw new PropertyAccessException(cce, "IllegalArgumentException occurred while calling", true, clazz, propertyName);
+            } catch (RuntimeException ex) {
+                throw new PropertyAccessException(ex, "Exception occurred inside", true, clazz, propertyName);
+            }
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public String getMethodName() {
+            return method.getName();
+        }
+
+        Object readResolve() {
+            return createSetter(clazz, propertyName);
+        }
+
+        @Override
+        public String toString() {
+            return "LambdaSetter(" + clazz.getName() + '.' + propertyName + ')';
+        }
+    }
+
+    public static final class LambdaGetter implements Getter {
+
+        private static final long serialVersionUID = 8062934170532619457L;
+
+        private final Class<?> clazz;
+        private final transient Method method;
+        private final transient Function<Object, Object> function;
+        private final String propertyName;
+
+        private LambdaGetter(Class<?> clazz, Method method, Function<Object, Object> function, String propertyName) {
+            this.clazz = clazz;
+            this.method = method;
+            this.function = function;
+            this.propertyName = propertyName;
+        }
+
+        public Object get(Object target) throws BasePersistenceException {
+            try {
+                return function.apply(target);
+            } catch (ClassCastException cce) {
+                LOG.error("ClassCastException in class: " + clazz.getName() + ", getter method of property: " + propertyName);
+                throw new PropertyAccessException(cce, "IllegalArgumentException occurred calling", false, clazz, propertyName);
+            } catch (RuntimeException ex) {
+                throw new PropertyAccessException(ex, "Exception occurred inside", false, clazz, propertyName);
+            }
+        }
+
+        public Class<?> getReturnType() {
+            return method.getReturnType();
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public String getMethodName() {
+            return method.getName();
+        }
+
+        Object readResolve() {
+            return createGetter(clazz, propertyName);
+        }
+
+        @Override
+        public String toString() {
+            return "LambdaGetter(" + clazz.getName() + '.' + propertyName + ')';
+        }
+    }
+
+    public Setter getSetter(Class<?> theClass, String propertyName) throws PropertyNotFoundException {
+        return createSetter(theClass, propertyName);
+    }
+
+    public Getter getGetter(Class<?> theClass, String propertyName) throws PropertyNotFoundException {
+        return createGetter(theClass, propertyName);
+    }
+
+    public static Setter createSetter(Class<?> theClass, String propertyName) throws PropertyNotFoundException {
+        Setter setter = BASIC_PROPERTY_ACCESSOR.getSetter(theClass, propertyName);
+
+        return toLambdaSetter(theClass, setter, propertyName);
+    }
+
+    public static Getter createGetter(Class<?> theClass, String propertyName) throws PropertyNotFoundException {
+        Getter getter = BASIC_PROPERTY_ACCESSOR.getGetter(theClass, propertyName);
+
+        return toLambdaGetter(theClass, getter, propertyName);
+    }
+
+    /*
+     * Returns specified setter if it's not possible to generate function for it
+     */
+    public static Setter toLambdaSetter(Class<?> theClass, Setter setter, String propertyName) {
+        Method method = setter.getMethod();
+        if (method == null) {
+            return setter;
+        }
+
+        try {
+            Class<?> declaringClass = method.getDeclaringClass();
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            MethodHandle methodHandle = lookup.unreflect(method);
+
+            Class<?> parameterType = wrap(method.getParameterTypes()[0]);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class), methodHandle,
+                    MethodType.methodType(void.class, declaringClass, parameterType));
+
+            @SuppressWarnings("unchecked")
+            BiConsumer<Object, Object> function = (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+
+            return new LambdaSetter(theClass, method, function, propertyName);
+        } catch (Throwable ex) {
+            LOG.debug("Failed to generate setter function for property {} in class {}", propertyName, theClass.getName(), ex);
+        }
+
+        return setter;
+    }
+
+    /*
+     * Returns specified getter if it's not possible to generate function for it
+     */
+    public static Getter toLambdaGetter(Class<?> theClass, Getter getter, String propertyName) {
+        Method method = getter.getMethod();
+        if (method == null) {
+            return getter;
+        }
+
+        try {
+            Class<?> declaringClass = method.getDeclaringClass();
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            MethodHandle methodHandle = lookup.unreflect(method);
+
+            Class<?> returnType = wrap(method.getReturnType());
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class), methodHandle,
+                    MethodType.methodType(returnType, declaringClass));
+
+            @SuppressWarnings("unchecked")
+            Function<Object, Object> function = (Function<Object, Object>) callSite.getTarget().invoke();
+
+            return new LambdaGetter(theClass, method, function, propertyName);
+        } catch (Throwable ex) {
+            LOG.debug("Failed to generate getter function for property {} in class {}", propertyName, theClass.getName(), ex);
+        }
+
+        return getter;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+}
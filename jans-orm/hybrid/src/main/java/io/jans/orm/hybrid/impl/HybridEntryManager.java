@@ -7,12 +7,16 @@
 package io.jans.orm.hybrid.impl;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +32,7 @@ import io.jans.orm.impl.model.ParsedKey;
 import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.BatchOperation;
+import io.jans.orm.model.BulkOperationResult;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.model.SortOrder;
@@ -213,6 +218,40 @@ public class HybridEntryManager extends BaseEntryManager<HybridPersistenceOperat
     	return persistenceEntryManager.find(primaryKey, entryClass, ldapReturnAttributes);
 	}
 
+	@Override
+	public <T> List<T> findByDns(Class<T> entryClass, Collection<String> dns, String[] ldapReturnAttributes) {
+		if (dns == null) {
+			throw new MappingException("DNs to find entries is null");
+		}
+
+		// Group DNs by persistence entry manager to keep multi-key lookup in child entry managers
+		Map<PersistenceEntryManager, List<String>> dnsByEntryManager = new IdentityHashMap<>();
+		for (String dn : dns) {
+			if (dn != null) {
+				dnsByEntryManager.computeIfAbsent(getEntryManagerForDn(dn), k -> new ArrayList<>()).add(dn);
+			}
+		}
+
+		Map<String, T> entriesByDn = new HashMap<>();
+		for (Entry<PersistenceEntryManager, List<String>> dnsByEntryManagerEntry : dnsByEntryManager.entrySet()) {
+			List<T> entries = dnsByEntryManagerEntry.getKey().findByDns(entryClass, dnsByEntryManagerEntry.getValue(), ldapReturnAttributes);
+			for (T entry : entries) {
+				entriesByDn.put(String.valueOf(getDNValue(entry, entryClass)), entry);
+			}
+		}
+
+		// Restore DNs order
+		List<T> result = new ArrayList<>(entriesByDn.size());
+		for (String dn : dns) {
+			T entry = entriesByDn.remove(dn);
+			if (entry != null) {
+				result.add(entry);
+			}
+		}
+
+		return result;
+	}
+
     @Override
 	public <T> List<T> findEntries(Object entry) {
         Class<?> entryClass = entry.getClass();
@@ -372,6 +411,92 @@ public class HybridEntryManager extends BaseEntryManager<HybridPersistenceOperat
     	persistenceEntryManager.persist(entry);
 	}
 
+	@Override
+	public BulkOperationResult persistAll(Collection<?> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to persist is null");
+		}
+
+		return processByEntryManager(entries, "Entry to persist is null", PersistenceEntryManager::persistAll);
+	}
+
+	@Override
+	public BulkOperationResult mergeAll(Collection<?> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to merge is null");
+		}
+
+		return processByEntryManager(entries, "Entry to merge is null", PersistenceEntryManager::mergeAll);
+	}
+
+	private BulkOperationResult processByEntryManager(Collection<?> entries, String nullEntryMessage,
+			BiFunction<PersistenceEntryManager, List<Object>, BulkOperationResult> bulkOperation) {
+		BulkOperationResult result = new BulkOperationResult(entries.size());
+
+		// Group entries by persistence entry manager to keep batches in child entry managers
+		Map<PersistenceEntryManager, List<Integer>> indexesByEntryManager = new IdentityHashMap<>();
+		Map<PersistenceEntryManager, List<Object>> entriesByEntryManager = new IdentityHashMap<>();
+		int index = 0;
+		for (Object entry : entries) {
+			try {
+				if (entry == null) {
+					throw new MappingException(nullEntryMessage);
+				}
+				Object dnValue = getDNValue(entry, entry.getClass());
+				PersistenceEntryManager persistenceEntryManager = getEntryManagerForDn(dnValue);
+
+				indexesByEntryManager.computeIfAbsent(persistenceEntryManager, k -> new ArrayList<>()).add(index);
+				entriesByEntryManager.computeIfAbsent(persistenceEntryManager, k -> new ArrayList<>()).add(entry);
+			} catch (RuntimeException ex) {
+				result.addFailure(index, null, ex);
+			}
+			index++;
+		}
+
+		for (Entry<PersistenceEntryManager, List<Object>> entriesByEntryManagerEntry : entriesByEntryManager.entrySet()) {
+			PersistenceEntryManager persistenceEntryManager = entriesByEntryManagerEntry.getKey();
+			BulkOperationResult childResult = bulkOperation.apply(persistenceEntryManager, entriesByEntryManagerEntry.getValue());
+			copyBulkOperationResult(childResult, indexesByEntryManager.get(persistenceEntryManager), result);
+		}
+
+		return result;
+	}
+
+	@Override
+	protected void removeByDns(List<String> dns, String[] objectClasses, BulkOperationResult result) {
+		// Group DNs by persistence entry manager to keep batches in child entry managers
+		Map<PersistenceEntryManager, List<Integer>> indexesByEntryManager = new IdentityHashMap<>();
+		Map<PersistenceEntryManager, List<String>> dnsByEntryManager = new IdentityHashMap<>();
+		for (int i = 0; i < dns.size(); i++) {
+			String dn = dns.get(i);
+			try {
+				PersistenceEntryManager persistenceEntryManager = getEntryManagerForDn(dn);
+
+				indexesByEntryManager.computeIfAbsent(persistenceEntryManager, k -> new ArrayList<>()).add(i);
+				dnsByEntryManager.computeIfAbsent(persistenceEntryManager, k -> new ArrayList<>()).add(dn);
+			} catch (RuntimeException ex) {
+				result.addFailure(i, dn, ex);
+			}
+		}
+
+		for (Entry<PersistenceEntryManager, List<String>> dnsByEntryManagerEntry : dnsByEntryManager.entrySet()) {
+			PersistenceEntryManager persistenceEntryManager = dnsByEntryManagerEntry.getKey();
+			BulkOperationResult childResult = ((BaseEntryManager<?>) persistenceEntryManager).removeAllByDn(dnsByEntryManagerEntry.getValue(), objectClasses);
+			copyBulkOperationResult(childResult, indexesByEntryManager.get(persistenceEntryManager), result);
+		}
+	}
+
+	private void copyBulkOperationResult(BulkOperationResult childResult, List<Integer> indexes, BulkOperationResult result) {
+		for (int i = 0; i < indexes.size(); i++) {
+			BulkOperationResult.EntryResult entryResult = childResult.getResult(i);
+			if (entryResult.isSuccess()) {
+				result.addSuccess(indexes.get(i), entryResult.getDn());
+			} else {
+				result.addFailure(indexes.get(i), entryResult.getDn(), entryResult.getException());
+			}
+		}
+	}
+
 	@Override
     public void remove(Object entry) {
         Class<?> entryClass = entry.getClass();
@@ -32,12 +32,18 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.unboundid.ldap.sdk.AddRequest;
 import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.DeleteRequest;
 import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.LDAPResult;
 import com.unboundid.ldap.sdk.Modification;
 import com.unboundid.ldap.sdk.ModificationType;
+import com.unboundid.ldap.sdk.ModifyRequest;
 import com.unboundid.ldap.sdk.ResultCode;
 import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.UpdatableLDAPRequest;
 import com.unboundid.util.StaticUtils;
 
 import io.jans.orm.PersistenceEntryManager;
@@ -48,6 +54,7 @@ import io.jans.orm.exception.EntryDeleteException;
 import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.MappingException;
 import io.jans.orm.exception.operation.ConnectionException;
+import io.jans.orm.exception.operation.DuplicateEntryException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.exception.operation.SearchScopeException;
 import io.jans.orm.impl.BaseEntryManager;
@@ -59,6 +66,7 @@ import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.BatchOperation;
+import io.jans.orm.model.BulkOperationResult;
 import io.jans.orm.model.DefaultBatchOperation;
 import io.jans.orm.model.EntryData;
 import io.jans.orm.model.PagedResult;
@@ -173,6 +181,54 @@ public class LdapEntryManager extends BaseEntryManager<LdapOperationService> imp
 
     @Override
     protected void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration) {
+        List<Attribute> ldapAttributes = toLdapAttributes(attributes);
+
+        // Persist entry
+        try {
+            boolean result = getOperationService().addEntry(dn, ldapAttributes);
+            if (!result) {
+                throw new EntryPersistenceException(String.format("Failed to persist entry: %s", dn));
+            }
+        } catch (ConnectionException ex) {
+            throw new EntryPersistenceException(String.format("Failed to persist entry: %s", dn), ex.getCause());
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to persist entry: %s", dn), ex);
+        }
+    }
+
+    /*
+     * Sends add requests without waiting for each response and collects results afterwards
+     */
+    @Override
+    protected void persist(List<PersistEntry> persistEntries, BulkOperationResult result) {
+        List<PersistEntry> preparedEntries = new ArrayList<PersistEntry>(persistEntries.size());
+        List<AddRequest> requests = new ArrayList<AddRequest>(persistEntries.size());
+        for (PersistEntry persistEntry : persistEntries) {
+            try {
+                requests.add(new AddRequest(persistEntry.getDn(), toLdapAttributes(persistEntry.getAttributes())));
+                preparedEntries.add(persistEntry);
+            } catch (RuntimeException ex) {
+                result.addFailure(persistEntry.getIndex(), persistEntry.getDn(),
+                        new EntryPersistenceException(String.format("Failed to persist entry: %s", persistEntry.getDn()), ex));
+            }
+        }
+
+        List<LDAPResult> ldapResults = processRequests(requests);
+        for (int i = 0; i < preparedEntries.size(); i++) {
+            PersistEntry persistEntry = preparedEntries.get(i);
+            LDAPResult ldapResult = ldapResults.get(i);
+            if (ResultCode.SUCCESS.equals(ldapResult.getResultCode())) {
+                result.addSuccess(persistEntry.getIndex(), persistEntry.getDn());
+            } else {
+                Exception cause = ResultCode.ENTRY_ALREADY_EXISTS.equals(ldapResult.getResultCode()) ? new DuplicateEntryException()
+                        : new LDAPException(ldapResult);
+                result.addFailure(persistEntry.getIndex(), persistEntry.getDn(),
+                        new EntryPersistenceException(String.format("Failed to persist entry: %s", persistEntry.getDn()), cause));
+            }
+        }
+    }
+
+    private List<Attribute> toLdapAttributes(List<AttributeData> attributes) {
         List<Attribute> ldapAttributes = new ArrayList<Attribute>(attributes.size());
         for (AttributeData attribute : attributes) {
             String attributeName = attribute.getName();
@@ -189,120 +245,163 @@ public class LdapEntryManager extends BaseEntryManager<LdapOperationService> imp
             }
         }
 
-        // Persist entry
+        return ldapAttributes;
+    }
+
+    @Override
+    public void merge(String dn, String[] objectClasses, List<AttributeDataModification> attributeDataModifications, Integer expiration) {
+        // Update entry
         try {
-            boolean result = getOperationService().addEntry(dn, ldapAttributes);
-            if (!result) {
-                throw new EntryPersistenceException(String.format("Failed to persist entry: %s", dn));
+            List<Modification> modifications = toLdapModifications(attributeDataModifications);
+
+            if (modifications.size() > 0) {
+                boolean result = getOperationService().updateEntry(dn, modifications);
+                if (!result) {
+                    throw new EntryPersistenceException(String.format("Failed to update entry: %s", dn));
+                }
             }
         } catch (ConnectionException ex) {
-            throw new EntryPersistenceException(String.format("Failed to persist entry: %s", dn), ex.getCause());
+            throw new EntryPersistenceException(String.format("Failed to update entry: %s", dn), ex.getCause());
         } catch (Exception ex) {
-            throw new EntryPersistenceException(String.format("Failed to persist entry: %s", dn), ex);
+            throw new EntryPersistenceException(String.format("Failed to update entry: %s", dn), ex);
         }
     }
 
     @Override
-    public void merge(String dn, String[] objectClasses, List<AttributeDataModification> attributeDataModifications, Integer expiration) {
-        // Update entry
-        try {
-            List<Modification> modifications = new ArrayList<Modification>(attributeDataModifications.size());
-            for (AttributeDataModification attributeDataModification : attributeDataModifications) {
-                AttributeData attribute = attributeDataModification.getAttribute();
-                AttributeData oldAttribute = attributeDataModification.getOldAttribute();
-
-                String attributeName = null;
-                String[] attributeValues = null;
-                if (attribute != null) {
-                    attributeName = attribute.getName();
-                    attributeValues = convertValuesToStringValues(attribute.getValues());
-                }
+    protected MergeEntry prepareMergeEntry(int index, Object entry) {
+        Class<?> entryClass = entry.getClass();
+        checkEntryClass(entryClass, true);
+        if (isSchemaEntry(entryClass)) {
+            throw new UnsupportedOperationException("Bulk merge of schema entries is not supported");
+        }
 
-                String oldAttributeName = null;
-                String[] oldAttributeValues = null;
-                if (oldAttribute != null) {
-                    oldAttributeName = oldAttribute.getName();
-                    oldAttributeValues = convertValuesToStringValues(oldAttribute.getValues());
-                }
+        boolean configurationEntry = isConfigurationEntry(entryClass);
+        return prepareMergeEntry(index, entry, false, configurationEntry, null);
+    }
 
-                Modification modification = null;
-                if (AttributeModificationType.ADD.equals(attributeDataModification.getModificationType())) {
-                    modification = createModification(ModificationType.ADD, attributeName, attributeValues);
+    /*
+     * Sends modify requests without waiting for each response and collects results afterwards
+     */
+    @Override
+    protected void merge(List<MergeEntry> mergeEntries, BulkOperationResult result) {
+        List<MergeEntry> preparedEntries = new ArrayList<MergeEntry>(mergeEntries.size());
+        List<ModifyRequest> requests = new ArrayList<ModifyRequest>(mergeEntries.size());
+        for (MergeEntry mergeEntry : mergeEntries) {
+            try {
+                List<Modification> modifications = toLdapModifications(mergeEntry.getAttributeDataModifications());
+                if (modifications.size() > 0) {
+                    requests.add(new ModifyRequest(mergeEntry.getDn(), modifications));
+                    preparedEntries.add(mergeEntry);
                 } else {
-                    if (AttributeModificationType.REMOVE.equals(attributeDataModification.getModificationType())) {
-                        modification = createModification(ModificationType.DELETE, oldAttributeName, oldAttributeValues);
-                    } else if (AttributeModificationType.REPLACE.equals(attributeDataModification.getModificationType())) {
-                        if (attributeValues.length == 1) {
-                            modification = createModification(ModificationType.REPLACE, attributeName, attributeValues);
-                        } else {
-                        	String[] oldValues = ArrayHelper.arrayClone(oldAttributeValues);
-                        	String[] newValues = ArrayHelper.arrayClone(attributeValues);
-
-                            Arrays.sort(oldValues);
-                            Arrays.sort(newValues);
-
-                            boolean[] retainOldValues = new boolean[oldValues.length];
-                            Arrays.fill(retainOldValues, false);
-
-                            List<String> addValues = new ArrayList<String>();
-                            List<String> removeValues = new ArrayList<String>();
-
-                            // Add new values
-                            for (String value : newValues) {
-                                int idx = Arrays.binarySearch(oldValues, value, new Comparator<String>() {
-                                    @Override
-                                    public int compare(String o1, String o2) {
-                                    	return o1.toLowerCase().compareTo(o2.toLowerCase());
-                                    }
-                                });
-                                if (idx >= 0) {
-                                    // Old values array contains new value. Retain
-                                    // old value
-                                    retainOldValues[idx] = true;
-                                } else {
-                                    // This is new value
-                                    addValues.add(value);
-                                }
-                            }
+                    result.addSuccess(mergeEntry.getIndex(), mergeEntry.getDn());
+                }
+            } catch (RuntimeException ex) {
+                result.addFailure(mergeEntry.getIndex(), mergeEntry.getDn(),
+                        new EntryPersistenceException(String.format("Failed to update entry: %s", mergeEntry.getDn()), ex));
+            }
+        }
+
+        List<LDAPResult> ldapResults = processRequests(requests);
+        for (int i = 0; i < preparedEntries.size(); i++) {
+            MergeEntry mergeEntry = preparedEntries.get(i);
+            LDAPResult ldapResult = ldapResults.get(i);
+            if (ResultCode.SUCCESS.equals(ldapResult.getResultCode())) {
+                result.addSuccess(mergeEntry.getIndex(), mergeEntry.getDn());
+            } else {
+                result.addFailure(mergeEntry.getIndex(), mergeEntry.getDn(),
+                        new EntryPersistenceException(String.format("Failed to update entry: %s", mergeEntry.getDn()), new LDAPException(ldapResult)));
+            }
+        }
+    }
+
+    private List<Modification> toLdapModifications(List<AttributeDataModification> attributeDataModifications) {
+        List<Modification> modifications = new ArrayList<Modification>(attributeDataModifications.size());
+        for (AttributeDataModification attributeDataModification : attributeDataModifications) {
+            AttributeData attribute = attributeDataModification.getAttribute();
+            AttributeData oldAttribute = attributeDataModification.getOldAttribute();
+
+            String attributeName = null;
+            String[] attributeValues = null;
+            if (attribute != null) {
+                attributeName = attribute.getName();
+                attributeValues = convertValuesToStringValues(attribute.getValues());
+            }
+
+            String oldAttributeName = null;
+            String[] oldAttributeValues = null;
+            if (oldAttribute != null) {
+                oldAttributeName = oldAttribute.getName();
+                oldAttributeValues = convertValuesToStringValues(oldAttribute.getValues());
+            }
+
+            Modification modification = null;
+            if (AttributeModificationType.ADD.equals(attributeDataModification.getModificationType())) {
+                modification = createModification(ModificationType.ADD, attributeName, attributeValues);
+            } else {
+                if (AttributeModificationType.REMOVE.equals(attributeDataModification.getModificationType())) {
+                    modification = createModification(ModificationType.DELETE, oldAttributeName, oldAttributeValues);
+                } else if (AttributeModificationType.REPLACE.equals(attributeDataModification.getModificationType())) {
+                    if (attributeValues.length == 1) {
+                        modification = createModification(ModificationType.REPLACE, attributeName, attributeValues);
+                    } else {
+                    	String[] oldValues = ArrayHelper.arrayClone(oldAttributeValues);
+                    	String[] newValues = ArrayHelper.arrayClone(attributeValues);
 
-                            // Remove values which we don't have in new values
-                            for (int i = 0; i < oldValues.length; i++) {
-                                if (!retainOldValues[i]) {
-                                    removeValues.add(oldValues[i]);
+                        Arrays.sort(oldValues);
+                        Arrays.sort(newValues);
+
+                        boolean[] retainOldValues = new boolean[oldValues.length];
+                        Arrays.fill(retainOldValues, false);
+
+                        List<String> addValues = new ArrayList<String>();
+                        List<String> removeValues = new ArrayList<String>();
+
+                        // Add new values
+                        for (String value : newValues) {
+                            int idx = Arrays.binarySearch(oldValues, value, new Comparator<String>() {
+                                @Override
+                                public int compare(String o1, String o2) {
+                                	return o1.toLowerCase().compareTo(o2.toLowerCase());
                                 }
+                            });
+                            if (idx >= 0) {
+                                // Old values array contains new value. Retain
+                                // old value
+                                retainOldValues[idx] = true;
+                            } else {
+                                // This is new value
+                                addValues.add(value);
                             }
+                        }
 
-                            if (removeValues.size() > 0) {
-                                Modification removeModification = createModification(ModificationType.DELETE, attributeName,
-                                        removeValues.toArray(new String[removeValues.size()]));
-                                modifications.add(removeModification);
+                        // Remove values which we don't have in new values
+                        for (int i = 0; i < oldValues.length; i++) {
+                            if (!retainOldValues[i]) {
+                                removeValues.add(oldValues[i]);
                             }
+                        }
 
-                            if (addValues.size() > 0) {
-                                Modification addModification = createModification(ModificationType.ADD, attributeName,
-                                        addValues.toArray(new String[addValues.size()]));
-                                modifications.add(addModification);
-                            }
+                        if (removeValues.size() > 0) {
+                            Modification removeModification = createModification(ModificationType.DELETE, attributeName,
+                                    removeValues.toArray(new String[removeValues.size()]));
+                            modifications.add(removeModification);
                         }
-                    }
-                }
 
-                if (modification != null) {
-                    modifications.add(modification);
+                        if (addValues.size() > 0) {
+                            Modification addModification = createModification(ModificationType.ADD, attributeName,
+                                    addValues.toArray(new String[addValues.size()]));
+                            modifications.add(addModification);
+                        }
+                    }
                 }
             }
 
-            if (modifications.size() > 0) {
-                boolean result = getOperationService().updateEntry(dn, modifications);
-                if (!result) {
-                    throw new EntryPersistenceException(String.format("Failed to update entry: %s", dn));
-                }
+            if (modification != null) {
+                modifications.add(modification);
             }
-        } catch (ConnectionException ex) {
-            throw new EntryPersistenceException(String.format("Failed to update entry: %s", dn), ex.getCause());
-        } catch (Exception ex) {
-            throw new EntryPersistenceException(String.format("Failed to update entry: %s", dn), ex);
         }
+
+        return modifications;
     }
 
     @Override
@@ -321,6 +420,56 @@ public class LdapEntryManager extends BaseEntryManager<LdapOperationService> imp
         }
     }
 
+    /*
+     * Sends delete requests without waiting for each response and collects results afterwards
+     */
+    @Override
+    protected void removeByDns(List<String> dns, String[] objectClasses, BulkOperationResult result) {
+        List<Integer> indexes = new ArrayList<Integer>(dns.size());
+        List<DeleteRequest> requests = new ArrayList<DeleteRequest>(dns.size());
+        for (int i = 0; i < dns.size(); i++) {
+            String dn = dns.get(i);
+            try {
+                for (DeleteNotifier subscriber : subscribers) {
+                    subscriber.onBeforeRemove(dn, objectClasses);
+                }
+                requests.add(new DeleteRequest(dn));
+                indexes.add(i);
+            } catch (RuntimeException ex) {
+                result.addFailure(i, dn, new EntryDeleteException(String.format("Failed to remove entry: %s", dn), ex));
+            }
+        }
+
+        List<LDAPResult> ldapResults = processRequests(requests);
+        for (int i = 0; i < indexes.size(); i++) {
+            int index = indexes.get(i);
+            String dn = dns.get(index);
+            LDAPResult ldapResult = ldapResults.get(i);
+            if (ResultCode.SUCCESS.equals(ldapResult.getResultCode())) {
+                for (DeleteNotifier subscriber : subscribers) {
+                    subscriber.onAfterRemove(dn, objectClasses);
+                }
+                result.addSuccess(index, dn);
+            } else {
+                result.addFailure(index, dn, new EntryDeleteException(String.format("Failed to remove entry: %s", dn), new LDAPException(ldapResult)));
+            }
+        }
+    }
+
+    private List<LDAPResult> processRequests(List<? extends UpdatableLDAPRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            return getOperationService().processRequests(requests);
+        } catch (ConnectionException ex) {
+            LOG.error("Failed to send requests", ex);
+            LDAPResult failedResult = new LDAPResult(-1, ResultCode.CONNECT_ERROR, ex.getMessage(), null, null, null);
+            return Collections.nCopies(requests.size(), failedResult);
+        }
+    }
+
     @Override
     public <T> int remove(String baseDN, Class<T> entryClass, Filter filter, int count) {
         if (StringHelper.isEmptyString(baseDN)) {
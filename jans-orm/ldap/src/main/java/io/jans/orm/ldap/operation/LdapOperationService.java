@@ -16,8 +16,10 @@ import com.unboundid.ldap.sdk.Filter;
 import com.unboundid.ldap.sdk.LDAPConnection;
 import com.unboundid.ldap.sdk.LDAPConnectionPool;
 import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.LDAPResult;
 import com.unboundid.ldap.sdk.Modification;
 import com.unboundid.ldap.sdk.SearchScope;
+import com.unboundid.ldap.sdk.UpdatableLDAPRequest;
 import com.unboundid.ldif.LDIFChangeRecord;
 
 import io.jans.orm.exception.operation.ConnectionException;
@@ -104,6 +106,16 @@ public interface LdapOperationService extends PersistenceOperationService {
      */
     boolean delete(String dn) throws ConnectionException;
 
+    /**
+     * Send add, modify and delete requests over one connection without waiting for
+     * each response and collect results afterwards
+     *
+     * @param requests
+     * @return results in the same order as requests
+     * @throws ConnectionException
+     */
+    List<LDAPResult> processRequests(List<? extends UpdatableLDAPRequest> requests) throws ConnectionException;
+
     /**
      * Delete entry from the directory
      *
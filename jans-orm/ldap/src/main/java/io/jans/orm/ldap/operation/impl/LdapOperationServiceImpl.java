@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
@@ -29,6 +30,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.unboundid.asn1.ASN1OctetString;
+import com.unboundid.ldap.sdk.AddRequest;
+import com.unboundid.ldap.sdk.AsyncRequestID;
 import com.unboundid.ldap.sdk.Attribute;
 import com.unboundid.ldap.sdk.BindResult;
 import com.unboundid.ldap.sdk.Control;
@@ -47,6 +50,7 @@ import com.unboundid.ldap.sdk.SearchRequest;
 import com.unboundid.ldap.sdk.SearchResult;
 import com.unboundid.ldap.sdk.SearchResultEntry;
 import com.unboundid.ldap.sdk.SearchScope;
+import com.unboundid.ldap.sdk.UpdatableLDAPRequest;
 import com.unboundid.ldap.sdk.controls.SimplePagedResultsControl;
 import com.unboundid.ldap.sdk.controls.SubtreeDeleteRequestControl;
 import com.unboundid.ldap.sdk.schema.AttributeTypeDefinition;
@@ -101,6 +105,8 @@ public class LdapOperationServiceImpl implements LdapOperationService {
 
     protected static final String[] NO_STRINGS = new String[0];
 
+    private static final int MAX_PIPELINED_REQUESTS = 100;
+
     static {
         //Populates the mapping of syntaxes that will support comparison of attribute values.
         //Only accounting for the most common and existing in Jans Schema
@@ -748,6 +754,102 @@ public class LdapOperationServiceImpl implements LdapOperationService {
         }
     }
 
+    @Override
+    public List<LDAPResult> processRequests(List<? extends UpdatableLDAPRequest> requests) throws ConnectionException {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        List<LDAPResult> result = processRequestsImpl(requests);
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("LDAP operation: process_requests, duration: {}, count: {}", duration, requests.size());
+
+        return result;
+    }
+
+    private List<LDAPResult> processRequestsImpl(List<? extends UpdatableLDAPRequest> requests) throws ConnectionException {
+        List<LDAPResult> results = new ArrayList<LDAPResult>(requests.size());
+
+        LDAPConnection connection;
+        try {
+            connection = getConnection();
+        } catch (LDAPException ex) {
+            throw new ConnectionException("Failed to get connection to process requests", ex);
+        }
+
+        LDAPException connectionException = null;
+        try {
+            for (int start = 0; start < requests.size(); start += MAX_PIPELINED_REQUESTS) {
+                int end = Math.min(start + MAX_PIPELINED_REQUESTS, requests.size());
+
+                // Send all requests of window before waiting for responses
+                List<Object> pending = new ArrayList<Object>(end - start);
+                for (UpdatableLDAPRequest request : requests.subList(start, end)) {
+                    try {
+                        pending.add(sendAsyncRequest(connection, request));
+                    } catch (LDAPException ex) {
+                        pending.add(ex.toLDAPResult());
+                        if (!connection.isConnected()) {
+                            connectionException = ex;
+                        }
+                    }
+                }
+
+                for (Object pendingResult : pending) {
+                    if (pendingResult instanceof AsyncRequestID) {
+                        results.add(getAsyncResult((AsyncRequestID) pendingResult));
+                    } else {
+                        results.add((LDAPResult) pendingResult);
+                    }
+                }
+            }
+        } finally {
+            if (connectionException == null) {
+                connectionProvider.releaseConnection(connection);
+            } else {
+                connectionProvider.releaseConnection(connection, connectionException);
+            }
+        }
+
+        return results;
+    }
+
+    private AsyncRequestID sendAsyncRequest(LDAPConnection connection, UpdatableLDAPRequest request) throws LDAPException {
+        if (request instanceof AddRequest) {
+            AddRequest addRequest = (AddRequest) request;
+            if (this.persistenceExtension != null) {
+                List<Attribute> attributes = new ArrayList<Attribute>(addRequest.getAttributes());
+                updateUserPasswordAttribute(attributes);
+                addRequest.setAttributes(attributes);
+            }
+
+            return connection.asyncAdd(addRequest, null);
+        } else if (request instanceof ModifyRequest) {
+            ModifyRequest modifyRequest = (ModifyRequest) request;
+            if (this.persistenceExtension != null) {
+                List<Modification> modifications = new ArrayList<Modification>(modifyRequest.getModifications());
+                updateUserPasswordModification(modifications);
+                modifyRequest.setModifications(modifications);
+            }
+
+            return connection.asyncModify(modifyRequest, null);
+        } else if (request instanceof DeleteRequest) {
+            return connection.asyncDelete((DeleteRequest) request, null);
+        }
+
+        throw new LDAPException(ResultCode.NOT_SUPPORTED, String.format("Request type '%s' is not supported", request.getClass()));
+    }
+
+    private LDAPResult getAsyncResult(AsyncRequestID asyncRequestId) {
+        try {
+            return asyncRequestId.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new LDAPResult(asyncRequestId.getMessageID(), ResultCode.LOCAL_ERROR, ex.getMessage(), null, null, null);
+        } catch (ExecutionException ex) {
+            return new LDAPResult(asyncRequestId.getMessageID(), ResultCode.LOCAL_ERROR, ex.getMessage(), null, null, null);
+        }
+    }
+
     @Override
     public boolean deleteRecursively(String dn) throws ConnectionException {
         Instant startTime = OperationDurationUtil.instance().now();
@@ -9,11 +9,13 @@ package io.jans.orm.cloud.spanner.impl;
 import java.io.Serializable;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -34,6 +36,7 @@ import io.jans.orm.exception.AuthenticationException;
 import io.jans.orm.exception.EntryDeleteException;
 import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.MappingException;
+import io.jans.orm.exception.operation.PersistenceException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.impl.BaseEntryManager;
 import io.jans.orm.impl.GenericKeyConverter;
@@ -43,6 +46,7 @@ import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.BatchOperation;
+import io.jans.orm.model.BulkOperationResult;
 import io.jans.orm.model.EntryData;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SearchScope;
@@ -179,6 +183,72 @@ public class SpannerEntryManager extends BaseEntryManager<SpannerOperationServic
 
     @Override
     protected void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration) {
+        // Persist entry
+        try {
+        	ParsedKey parsedKey = toSQLKey(dn);
+        	List<AttributeData> resultAttributes = prepareAttributesForPersist(dn, parsedKey, attributes);
+
+            boolean result = getOperationService().addEntry(parsedKey.getKey(), getBaseObjectClass(objectClasses), resultAttributes);
+            if (!result) {
+                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
+            }
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
+        }
+    }
+
+    @Override
+    protected void persist(List<PersistEntry> persistEntries, BulkOperationResult result) {
+    	// Group entries by table
+    	Map<String, List<PersistEntry>> persistEntriesByObjectClass = new LinkedHashMap<>();
+    	for (PersistEntry persistEntry : persistEntries) {
+    		try {
+    			String baseObjectClass = getBaseObjectClass(persistEntry.getObjectClasses());
+    			persistEntriesByObjectClass.computeIfAbsent(baseObjectClass, k -> new ArrayList<>()).add(persistEntry);
+    		} catch (RuntimeException ex) {
+    			result.addFailure(persistEntry.getIndex(), persistEntry.getDn(), ex);
+    		}
+    	}
+
+    	for (Entry<String, List<PersistEntry>> persistEntriesByObjectClassEntry : persistEntriesByObjectClass.entrySet()) {
+    		String baseObjectClass = persistEntriesByObjectClassEntry.getKey();
+
+    		List<PersistEntry> preparedEntries = new ArrayList<>();
+    		List<String> keys = new ArrayList<>();
+    		List<List<AttributeData>> entriesAttributes = new ArrayList<>();
+    		for (PersistEntry persistEntry : persistEntriesByObjectClassEntry.getValue()) {
+    			String dn = persistEntry.getDn();
+    			try {
+    	        	ParsedKey parsedKey = toSQLKey(dn);
+    	        	entriesAttributes.add(prepareAttributesForPersist(dn, parsedKey, persistEntry.getAttributes()));
+    	        	keys.add(parsedKey.getKey());
+    	        	preparedEntries.add(persistEntry);
+    			} catch (RuntimeException ex) {
+    				result.addFailure(persistEntry.getIndex(), dn, new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex));
+    			}
+    		}
+
+    		PersistenceException[] errors;
+    		try {
+    			errors = getOperationService().addEntries(baseObjectClass, keys, entriesAttributes);
+    		} catch (RuntimeException ex) {
+    			errors = new PersistenceException[preparedEntries.size()];
+    			Arrays.fill(errors, new PersistenceException("Failed to add entries", ex));
+    		}
+
+    		for (int i = 0; i < preparedEntries.size(); i++) {
+    			PersistEntry persistEntry = preparedEntries.get(i);
+    			if (errors[i] == null) {
+    				result.addSuccess(persistEntry.getIndex(), persistEntry.getDn());
+    			} else {
+    				result.addFailure(persistEntry.getIndex(), persistEntry.getDn(),
+    						new EntryPersistenceException(String.format("Failed to persist entry: '%s'", persistEntry.getDn()), errors[i]));
+    			}
+    		}
+    	}
+    }
+
+    private List<AttributeData> prepareAttributesForPersist(String dn, ParsedKey parsedKey, List<AttributeData> attributes) {
     	ArrayList<AttributeData> resultAttributes = new ArrayList<>(attributes.size() + 1);
         for (AttributeData attribute : attributes) {
             String attributeName = attribute.getName();
@@ -214,19 +284,10 @@ public class SpannerEntryManager extends BaseEntryManager<SpannerOperationServic
             }
         }
 
-        // Persist entry
-        try {
-        	ParsedKey parsedKey = toSQLKey(dn);
-            resultAttributes.add(new AttributeData(SpannerOperationService.DN, dn));
-            resultAttributes.add(new AttributeData(SpannerOperationService.DOC_ID, parsedKey.getKey()));
+        resultAttributes.add(new AttributeData(SpannerOperationService.DN, dn));
+        resultAttributes.add(new AttributeData(SpannerOperationService.DOC_ID, parsedKey.getKey()));
 
-            boolean result = getOperationService().addEntry(parsedKey.getKey(), getBaseObjectClass(objectClasses), resultAttributes);
-            if (!result) {
-                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
-            }
-        } catch (Exception ex) {
-            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
-        }
+        return resultAttributes;
     }
 
     @Override
@@ -307,6 +368,52 @@ public class SpannerEntryManager extends BaseEntryManager<SpannerOperationServic
         }
     }
 
+    @Override
+    protected void removeByDns(List<String> dns, String[] objectClasses, BulkOperationResult result) {
+    	if (ArrayHelper.isEmpty(objectClasses)) {
+    		throw new UnsupportedOperationException("Entry class is manadatory for remove operation!");
+    	}
+
+    	String baseObjectClass = getBaseObjectClass(objectClasses);
+
+    	List<Integer> indexes = new ArrayList<>(dns.size());
+    	List<String> keys = new ArrayList<>(dns.size());
+    	for (int i = 0; i < dns.size(); i++) {
+    		String dn = dns.get(i);
+    		try {
+    			String key = toSQLKey(dn).getKey();
+                for (DeleteNotifier subscriber : subscribers) {
+                    subscriber.onBeforeRemove(dn, objectClasses);
+                }
+                keys.add(key);
+                indexes.add(i);
+    		} catch (RuntimeException ex) {
+    			result.addFailure(i, dn, new EntryDeleteException(String.format("Failed to remove entry: '%s'", dn), ex));
+    		}
+    	}
+
+		PersistenceException[] errors;
+		try {
+			errors = getOperationService().deleteEntries(baseObjectClass, keys);
+		} catch (RuntimeException ex) {
+			errors = new PersistenceException[keys.size()];
+			Arrays.fill(errors, new PersistenceException("Failed to delete entries", ex));
+		}
+
+		for (int i = 0; i < indexes.size(); i++) {
+			int index = indexes.get(i);
+			String dn = dns.get(index);
+			if (errors[i] == null) {
+	            for (DeleteNotifier subscriber : subscribers) {
+	                subscriber.onAfterRemove(dn, objectClasses);
+	            }
+				result.addSuccess(index, dn);
+			} else {
+				result.addFailure(index, dn, new EntryDeleteException(String.format("Failed to remove entry: '%s'", dn), errors[i]));
+			}
+		}
+    }
+
     @Override
     public <T> void removeRecursivelyFromDn(String dn, String[] objectClasses) {
     	if (ArrayHelper.isEmpty(objectClasses)) {
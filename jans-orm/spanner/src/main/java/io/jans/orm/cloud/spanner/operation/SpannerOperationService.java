@@ -57,11 +57,25 @@ public interface SpannerOperationService extends PersistenceOperationService {
 
     boolean addEntry(String key, String objectClass, Collection<AttributeData> attributes) throws DuplicateEntryException, PersistenceException;
 
+    /**
+     * Add entries to same table using batched mutations
+     *
+     * @return Array with error per entry or null if entry was added
+     */
+    PersistenceException[] addEntries(String objectClass, List<String> keys, List<? extends Collection<AttributeData>> entriesAttributes);
+
     boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException;
 
     boolean delete(String key, String objectClass) throws EntryNotFoundException;
 	long delete(String key, String objectClass, ConvertedExpression expression, int count) throws DeleteException;
 
+	/**
+	 * Delete entries from same table using batched mutations
+	 *
+	 * @return Array with error per entry or null if entry was deleted
+	 */
+	PersistenceException[] deleteEntries(String objectClass, List<String> keys);
+
 	boolean deleteRecursively(String key, String objectClass) throws EntryNotFoundException, SearchException;
 
 	List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException;
@@ -110,6 +110,8 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
 
 	public static final Object[] NO_OBJECTS = new Object[0];
 
+	private static final int BULK_OPERATION_BATCH_SIZE = 100;
+
     private Properties props;
     private SpannerConnectionProvider connectionProvider;
 
@@ -202,7 +204,19 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
 
 	private boolean addEntryImpl(TableMapping tableMapping, String key, Collection<AttributeData> attributes) throws PersistenceException {
 		try {
-			MessageDigest messageDigest = getMessageDigestInstance();
+			List<Mutation> mutations = buildAddEntryMutations(tableMapping, key, attributes, getMessageDigestInstance());
+
+			databaseClient.write(mutations);
+
+			return true;
+        } catch (SpannerException | IllegalStateException ex) {
+            throw new PersistenceException("Failed to add entry", ex);
+        }
+	}
+
+	private List<Mutation> buildAddEntryMutations(TableMapping tableMapping, String key, Collection<AttributeData> attributes,
+			MessageDigest messageDigest) throws PersistenceException {
+		try {
 			Map<String, StructField> columTypes = tableMapping.getColumTypes();
 
 			WriteBuilder mutationBuilder = Mutation.newInsertOrUpdateBuilder(tableMapping.getTableName());
@@ -244,14 +258,64 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
 			}
 			mutations.add(0, mutationBuilder.build());
 
-			databaseClient.write(mutations);
-
-			return true;
+			return mutations;
         } catch (SpannerException | IllegalStateException ex) {
             throw new PersistenceException("Failed to add entry", ex);
         }
 	}
 
+    @Override
+    public PersistenceException[] addEntries(String objectClass, List<String> keys, List<? extends Collection<AttributeData>> entriesAttributes) {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        PersistenceException[] result = new PersistenceException[keys.size()];
+        if (keys.isEmpty()) {
+        	return result;
+        }
+
+        TableMapping tableMapping = connectionProvider.getTableMappingByKey(keys.get(0), objectClass);
+        MessageDigest messageDigest = getMessageDigestInstance();
+
+        for (int i = 0; i < keys.size(); i += BULK_OPERATION_BATCH_SIZE) {
+        	int toIndex = Math.min(i + BULK_OPERATION_BATCH_SIZE, keys.size());
+
+        	List<Integer> batchIndexes = new ArrayList<>(toIndex - i);
+        	List<Mutation> mutations = new ArrayList<>();
+        	for (int j = i; j < toIndex; j++) {
+        		try {
+        			mutations.addAll(buildAddEntryMutations(tableMapping, keys.get(j), entriesAttributes.get(j), messageDigest));
+        			batchIndexes.add(j);
+        		} catch (PersistenceException ex) {
+        			result[j] = ex;
+        		}
+        	}
+
+        	if (mutations.isEmpty()) {
+        		continue;
+        	}
+
+        	try {
+        		databaseClient.write(mutations);
+        	} catch (SpannerException | IllegalStateException ex) {
+    			LOG.debug("Failed to add entries batch, fallback to add entries one by one", ex);
+
+    			// Batch is atomic. Add entries one by one to report errors per entry
+    			for (Integer index : batchIndexes) {
+    				try {
+    					addEntryImpl(tableMapping, keys.get(index), entriesAttributes.get(index));
+    				} catch (PersistenceException ex2) {
+    					result[index] = ex2;
+    				}
+    			}
+        	}
+        }
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: add batch, duration: {}, table: {}, count: {}", duration, tableMapping.getTableName(), keys.size());
+
+        return result;
+    }
+
 	@Override
     public boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException {
         Instant startTime = OperationDurationUtil.instance().now();
@@ -395,6 +459,39 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
         }
 	}
 
+    @Override
+    public PersistenceException[] deleteEntries(String objectClass, List<String> keys) {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        PersistenceException[] result = new PersistenceException[keys.size()];
+        if (keys.isEmpty()) {
+        	return result;
+        }
+
+        TableMapping tableMapping = connectionProvider.getTableMappingByKey(keys.get(0), objectClass);
+        for (int i = 0; i < keys.size(); i += BULK_OPERATION_BATCH_SIZE) {
+        	int toIndex = Math.min(i + BULK_OPERATION_BATCH_SIZE, keys.size());
+        	try {
+        		KeySet.Builder keySetBuilder = KeySet.newBuilder();
+        		for (String key : keys.subList(i, toIndex)) {
+        			keySetBuilder.addKey(Key.of(key));
+        		}
+
+        		databaseClient.write(Collections.singletonList(Mutation.delete(tableMapping.getTableName(), keySetBuilder.build())));
+        	} catch (SpannerException ex) {
+        		DeleteException deleteException = new DeleteException("Failed to delete entries", ex);
+        		for (int j = i; j < toIndex; j++) {
+        			result[j] = deleteException;
+        		}
+        	}
+        }
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: delete batch, duration: {}, table: {}, count: {}", duration, tableMapping.getTableName(), keys.size());
+
+        return result;
+    }
+
     @Override
     public long delete(String key, String objectClass, ConvertedExpression expression, int count) throws DeleteException {
         Instant startTime = OperationDurationUtil.instance().now();
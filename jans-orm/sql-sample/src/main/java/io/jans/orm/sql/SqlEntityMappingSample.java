@@ -0,0 +1,126 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.log4j.Logger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import io.jans.orm.model.AttributeData;
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.SimpleToken;
+import io.jans.orm.sql.model.SimpleUser;
+import io.jans.orm.sql.persistence.SqlEntryManagerSample;
+
+/**
+ * Measures time which entry manager spends to map DB rows to entities. Data
+ * is generated in memory, DB connection is needed only to create entry manager
+ */
+public final class SqlEntityMappingSample {
+
+    private static final Logger LOG;
+
+    private static final int ENTRIES_COUNT = 10000;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 50;
+
+    static {
+        StatusLogger.getLogger().setLevel(Level.OFF);
+        LoggingHelper.configureConsoleAppender();
+        LOG = Logger.getLogger(SqlEntityMappingSample.class);
+    }
+
+    private SqlEntityMappingSample() { }
+
+    public static void main(String[] args) {
+        // Prepare sample connection details
+        SqlEntryManagerSample sqlEntryManagerSample = new SqlEntryManagerSample();
+
+        // Create SQL entry manager
+        SqlEntryManager sqlEntryManager = sqlEntryManagerSample.createSqlEntryManager();
+
+        Map<String, List<AttributeData>> usersAttributes = buildUsersAttributes();
+        Map<String, List<AttributeData>> tokensAttributes = buildTokensAttributes();
+
+        LOG.info("Users mapping: " + measure(sqlEntryManager, SimpleUser.class, usersAttributes) + " ms per " + ENTRIES_COUNT + " entries");
+        LOG.info("Tokens mapping: " + measure(sqlEntryManager, SimpleToken.class, tokensAttributes) + " ms per " + ENTRIES_COUNT + " entries");
+
+        sqlEntryManager.destroy();
+    }
+
+    private static <T> double measure(SqlEntryManager sqlEntryManager, Class<T> entryClass, Map<String, List<AttributeData>> entriesAttributes) {
+        long count = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            count += sqlEntryManager.createEntities(entryClass, entriesAttributes).size();
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            count += sqlEntryManager.createEntities(entryClass, entriesAttributes).size();
+        }
+        long duration = System.nanoTime() - startTime;
+
+        LOG.debug("Created entries: " + count);
+
+        return duration / 1000000.0 / ITERATIONS;
+    }
+
+    private static Map<String, List<AttributeData>> buildUsersAttributes() {
+        Map<String, List<AttributeData>> entriesAttributes = new LinkedHashMap<String, List<AttributeData>>(ENTRIES_COUNT);
+        for (int i = 0; i < ENTRIES_COUNT; i++) {
+            String inum = UUID.randomUUID().toString();
+
+            List<AttributeData> attributes = new ArrayList<AttributeData>();
+            attributes.add(new AttributeData("objectClass", new Object[] { "jansPerson" }, true));
+            attributes.add(new AttributeData("inum", inum));
+            attributes.add(new AttributeData("uid", "user_" + i));
+            attributes.add(new AttributeData("userPassword", "{SSHA}" + inum));
+            attributes.add(new AttributeData("role", "user"));
+            attributes.add(new AttributeData("memberOf", new Object[] { "inum=60B7,ou=groups,o=jans" }, true));
+            attributes.add(new AttributeData("givenName", "Given_" + i));
+            attributes.add(new AttributeData("sn", "Surname_" + i));
+            attributes.add(new AttributeData("mail", "user_" + i + "@jans.io"));
+            attributes.add(new AttributeData("jansStatus", "active"));
+            attributes.add(new AttributeData("jansCreationTimestamp", new Date()));
+
+            entriesAttributes.put(String.format("inum=%s,ou=people,o=jans", inum), attributes);
+        }
+
+        return entriesAttributes;
+    }
+
+    private static Map<String, List<AttributeData>> buildTokensAttributes() {
+        Map<String, List<AttributeData>> entriesAttributes = new LinkedHashMap<String, List<AttributeData>>(ENTRIES_COUNT);
+        for (int i = 0; i < ENTRIES_COUNT; i++) {
+            String code = UUID.randomUUID().toString();
+
+            List<AttributeData> attributes = new ArrayList<AttributeData>();
+            attributes.add(new AttributeData("objectClass", new Object[] { "jansToken" }, true));
+            attributes.add(new AttributeData("tknCde", code));
+            attributes.add(new AttributeData("tknTyp", "access_token"));
+            attributes.add(new AttributeData("clnId", "1800." + (i % 10)));
+            attributes.add(new AttributeData("usrId", "user_" + i));
+            attributes.add(new AttributeData("scp", "openid profile"));
+            attributes.add(new AttributeData("grtId", UUID.randomUUID().toString()));
+            attributes.add(new AttributeData("iat", new Date()));
+            attributes.add(new AttributeData("exp", new Date()));
+            attributes.add(new AttributeData("del", true));
+
+            entriesAttributes.put(String.format("tknCde=%s,ou=tokens,o=jans", code), attributes);
+        }
+
+        return entriesAttributes;
+    }
+
+}
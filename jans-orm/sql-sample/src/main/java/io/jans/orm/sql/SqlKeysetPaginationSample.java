@@ -0,0 +1,116 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.apache.log4j.Logger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import io.jans.orm.model.BatchOperation;
+import io.jans.orm.model.ProcessBatchOperation;
+import io.jans.orm.model.SearchScope;
+import io.jans.orm.search.filter.Filter;
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.SimpleCacheEntry;
+import io.jans.orm.sql.persistence.SqlEntryManagerSample;
+
+/**
+ * Compares offset and keyset pagination on large table
+ */
+public final class SqlKeysetPaginationSample {
+
+    private static final Logger LOG;
+
+    private static final String BASE_DN = "ou=cache,o=jans";
+    private static final int ENTRIES_COUNT = 1000000;
+    private static final int CHUNK_SIZE = 1000;
+
+    static {
+        StatusLogger.getLogger().setLevel(Level.OFF);
+        LoggingHelper.configureConsoleAppender();
+        LOG = Logger.getLogger(SqlKeysetPaginationSample.class);
+    }
+
+    private SqlKeysetPaginationSample() { }
+
+    public static void main(String[] args) {
+        // Prepare sample connection details
+        SqlEntryManagerSample sqlEntryManagerSample = new SqlEntryManagerSample();
+
+        // Create SQL entry managers
+        SqlEntryManager offsetEntryManager = sqlEntryManagerSample.createSqlEntryManager();
+
+        Properties keysetProperties = new Properties();
+        keysetProperties.put("sql#db.keyset-pagination", "true");
+        SqlEntryManager keysetEntryManager = sqlEntryManagerSample.createSqlEntryManager(keysetProperties);
+
+        populateEntries(keysetEntryManager);
+
+        LOG.info("Offset pagination: " + pageThroughEntries(offsetEntryManager) + " ms");
+        LOG.info("Keyset pagination: " + pageThroughEntries(keysetEntryManager) + " ms");
+
+        offsetEntryManager.destroy();
+        keysetEntryManager.destroy();
+    }
+
+    private static void populateEntries(SqlEntryManager sqlEntryManager) {
+        int existingCount = sqlEntryManager.countEntries(BASE_DN, SimpleCacheEntry.class, Filter.createPresenceFilter("uuid"));
+        LOG.info("Existing entries: " + existingCount);
+
+        Calendar expirationDate = Calendar.getInstance();
+        expirationDate.add(Calendar.DAY_OF_MONTH, 1);
+
+        for (int i = existingCount; i < ENTRIES_COUNT; i++) {
+            String key = UUID.randomUUID().toString();
+
+            SimpleCacheEntry entity = new SimpleCacheEntry();
+            entity.setTtl(86400);
+            entity.setData("sample_data_" + i);
+            entity.setId(key);
+            entity.setDn(String.format("uuid=%s,%s", key, BASE_DN));
+            entity.setCreationDate(new Date());
+            entity.setExpirationDate(expirationDate.getTime());
+            entity.setDeletable(true);
+
+            sqlEntryManager.persist(entity);
+
+            if ((i + 1) % 10000 == 0) {
+                LOG.info("Added entries: " + (i + 1));
+            }
+        }
+    }
+
+    private static long pageThroughEntries(SqlEntryManager sqlEntryManager) {
+        final int[] processedCount = { 0 };
+
+        BatchOperation<SimpleCacheEntry> batchOperation = new ProcessBatchOperation<SimpleCacheEntry>() {
+            @Override
+            public void performAction(List<SimpleCacheEntry> entries) {
+                processedCount[0] += entries.size();
+                if (processedCount[0] % 100000 == 0) {
+                    LOG.info("Processed entries: " + processedCount[0]);
+                }
+            }
+        };
+
+        long startTime = System.currentTimeMillis();
+        sqlEntryManager.findEntries(BASE_DN, SimpleCacheEntry.class, Filter.createPresenceFilter("uuid"), SearchScope.SUB,
+                new String[] { "uuid" }, batchOperation, 0, 0, CHUNK_SIZE);
+        long duration = System.currentTimeMillis() - startTime;
+
+        LOG.info("Total processed entries: " + processedCount[0]);
+
+        return duration;
+    }
+
+}
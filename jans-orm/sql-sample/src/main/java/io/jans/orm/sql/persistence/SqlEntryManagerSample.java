@@ -66,9 +66,14 @@ public class SqlEntryManagerSample {
     }
 
     public SqlEntryManager createSqlEntryManager() {
+        return createSqlEntryManager(new Properties());
+    }
+
+    public SqlEntryManager createSqlEntryManager(Properties customProperties) {
         SqlEntryManagerFactory sqlEntryManagerFactory = new SqlEntryManagerFactory();
         sqlEntryManagerFactory.create();
         Properties connectionProperties = getSampleConnectionProperties();
+        connectionProperties.putAll(customProperties);
 
         SqlEntryManager sqlEntryManager = sqlEntryManagerFactory.createEntryManager(connectionProperties);
         LOG.debug("Created SqlEntryManager: " + sqlEntryManager);
@@ -14,6 +14,7 @@ import static org.testng.Assert.assertTrue;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Iterator;
@@ -26,6 +27,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.model.BulkOperationResult;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.ProcessBatchOperation;
 import io.jans.orm.model.SearchScope;
@@ -303,6 +305,37 @@ public class ManualSqlEntryManagerTest {
         assertEquals(totalProcessedCount, 200);
     }
 
+    @Test(dependsOnMethods = "deleteSessionId", enabled = false)
+    public void testBulkPersistAndRemove() {
+		List<SessionId> sessionIds = new ArrayList<>();
+		List<String> dns = new ArrayList<>();
+		for (int i = 0; i < 250; i++) {
+			SessionId sessionId = buildSessionId();
+			sessionIds.add(sessionId);
+			dns.add(sessionId.getDn());
+		}
+		// Duplicate entry should be reported in result without failing other entries
+		sessionIds.add(sessionIds.get(0));
+
+		BulkOperationResult persistResult = manager.persistAll(sessionIds);
+		assertEquals(persistResult.getSuccessCount(), 250);
+		assertEquals(persistResult.getFailureCount(), 1);
+		assertFalse(persistResult.getResult(250).isSuccess());
+
+		List<String> dnsToFind = new ArrayList<>(dns);
+		dnsToFind.add(1, "jansId=missing,ou=sessions,o=jans");
+		List<SessionId> foundSessionIds = manager.findByDns(SessionId.class, dnsToFind, null);
+		assertEquals(foundSessionIds.size(), 250);
+		assertEquals(foundSessionIds.get(1).getDn(), dns.get(1));
+
+		BulkOperationResult removeResult = manager.removeAll(dns, SessionId.class);
+		assertTrue(removeResult.isSuccess());
+
+		for (String dn : dns) {
+			assertFalse(manager.contains(dn, SessionId.class));
+		}
+    }
+
     private SessionId buildSessionId() {
         SessionId sessionId = new SessionId();
         sessionId.setId(UUID.randomUUID().toString());
@@ -11,12 +11,15 @@ import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +34,7 @@ import io.jans.orm.exception.AuthenticationException;
 import io.jans.orm.exception.EntryDeleteException;
 import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.MappingException;
+import io.jans.orm.exception.operation.PersistenceException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.impl.BaseEntryManager;
 import io.jans.orm.impl.GenericKeyConverter;
@@ -40,6 +44,7 @@ import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.BatchOperation;
+import io.jans.orm.model.BulkOperationResult;
 import io.jans.orm.model.EntryData;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.PasswordAttributeData;
@@ -78,11 +83,14 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
     
     private boolean validateAfterUpdate;
 
+    private boolean useEntrySnapshot;
+
     protected SqlEntryManager(SqlOperationService operationService) {
         this.operationService = operationService;
         this.filterConverter = new SqlFilterConverter(operationService);
         subscribers = new LinkedList<DeleteNotifier>();
         this.validateAfterUpdate = operationService.getConnectionProvider().isValidateAfterUpdate();
+        this.useEntrySnapshot = operationService.getConnectionProvider().isEntrySnapshot();
     }
 
     @Override
@@ -170,6 +178,72 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
     protected void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration) {
     	String baseObjectClass = getBaseObjectClassForDataOperation(objectClasses);
 
+        // Persist entry
+        try {
+        	ParsedKey parsedKey = toSQLKey(dn);
+        	List<AttributeData> resultAttributes = prepareAttributesForPersist(dn, parsedKey, baseObjectClass, attributes);
+
+            boolean result = getOperationService().addEntry(parsedKey.getKey(), baseObjectClass, resultAttributes);
+            if (!result) {
+                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
+            }
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
+        }
+    }
+
+    @Override
+    protected void persist(List<PersistEntry> persistEntries, BulkOperationResult result) {
+    	// Group entries by table
+    	Map<String, List<PersistEntry>> persistEntriesByObjectClass = new LinkedHashMap<>();
+    	for (PersistEntry persistEntry : persistEntries) {
+    		try {
+    			String baseObjectClass = getBaseObjectClassForDataOperation(persistEntry.getObjectClasses());
+    			persistEntriesByObjectClass.computeIfAbsent(baseObjectClass, k -> new ArrayList<>()).add(persistEntry);
+    		} catch (RuntimeException ex) {
+    			result.addFailure(persistEntry.getIndex(), persistEntry.getDn(), ex);
+    		}
+    	}
+
+    	for (Entry<String, List<PersistEntry>> persistEntriesByObjectClassEntry : persistEntriesByObjectClass.entrySet()) {
+    		String baseObjectClass = persistEntriesByObjectClassEntry.getKey();
+
+    		List<PersistEntry> preparedEntries = new ArrayList<>();
+    		List<String> keys = new ArrayList<>();
+    		List<List<AttributeData>> entriesAttributes = new ArrayList<>();
+    		for (PersistEntry persistEntry : persistEntriesByObjectClassEntry.getValue()) {
+    			String dn = persistEntry.getDn();
+    			try {
+    	        	ParsedKey parsedKey = toSQLKey(dn);
+    	        	entriesAttributes.add(prepareAttributesForPersist(dn, parsedKey, baseObjectClass, persistEntry.getAttributes()));
+    	        	keys.add(parsedKey.getKey());
+    	        	preparedEntries.add(persistEntry);
+    			} catch (RuntimeException ex) {
+    				result.addFailure(persistEntry.getIndex(), dn, new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex));
+    			}
+    		}
+
+    		PersistenceException[] errors;
+    		try {
+    			errors = getOperationService().addEntries(baseObjectClass, keys, entriesAttributes);
+    		} catch (RuntimeException ex) {
+    			errors = new PersistenceException[preparedEntries.size()];
+    			Arrays.fill(errors, new PersistenceException("Failed to add entries", ex));
+    		}
+
+    		for (int i = 0; i < preparedEntries.size(); i++) {
+    			PersistEntry persistEntry = preparedEntries.get(i);
+    			if (errors[i] == null) {
+    				result.addSuccess(persistEntry.getIndex(), persistEntry.getDn());
+    			} else {
+    				result.addFailure(persistEntry.getIndex(), persistEntry.getDn(),
+    						new EntryPersistenceException(String.format("Failed to persist entry: '%s'", persistEntry.getDn()), errors[i]));
+    			}
+    		}
+    	}
+    }
+
+    private List<AttributeData> prepareAttributesForPersist(String dn, ParsedKey parsedKey, String baseObjectClass, List<AttributeData> attributes) {
     	ArrayList<AttributeData> resultAttributes = new ArrayList<>(attributes.size() + 1);
         for (AttributeData attribute : attributes) {
             String attributeName = attribute.getName();
@@ -206,19 +280,10 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
             }
         }
 
-        // Persist entry
-        try {
-        	ParsedKey parsedKey = toSQLKey(dn);
-            resultAttributes.add(new AttributeData(SqlOperationService.DN, dn));
-            resultAttributes.add(new AttributeData(SqlOperationService.DOC_ID, parsedKey.getKey()));
+        resultAttributes.add(new AttributeData(SqlOperationService.DN, dn));
+        resultAttributes.add(new AttributeData(SqlOperationService.DOC_ID, parsedKey.getKey()));
 
-            boolean result = getOperationService().addEntry(parsedKey.getKey(), baseObjectClass, resultAttributes);
-            if (!result) {
-                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
-            }
-        } catch (Exception ex) {
-            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
-        }
+        return resultAttributes;
     }
 
     @Override
@@ -227,51 +292,7 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
 
         // Update entry
         try {
-            List<AttributeDataModification> modifications = new ArrayList<AttributeDataModification>(attributeDataModifications.size());
-            for (AttributeDataModification attributeDataModification : attributeDataModifications) {
-                AttributeData attribute = attributeDataModification.getAttribute();
-                AttributeData oldAttribute = attributeDataModification.getOldAttribute();
-
-                String attributeName = null;
-                Object[] attributeValues = null;
-                Boolean multiValued = null;
-                Boolean jsonValue = null;
-                if (attribute != null) {
-                    attributeName = attribute.getName();
-                    attributeValues = attribute.getValues();
-                    multiValued = attribute.getMultiValued();
-                    jsonValue = attribute.getJsonValue();
-                }
-
-                String oldAttributeName = null;
-                Object[] oldAttributeValues = null;
-                if (oldAttribute != null) {
-                    oldAttributeName = oldAttribute.getName();
-                    oldAttributeValues = oldAttribute.getValues();
-                }
-                
-                AttributeDataModification modification = null;
-                AttributeModificationType modificationType = attributeDataModification.getModificationType();
-				if ((AttributeModificationType.ADD == modificationType) ||
-                	(AttributeModificationType.FORCE_UPDATE == modificationType)) {
-                    modification = createModification(attribute, modificationType, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
-                } else {
-                    if ((AttributeModificationType.REMOVE == modificationType)) {
-                		if ((attribute == null) && isEmptyAttributeValues(oldAttribute)) {
-							// It's RDBS case. We don't need to set null to already empty table cell
-                			continue;
-                		}
-                		modification = createModification(attribute, AttributeModificationType.REMOVE, toInternalAttribute(baseObjectClass, oldAttributeName), multiValued, jsonValue, oldAttributeValues);
-                    } else if ((AttributeModificationType.REPLACE == modificationType)) {
-                        modification = createModification(attribute, AttributeModificationType.REPLACE, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
-                    }
-                }
-
-                if (modification != null) {
-                    modifications.add(modification);
-                }
-            }
-
+            List<AttributeDataModification> modifications = prepareModificationsForUpdate(baseObjectClass, attributeDataModifications);
             if (modifications.size() > 0) {
                 boolean result = getOperationService().updateEntry(toSQLKey(dn).getKey(), baseObjectClass, modifications);
                 if (!result) {
@@ -283,6 +304,110 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
         }
     }
 
+    @Override
+    protected void merge(List<MergeEntry> mergeEntries, BulkOperationResult result) {
+    	// Group entries by table
+    	Map<String, List<MergeEntry>> mergeEntriesByObjectClass = new LinkedHashMap<>();
+    	for (MergeEntry mergeEntry : mergeEntries) {
+    		try {
+    			String baseObjectClass = getBaseObjectClassForDataOperation(mergeEntry.getObjectClasses());
+    			mergeEntriesByObjectClass.computeIfAbsent(baseObjectClass, k -> new ArrayList<>()).add(mergeEntry);
+    		} catch (RuntimeException ex) {
+    			result.addFailure(mergeEntry.getIndex(), mergeEntry.getDn(), ex);
+    		}
+    	}
+
+    	for (Entry<String, List<MergeEntry>> mergeEntriesByObjectClassEntry : mergeEntriesByObjectClass.entrySet()) {
+    		String baseObjectClass = mergeEntriesByObjectClassEntry.getKey();
+
+    		List<MergeEntry> preparedEntries = new ArrayList<>();
+    		List<String> keys = new ArrayList<>();
+    		List<List<AttributeDataModification>> entriesModifications = new ArrayList<>();
+    		for (MergeEntry mergeEntry : mergeEntriesByObjectClassEntry.getValue()) {
+    			String dn = mergeEntry.getDn();
+    			try {
+    				List<AttributeDataModification> modifications = prepareModificationsForUpdate(baseObjectClass, mergeEntry.getAttributeDataModifications());
+    				if (modifications.size() > 0) {
+    					entriesModifications.add(modifications);
+    					keys.add(toSQLKey(dn).getKey());
+    					preparedEntries.add(mergeEntry);
+    				} else {
+    					result.addSuccess(mergeEntry.getIndex(), dn);
+    				}
+    			} catch (RuntimeException ex) {
+    				result.addFailure(mergeEntry.getIndex(), dn, new EntryPersistenceException(String.format("Failed to update entry: '%s'", dn), ex));
+    			}
+    		}
+
+    		PersistenceException[] errors;
+    		try {
+    			errors = getOperationService().updateEntries(baseObjectClass, keys, entriesModifications);
+    		} catch (RuntimeException ex) {
+    			errors = new PersistenceException[preparedEntries.size()];
+    			Arrays.fill(errors, new PersistenceException("Failed to update entries", ex));
+    		}
+
+    		for (int i = 0; i < preparedEntries.size(); i++) {
+    			MergeEntry mergeEntry = preparedEntries.get(i);
+    			if (errors[i] == null) {
+    				result.addSuccess(mergeEntry.getIndex(), mergeEntry.getDn());
+    			} else {
+    				result.addFailure(mergeEntry.getIndex(), mergeEntry.getDn(),
+    						new EntryPersistenceException(String.format("Failed to update entry: '%s'", mergeEntry.getDn()), errors[i]));
+    			}
+    		}
+    	}
+    }
+
+    private List<AttributeDataModification> prepareModificationsForUpdate(String baseObjectClass, List<AttributeDataModification> attributeDataModifications) {
+        List<AttributeDataModification> modifications = new ArrayList<AttributeDataModification>(attributeDataModifications.size());
+        for (AttributeDataModification attributeDataModification : attributeDataModifications) {
+            AttributeData attribute = attributeDataModification.getAttribute();
+            AttributeData oldAttribute = attributeDataModification.getOldAttribute();
+
+            String attributeName = null;
+            Object[] attributeValues = null;
+            Boolean multiValued = null;
+            Boolean jsonValue = null;
+            if (attribute != null) {
+                attributeName = attribute.getName();
+                attributeValues = attribute.getValues();
+                multiValued = attribute.getMultiValued();
+                jsonValue = attribute.getJsonValue();
+            }
+
+            String oldAttributeName = null;
+            Object[] oldAttributeValues = null;
+            if (oldAttribute != null) {
+                oldAttributeName = oldAttribute.getName();
+                oldAttributeValues = oldAttribute.getValues();
+            }
+            
+            AttributeDataModification modification = null;
+            AttributeModificationType modificationType = attributeDataModification.getModificationType();
+				if ((AttributeModificationType.ADD == modificationType) ||
+            	(AttributeModificationType.FORCE_UPDATE == modificationType)) {
+                modification = createModification(attribute, modificationType, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
+            } else {
+                if ((AttributeModificationType.REMOVE == modificationType)) {
+            		if ((attribute == null) && isEmptyAttributeValues(oldAttribute)) {
+							// It's RDBS case. We don't need to set null to already empty table cell
+            			continue;
+            		}
+            		modification = createModification(attribute, AttributeModificationType.REMOVE, toInternalAttribute(baseObjectClass, oldAttributeName), multiValued, jsonValue, oldAttributeValues);
+                } else if ((AttributeModificationType.REPLACE == modificationType)) {
+                    modification = createModification(attribute, AttributeModificationType.REPLACE, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
+                }
+            }
+
+            if (modification != null) {
+                modifications.add(modification);
+            }
+        }
+
+        return modifications;
+    }
+
     @Override
     public <T> void removeByDn(String dn, String[] objectClasses) {
     	if (ArrayHelper.isEmpty(objectClasses)) {
@@ -303,6 +428,52 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
         }
     }
 
+    @Override
+    protected void removeByDns(List<String> dns, String[] objectClasses, BulkOperationResult result) {
+    	if (ArrayHelper.isEmpty(objectClasses)) {
+    		throw new UnsupportedOperationException("Entry class is manadatory for remove operation!");
+    	}
+
+    	String baseObjectClass = getBaseObjectClass(objectClasses);
+
+    	List<Integer> indexes = new ArrayList<>(dns.size());
+    	List<String> keys = new ArrayList<>(dns.size());
+    	for (int i = 0; i < dns.size(); i++) {
+    		String dn = dns.get(i);
+    		try {
+    			String key = toSQLKey(dn).getKey();
+                for (DeleteNotifier subscriber : subscribers) {
+                    subscriber.onBeforeRemove(dn, objectClasses);
+                }
+                keys.add(key);
+                indexes.add(i);
+    		} catch (RuntimeException ex) {
+    			result.addFailure(i, dn, new EntryDeleteException(String.format("Failed to remove entry: '%s'", dn), ex));
+    		}
+    	}
+
+		PersistenceException[] errors;
+		try {
+			errors = getOperationService().deleteEntries(baseObjectClass, keys);
+		} catch (RuntimeException ex) {
+			errors = new PersistenceException[keys.size()];
+			Arrays.fill(errors, new PersistenceException("Failed to delete entries", ex));
+		}
+
+		for (int i = 0; i < indexes.size(); i++) {
+			int index = indexes.get(i);
+			String dn = dns.get(index);
+			if (errors[i] == null) {
+	            for (DeleteNotifier subscriber : subscribers) {
+	                subscriber.onAfterRemove(dn, objectClasses);
+	            }
+				result.addSuccess(index, dn);
+			} else {
+				result.addFailure(index, dn, new EntryDeleteException(String.format("Failed to remove entry: '%s'", dn), errors[i]));
+			}
+		}
+    }
+
     @Override
     public <T> void removeRecursivelyFromDn(String dn, String[] objectClasses) {
     	if (ArrayHelper.isEmpty(objectClasses)) {
@@ -392,6 +563,34 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
         throw new EntryPersistenceException(String.format("Failed to find entry: '%s'", dn));
     }
 
+    @Override
+    protected Map<String, List<AttributeData>> findByDns(List<String> dns, String[] objectClasses, Map<String, PropertyAnnotation> propertiesAnnotationsMap, String... ldapReturnAttributes) {
+    	String baseObjectClass = getBaseObjectClassForDataOperation(objectClasses);
+
+    	List<String> keys = new ArrayList<>(dns.size());
+    	for (String dn : dns) {
+    		keys.add(toSQLKey(dn).getKey());
+    	}
+
+    	Map<String, List<AttributeData>> entriesAttributesByKey;
+        try {
+            // Load entries
+        	entriesAttributesByKey = getOperationService().lookup(baseObjectClass, keys, toInternalAttributes(baseObjectClass, ldapReturnAttributes));
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to find entries: '%s'", dns), ex);
+        }
+
+        Map<String, List<AttributeData>> entriesAttributes = new LinkedHashMap<>();
+        for (int i = 0; i < dns.size(); i++) {
+        	List<AttributeData> attributes = entriesAttributesByKey.get(keys.get(i));
+        	if (attributes != null) {
+        		entriesAttributes.put(dns.get(i), attributes);
+        	}
+        }
+
+        return entriesAttributes;
+    }
+
     @Override
     public <T> List<T> findEntries(String baseDN, Class<T> entryClass, Filter filter, SearchScope scope, String[] ldapReturnAttributes,
                                    BatchOperation<T> batchOperation, int start, int count, int chunkSize) {
@@ -405,7 +604,7 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
             return new ArrayList<T>(0);
         }
 
-        List<T> entries = createEntities(baseDN, entryClass, searchResult);
+        List<T> entries = createEntities(baseDN, entryClass, searchResult, ldapReturnAttributes);
 
         return entries;
     }
@@ -430,7 +629,7 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
             return result;
         }
 
-        List<T> entries = createEntities(baseDN, entryClass, searchResult);
+        List<T> entries = createEntities(baseDN, entryClass, searchResult, ldapReturnAttributes);
         result.setEntries(entries);
 
         return result;
@@ -567,12 +766,27 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
 		return getOperationService().search(key, objectClass, expression, scope, toInternalAttributes(objectClass, attributes), orderBy, batchOperationWraper, returnDataType, start, count, pageSize);
 	}
 
-    protected <T> List<T> createEntities(String baseDN, Class<T> entryClass, PagedResult<EntryData> searchResult) {
+    protected <T> List<T> createEntities(String baseDN, Class<T> entryClass, PagedResult<EntryData> searchResult, String[] ldapReturnAttributes) {
         ParsedKey keyWithInum = toSQLKey(baseDN);
         List<PropertyAnnotation> propertiesAnnotations = getEntryPropertyAnnotations(entryClass);
         List<T> entries = createEntities(entryClass, propertiesAnnotations, keyWithInum,
                 searchResult.getEntries().toArray(new EntryData[searchResult.getEntriesCount()]));
 
+        if (isUseEntrySnapshot()) {
+            String[] currentLdapReturnAttributes = ldapReturnAttributes;
+            if (ArrayHelper.isEmpty(currentLdapReturnAttributes)) {
+                currentLdapReturnAttributes = getAttributes(null, propertiesAnnotations, false);
+            }
+
+            // Entities are created in same order as search result entries
+            Iterator<T> entriesIterator = entries.iterator();
+            for (EntryData entryData : searchResult.getEntries()) {
+                AttributeData attributeDataDn = entryData.getAttributeData(SqlOperationService.DN);
+                registerEntrySnapshot(entriesIterator.next(), entryClass, attributeDataDn.getValue().toString(), currentLdapReturnAttributes,
+                        entryData.getAttributeData());
+            }
+        }
+
         return entries;
     }
 
@@ -1053,4 +1267,9 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
 		return validateAfterUpdate;
 	}
 
+	@Override
+	protected boolean isUseEntrySnapshot() {
+		return useEntrySnapshot;
+	}
+
 }
@@ -11,6 +11,7 @@ import java.sql.DatabaseMetaData;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import com.querydsl.core.types.OrderSpecifier;
 
@@ -62,15 +63,43 @@ public interface SqlOperationService extends PersistenceOperationService {
 
     boolean addEntry(String key, String objectClass, Collection<AttributeData> attributes) throws DuplicateEntryException, PersistenceException;
 
+    /**
+     * Add entries to same table using JDBC batches
+     *
+     * @return Array with error per entry or null if entry was added
+     */
+    PersistenceException[] addEntries(String objectClass, List<String> keys, List<? extends Collection<AttributeData>> entriesAttributes);
+
     boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException;
 
+    /**
+     * Update entries in same table using JDBC batches
+     *
+     * @return Array with error per entry or null if entry was updated
+     */
+    PersistenceException[] updateEntries(String objectClass, List<String> keys, List<List<AttributeDataModification>> entriesMods);
+
     boolean delete(String key, String objectClass) throws EntryNotFoundException;
 	long delete(String key, String objectClass, ConvertedExpression expression, int count) throws DeleteException;
 
+	/**
+	 * Delete entries from same table using chunked IN statements
+	 *
+	 * @return Array with error per entry or null if entry was deleted
+	 */
+	PersistenceException[] deleteEntries(String objectClass, List<String> keys);
+
 	boolean deleteRecursively(String key, String objectClass) throws EntryNotFoundException, SearchException;
 
 	List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException;
 
+	/**
+	 * Lookup entries in same table using chunked IN statements
+	 *
+	 * @return Map with entries attributes by key. Missing entries are skipped
+	 */
+	Map<String, List<AttributeData>> lookup(String objectClass, List<String> keys, String... attributes) throws SearchException, EntryConvertationException;
+
     <O> PagedResult<EntryData> search(String key, String objectClass, ConvertedExpression expression, SearchScope scope,
             String[] attributes, OrderSpecifier<?>[] orderBy, SqlBatchOperationWraper<O> batchOperationWraper, SearchReturnDataType returnDataType,
             int start, int count, int pageSize) throws SearchException;
@@ -99,6 +99,10 @@ public class SqlConnectionProvider {
 	
 	private boolean disableTimeZone = false;
 
+	private boolean keysetPagination = false;
+
+	private boolean entrySnapshot = false;
+
 	private boolean simpleJson = false;
 
 	private boolean validateAfterUpdate;
@@ -160,6 +164,14 @@ public class SqlConnectionProvider {
 			disableTimeZone = StringHelper.toBoolean(props.getProperty("db.disable.time-zone"), false);
 		}
 
+		if (props.containsKey("db.keyset-pagination")) {
+			keysetPagination = StringHelper.toBoolean(props.getProperty("db.keyset-pagination"), false);
+		}
+
+		if (props.containsKey("db.entry-snapshot")) {
+			entrySnapshot = StringHelper.toBoolean(props.getProperty("db.entry-snapshot"), false);
+		}
+
 		this.objectPoolConfig = new GenericObjectPoolConfig<>();
 
 		Integer cpMaxTotal = StringHelper.toInteger(props.getProperty("connection.pool.max-total"), null);
@@ -581,6 +593,14 @@ public class SqlConnectionProvider {
 		return disableTimeZone;
 	}
 
+	public boolean isKeysetPagination() {
+		return keysetPagination;
+	}
+
+	public boolean isEntrySnapshot() {
+		return entrySnapshot;
+	}
+
 	public boolean isSimpleJson() {
 		return simpleJson;
 	}
@@ -11,6 +11,7 @@ import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -22,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -88,6 +90,8 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
 
+	private static final int BULK_OPERATION_BATCH_SIZE = 100;
+
     private Properties props;
     private SqlConnectionProvider connectionProvider;
 
@@ -186,27 +190,10 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private boolean addEntryImpl(TableMapping tableMapping, String key, Collection<AttributeData> attributes) throws PersistenceException {
 		try {
-			Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
-
 			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
 			SQLInsertClause sqlInsertQuery = this.sqlQueryFactory.insert(tableRelationalPath);
 
-			for (AttributeData attribute : attributes) {
-				AttributeType attributeType = getAttributeType(columTypes, attribute);
-				if (attributeType == null) {
-		            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
-				}
-
-				boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
-
-				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-					sqlInsertQuery.columns(Expressions.path(Object.class, attribute.getName()));
-					sqlInsertQuery.values(convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-				} else {
-					sqlInsertQuery.columns(Expressions.stringPath(attribute.getName()));
-					sqlInsertQuery.values(attribute.getValue());
-				}
-			}
+			setInsertValues(tableMapping, sqlInsertQuery, attributes);
 			
 			long rowInserted = sqlInsertQuery.execute();
 
@@ -216,6 +203,124 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         }
 	}
 
+	private void setInsertValues(TableMapping tableMapping, SQLInsertClause sqlInsertQuery, Collection<AttributeData> attributes) throws PersistenceException {
+		Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
+
+		for (AttributeData attribute : attributes) {
+			AttributeType attributeType = getAttributeType(columTypes, attribute);
+			if (attributeType == null) {
+	            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
+			}
+
+			boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+
+			if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+				sqlInsertQuery.columns(Expressions.path(Object.class, attribute.getName()));
+				sqlInsertQuery.values(convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
+			} else {
+				sqlInsertQuery.columns(Expressions.stringPath(attribute.getName()));
+				sqlInsertQuery.values(attribute.getValue());
+			}
+		}
+	}
+
+    @Override
+    public PersistenceException[] addEntries(String objectClass, List<String> keys, List<? extends Collection<AttributeData>> entriesAttributes) {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        PersistenceException[] result = new PersistenceException[keys.size()];
+        if (keys.isEmpty()) {
+        	return result;
+        }
+
+        TableMapping tableMapping = connectionProvider.getTableMappingByKey(keys.get(0), objectClass);
+
+        // Batch statement should be the same for all rows. Group entries by columns list
+        Map<List<String>, List<Integer>> indexesByColumns = new LinkedHashMap<>();
+        for (int i = 0; i < entriesAttributes.size(); i++) {
+        	List<String> columns = new ArrayList<>();
+        	for (AttributeData attribute : entriesAttributes.get(i)) {
+        		columns.add(attribute.getName());
+        	}
+        	indexesByColumns.computeIfAbsent(columns, k -> new ArrayList<>()).add(i);
+        }
+
+        for (List<Integer> indexes : indexesByColumns.values()) {
+        	for (int i = 0; i < indexes.size(); i += BULK_OPERATION_BATCH_SIZE) {
+        		List<Integer> batchIndexes = indexes.subList(i, Math.min(i + BULK_OPERATION_BATCH_SIZE, indexes.size()));
+        		addEntriesBatchImpl(tableMapping, keys, entriesAttributes, batchIndexes, result);
+        	}
+        }
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: add batch, duration: {}, table: {}, count: {}", duration, tableMapping.getTableName(), keys.size());
+
+        return result;
+    }
+
+	private void addEntriesBatchImpl(TableMapping tableMapping, List<String> keys, List<? extends Collection<AttributeData>> entriesAttributes,
+			List<Integer> batchIndexes, PersistenceException[] result) {
+		boolean batchAdded = false;
+		try (Connection connection = connectionProvider.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+				SQLInsertClause sqlInsertQuery = new SQLInsertClause(connection, this.sqlQueryFactory.getConfiguration(), tableRelationalPath);
+				for (Integer index : batchIndexes) {
+					setInsertValues(tableMapping, sqlInsertQuery, entriesAttributes.get(index));
+					sqlInsertQuery.addBatch();
+				}
+				// Send batch as one multi-row INSERT statement
+				sqlInsertQuery.setBatchToBulk(true);
+
+				long rowsInserted = sqlInsertQuery.execute();
+				if (isBatchInserted(rowsInserted, batchIndexes.size())) {
+					connection.commit();
+					batchAdded = true;
+				} else {
+					connection.rollback();
+				}
+			} catch (QueryException | PersistenceException ex) {
+				LOG.debug("Failed to add entries batch, fallback to add entries one by one", ex);
+				connection.rollback();
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		} catch (SQLException ex) {
+			LOG.debug("Failed to add entries batch, fallback to add entries one by one", ex);
+		}
+
+		if (batchAdded) {
+			return;
+		}
+
+		// Batch is atomic. Add entries one by one to report errors per entry
+		for (Integer index : batchIndexes) {
+			try {
+				if (!addEntryImpl(tableMapping, keys.get(index), entriesAttributes.get(index))) {
+					result[index] = new PersistenceException("Failed to add entry");
+				}
+			} catch (PersistenceException ex) {
+				result[index] = ex;
+			}
+		}
+	}
+
+	/*
+	 * Multi-row INSERT returns count of inserted rows. For batched UPDATE statements QueryDSL
+	 * returns sum of update counts returned by executeBatch(). Every row count is 1 or
+	 * Statement.SUCCESS_NO_INFO if driver doesn't report counts. Failed row (Statement.EXECUTE_FAILED)
+	 * causes BatchUpdateException.
+	 */
+	private static boolean isBatchInserted(long updateCount, int batchSize) {
+		// Each row with SUCCESS_NO_INFO instead of 1 reduces sum by the same value
+		long difference = batchSize - updateCount;
+		long rowDifference = 1 - Statement.SUCCESS_NO_INFO;
+
+		return (difference >= 0) && (difference % rowDifference == 0) && (difference / rowDifference <= batchSize);
+	}
+
     @Override
     public boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException {
         Instant startTime = OperationDurationUtil.instance().now();
@@ -231,51 +336,126 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private boolean updateEntryImpl(TableMapping tableMapping, String key, List<AttributeDataModification> mods) throws PersistenceException {
 		try {
-			Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
-
 			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
 			SQLUpdateClause sqlUpdateQuery = this.sqlQueryFactory.update(tableRelationalPath);
 
-			for (AttributeDataModification attributeMod : mods) {
-				AttributeData attribute = attributeMod.getAttribute();
-				Path path = Expressions.stringPath(attribute.getName());
+			setUpdateValues(tableMapping, sqlUpdateQuery, key, mods);
 
-				AttributeType attributeType = getAttributeType(columTypes, attribute);
-				if (attributeType == null) {
-		            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
-				}
+			long rowInserted = sqlUpdateQuery.execute();
 
-				boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
-				
-				AttributeModificationType type = attributeMod.getModificationType();
-                if ((AttributeModificationType.ADD == type) || (AttributeModificationType.FORCE_UPDATE == type)) {
-					if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-    					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-    				} else {
-    					sqlUpdateQuery.set(path, attribute.getValue());
-    				}
-                } else if (AttributeModificationType.REPLACE == type) {
-					if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-    					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-    				} else {
-    					sqlUpdateQuery.set(path, attribute.getValue());
-    				}
-                } else if (AttributeModificationType.REMOVE == type) {
-    				sqlUpdateQuery.setNull(path);
-                } else {
-                    throw new UnsupportedOperationException("Operation type '" + type + "' is not implemented");
-                }
+			return rowInserted == 1;
+        } catch (QueryException ex) {
+            throw new PersistenceException("Failed to update entry", ex);
+        }
+	}
+
+	private void setUpdateValues(TableMapping tableMapping, SQLUpdateClause sqlUpdateQuery, String key, List<AttributeDataModification> mods) throws PersistenceException {
+		Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
+
+		for (AttributeDataModification attributeMod : mods) {
+			AttributeData attribute = attributeMod.getAttribute();
+			Path path = Expressions.stringPath(attribute.getName());
+
+			AttributeType attributeType = getAttributeType(columTypes, attribute);
+			if (attributeType == null) {
+	            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
 			}
 
-			Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID),
-					Expressions.constant(key));
+			boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+			
+			AttributeModificationType type = attributeMod.getModificationType();
+            if ((AttributeModificationType.ADD == type) || (AttributeModificationType.FORCE_UPDATE == type)) {
+				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+    				sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
+    			} else {
+    				sqlUpdateQuery.set(path, attribute.getValue());
+    			}
+            } else if (AttributeModificationType.REPLACE == type) {
+				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+    				sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
+    			} else {
+    				sqlUpdateQuery.set(path, attribute.getValue());
+    			}
+            } else if (AttributeModificationType.REMOVE == type) {
+    			sqlUpdateQuery.setNull(path);
+            } else {
+                throw new UnsupportedOperationException("Operation type '" + type + "' is not implemented");
+            }
+		}
 
-			long rowInserted = sqlUpdateQuery.where(whereExp).execute();
+		Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID),
+				Expressions.constant(key));
+		sqlUpdateQuery.where(whereExp);
+	}
 
-			return rowInserted == 1;
-        } catch (QueryException ex) {
-            throw new PersistenceException("Failed to update entry", ex);
+    @Override
+    public PersistenceException[] updateEntries(String objectClass, List<String> keys, List<List<AttributeDataModification>> entriesMods) {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        PersistenceException[] result = new PersistenceException[keys.size()];
+        if (keys.isEmpty()) {
+        	return result;
+        }
+
+        TableMapping tableMapping = connectionProvider.getTableMappingByKey(keys.get(0), objectClass);
+        for (int i = 0; i < keys.size(); i += BULK_OPERATION_BATCH_SIZE) {
+        	updateEntriesBatchImpl(tableMapping, keys, entriesMods, i, Math.min(i + BULK_OPERATION_BATCH_SIZE, keys.size()), result);
         }
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: modify batch, duration: {}, table: {}, count: {}", duration, tableMapping.getTableName(), keys.size());
+
+        return result;
+    }
+
+	private void updateEntriesBatchImpl(TableMapping tableMapping, List<String> keys, List<List<AttributeDataModification>> entriesMods,
+			int fromIndex, int toIndex, PersistenceException[] result) {
+		boolean batchUpdated = false;
+		try (Connection connection = connectionProvider.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+				SQLUpdateClause sqlUpdateQuery = new SQLUpdateClause(connection, this.sqlQueryFactory.getConfiguration(), tableRelationalPath);
+				for (int i = fromIndex; i < toIndex; i++) {
+					setUpdateValues(tableMapping, sqlUpdateQuery, keys.get(i), entriesMods.get(i));
+					sqlUpdateQuery.addBatch();
+				}
+
+				long rowsUpdated = sqlUpdateQuery.execute();
+				if (isBatchInserted(rowsUpdated, toIndex - fromIndex)) {
+					connection.commit();
+					batchUpdated = true;
+				} else {
+					// Some entries don't exist
+					connection.rollback();
+				}
+			} catch (QueryException | PersistenceException | UnsupportedOperationException ex) {
+				LOG.debug("Failed to update entries batch, fallback to update entries one by one", ex);
+				connection.rollback();
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		} catch (SQLException ex) {
+			LOG.debug("Failed to update entries batch, fallback to update entries one by one", ex);
+		}
+
+		if (batchUpdated) {
+			return;
+		}
+
+		// Batch is atomic. Update entries one by one to report errors per entry
+		for (int i = fromIndex; i < toIndex; i++) {
+			try {
+				if (!updateEntryImpl(tableMapping, keys.get(i), entriesMods.get(i))) {
+					result[i] = new PersistenceException("Failed to update entry");
+				}
+			} catch (PersistenceException ex) {
+				result[i] = ex;
+			} catch (UnsupportedOperationException ex) {
+				result[i] = new PersistenceException("Failed to update entry", ex);
+			}
+		}
 	}
 
     @Override
@@ -307,6 +487,70 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         }
 	}
 
+    @Override
+    public PersistenceException[] deleteEntries(String objectClass, List<String> keys) {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        PersistenceException[] result = new PersistenceException[keys.size()];
+        if (keys.isEmpty()) {
+        	return result;
+        }
+
+        TableMapping tableMapping = connectionProvider.getTableMappingByKey(keys.get(0), objectClass);
+        for (int i = 0; i < keys.size(); i += BULK_OPERATION_BATCH_SIZE) {
+        	deleteEntriesBatchImpl(tableMapping, keys, i, Math.min(i + BULK_OPERATION_BATCH_SIZE, keys.size()), result);
+        }
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: delete batch, duration: {}, table: {}, count: {}", duration, tableMapping.getTableName(), keys.size());
+
+        return result;
+    }
+
+	private void deleteEntriesBatchImpl(TableMapping tableMapping, List<String> keys, int fromIndex, int toIndex, PersistenceException[] result) {
+		boolean batchDeleted = false;
+		try (Connection connection = connectionProvider.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+				SQLDeleteClause sqlDeleteQuery = new SQLDeleteClause(connection, this.sqlQueryFactory.getConfiguration(), tableRelationalPath);
+				sqlDeleteQuery.where(Expressions.stringPath(SqlOperationService.DOC_ID).in(keys.subList(fromIndex, toIndex)));
+
+				long rowsDeleted = sqlDeleteQuery.execute();
+				if (rowsDeleted == toIndex - fromIndex) {
+					connection.commit();
+					batchDeleted = true;
+				} else {
+					// Some entries don't exist
+					connection.rollback();
+				}
+			} catch (QueryException ex) {
+				LOG.debug("Failed to delete entries batch, fallback to delete entries one by one", ex);
+				connection.rollback();
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		} catch (SQLException ex) {
+			LOG.debug("Failed to delete entries batch, fallback to delete entries one by one", ex);
+		}
+
+		if (batchDeleted) {
+			return;
+		}
+
+		// Delete entries one by one to report not existing entries
+		for (int i = fromIndex; i < toIndex; i++) {
+			try {
+				if (!deleteImpl(tableMapping, keys.get(i))) {
+					result[i] = new EntryNotFoundException(String.format("Failed to find entry '%s'", keys.get(i)));
+				}
+			} catch (EntryNotFoundException ex) {
+				result[i] = ex;
+			}
+		}
+	}
+
     @Override
     public long delete(String key, String objectClass, ConvertedExpression expression, int count) throws DeleteException {
         Instant startTime = OperationDurationUtil.instance().now();
@@ -408,6 +652,51 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 		throw new SearchException(String.format("Failed to lookup entry by key: '%s'", key));
 	}
 
+    @Override
+    public Map<String, List<AttributeData>> lookup(String objectClass, List<String> keys, String... attributes) throws SearchException, EntryConvertationException {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        Map<String, List<AttributeData>> result = new HashMap<>();
+        if (keys.isEmpty()) {
+        	return result;
+        }
+
+    	TableMapping tableMapping = connectionProvider.getTableMappingByKey(keys.get(0), objectClass);
+        for (int i = 0; i < keys.size(); i += BULK_OPERATION_BATCH_SIZE) {
+        	lookupImpl(tableMapping, keys.subList(i, Math.min(i + BULK_OPERATION_BATCH_SIZE, keys.size())), result, attributes);
+        }
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: lookup batch, duration: {}, table: {}, count: {}, attributes: {}", duration, tableMapping.getTableName(), keys.size(), attributes);
+
+        return result;
+    }
+
+	private void lookupImpl(TableMapping tableMapping, List<String> keys, Map<String, List<AttributeData>> result, String... attributes) throws SearchException, EntryConvertationException {
+		try {
+			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+
+			Predicate whereExp = Expressions.stringPath(SqlOperationService.DOC_ID).in(keys);
+			Expression<?> attributesExp = buildSelectAttributes(attributes);
+
+			SQLQuery<?> sqlSelectQuery = sqlQueryFactory.select(attributesExp).from(tableRelationalPath)
+					.where(whereExp);
+
+			try (ResultSet resultSet = sqlSelectQuery.getResults();) {
+				while (true) {
+					List<AttributeData> attributeDataList = getAttributeDataList(tableMapping, resultSet, true);
+					if (attributeDataList == null) {
+						break;
+					}
+
+					result.put(resultSet.getString(DOC_ID), attributeDataList);
+				}
+			}
+		} catch (SQLException | QueryException ex) {
+			throw new SearchException(String.format("Failed to lookup query by keys: '%s'", keys), ex);
+		}
+	}
+
 	@Override
     public <O> PagedResult<EntryData> search(String key, String objectClass, ConvertedExpression expression, SearchScope scope, String[] attributes, OrderSpecifier<?>[] orderBy,
                                               SqlBatchOperationWraper<O> batchOperationWraper, SearchReturnDataType returnDataType, int start, int count, int pageSize) throws SearchException {
@@ -455,9 +744,13 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         	List<EntryData> lastResult = null;
 	        if (pageSize > 0) {
 	            boolean collectSearchResult;
-	
+
+	            // Use keyset pagination by primary key if there is no offset and requested sort order
+	            boolean keysetPagination = connectionProvider.isKeysetPagination() && (start == 0) && ArrayHelper.isEmpty(orderBy);
+
 	            SQLQuery<?> query;
 	            int currentLimit;
+	            String lastDocId = null;
 	    		try {
 	                int resultCount = 0;
 	                int lastCountRows = 0;
@@ -467,13 +760,29 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 	                        currentLimit = Math.min(pageSize, count - resultCount);
 	                    }
 	
-	                    query = baseQuery.limit(currentLimit).offset(start + resultCount);
+	                    if (keysetPagination) {
+	                    	query = sqlQueryFactory.select(attributesExp).from(tableRelationalPath);
+	                    	if (expression != null) {
+	                    		query = query.where((Predicate) expression.expression());
+	                    	}
+	                    	if (lastDocId != null) {
+	                    		query = query.where(Expressions.stringPath(DOC_ID).gt(lastDocId));
+	                    	}
+	                    	query = query.orderBy(Expressions.stringPath(DOC_ID).asc()).limit(currentLimit);
+	                    } else {
+	                    	query = baseQuery.limit(currentLimit).offset(start + resultCount);
+	                    }
 
 	                    queryStr = query.getSQL().getSQL();
 	                    LOG.debug("Executing query: '" + queryStr + "'");
 
 	                    try (ResultSet resultSet = query.getResults()) {
-	                        lastResult = getEntryDataList(tableMapping, resultSet);
+	                    	if (keysetPagination) {
+	                    		lastResult = new LinkedList<>();
+	                    		lastDocId = getEntryDataList(tableMapping, resultSet, lastResult, lastDocId);
+	                    	} else {
+	                    		lastResult = getEntryDataList(tableMapping, resultSet);
+	                    	}
 	                    }
 
 		    			lastCountRows = lastResult.size();
@@ -701,6 +1010,24 @@ public class SqlOperationServiceImpl implements SqlOperationService {
     	return entryDataList;
 	}
 
+    /*
+     * Reads rows into entryDataList and returns doc_id of last row (or lastDocId if there are no rows)
+     */
+    private String getEntryDataList(TableMapping tableMapping, ResultSet resultSet, List<EntryData> entryDataList, String lastDocId) throws EntryConvertationException, SQLException {
+    	String currentDocId = lastDocId;
+    	while (true) {
+    		List<AttributeData> attributeDataList = getAttributeDataList(tableMapping, resultSet, false);
+    		if (attributeDataList == null) {
+    			break;
+    		}
+
+    		entryDataList.add(new EntryData(attributeDataList));
+    		currentDocId = resultSet.getString(DOC_ID);
+    	}
+
+    	return currentDocId;
+	}
+
     @Override
     public boolean isBinaryAttribute(String attribute) {
         return this.connectionProvider.isBinaryAttribute(attribute);
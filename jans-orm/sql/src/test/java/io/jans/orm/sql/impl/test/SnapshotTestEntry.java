@@ -0,0 +1,65 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql.impl.test;
+
+import io.jans.orm.annotation.AttributeName;
+import io.jans.orm.annotation.DN;
+import io.jans.orm.annotation.DataEntry;
+import io.jans.orm.annotation.ObjectClass;
+
+/**
+ * Entry used in entry snapshot tests
+ */
+@DataEntry
+@ObjectClass(value = "jansSnapshotTest")
+public class SnapshotTestEntry {
+
+	@DN
+	private String dn;
+
+	@AttributeName(name = "jansId")
+	private String id;
+
+	@AttributeName(name = "displayName")
+	private String displayName;
+
+	@AttributeName(name = "description")
+	private String description;
+
+	public String getDn() {
+		return dn;
+	}
+
+	public void setDn(String dn) {
+		this.dn = dn;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	public void setDisplayName(String displayName) {
+		this.displayName = displayName;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql.impl.test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.orm.model.AttributeData;
+import io.jans.orm.model.AttributeDataModification;
+import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
+import io.jans.orm.model.AttributeType;
+import io.jans.orm.model.EntryData;
+import io.jans.orm.model.PagedResult;
+import io.jans.orm.model.SearchScope;
+import io.jans.orm.search.filter.Filter;
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.TableMapping;
+import io.jans.orm.sql.operation.SqlOperationService;
+import io.jans.orm.sql.operation.impl.SqlConnectionProvider;
+
+/**
+ * Checks which modifications merge builds from entry snapshots
+ */
+@SuppressWarnings("unchecked")
+public class SqlEntryManagerSnapshotTest {
+
+	private static final String BASE_DN = "ou=test,o=jans";
+	private static final String ENTRY_DN = "jansId=1," + BASE_DN;
+
+	private SqlOperationService operationService;
+	private SqlEntryManager entryManager;
+
+	@BeforeMethod
+	public void init() throws Exception {
+		SqlConnectionProvider connectionProvider = mock(SqlConnectionProvider.class);
+		when(connectionProvider.isEntrySnapshot()).thenReturn(true);
+
+		operationService = mock(SqlOperationService.class);
+		when(operationService.getConnectionProvider()).thenReturn(connectionProvider);
+		when(operationService.toInternalAttribute(anyString(), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+		when(operationService.toInternalAttributes(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+		when(operationService.getTabeMapping(anyString(), anyString())).thenReturn(new TableMapping("", "jansSnapshotTest", "jansSnapshotTest",
+				Collections.singletonMap("description", new AttributeType("description", "description", "VARCHAR"))));
+		when(operationService.updateEntry(anyString(), anyString(), any())).thenReturn(true);
+
+		entryManager = new SqlEntryManager(operationService) {
+		};
+	}
+
+	private static List<AttributeData> entryAttributes(String displayName, String description) {
+		List<AttributeData> attributes = new ArrayList<AttributeData>();
+		attributes.add(new AttributeData("jansId", "1"));
+		attributes.add(new AttributeData("displayName", displayName));
+		attributes.add(new AttributeData("description", description));
+		attributes.add(new AttributeData("objectClass", "jansSnapshotTest"));
+
+		return attributes;
+	}
+
+	private List<AttributeDataModification> captureModifications() throws Exception {
+		ArgumentCaptor<List<AttributeDataModification>> captor = ArgumentCaptor.forClass(List.class);
+		verify(operationService).updateEntry(anyString(), anyString(), captor.capture());
+
+		return captor.getValue();
+	}
+
+	@Test
+	public void mergeAfterFind_shouldWriteOnlyChangedAttributesWithoutLoadingEntry() throws Exception {
+		when(operationService.lookup(anyString(), anyString(), any(String[].class))).thenReturn(entryAttributes("name", "description"));
+
+		SnapshotTestEntry entry = entryManager.find(SnapshotTestEntry.class, ENTRY_DN);
+		entry.setDisplayName("new name");
+		entryManager.merge(entry);
+
+		verify(operationService, times(1)).lookup(anyString(), anyString(), any(String[].class));
+
+		List<AttributeDataModification> modifications = captureModifications();
+		assertEquals(modifications.size(), 1);
+		assertEquals(modifications.get(0).getModificationType(), AttributeModificationType.REPLACE);
+		assertEquals(modifications.get(0).getAttribute().getName(), "displayName");
+		assertEquals(modifications.get(0).getAttribute().getValue(), "new name");
+	}
+
+	@Test
+	public void mergeWithStaleSnapshot_shouldOverrideOnlyChangedAttributes() throws Exception {
+		when(operationService.lookup(anyString(), anyString(), any(String[].class))).thenReturn(entryAttributes("name", "description"));
+
+		SnapshotTestEntry entry = entryManager.find(SnapshotTestEntry.class, ENTRY_DN);
+
+		// Other writer changed entry after it was loaded
+		when(operationService.lookup(anyString(), anyString(), any(String[].class))).thenReturn(entryAttributes("other name", "other description"));
+
+		entry.setDescription("new description");
+		entryManager.merge(entry);
+
+		// Changed attribute wins, not changed one keeps value written by other writer
+		List<AttributeDataModification> modifications = captureModifications();
+		assertEquals(modifications.size(), 1);
+		assertEquals(modifications.get(0).getAttribute().getName(), "description");
+		assertEquals(modifications.get(0).getAttribute().getValue(), "new description");
+	}
+
+	@Test
+	public void mergeAfterFindEntries_shouldUseSnapshot() throws Exception {
+		List<AttributeData> attributes = entryAttributes("name", "description");
+		attributes.add(new AttributeData("dn", ENTRY_DN));
+
+		PagedResult<EntryData> searchResult = new PagedResult<EntryData>();
+		searchResult.setEntries(Arrays.asList(new EntryData(attributes)));
+		searchResult.setEntriesCount(1);
+		when(operationService.search(anyString(), anyString(), any(), any(), any(), any(), any(), any(), anyInt(), anyInt(), anyInt()))
+				.thenReturn(searchResult);
+
+		List<SnapshotTestEntry> entries = entryManager.findEntries(BASE_DN, SnapshotTestEntry.class,
+				Filter.createEqualityFilter("description", "description"), SearchScope.SUB, null, 0, 0, 0);
+		assertEquals(entries.size(), 1);
+
+		SnapshotTestEntry entry = entries.get(0);
+		entry.setDisplayName(null);
+		entryManager.merge(entry);
+
+		verify(operationService, times(0)).lookup(anyString(), anyString(), any(String[].class));
+
+		List<AttributeDataModification> modifications = captureModifications();
+		assertEquals(modifications.size(), 1);
+		assertEquals(modifications.get(0).getModificationType(), AttributeModificationType.REMOVE);
+		assertEquals(modifications.get(0).getAttribute().getName(), "displayName");
+	}
+
+	@Test
+	public void mergeDetachedEntry_shouldLoadEntryBeforeUpdate() throws Exception {
+		when(operationService.lookup(anyString(), anyString(), any(String[].class))).thenReturn(entryAttributes("name", "description"));
+
+		SnapshotTestEntry entry = new SnapshotTestEntry();
+		entry.setDn(ENTRY_DN);
+		entry.setId("1");
+		entry.setDisplayName("name");
+		entry.setDescription("new description");
+		entryManager.merge(entry);
+
+		verify(operationService, times(1)).lookup(anyString(), anyString(), any(String[].class));
+
+		List<AttributeDataModification> modifications = captureModifications();
+		assertEquals(modifications.size(), 1);
+		assertEquals(modifications.get(0).getAttribute().getName(), "description");
+	}
+
+}
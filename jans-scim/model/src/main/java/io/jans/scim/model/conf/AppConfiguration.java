@@ -33,6 +33,8 @@ public class AppConfiguration implements Configuration, Serializable {
     private int bulkMaxOperations;
     @DocProperty(description = "Specifies maximum payload size of bulk operations")
     private long bulkMaxPayloadSize;
+    @DocProperty(description = "Maximum number of operations of a single bulk request executed concurrently. Value 1 executes operations one by one", defaultValue = "1")
+    private int bulkMaxConcurrency = 1;
     @DocProperty(description = "User Extension Schema URI")
     private String userExtensionSchemaURI;
     @DocProperty(description = "Logging level for scim logger")
@@ -130,6 +132,14 @@ public class AppConfiguration implements Configuration, Serializable {
         this.bulkMaxPayloadSize = bulkMaxPayloadSize;
     }
 
+    public int getBulkMaxConcurrency() {
+        return bulkMaxConcurrency;
+    }
+
+    public void setBulkMaxConcurrency(int bulkMaxConcurrency) {
+        this.bulkMaxConcurrency = bulkMaxConcurrency;
+    }
+
     public String getUserExtensionSchemaURI() {
         return userExtensionSchemaURI;
     }
@@ -0,0 +1,51 @@
+package io.jans.scim.service.scim2;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Executor shared by all bulk requests which execute their operations concurrently. The number of
+ * operations of a single request running at the same time is limited by bulkMaxConcurrency, this
+ * executor limits the number of threads used by all requests together
+ */
+@ApplicationScoped
+public class BulkExecutorService {
+
+    private static final String THREAD_NAME_PREFIX = "ScimBulkOperationThread-";
+    private static final int MAX_THREADS = 32;
+    private static final int MAX_QUEUE_SIZE = 1000;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return executor which rejects operations when its queue is full, caller has to run them itself then
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+}
@@ -206,13 +206,23 @@ public class Scim2GroupService implements Serializable {
         if (memberDNs != null) {
             Set<Member> members = new HashSet<>();
 
+            // Load all members with few multi-key lookups instead of one lookup per member
+            Map<String, JansCustomPerson> personsByDn = Collections.emptyMap();
+            if (fillMembersDisplay) {
+                try {
+                    personsByDn = personService.getPersonsByDns(memberDNs).stream()
+                            .collect(Collectors.toMap(JansCustomPerson::getDn, p -> p, (p1, p2) -> p1));
+                } catch (Exception e) {
+                    log.warn("Failed to load members of group {}", gluuGroup.getDisplayName(), e);
+                }
+            }
+
             for (String dn : memberDNs) {
                 JansCustomPerson person = null;
 
                 if (fillMembersDisplay) {
-                    try {                                    
-                        person = personService.getPersonByDn(dn);
-                    } catch (Exception e) {
+                    person = personsByDn.get(dn);
+                    if (person == null) {
                         log.warn("Wrong member entry {} found in group {}",
                                 dn, gluuGroup.getDisplayName());
                     }
@@ -0,0 +1,126 @@
+package io.jans.scim.ws.rs.scim2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import io.jans.scim.model.scim2.bulk.BulkOperation;
+
+/**
+ * Runs the operations of a bulk request respecting dependencies between them: an operation is started only
+ * after all operations it depends on have finished. Dependencies point to preceding operations only, and ready
+ * operations are started in request order. Once the number of failed operations reaches the failOnErrors value,
+ * no more operations are started.
+ */
+class BulkOperationScheduler {
+
+    private final int[] pendingDependencies;
+    private final List<List<Integer>> dependents;
+    private final int maxConcurrency;
+    private final int maxErrors;
+
+    private final Queue<Integer> ready = new PriorityQueue<>();
+    private BulkOperation[] results;
+    private int running;
+    private int errors;
+
+    /**
+     * @param dependencies Indexes of operations every operation depends on
+     * @param maxConcurrency Maximum number of operations executed at the same time
+     * @param maxErrors Number of errors after which processing stops (failOnErrors)
+     */
+    BulkOperationScheduler(List<Set<Integer>> dependencies, int maxConcurrency, int maxErrors) {
+        int size = dependencies.size();
+        this.pendingDependencies = new int[size];
+        this.dependents = new ArrayList<>(size);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxErrors = maxErrors;
+
+        for (int i = 0; i < size; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            Set<Integer> operationDependencies = dependencies.get(i);
+            pendingDependencies[i] = operationDependencies.size();
+            for (int dependency : operationDependencies) {
+                dependents.get(dependency).add(i);
+            }
+
+            if (pendingDependencies[i] == 0) {
+                ready.add(i);
+            }
+        }
+    }
+
+    /**
+     * Executes operations and returns their responses in request order. Operations which were not executed
+     * due to failOnErrors have null response.
+     *
+     * @param operation Executes the operation with the given index and returns its response
+     * @param isError Whether the response of an operation has to be counted as error
+     * @param executorService Executor used for operations or null to run them in calling thread one by one.
+     *                        Operation rejected by executor is run in calling thread
+     */
+    synchronized BulkOperation[] run(IntFunction<BulkOperation> operation, Predicate<BulkOperation> isError,
+                                     ExecutorService executorService) throws InterruptedException {
+
+        results = new BulkOperation[pendingDependencies.length];
+        while (true) {
+            while (running < maxConcurrency && errors < maxErrors && !ready.isEmpty()) {
+                int index = ready.poll();
+                running++;
+
+                if (executorService == null) {
+                    execute(index, operation, isError);
+                } else {
+                    try {
+                        executorService.execute(() -> execute(index, operation, isError));
+                    } catch (RejectedExecutionException e) {
+                        execute(index, operation, isError);
+                    }
+                }
+            }
+
+            if (running == 0) {
+                break;
+            }
+            wait();
+        }
+        return results;
+
+    }
+
+    private void execute(int index, IntFunction<BulkOperation> operation, Predicate<BulkOperation> isError) {
+
+        BulkOperation response = null;
+        try {
+            response = operation.apply(index);
+        } finally {
+            complete(index, response, isError);
+        }
+
+    }
+
+    private synchronized void complete(int index, BulkOperation response, Predicate<BulkOperation> isError) {
+
+        results[index] = response;
+        errors += (response == null || isError.test(response)) ? 1 : 0;
+        running--;
+
+        for (int dependent : dependents.get(index)) {
+            pendingDependencies[dependent]--;
+            if (pendingDependencies[dependent] == 0) {
+                ready.add(dependent);
+            }
+        }
+        notifyAll();
+
+    }
+
+}
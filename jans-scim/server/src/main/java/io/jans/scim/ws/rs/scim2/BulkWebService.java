@@ -18,12 +18,16 @@ import static jakarta.ws.rs.core.Response.Status.Family.familyOf;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
+import org.jboss.resteasy.core.ResteasyContext;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -36,6 +40,7 @@ import io.jans.scim.model.scim2.group.GroupResource;
 import io.jans.scim.model.scim2.patch.PatchRequest;
 import io.jans.scim.model.scim2.user.UserResource;
 import io.jans.scim.service.filter.ProtectedApi;
+import io.jans.scim.service.scim2.BulkExecutorService;
 import io.jans.util.Pair;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.Dependent;
@@ -78,6 +83,9 @@ public class BulkWebService extends BaseScimWebService {
     @Inject
     private Fido2DeviceWebService fido2DeviceWS;
 
+    @Inject
+    private BulkExecutorService bulkExecutorService;
+
     @jakarta.ws.rs.POST
     @Consumes({MEDIA_TYPE_SCIM_JSON, MediaType.APPLICATION_JSON})
     @Produces({MEDIA_TYPE_SCIM_JSON + UTF8_CHARSET_FRAGMENT, MediaType.APPLICATION_JSON + UTF8_CHARSET_FRAGMENT})
@@ -89,83 +97,192 @@ public class BulkWebService extends BaseScimWebService {
         if (response==null) {
             log.debug("Executing web service method. processBulkOperations");
 
-            int i, errors=0;
             List<BulkOperation> operations=request.getOperations();
-            List<BulkOperation> responseOperations=new ArrayList<>();
-            Map<String, String> processedBulkIds=new HashMap<>();
+            //Ids of resources created by POST operations, indexed by operation
+            String[] createdIds=new String[operations.size()];
+            List<Map<String, Integer>> bulkIdOwners=new ArrayList<>();
+            List<Set<Integer>> dependencies=getDependencies(operations, bulkIdOwners);
 
-            for (i=0;i<operations.size() && errors<request.getFailOnErrors();i++){
+            try {
+                BulkOperation[] results=executeOperations(dependencies,
+                        i -> processOperation(i, operations.get(i), bulkIdOwners.get(i), createdIds), request.getFailOnErrors());
+
+                //Operations not executed due to failOnErrors are not part of the response
+                List<BulkOperation> responseOperations=new ArrayList<>();
+                for (BulkOperation operationResponse : results) {
+                    if (operationResponse!=null)
+                        responseOperations.add(operationResponse);
+                }
 
-                BulkOperation operation=operations.get(i);
-                BulkOperation operationResponse=new BulkOperation();
-                Response subResponse;
+                BulkResponse bulkResponse=new BulkResponse();
+                bulkResponse.setOperations(responseOperations);
 
-                String method=operation.getMethod();
-                String bulkId=operation.getBulkId();
-                try {
-                    String path=operation.getPath();
-                    BaseScimWebService service=getWSForPath(path);
-                    String fragment=getFragment(path, service, processedBulkIds);
-                    Verb verb = Verb.valueOf(method);
+                String json = mapper.writeValueAsString(bulkResponse);
+                response=Response.ok(json).build();
+            }
+            catch (InterruptedException e){
+                log.error(e.getMessage(), e);
+                Thread.currentThread().interrupt();
+                response=getErrorResponse(INTERNAL_SERVER_ERROR, e.getMessage());
+            }
+            catch (Exception e){
+                log.error(e.getMessage(), e);
+                response=getErrorResponse(INTERNAL_SERVER_ERROR, e.getMessage());
+            }
+        }
+        return response;
 
-                    String data=operation.getDataStr();
-                    if (!verb.equals(DELETE))
-                        data = replaceBulkIds(data, processedBulkIds);
-
-                    Pair<Response, String> pair=execute(verb, service, data, fragment);
-                    String idCreated=pair.getSecond();
-                    subResponse=pair.getFirst();
-                    int status=subResponse.getStatus();
-
-                    if (familyOf(status).equals(SUCCESSFUL)) {
-                        if (!verb.equals(DELETE)) {
-                            if (verb.equals(POST)) {  //Update bulkIds
-                                processedBulkIds.put(bulkId, idCreated);
-                                fragment=idCreated;
-                            }
-                            String loc=service.getEndpointUrl() + "/" + fragment;
-                            operationResponse.setLocation(loc);
-                        }
-                    }
-                    else {
-                        operationResponse.setResponse(subResponse.getEntity());
-                        errors+= familyOf(status).equals(CLIENT_ERROR) || familyOf(status).equals(SERVER_ERROR) ? 1 : 0;
-                    }
+    }
+
+    private BulkOperation processOperation(int index, BulkOperation operation, Map<String, Integer> bulkIdOwners, String[] createdIds) {
 
-                    subResponse.close();
-                    operationResponse.setStatus(Integer.toString(status));
+        BulkOperation operationResponse=new BulkOperation();
+        Response subResponse;
+
+        String method=operation.getMethod();
+        String bulkId=operation.getBulkId();
+        try {
+            //Operations defining the bulkIds referenced here have already finished
+            Map<String, String> processedBulkIds=new HashMap<>();
+            bulkIdOwners.forEach((id, owner) -> {
+                if (createdIds[owner]!=null)
+                    processedBulkIds.put(id, createdIds[owner]);
+            });
+
+            String path=operation.getPath();
+            BaseScimWebService service=getWSForPath(path);
+            String fragment=getFragment(path, service, processedBulkIds);
+            Verb verb = Verb.valueOf(method);
+
+            String data=operation.getDataStr();
+            if (!verb.equals(DELETE))
+                data = replaceBulkIds(data, processedBulkIds);
+
+            Pair<Response, String> pair=execute(verb, service, data, fragment);
+            String idCreated=pair.getSecond();
+            subResponse=pair.getFirst();
+            int status=subResponse.getStatus();
+
+            if (familyOf(status).equals(SUCCESSFUL)) {
+                if (!verb.equals(DELETE)) {
+                    if (verb.equals(POST)) {  //Update bulkIds
+                        createdIds[index]=idCreated;
+                        fragment=idCreated;
+                    }
+                    String loc=service.getEndpointUrl() + "/" + fragment;
+                    operationResponse.setLocation(loc);
                 }
-                catch (Exception e) {
-                    log.error(e.getMessage(), e);
-                    subResponse=getErrorResponse(BAD_REQUEST, ErrorScimType.INVALID_SYNTAX, e.getMessage());
+            }
+            else {
+                operationResponse.setResponse(subResponse.getEntity());
+            }
+
+            subResponse.close();
+            operationResponse.setStatus(Integer.toString(status));
+        }
+        catch (Exception e) {
+            log.error(e.getMessage(), e);
+            subResponse=getErrorResponse(BAD_REQUEST, ErrorScimType.INVALID_SYNTAX, e.getMessage());
+
+            operationResponse.setStatus(Integer.toString(BAD_REQUEST.getStatusCode()));
+            operationResponse.setResponse(subResponse.getEntity());
+        }
+
+        operationResponse.setBulkId(bulkId);
+        operationResponse.setMethod(method);
+
+        log.debug("Operation {} processed with status {}. Method {}", index+1, operationResponse.getStatus(), method);
+        return operationResponse;
 
-                    operationResponse.setStatus(Integer.toString(BAD_REQUEST.getStatusCode()));
-                    operationResponse.setResponse(subResponse.getEntity());
-                    errors++;
+    }
+
+    /**
+     * Computes the operations each operation has to wait for: the POST operations defining the bulkIds it
+     * references, the preceding operation on the same resource, and the preceding operation that may alter
+     * group memberships. Group operations and user deletions update several entries, so they wait for all
+     * preceding operations. bulkIdOwners receives, per operation, the index of the POST defining every
+     * bulkId referenced
+     */
+    List<Set<Integer>> getDependencies(List<BulkOperation> operations, List<Map<String, Integer>> bulkIdOwners) {
+
+        List<Set<Integer>> dependencies=new ArrayList<>();
+        Map<String, Integer> lastPosts=new HashMap<>();
+        Map<String, Integer> lastResourceOperations=new HashMap<>();
+        List<Integer> sinceMembershipOperation=new ArrayList<>();
+        int membershipOperation=-1;
+
+        for (int i=0;i<operations.size();i++) {
+            BulkOperation operation=operations.get(i);
+            Verb verb=Verb.valueOf(operation.getMethod());
+            String path=operation.getPath();
+
+            Set<Integer> operationDependencies=new HashSet<>();
+            Map<String, Integer> owners=new HashMap<>();
+
+            List<String> referencedIds=getReferencedBulkIds(path);
+            if (!verb.equals(DELETE))
+                referencedIds.addAll(getReferencedBulkIds(operation.getDataStr()));
+
+            for (String id : referencedIds) {
+                Integer owner=lastPosts.get(id);
+                if (owner!=null) {
+                    owners.put(id, owner);
+                    operationDependencies.add(owner);
                 }
+            }
 
-                operationResponse.setBulkId(bulkId);
-                operationResponse.setMethod(method);
+            if (!verb.equals(POST)) {
+                Integer previous=lastResourceOperations.put(path, i);
+                if (previous!=null)
+                    operationDependencies.add(previous);
+            }
 
-                responseOperations.add(operationResponse);
+            if (membershipOperation>=0)
+                operationDependencies.add(membershipOperation);
 
-                log.debug("Operation {} processed with status {}. Method {}, Accumulated errors {}", i+1, operationResponse.getStatus(), method, errors);
+            if (path.startsWith(groupsEndpoint) || (verb.equals(DELETE) && path.startsWith(usersEndpoint))) {
+                operationDependencies.addAll(sinceMembershipOperation);
+                sinceMembershipOperation.clear();
+                membershipOperation=i;
             }
+            else
+                sinceMembershipOperation.add(i);
 
-            try {
-                BulkResponse bulkResponse=new BulkResponse();
-                bulkResponse.setOperations(responseOperations);
+            if (verb.equals(POST))
+                lastPosts.put(operation.getBulkId(), i);
 
-                String json = mapper.writeValueAsString(bulkResponse);
-                response=Response.ok(json).build();
+            dependencies.add(operationDependencies);
+            bulkIdOwners.add(owners);
+        }
+        return dependencies;
+
+    }
+
+    private BulkOperation[] executeOperations(List<Set<Integer>> dependencies, IntFunction<BulkOperation> operation,
+                                              int failOnErrors) throws InterruptedException {
+
+        int concurrency=Math.min(appConfiguration.getBulkMaxConcurrency(), dependencies.size());
+        BulkOperationScheduler scheduler=new BulkOperationScheduler(dependencies, concurrency, failOnErrors);
+        if (concurrency<=1)
+            return scheduler.run(operation, this::isError, null);
+
+        //Resource web services read headers and uri info of current request from JAX-RS context data
+        Map<Class<?>, Object> contextData=ResteasyContext.getContextDataMap();
+        return scheduler.run(i -> {
+            ResteasyContext.pushContextDataMap(contextData);
+            try {
+                return operation.apply(i);
             }
-            catch (Exception e){
-                log.error(e.getMessage(), e);
-                response=getErrorResponse(INTERNAL_SERVER_ERROR, e.getMessage());
+            finally {
+                ResteasyContext.removeContextDataLevel();
             }
-        }
-        return response;
+        }, this::isError, bulkExecutorService.getExecutor());
+
+    }
 
+    private boolean isError(BulkOperation operationResponse) {
+        Response.Status.Family family=familyOf(Integer.parseInt(operationResponse.getStatus()));
+        return family.equals(CLIENT_ERROR) || family.equals(SERVER_ERROR);
     }
 
     private Response prepareRequest(BulkRequest request, String contentLength) {
@@ -307,6 +424,18 @@ public class BulkWebService extends BaseScimWebService {
 
     }
 
+    private List<String> getReferencedBulkIds(String str) {
+
+        List<String> ids=new ArrayList<>();
+        if (str!=null) {
+            Matcher m=bulkIdPattern.matcher(str);
+            while (m.find())
+                ids.add(m.group(1));
+        }
+        return ids;
+
+    }
+
     private Pair<Response, String> execute(Verb verb, BaseScimWebService ws, String data, String fragment) {
 
         Response response=null;
@@ -0,0 +1,124 @@
+package io.jans.scim.ws.rs.scim2;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.scim.model.scim2.bulk.BulkOperation;
+
+public class BulkOperationSchedulerTest {
+
+    private ExecutorService executorService;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterMethod
+    public void afterMethod() {
+        executorService.shutdownNow();
+    }
+
+    private static BulkOperation response(String status) {
+        BulkOperation operation = new BulkOperation();
+        operation.setStatus(status);
+        return operation;
+    }
+
+    private static boolean isError(BulkOperation operation) {
+        return operation.getStatus().startsWith("4");
+    }
+
+    @Test
+    public void run_shouldStartOperationOnlyAfterItsDependenciesFinish() throws InterruptedException {
+        // 2 depends on 1, 1 depends on 0, 3 is independent
+        List<Set<Integer>> dependencies = List.of(Set.of(), Set.of(0), Set.of(1), Set.of());
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        BulkOperationScheduler scheduler = new BulkOperationScheduler(dependencies, 4, Integer.MAX_VALUE);
+        BulkOperation[] results = scheduler.run(i -> {
+            events.add("start" + i);
+            sleep(20);
+            events.add("end" + i);
+            return response("200");
+        }, BulkOperationSchedulerTest::isError, executorService);
+
+        assertEquals(results.length, 4);
+        for (BulkOperation result : results) {
+            assertNotNull(result);
+        }
+        assertTrue(events.indexOf("end0") < events.indexOf("start1"));
+        assertTrue(events.indexOf("end1") < events.indexOf("start2"));
+    }
+
+    @Test
+    public void run_withoutExecutor_shouldExecuteOperationsInRequestOrder() throws InterruptedException {
+        List<Set<Integer>> dependencies = List.of(Set.of(), Set.of(), Set.of(0), Set.of());
+        List<Integer> executed = new ArrayList<>();
+
+        new BulkOperationScheduler(dependencies, 1, Integer.MAX_VALUE).run(i -> {
+            executed.add(i);
+            return response("200");
+        }, BulkOperationSchedulerTest::isError, null);
+
+        assertEquals(executed, List.of(0, 1, 2, 3));
+    }
+
+    @Test
+    public void run_whenFailOnErrorsIsReached_shouldNotStartMoreOperations() throws InterruptedException {
+        List<Set<Integer>> dependencies = List.of(Set.of(), Set.of(), Set.of(), Set.of(), Set.of());
+
+        BulkOperation[] results = new BulkOperationScheduler(dependencies, 1, 2).run(
+                i -> response(i == 0 ? "200" : "400"), BulkOperationSchedulerTest::isError, executorService);
+
+        assertNotNull(results[0]);
+        assertNotNull(results[1]);
+        assertNotNull(results[2]);
+        assertNull(results[3]);
+        assertNull(results[4]);
+    }
+
+    @Test
+    public void run_whenExecutorRejectsOperation_shouldRunItInCallingThread() throws InterruptedException {
+        ThreadPoolExecutor saturatedExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        saturatedExecutor.shutdown();
+
+        List<Set<Integer>> dependencies = List.of(Set.of(), Set.of(0));
+        Thread callingThread = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+
+        BulkOperation[] results = new BulkOperationScheduler(dependencies, 2, Integer.MAX_VALUE).run(i -> {
+            threads.add(Thread.currentThread());
+            return response("200");
+        }, BulkOperationSchedulerTest::isError, saturatedExecutor);
+
+        assertNotNull(results[0]);
+        assertNotNull(results[1]);
+        assertEquals(threads, List.of(callingThread, callingThread));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package io.jans.scim.ws.rs.scim2;
+
+import static org.testng.Assert.assertEquals;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.scim.model.scim2.bulk.BulkOperation;
+
+public class BulkWebServiceDependenciesTest {
+
+    private static final String USERS_ENDPOINT = "https://jans.local/jans-scim/restv1/v2/Users";
+    private static final String GROUPS_ENDPOINT = "https://jans.local/jans-scim/restv1/v2/Groups";
+
+    private BulkWebService bulkWebService;
+
+    @BeforeMethod
+    public void beforeMethod() throws Exception {
+        bulkWebService = new BulkWebService();
+        setField("usersEndpoint", USERS_ENDPOINT);
+        setField("groupsEndpoint", GROUPS_ENDPOINT);
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        Field field = BulkWebService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(bulkWebService, value);
+    }
+
+    private static BulkOperation operation(String method, String path, String bulkId, Map<String, Object> data) {
+        BulkOperation operation = new BulkOperation();
+        operation.setMethod(method);
+        operation.setPath(path);
+        operation.setBulkId(bulkId);
+        if (data != null) {
+            operation.setData(data);
+        }
+        return operation;
+    }
+
+    @Test
+    public void getDependencies_independentUserOperations_shouldHaveNoDependencies() {
+        List<BulkOperation> operations = List.of(
+                operation("POST", USERS_ENDPOINT, "a", Map.of("userName", "a")),
+                operation("POST", USERS_ENDPOINT, "b", Map.of("userName", "b")),
+                operation("PUT", USERS_ENDPOINT + "/1", null, Map.of("displayName", "c")));
+        List<Map<String, Integer>> bulkIdOwners = new ArrayList<>();
+
+        List<Set<Integer>> dependencies = bulkWebService.getDependencies(operations, bulkIdOwners);
+
+        assertEquals(dependencies, List.of(Set.of(), Set.of(), Set.of()));
+        assertEquals(bulkIdOwners, List.of(Map.of(), Map.of(), Map.of()));
+    }
+
+    @Test
+    public void getDependencies_operationReferencingBulkId_shouldDependOnPostDefiningIt() {
+        List<BulkOperation> operations = List.of(
+                operation("POST", USERS_ENDPOINT, "a", Map.of("userName", "a")),
+                operation("POST", USERS_ENDPOINT, "b", Map.of("userName", "b")),
+                operation("PUT", USERS_ENDPOINT + "/bulkId:b", null, Map.of("displayName", "b")),
+                operation("DELETE", USERS_ENDPOINT + "/2", null, null));
+        List<Map<String, Integer>> bulkIdOwners = new ArrayList<>();
+
+        List<Set<Integer>> dependencies = bulkWebService.getDependencies(operations, bulkIdOwners);
+
+        assertEquals(dependencies.get(2), Set.of(1));
+        assertEquals(bulkIdOwners.get(2), Map.of("b", 1));
+    }
+
+    @Test
+    public void getDependencies_operationsOnSameResource_shouldKeepRequestOrder() {
+        List<BulkOperation> operations = List.of(
+                operation("PUT", USERS_ENDPOINT + "/1", null, Map.of("displayName", "a")),
+                operation("PUT", USERS_ENDPOINT + "/2", null, Map.of("displayName", "b")),
+                operation("PATCH", USERS_ENDPOINT + "/1", null, Map.of("displayName", "c")));
+
+        List<Set<Integer>> dependencies = bulkWebService.getDependencies(operations, new ArrayList<>());
+
+        assertEquals(dependencies, List.of(Set.of(), Set.of(), Set.of(0)));
+    }
+
+    @Test
+    public void getDependencies_groupOperation_shouldSeparatePrecedingAndFollowingOperations() {
+        List<BulkOperation> operations = List.of(
+                operation("POST", USERS_ENDPOINT, "a", Map.of("userName", "a")),
+                operation("PUT", USERS_ENDPOINT + "/1", null, Map.of("displayName", "b")),
+                operation("POST", GROUPS_ENDPOINT, "g", Map.of("displayName", "g")),
+                operation("PUT", USERS_ENDPOINT + "/2", null, Map.of("displayName", "c")),
+                operation("DELETE", USERS_ENDPOINT + "/3", null, null),
+                operation("PUT", USERS_ENDPOINT + "/4", null, Map.of("displayName", "d")));
+
+        List<Set<Integer>> dependencies = bulkWebService.getDependencies(operations, new ArrayList<>());
+
+        assertEquals(dependencies.get(2), Set.of(0, 1));
+        assertEquals(dependencies.get(3), Set.of(2));
+        // User deletion removes memberships so it waits for everything since the group operation
+        assertEquals(dependencies.get(4), Set.of(2, 3));
+        assertEquals(dependencies.get(5), Set.of(4));
+    }
+
+}
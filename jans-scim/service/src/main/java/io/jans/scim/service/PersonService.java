@@ -10,6 +10,7 @@ import java.io.Serializable;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -240,6 +241,16 @@ public class PersonService implements Serializable {
 
 	}
 
+	/**
+	 * Load persons by list of DNs with minimal number of DB requests
+	 * 
+	 * @param dns Persons DNs
+	 * @return Found persons. Missing entries are skipped
+	 */
+	public List<JansCustomPerson> getPersonsByDns(Collection<String> dns) {
+		return persistenceEntryManager.findByDns(JansCustomPerson.class, dns, null);
+	}
+
 	public JansCustomPerson getPersonByInum(String inum) {
 		JansCustomPerson person = null;
 		try {